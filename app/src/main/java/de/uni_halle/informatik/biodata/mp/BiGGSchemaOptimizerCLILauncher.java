@@ -0,0 +1,45 @@
+package de.uni_halle.informatik.biodata.mp;
+
+import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSchemaOptimizer;
+import de.uni_halle.informatik.biodata.mp.parameters.DBParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Installs the materialized views of {@link BiGGSchemaOptimizer} on the BiGG database configured in a ModelPolisher
+ * JSON configuration, or drops them again. The configured user needs the privilege to create views.
+ * <p>
+ * Usage: {@code BiGGSchemaOptimizerCLILauncher <config.json> [install|uninstall]}
+ */
+public class BiGGSchemaOptimizerCLILauncher {
+
+  private static final Logger logger = LoggerFactory.getLogger(BiGGSchemaOptimizerCLILauncher.class);
+
+  public static void main(String[] args) throws IOException, SQLException {
+    if (args.length < 1 || args.length > 2 || (args.length == 2 && !args[1].matches("install|uninstall"))) {
+      System.err.println("Usage: " + BiGGSchemaOptimizerCLILauncher.class.getSimpleName()
+        + " <config.json> [install|uninstall]");
+      System.exit(1);
+    }
+    CommandLineParameters parameters = new CommandLineParametersParser().parseCLIParameters(new File(args[0]));
+    DBParameters dbParameters = parameters.annotation().biggAnnotationParameters().dbParameters();
+    logger.info("Optimizing BiGG schema on {}:{}", dbParameters.host(), dbParameters.port());
+    PostgresConnectionPool connectionPool = new PostgresConnectionPool(dbParameters.host(), dbParameters.port(),
+      dbParameters.user(), dbParameters.passwd(), dbParameters.dbName(), false);
+    try {
+      BiGGSchemaOptimizer optimizer = new BiGGSchemaOptimizer(connectionPool);
+      if (args.length == 2 && args[1].equals("uninstall")) {
+        optimizer.uninstall();
+      } else {
+        optimizer.install();
+      }
+    } finally {
+      connectionPool.close();
+    }
+  }
+}
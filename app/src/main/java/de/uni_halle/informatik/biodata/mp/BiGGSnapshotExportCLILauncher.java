@@ -0,0 +1,36 @@
+package de.uni_halle.informatik.biodata.mp;
+
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSnapshotExporter;
+import de.uni_halle.informatik.biodata.mp.parameters.DBParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Exports the BiGG database configured in a ModelPolisher JSON configuration into a snapshot file, which can be
+ * used for annotation on machines without access to the database.
+ * <p>
+ * Usage: {@code BiGGSnapshotExportCLILauncher <config.json> <snapshot file>}
+ */
+public class BiGGSnapshotExportCLILauncher {
+
+  private static final Logger logger = LoggerFactory.getLogger(BiGGSnapshotExportCLILauncher.class);
+
+  public static void main(String[] args) throws IOException, SQLException {
+    if (args.length != 2) {
+      System.err.println("Usage: " + BiGGSnapshotExportCLILauncher.class.getSimpleName()
+        + " <config.json> <snapshot file>");
+      System.exit(1);
+    }
+    CommandLineParameters parameters = new CommandLineParametersParser().parseCLIParameters(new File(args[0]));
+    DBParameters dbParameters = parameters.annotation().biggAnnotationParameters().dbParameters();
+    logger.info("Exporting BiGG from {}:{}", dbParameters.host(), dbParameters.port());
+    BiGGDB.init(dbParameters);
+    new BiGGSnapshotExporter(new BiGGDB()).export(Path.of(args[1]));
+  }
+}
@@ -14,6 +14,7 @@ import java.util.*;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import de.zbit.util.prefs.SBProperties;
 import de.uni_halle.informatik.biodata.mp.annotation.AnnotationException;
 import de.uni_halle.informatik.biodata.mp.annotation.AnnotationOptions;
@@ -23,8 +24,13 @@ import de.uni_halle.informatik.biodata.mp.fixing.FixingOptions;
 import de.uni_halle.informatik.biodata.mp.fixing.SBMLFixer;
 import de.uni_halle.informatik.biodata.mp.io.*;
 import de.uni_halle.informatik.biodata.mp.logging.BundleNames;
-import de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDB;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.DatabaseReport;
+import de.uni_halle.informatik.biodata.mp.db.DegradedLookups;
+import de.uni_halle.informatik.biodata.mp.db.QueryBackendFactory;
+import de.uni_halle.informatik.biodata.mp.db.QueryTimeoutException;
+import de.uni_halle.informatik.biodata.mp.db.adb.IQueryAnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
+import de.uni_halle.informatik.biodata.mp.parameters.DBParameters;
 import de.uni_halle.informatik.biodata.mp.parameters.GeneralOptions;
 import de.uni_halle.informatik.biodata.mp.parameters.ParametersException;
 import de.uni_halle.informatik.biodata.mp.polishing.PolishingOptions;
@@ -33,7 +39,7 @@ import de.uni_halle.informatik.biodata.mp.reporting.PolisherProgressBar;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressFinalization;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressInitialization;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
-import de.uni_halle.informatik.biodata.mp.resolver.Registry;
+import de.uni_halle.informatik.biodata.mp.resolver.CachingRegistry;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrg;
 import de.uni_halle.informatik.biodata.mp.validation.ModelValidator;
 import de.uni_halle.informatik.biodata.mp.validation.ModelValidatorException;
@@ -82,7 +88,9 @@ public class ModelPolisherCLILauncher extends Launcher {
   private static final Logger logger = LoggerFactory.getLogger(ModelPolisherCLILauncher.class);
 
   private CommandLineParameters parameters;
-  private Registry registry;
+  private CachingRegistry registry;
+  private IQueryBiGG bigg;
+  private IQueryAnnotateDB adb;
 
   /**
    * Entry point
@@ -136,61 +144,76 @@ public class ModelPolisherCLILauncher extends Launcher {
       parameters = new CommandLineParameters(args);
     }
 
-    registry = new IdentifiersOrg();
+    // the same URLs recur in the annotations of all models of a run
+    registry = new CachingRegistry(new IdentifiersOrg());
 
     try {
       validateIOParameters();
+      validateDBParameters();
 
-      if (parameters.annotation().biggAnnotationParameters().annotateWithBiGG()) {
-        BiGGDB.init(parameters.annotation().biggAnnotationParameters().dbParameters());
-      }
-
-      if (parameters.annotation().adbAnnotationParameters().annotateWithAdb()) {
-        AnnotateDB.init(parameters.annotation().adbAnnotationParameters().dbParameters());
-      }
-
-      // Multi-file mode
-      if (parameters.input().isDirectory()) {
-        logger.info("Multi-file mode for directory {}.", parameters.input());
+      try {
+        if (parameters.annotation().biggAnnotationParameters().annotateWithBiGG()) {
+          bigg = QueryBackendFactory.bigg(parameters.annotation().biggAnnotationParameters().dbParameters());
+        }
 
-        // DO NOT REMOVE - this is initializing the class, because it turned out to be not threadsafe,
-        // and it is used by the SBMLReader
-        ParserManager.getManager();
+        if (parameters.annotation().adbAnnotationParameters().annotateWithAdb()) {
+          adb = QueryBackendFactory.adb(parameters.annotation().adbAnnotationParameters().dbParameters());
+        }
 
-        var inputFiles = FileUtils.listFiles(parameters.input(),
-                new String[]{"xml", "sbml", "json", "mat"}, true);
-        logger.info("Processing input files: {}", inputFiles.toString());
+        // Multi-file mode
+        if (parameters.input().isDirectory()) {
+          logger.info("Multi-file mode for directory {}.", parameters.input());
 
-        List<Pair<File, File>> inputOutputPairs = new ArrayList<>();
+          // DO NOT REMOVE - this is initializing the class, because it turned out to be not threadsafe,
+          // and it is used by the SBMLReader
+          ParserManager.getManager();
 
-        for (var input : inputFiles) {
-          inputOutputPairs.add(Pair.of(input, SBMLFileUtils.getOutputFileName(input, parameters.output())));
-        }
+          var inputFiles = FileUtils.listFiles(parameters.input(),
+                  new String[]{"xml", "sbml", "json", "mat"}, true);
+          logger.info("Processing input files: {}", inputFiles.toString());
 
-        logger.debug(inputOutputPairs.toString());
+          List<Pair<File, File>> inputOutputPairs = new ArrayList<>();
 
-        inputOutputPairs.parallelStream().forEach(pair -> {
-          try {
-            processFile(pair.getLeft(), pair.getRight());
-          } catch (ModelReaderException e) {
-            logger.info(MessageFormat.format("Skipping unreadable file \"{0}\".", pair.getLeft()));
-          } catch (SQLException | ModelWriterException | ModelValidatorException | AnnotationException e) {
-            throw new RuntimeException(e);
+          for (var input : inputFiles) {
+            inputOutputPairs.add(Pair.of(input, SBMLFileUtils.getOutputFileName(input, parameters.output())));
           }
-        });
 
-        // Single-file mode
-      } else {
-        logger.info("Single-file mode.");
-        long startTime = System.currentTimeMillis();
-
-        processFile(parameters.input(), parameters.output());
-
-        // Log the time taken to process the file
-        long timeTaken = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - startTime);
-        logger.info(String.format(MESSAGES.getString("FINISHED_TIME"), (timeTaken / 60), (timeTaken % 60)));
+          logger.debug(inputOutputPairs.toString());
+
+          inputOutputPairs.parallelStream().forEach(pair -> {
+            try {
+              processFile(pair.getLeft(), pair.getRight());
+            } catch (ModelReaderException e) {
+              logger.info(MessageFormat.format("Skipping unreadable file \"{0}\".", pair.getLeft()));
+            } catch (SQLException e) {
+              if (!degradeOnTimeout() || !QueryTimeoutException.isTimeout(e)) {
+                throw new RuntimeException(e);
+              }
+              // the other files can still be annotated within their deadlines
+              logger.warn(MessageFormat.format("Skipping file \"{0}\" whose lookups timed out: {1}", pair.getLeft(),
+                      e.getMessage()));
+              DegradedLookups.record(pair.getLeft().getName(), null, e);
+            } catch (ModelWriterException | ModelValidatorException | AnnotationException e) {
+              throw new RuntimeException(e);
+            }
+          });
+
+          // Single-file mode
+        } else {
+          logger.info("Single-file mode.");
+          long startTime = System.currentTimeMillis();
+
+          processFile(parameters.input(), parameters.output());
+
+          // Log the time taken to process the file
+          long timeTaken = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - startTime);
+          logger.info(String.format(MESSAGES.getString("FINISHED_TIME"), (timeTaken / 60), (timeTaken % 60)));
+        }
+      } finally {
+        // also after a failure, to show which queries were slow or failed
+        logDatabaseReport();
+        logRegistryCache();
       }
-
     } catch (ModelValidatorException | ModelWriterException |
              AnnotationException e) {
       // TODO: produce some user-friendly output and log to a file that can be provided for trouble-shooting
@@ -201,12 +224,48 @@ public class ModelPolisherCLILauncher extends Launcher {
     } catch (ModelReaderException e) {
       logger.error("There was an error while reading the model: {}", e.getMessage());
       System.exit(1);
+    } catch (IOException e) {
+      logger.error("There was an error while reading the database snapshot or cache file: {}", e.getMessage());
+      System.exit(1);
     } catch (ParametersException e) {
       logger.error("The parameters you have entered are invalid: {}", e.getMessage());
       System.exit(1);
     }
   }
 
+  /**
+   * @return Whether elements and files whose lookups time out are skipped instead of aborting the run.
+   */
+  private boolean degradeOnTimeout() {
+    return parameters.annotation().biggAnnotationParameters().dbParameters().degradeOnTimeout()
+            || parameters.annotation().adbAnnotationParameters().dbParameters().degradeOnTimeout();
+  }
+
+  /**
+   * Logs the call counts, latencies and row counts of the database queries of this run, the state of the connection
+   * pools, and the elements skipped because of timeouts, as JSON.
+   */
+  private void logDatabaseReport() {
+    DatabaseReport report = DatabaseReport.collect();
+    if (report.pools().isEmpty()) {
+      return;
+    }
+    try {
+      logger.info("Database query report:\n{}", report.toJson());
+    } catch (JsonProcessingException e) {
+      logger.debug("Could not write the database query report: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Logs how many of the URLs resolved backwards were found in the cache of the registry.
+   */
+  private void logRegistryCache() {
+    var cache = registry.getCache();
+    logger.info(format("Resolved {0} URLs backwards, {1,number,percent} of them from the cache",
+            cache.getHitCount() + cache.getMissCount(), cache.getHitRate()));
+  }
+
   private void validateIOParameters() throws ParametersException {
     var input = parameters.input();
     var output = parameters.output();
@@ -238,6 +297,27 @@ public class ModelPolisherCLILauncher extends Launcher {
   }
 
 
+  /**
+   * Checks that the selected backends can be created, i.e. that a snapshot file is configured where one is read and
+   * that AnnotateDB is not to be read from a snapshot, of which there are none.
+   */
+  private void validateDBParameters() throws ParametersException {
+    var biggParameters = parameters.annotation().biggAnnotationParameters();
+    var biggBackend = biggParameters.dbParameters().backend();
+    var snapshotFile = biggParameters.dbParameters().snapshotFile();
+    if (biggParameters.annotateWithBiGG() && biggBackend != DBParameters.Backend.JDBC
+            && (snapshotFile == null || snapshotFile.isEmpty())) {
+      throw new ParametersException(format("The {0} backend for BiGG requires a snapshot-file in the database "
+              + "configuration", biggBackend), parameters);
+    }
+    var adbParameters = parameters.annotation().adbAnnotationParameters();
+    if (adbParameters.annotateWithAdb() && adbParameters.dbParameters().backend() == DBParameters.Backend.SNAPSHOT) {
+      throw new ParametersException("There are no snapshot files for AnnotateDB, please use the JDBC or MEMORY "
+              + "backend", parameters);
+    }
+  }
+
+
   private void processFile(File input, File output) throws ModelReaderException, ModelWriterException, ModelValidatorException, AnnotationException, SQLException {
     SBMLDocument doc = new ModelReader(parameters.sboParameters(), registry).read(input);
 
@@ -288,13 +368,13 @@ public class ModelPolisherCLILauncher extends Launcher {
 
       // TODO: dispatch abhängig von level und version
       if (parameters.annotation().biggAnnotationParameters().annotateWithBiGG()) {
-        new BiGGSBMLAnnotator(new BiGGDB(), parameters.annotation().biggAnnotationParameters(), parameters.sboParameters(),
+        new BiGGSBMLAnnotator(bigg, parameters.annotation().biggAnnotationParameters(), parameters.sboParameters(),
                 registry, annotationObservers).annotate(doc);
       }
 
       // TODO: dispatch abhängig von level und version
       if (parameters.annotation().adbAnnotationParameters().annotateWithAdb()) {
-        new ADBSBMLAnnotator(new AnnotateDB(), parameters.annotation().adbAnnotationParameters()).annotate(doc);
+        new ADBSBMLAnnotator(adb, parameters.annotation().adbAnnotationParameters()).annotate(doc);
       }
 
       for (var o : annotationObservers) {
@@ -0,0 +1,102 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BiGGId#makeBiGGConform(String)}, which runs for every ID the polishers, annotators and parsers create, compared
+ * to its former implementation by regular expressions.
+ * <p>
+ * The IDs are typical of models: most of them are already conform, others start with a digit, contain dots or dashes,
+ * carry their compartment in parentheses or brackets, or end with a {@code _copy} suffix.
+ * <p>
+ * {@code ./gradlew :lib:jmh -PjmhIncludes=MakeBiGGConformBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MakeBiGGConformBenchmark {
+
+    private static final List<String> IDS = List.of(
+            "M_glc__D_e", "M_atp_c", "M_h2o_c", "R_PFK", "R_EX_glc__D_e", "R_BIOMASS_Ecoli_core_w_GAM", "G_b1241",
+            "G_s0001", "M_13dpg_c", "R_ATPS4r", "10090_AT1", "100.1", "b0351.1", "glc-D[e]", "EX_glc(e)",
+            "M_glc_D_c_copy2", "R_PFK_copy", "cpd00001[c0]", "rxn00148_c0", "G_YAL012W-A");
+
+
+    @Benchmark
+    public int makeBiGGConform() {
+        int length = 0;
+        for (String id : IDS) {
+            length += BiGGId.makeBiGGConform(id).length();
+        }
+        return length;
+    }
+
+
+    @Benchmark
+    public int makeBiGGConformWithRegularExpressions() {
+        int length = 0;
+        for (String id : IDS) {
+            length += withRegularExpressions(id).length();
+        }
+        return length;
+    }
+
+
+    /**
+     * The former implementation of {@link BiGGId#makeBiGGConform(String)}.
+     */
+    private static String withRegularExpressions(String id) {
+        if (Character.isDigit(id.charAt(0))) {
+            id = "_" + id;
+        }
+        id = id.replaceAll("[-/]", "__")
+                .replaceAll("\\.", "__SBML_DOT__")
+                .replaceAll("\\(", "_LPAREN_")
+                .replaceAll("\\)", "_RPAREN_")
+                .replaceAll("\\[", "_LBRACKET_")
+                .replaceAll("]", "_RBRACKET_");
+        Pattern parenCompartment = Pattern.compile("_LPAREN_(?<paren>.*?)_RPAREN_");
+        Matcher parenMatcher = parenCompartment.matcher(id);
+        if (parenMatcher.find()) {
+            id = id.replaceAll(parenCompartment.toString(), "_" + parenMatcher.group("paren"));
+        }
+        Pattern bracketCompartment = Pattern.compile("_LBRACKET_(?<bracket>.*)_RBRACKET_");
+        Matcher bracketMatcher = bracketCompartment.matcher(id);
+        if (bracketMatcher.find()) {
+            id = id.replaceAll(bracketCompartment.toString(), "_" + bracketMatcher.group("bracket"));
+        }
+        if (id.matches(".*_copy\\d*")) {
+            id = id.substring(0, id.lastIndexOf('_'));
+        }
+        Pattern alphaNum = Pattern.compile("[a-zA-Z0-9_]");
+        StringBuilder builder = new StringBuilder(id.length());
+        for (char ch : id.toCharArray()) {
+            if (alphaNum.matcher(String.valueOf(ch)).matches()) {
+                builder.append(ch);
+            } else {
+                builder.append("_");
+            }
+        }
+        id = builder.toString();
+        if (id.endsWith("_")) {
+            id = id.substring(0, id.length() - 1);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,120 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.BIGG_ID;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.GENOME_ID;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.ID;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.NAME;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.ORGANISM;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Table.COMPONENT;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Table.GENOME;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Table.MODEL;
+
+/**
+ * The overhead of parsing and planning the short single-row lookups of {@link BiGGDB} on every execution, compared to
+ * running them as server-side prepared statements, as configured by
+ * {@link de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool}.
+ * <p>
+ * {@code prepareThreshold} 0 parses and plans every execution, which is what happened to the first executions of each
+ * query on each pooled connection with the driver's default of 5. The pool now prepares from the first execution.
+ * <p>
+ * Requires a local BiGG database, e.g. the one of the tests:
+ * {@code docker run -p 5432:5432 -e POSTGRES_PASSWORD=postgres schmirgel/bigg_db:1.6}, then
+ * {@code ./gradlew :lib:jmh -PjmhIncludes=PreparedStatementBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreparedStatementBenchmark {
+
+    /**
+     * The query of {@link BiGGDB#getComponentName(BiGGId)}.
+     */
+    private static final String COMPONENT_NAME = "SELECT " + NAME + " FROM " + COMPONENT + " WHERE " + BIGG_ID
+            + " = ? AND " + NAME + " <> ''";
+
+    /**
+     * The query of {@link BiGGDB#getOrganism(String)}, which joins two tables.
+     */
+    private static final String ORGANISM_OF_MODEL = "SELECT g." + ORGANISM + " FROM " + GENOME + " g, " + MODEL
+            + " m WHERE m." + GENOME_ID + " = g." + ID + " AND m." + BIGG_ID + " = ?";
+
+    @Param({"0", "5", "1"})
+    public String prepareThreshold;
+
+    @Param("jdbc:postgresql://localhost:5432/bigg")
+    public String url;
+
+    @Param("postgres")
+    public String user;
+
+    @Param("postgres")
+    public String password;
+
+    private Connection connection;
+
+
+    @Setup(Level.Trial)
+    public void connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        properties.setProperty("prepareThreshold", prepareThreshold);
+        connection = DriverManager.getConnection(url, properties);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws SQLException {
+        connection.close();
+    }
+
+
+    @Benchmark
+    public String componentName() throws SQLException {
+        return lookup(COMPONENT_NAME, "h2o");
+    }
+
+
+    @Benchmark
+    public String organismOfModel() throws SQLException {
+        return lookup(ORGANISM_OF_MODEL, "iJO1366");
+    }
+
+
+    /**
+     * Prepares, runs and closes the statement as {@link BiGGDB} does for every lookup.
+     */
+    private String lookup(String query, String parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, parameter);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+}
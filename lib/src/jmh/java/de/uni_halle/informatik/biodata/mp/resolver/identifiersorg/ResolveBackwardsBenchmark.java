@@ -0,0 +1,134 @@
+package de.uni_halle.informatik.biodata.mp.resolver.identifiersorg;
+
+import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Namespace;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving URLs of other databases back to identifiers.org URIs, as done for every annotation of a model, with the
+ * {@link ResourceUrlIndex} compared to checking the URL patterns of all resources, and one by one compared to all at
+ * once by {@link IdentifiersOrg#resolveBackwards(Collection)}.
+ * <p>
+ * The URLs are the ones of every resource of the registry with the sample ID of its namespace, the URLs commonly found
+ * in models, and URLs no resource matches, which are the worst case of checking all patterns.
+ * <p>
+ * {@code ./gradlew :lib:jmh -PjmhIncludes=ResolveBackwardsBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResolveBackwardsBenchmark {
+
+    private static final List<String> MODEL_URLS = List.of(
+            "http://www.genome.jp/dbget-bin/www_bget?cpd:C00001",
+            "https://www.ebi.ac.uk/chebi/searchId.do?chebiId=CHEBI:15377",
+            "https://pubchem.ncbi.nlm.nih.gov/compound/962",
+            "https://www.ncbi.nlm.nih.gov/pubmed/17267599",
+            "https://www.uniprot.org/uniprot/P0A7B8",
+            "https://biocyc.org/compound?id=WATER",
+            "http://www.brenda-enzymes.org/enzyme.php?ecno=1.1.1.1",
+            "https://www.rhea-db.org/rhea/10740",
+            "https://www.example.org/not/a/database",
+            "https://github.com/draeger-lab/MetabolicPolisher");
+
+    private Collection<Namespace> namespaces;
+    private ResourceUrlIndex index;
+    private IdentifiersOrg registry;
+    private List<String> urls;
+    private int next;
+
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        namespaces = new IdentifiersOrgRegistryParser()
+                .parse(IdentifiersOrgRegistryParser.class.getResourceAsStream("IdentifiersOrg-Registry.json"))
+                .getPayload().get("namespaces");
+        index = new ResourceUrlIndex(namespaces);
+        registry = new IdentifiersOrg();
+        urls = new ArrayList<>(MODEL_URLS);
+        for (Namespace namespace : namespaces) {
+            for (Resource resource : namespace.getResources()) {
+                urls.add(resource.getUrlPattern().replace("{$id}", String.valueOf(namespace.getSampleId())));
+            }
+        }
+    }
+
+
+    @Benchmark
+    public List<ResourceUrlIndex.Entry> index() {
+        return index.matching(IdentifiersOrgURIUtils.removeHttpProtocolFromUrl(nextUrl()));
+    }
+
+
+    /**
+     * Checks the URL against the pattern of every resource, as resolving backwards did without the index.
+     */
+    @Benchmark
+    public List<Resource> allPatterns() {
+        String url = IdentifiersOrgURIUtils.removeHttpProtocolFromUrl(nextUrl());
+        List<Resource> matches = new ArrayList<>();
+        for (Namespace namespace : namespaces) {
+            for (Resource resource : namespace.getResources()) {
+                if (url.matches(IdentifiersOrg.getResourceUrlPattern(resource))) {
+                    matches.add(resource);
+                }
+            }
+        }
+        return matches;
+    }
+
+
+    @Benchmark
+    public Optional<RegistryURI> resolveBackwards() {
+        return registry.resolveBackwards(nextUrl());
+    }
+
+
+    /**
+     * Resolves all URLs one by one, to be compared with {@link #resolveAllAtOnce()}.
+     */
+    @Benchmark
+    public Map<String, RegistryURI> resolveAllOneByOne() {
+        Map<String, RegistryURI> resolved = new HashMap<>();
+        for (String url : urls) {
+            registry.resolveBackwards(url).ifPresent(uri -> resolved.put(url, uri));
+        }
+        return resolved;
+    }
+
+
+    @Benchmark
+    public Map<String, RegistryURI> resolveAllAtOnce() {
+        return registry.resolveBackwards(urls);
+    }
+
+
+    private String nextUrl() {
+        String url = urls.get(next);
+        next = (next + 1) % urls.size();
+        return url;
+    }
+}
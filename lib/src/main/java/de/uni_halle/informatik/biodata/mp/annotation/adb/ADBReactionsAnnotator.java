@@ -2,7 +2,7 @@ package de.uni_halle.informatik.biodata.mp.annotation.adb;
 
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
 import de.uni_halle.informatik.biodata.mp.parameters.ADBAnnotationParameters;
-import de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.adb.IQueryAnnotateDB;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
 import org.sbml.jsbml.Reaction;
 
@@ -13,14 +13,24 @@ import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Const
 
 public class ADBReactionsAnnotator extends AbstractADBAnnotator implements IAnnotateSBases<Reaction> {
 
-    public ADBReactionsAnnotator(AnnotateDB adb, ADBAnnotationParameters parameters) {
+    public ADBReactionsAnnotator(IQueryAnnotateDB adb, ADBAnnotationParameters parameters) {
         super(adb, parameters);
     }
 
+    /**
+     * Looks up the annotations of all reactions in one batch and adds them.
+     */
     @Override
     public void annotate(List<Reaction> reactions) throws SQLException {
+        List<String> biggIds = new ArrayList<>(reactions.size());
         for (Reaction reaction : reactions) {
-            annotate(reaction);
+            biggIds.add(BiGGId.createReactionId(reaction.getId()).toBiGGId());
+        }
+        Map<String, Set<String>> annotations = adb.getAnnotations(BIGG_REACTION, biggIds);
+        for (int i = 0; i < reactions.size(); i++) {
+            Reaction reaction = reactions.get(i);
+            addBQB_IS_Annotations(reaction.getAnnotation(), annotations.getOrDefault(biggIds.get(i), new TreeSet<>()));
+            setMetaId(reaction);
         }
     }
 
@@ -29,6 +39,10 @@ public class ADBReactionsAnnotator extends AbstractADBAnnotator implements IAnno
         String id = reaction.getId();
         var reactionId = BiGGId.createReactionId(id);
         addBQB_IS_AnnotationsFromADB(reaction.getAnnotation(), BIGG_REACTION, reactionId);
+        setMetaId(reaction);
+    }
+
+    private static void setMetaId(Reaction reaction) {
         if ((reaction.getCVTermCount() > 0) && !reaction.isSetMetaId()) {
             reaction.setMetaId(reaction.getId());
         }
@@ -2,7 +2,7 @@ package de.uni_halle.informatik.biodata.mp.annotation.adb;
 
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
 import de.uni_halle.informatik.biodata.mp.parameters.ADBAnnotationParameters;
-import de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.adb.IQueryAnnotateDB;
 import org.sbml.jsbml.Model;
 import org.sbml.jsbml.SBMLDocument;
 
@@ -10,7 +10,7 @@ import java.sql.SQLException;
 
 public class ADBSBMLAnnotator extends AbstractADBAnnotator implements IAnnotateSBases<SBMLDocument> {
 
-    public ADBSBMLAnnotator(AnnotateDB adb, ADBAnnotationParameters parameters) {
+    public ADBSBMLAnnotator(IQueryAnnotateDB adb, ADBAnnotationParameters parameters) {
         super(adb, parameters);
     }
 
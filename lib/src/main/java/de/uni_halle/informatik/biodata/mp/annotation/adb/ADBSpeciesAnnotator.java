@@ -2,7 +2,7 @@ package de.uni_halle.informatik.biodata.mp.annotation.adb;
 
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
 import de.uni_halle.informatik.biodata.mp.parameters.ADBAnnotationParameters;
-import de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.adb.IQueryAnnotateDB;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
 import org.sbml.jsbml.Species;
 
@@ -13,14 +13,24 @@ import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Const
 
 public class ADBSpeciesAnnotator extends AbstractADBAnnotator implements IAnnotateSBases<Species> {
 
-    public ADBSpeciesAnnotator(AnnotateDB adb, ADBAnnotationParameters parameters) {
+    public ADBSpeciesAnnotator(IQueryAnnotateDB adb, ADBAnnotationParameters parameters) {
         super(adb, parameters);
     }
 
+    /**
+     * Looks up the annotations of all species in one batch and adds them.
+     */
     @Override
     public void annotate(List<Species> species) throws SQLException {
+        List<String> biggIds = new ArrayList<>(species.size());
         for (Species s : species) {
-            annotate(s);
+            biggIds.add(BiGGId.createMetaboliteId(s.getId()).toBiGGId());
+        }
+        Map<String, Set<String>> annotations = adb.getAnnotations(BIGG_METABOLITE, biggIds);
+        for (int i = 0; i < species.size(); i++) {
+            Species s = species.get(i);
+            addBQB_IS_Annotations(s.getAnnotation(), annotations.getOrDefault(biggIds.get(i), new TreeSet<>()));
+            setMetaId(s);
         }
     }
 
@@ -29,6 +39,10 @@ public class ADBSpeciesAnnotator extends AbstractADBAnnotator implements IAnnota
         String id = species.getId();
         var metaboliteId = BiGGId.createMetaboliteId(id);
         addBQB_IS_AnnotationsFromADB(species.getAnnotation(), BIGG_METABOLITE, metaboliteId);
+        setMetaId(species);
+    }
+
+    private static void setMetaId(Species species) {
         if ((species.getCVTermCount() > 0) && !species.isSetMetaId()) {
             species.setMetaId(species.getId());
         }
@@ -1,7 +1,7 @@
 package de.uni_halle.informatik.biodata.mp.annotation.adb;
 
 import de.uni_halle.informatik.biodata.mp.parameters.ADBAnnotationParameters;
-import de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.adb.IQueryAnnotateDB;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
 import org.sbml.jsbml.Annotation;
 import org.sbml.jsbml.CVTerm;
@@ -11,23 +11,30 @@ import java.util.*;
 
 public abstract class AbstractADBAnnotator {
 
-    protected final AnnotateDB adb;
+    protected final IQueryAnnotateDB adb;
     protected final ADBAnnotationParameters parameters;
 
-    public AbstractADBAnnotator(AnnotateDB adb, ADBAnnotationParameters parameters) {
+    public AbstractADBAnnotator(IQueryAnnotateDB adb, ADBAnnotationParameters parameters) {
         super();
         this.adb = adb;
         this.parameters = parameters;
     }
 
     protected void addBQB_IS_AnnotationsFromADB(Annotation annotation, String type, BiGGId biggId) throws SQLException {
+        addBQB_IS_Annotations(annotation, adb.getAnnotations(type, biggId.toBiGGId()));
+    }
+
+    /**
+     * Adds the given annotation URLs, e.g. looked up for a whole model at once, to the BQB_IS term of the annotation.
+     *
+     * @param annotations The URLs, which may be modified.
+     */
+    protected void addBQB_IS_Annotations(Annotation annotation, Set<String> annotations) {
         CVTerm cvTerm = annotation.getListOfCVTerms().stream()
                 .filter(term -> term.getQualifier() == CVTerm.Qualifier.BQB_IS)
                 .findFirst()
                 .orElse(new CVTerm(CVTerm.Qualifier.BQB_IS));
 
-        Set<String> annotations = adb.getAnnotations(type, biggId.toBiGGId());
-
         annotations.removeAll(new HashSet<>(cvTerm.getResources()));
         List<String> sortedAnnotations = new ArrayList<>(annotations);
         Collections.sort(sortedAnnotations);
@@ -1,7 +1,10 @@
 package de.uni_halle.informatik.biodata.mp.annotation.bigg;
 
 import de.uni_halle.informatik.biodata.mp.annotation.AbstractAnnotator;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.AsyncQueryExecutor;
+import de.uni_halle.informatik.biodata.mp.db.DegradedLookups;
+import de.uni_halle.informatik.biodata.mp.db.QueryTimeoutException;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
@@ -9,6 +12,10 @@ import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.NamedSBase;
 import org.sbml.jsbml.Reaction;
 import org.sbml.jsbml.Species;
 import org.sbml.jsbml.ext.fbc.GeneProduct;
@@ -21,18 +28,24 @@ import java.util.stream.Stream;
 
 public abstract class AbstractBiGGAnnotator extends AbstractAnnotator {
 
-    protected final BiGGDB bigg;
+    private static final Logger logger = LoggerFactory.getLogger(AbstractBiGGAnnotator.class);
+
+    protected final IQueryBiGG bigg;
     protected final Registry registry;
     protected final BiGGAnnotationParameters biGGAnnotationParameters;
+    /**
+     * Runs the lookups for all elements of a list concurrently, see {@link AsyncQueryExecutor}.
+     */
+    protected final AsyncQueryExecutor queries = AsyncQueryExecutor.shared();
 
-    public AbstractBiGGAnnotator(BiGGDB bigg, BiGGAnnotationParameters biGGAnnotationParameters, Registry registry) {
+    public AbstractBiGGAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters biGGAnnotationParameters, Registry registry) {
         super();
         this.bigg = bigg;
         this.registry = registry;
         this.biGGAnnotationParameters = biGGAnnotationParameters;
     }
 
-    public AbstractBiGGAnnotator(BiGGDB bigg, BiGGAnnotationParameters biGGAnnotationParameters, Registry registry, List<ProgressObserver> observers) {
+    public AbstractBiGGAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters biGGAnnotationParameters, Registry registry, List<ProgressObserver> observers) {
         super(observers);
         this.bigg = bigg;
         this.registry = registry;
@@ -95,4 +108,44 @@ public abstract class AbstractBiGGAnnotator extends AbstractAnnotator {
         return Optional.empty();
     }
 
-}
\ No newline at end of file
+    /**
+     * Handles the failure of the lookups for an element. If
+     * {@link de.uni_halle.informatik.biodata.mp.parameters.DBParameters#degradeOnTimeout()} is set and the lookups
+     * exceeded their deadline, the element is left unannotated and recorded in the {@link DegradedLookups}, so that
+     * the rest of the model can proceed. Otherwise, the failure is rethrown.
+     *
+     * @param element The element whose lookups failed, or the model if its own lookups failed.
+     */
+    protected void skipOnTimeout(NamedSBase element, SQLException e) throws SQLException {
+        if (!biGGAnnotationParameters.dbParameters().degradeOnTimeout() || !QueryTimeoutException.isTimeout(e)) {
+            throw e;
+        }
+        Model model = element.getModel();
+        String modelId = model == null ? null : model.getId();
+        String elementId = element == model ? null : element.getId();
+        logger.warn("Leaving {} of model {} unannotated: {}", elementId == null ? "model" : elementId, modelId,
+                e.getMessage());
+        DegradedLookups.record(modelId, elementId, e);
+    }
+
+    /**
+     * Handles the failure of a lookup issued for several elements at once, before they are looked up one by one. If
+     * {@link de.uni_halle.informatik.biodata.mp.parameters.DBParameters#degradeOnTimeout()} is set and the lookup
+     * exceeded its deadline, it is recorded in the {@link DegradedLookups} and the caller goes on as if it had found
+     * nothing, so that each element is still looked up on its own and skipped by {@link #skipOnTimeout} if that times
+     * out as well. Otherwise, the failure is rethrown.
+     *
+     * @param model    The model the elements belong to.
+     * @param elements What the lookup was issued for, e.g. {@code "reactions"}, as recorded in the
+     *                 {@link DegradedLookups}.
+     */
+    protected void continueOnTimeout(Model model, String elements, SQLException e) throws SQLException {
+        if (!biGGAnnotationParameters.dbParameters().degradeOnTimeout() || !QueryTimeoutException.isTimeout(e)) {
+            throw e;
+        }
+        String modelId = model == null ? null : model.getId();
+        logger.warn("Looking up the {} of model {} one by one: {}", elements, modelId, e.getMessage());
+        DegradedLookups.record(modelId, elements, e);
+    }
+
+}
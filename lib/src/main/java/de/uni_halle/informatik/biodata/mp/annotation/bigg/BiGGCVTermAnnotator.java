@@ -1,7 +1,7 @@
 package de.uni_halle.informatik.biodata.mp.annotation.bigg;
 
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
@@ -18,11 +18,11 @@ import java.util.List;
  */
 public abstract class BiGGCVTermAnnotator<T extends SBase> extends AbstractBiGGAnnotator {
 
-  public BiGGCVTermAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry) {
+  public BiGGCVTermAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry) {
     super(bigg, parameters, registry);
   }
 
-  public BiGGCVTermAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
+  public BiGGCVTermAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
     super(bigg, parameters, registry, observers);
   }
 
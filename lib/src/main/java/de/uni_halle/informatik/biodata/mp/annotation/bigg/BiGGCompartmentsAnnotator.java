@@ -8,7 +8,7 @@ import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
 import org.sbml.jsbml.*;
 
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -21,11 +21,11 @@ import java.util.List;
 public class BiGGCompartmentsAnnotator extends AbstractBiGGAnnotator implements IAnnotateSBases<Compartment> {
 
 
-  public BiGGCompartmentsAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry) {
+  public BiGGCompartmentsAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry) {
     super(bigg, parameters, registry);
   }
 
-  public BiGGCompartmentsAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
+  public BiGGCompartmentsAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
     super(bigg, parameters, registry, observers);
   }
 
@@ -33,7 +33,11 @@ public class BiGGCompartmentsAnnotator extends AbstractBiGGAnnotator implements
   public void annotate(List<Compartment> compartments) throws SQLException {
       for (Compartment compartment : compartments) {
         statusReport("Annotating Compartments (2/5)  ", compartment);
-        annotate(compartment);
+        try {
+          annotate(compartment);
+        } catch (SQLException e) {
+          skipOnTimeout(compartment, e);
+        }
       }
   }
 
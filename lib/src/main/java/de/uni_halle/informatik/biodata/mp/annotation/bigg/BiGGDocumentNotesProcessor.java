@@ -1,7 +1,7 @@
 package de.uni_halle.informatik.biodata.mp.annotation.bigg;
 
 import de.zbit.util.ResourceManager;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.logging.BundleNames;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import org.sbml.jsbml.Model;
@@ -19,9 +19,9 @@ public class BiGGDocumentNotesProcessor {
     private static final ResourceBundle MESSAGES = ResourceManager.getBundle(BundleNames.BIGG_ANNOTATION_MESSAGES);
 
     private final BiGGAnnotationParameters parameters;
-    private final BiGGDB bigg;
+    private final IQueryBiGG bigg;
 
-    public BiGGDocumentNotesProcessor(BiGGDB bigg, BiGGAnnotationParameters parameters) {
+    public BiGGDocumentNotesProcessor(IQueryBiGG bigg, BiGGAnnotationParameters parameters) {
         this.parameters = parameters;
         this.bigg = bigg;
     }
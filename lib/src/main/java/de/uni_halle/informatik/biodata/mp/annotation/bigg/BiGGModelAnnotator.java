@@ -1,7 +1,7 @@
 package de.uni_halle.informatik.biodata.mp.annotation.bigg;
 
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
@@ -29,10 +29,10 @@ public class BiGGModelAnnotator extends AbstractBiGGAnnotator implements IAnnota
   public static final String REF_SEQ_ACCESSION_NUMBER_PATTERN = "^(((AC|AP|NC|NG|NM|NP|NR|NT|NW|XM|XP|XR|YP|ZP)_\\d+)|(NZ_[A-Z]{2,4}\\d+))(\\.\\d+)?$";
   public static final String GENOME_ASSEMBLY_ID_PATTERN = "^GC[AF]_[0-9]{9}\\.[0-9]+$";
 
-  public BiGGModelAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry) {
+  public BiGGModelAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry) {
     super(bigg, parameters, registry);
   }
-  public BiGGModelAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
+  public BiGGModelAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
     super(bigg, parameters, registry, observers);
   }
 
@@ -1,7 +1,7 @@
 package de.uni_halle.informatik.biodata.mp.annotation.bigg;
 
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.db.bigg.Publication;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
@@ -15,7 +15,7 @@ import java.util.List;
 
 public class BiGGPublicationsAnnotator extends AbstractBiGGAnnotator implements IAnnotateSBases<Model> {
 
-    public BiGGPublicationsAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
+    public BiGGPublicationsAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
         super(bigg, parameters, registry, observers);
 
     }
@@ -2,12 +2,15 @@ package de.uni_halle.informatik.biodata.mp.annotation.bigg;
 
 import de.zbit.util.ResourceManager;
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
+import de.uni_halle.informatik.biodata.mp.db.AsyncQueryExecutor;
 import de.uni_halle.informatik.biodata.mp.logging.BundleNames;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.parameters.SBOParameters;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB.ForeignReaction;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
 import de.uni_halle.informatik.biodata.mp.util.ext.fbc.GPRParser;
@@ -25,6 +28,7 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -43,29 +47,142 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
 
   private final SBOParameters sboParameters;
 
-  public BiGGReactionsAnnotator(BiGGDB bigg, BiGGAnnotationParameters biGGAnnotationParameters, SBOParameters sboParameters, Registry registry) {
+  public BiGGReactionsAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters biGGAnnotationParameters, SBOParameters sboParameters, Registry registry) {
     super(bigg, biGGAnnotationParameters, registry);
     this.sboParameters = sboParameters;
   }
 
-  public BiGGReactionsAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry, List<ProgressObserver> observers) {
+  public BiGGReactionsAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry, List<ProgressObserver> observers) {
     super(bigg, parameters, registry, observers);
     this.sboParameters = sboParameters;
   }
 
 
+  /**
+   * The values of a reaction the database lookups depend on, captured before the lookups are issued, so that they do
+   * not access the SBML document concurrently.
+   */
+  private record ReactionInput(String id, List<String> resources, boolean isSetCompartment, String compartment,
+                               String compartmentName, String modelId, boolean isSetSBOTerm) {
+
+    static ReactionInput of(Reaction reaction) {
+      String compartmentName = reaction.isSetCompartmentInstance() && reaction.getCompartmentInstance().isSetName()
+        ? reaction.getCompartmentInstance().getName()
+        : null;
+      List<String> resources = reaction.getAnnotation().getListOfCVTerms()
+              .stream()
+              .filter(cvTerm -> cvTerm.getQualifier() == Qualifier.BQB_IS)
+              .flatMap(term -> term.getResources().stream())
+              .toList();
+      String modelId = reaction.getModel() == null ? null : reaction.getModel().getId();
+      return new ReactionInput(reaction.getId(), resources, reaction.isSetCompartment(), reaction.getCompartment(),
+        compartmentName, modelId, reaction.isSetSBOTerm());
+    }
+  }
+
+
+  /**
+   * The results of the database lookups for one reaction, see {@link #lookup(ReactionInput)}.
+   */
+  private record ReactionLookup(BiGGId biggId, Optional<String> name, boolean isPseudoreaction,
+                                boolean isBiGGReaction, Set<IdentifiersOrgURI> resources,
+                                List<String> geneReactionRules, boolean isBiGGModel, List<String> subsystems) {
+  }
+
+
   /**
    * Delegates the annotation process for each reaction in the given SBML model.
-   * This method iterates over all reactions in the model, updates the progress display,
-   * and invokes the annotation for each reaction.
+   * The database lookups for all reactions are issued up front and run concurrently, the results are then applied to
+   * the reactions one after the other, updating the progress display. The cross-references of all reactions that
+   * lack a BiGG ID are resolved by the registry in a single call and to BiGG reactions in a single query beforehand.
+   * If these lookups time out, the reactions are looked up by their own IDs only, see {@link #continueOnTimeout}. A
+   * reaction whose lookups time out may be skipped, see {@link #skipOnTimeout}.
    */
   @Override
   public void annotate(List<Reaction> reactions) throws SQLException {
+    List<ReactionInput> inputs = new ArrayList<>(reactions.size());
     for (Reaction reaction : reactions) {
-      annotate(reaction);
+      inputs.add(ReactionInput.of(reaction));
+    }
+    List<List<RegistryURI>> foreignIds = new ArrayList<>(Collections.nCopies(reactions.size(), List.of()));
+    Map<RegistryURI, Collection<ForeignReaction>> foreignReactions = Map.of();
+    try {
+      boolean[] isBiGGReaction = new boolean[reactions.size()];
+      Set<String> resources = new HashSet<>();
+      for (int i = 0; i < inputs.size(); i++) {
+        // Check if the reaction ID matches the expected BiGG ID format and exists in the database
+        isBiGGReaction[i] = bigg.isReaction(inputs.get(i).id());
+        if (!isBiGGReaction[i]) {
+          resources.addAll(inputs.get(i).resources());
+        }
+      }
+      Map<String, RegistryURI> resolved = registry.resolveBackwards(resources);
+      Set<RegistryURI> allForeignIds = new HashSet<>();
+      for (int i = 0; i < inputs.size(); i++) {
+        List<RegistryURI> uris = isBiGGReaction[i] ? List.of() : getForeignIds(inputs.get(i), resolved);
+        foreignIds.set(i, uris);
+        allForeignIds.addAll(uris);
+      }
+      foreignReactions = bigg.getBiggIdsForReactionForeignId(allForeignIds);
+    } catch (SQLException e) {
+      // the reactions are looked up by their own IDs only
+      continueOnTimeout(reactions.isEmpty() ? null : reactions.get(0).getModel(), "reactions", e);
+      Collections.fill(foreignIds, List.of());
+    }
+    Map<RegistryURI, Collection<ForeignReaction>> batchForeignReactions = foreignReactions;
+
+    List<CompletableFuture<ReactionLookup>> lookups = new ArrayList<>(reactions.size());
+    for (int i = 0; i < reactions.size(); i++) {
+      ReactionInput input = inputs.get(i);
+      List<RegistryURI> uris = foreignIds.get(i);
+      lookups.add(queries.submit(() -> lookup(input, uris, batchForeignReactions)));
+    }
+    for (int i = 0; i < reactions.size(); i++) {
+      Reaction reaction = reactions.get(i);
+      statusReport("Annotating Reactions (4/5)  ", reaction);
+      ReactionLookup lookup;
+      try {
+        lookup = AsyncQueryExecutor.join(lookups.get(i));
+      } catch (SQLException e) {
+        skipOnTimeout(reaction, e);
+        continue;
+      }
+      lookup.name().ifPresent(reaction::setName);
+      if (!reaction.isSetSBOTerm() && lookup.isPseudoreaction()) {
+        reaction.setSBOTerm(631);
+      }
+      addAnnotations(reaction, lookup.biggId(), lookup.isBiGGReaction(), lookup.resources());
+      setGeneReactionRules(reaction, lookup.geneReactionRules());
+      parseSubsystems(reaction, lookup.isBiGGModel(), lookup.subsystems());
     }
   }
 
+
+  /**
+   * Performs all database lookups needed to annotate a reaction, without accessing the reaction itself.
+   *
+   * @param foreignIds       The cross-references of the reaction, see {@link #getForeignIds(ReactionInput, Map)}.
+   * @param foreignReactions The BiGG reactions the cross-references refer to.
+   */
+  private ReactionLookup lookup(ReactionInput input, List<RegistryURI> foreignIds,
+                                Map<RegistryURI, Collection<ForeignReaction>> foreignReactions) throws SQLException {
+    BiGGId biggId = findBiGGId(input, foreignIds, foreignReactions);
+    String abbreviation = biggId.getAbbreviation();
+    Optional<String> name = bigg.getReactionName(abbreviation);
+    boolean isPseudoreaction = !input.isSetSBOTerm() && bigg.isPseudoreaction(abbreviation);
+    boolean isBiGGReaction = bigg.isReaction(abbreviation);
+    Set<IdentifiersOrgURI> resources = isBiGGReaction
+      ? bigg.getResources(biggId, biGGAnnotationParameters.includeAnyURI(), true)
+      : Set.of();
+    List<String> geneReactionRules = bigg.getGeneReactionRule(abbreviation, input.modelId());
+    boolean isBiGGModel = bigg.isModel(input.modelId());
+    List<String> subsystems = isBiGGModel
+      ? bigg.getSubsystems(input.modelId(), abbreviation)
+      : bigg.getSubsystemsForReaction(abbreviation);
+    return new ReactionLookup(biggId, name, isPseudoreaction, isBiGGReaction, resources, geneReactionRules,
+      isBiGGModel, subsystems);
+  }
+
   /**
    * Annotates a reaction by setting its name, SBO term, and additional annotations. It also processes gene reaction rules
    * and subsystem information associated with the reaction. This method retrieves a BiGG ID for the reaction, either from
@@ -96,18 +213,37 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
    */
   @Override
   public BiGGId findBiGGId(Reaction reaction) throws SQLException {
-    String id = reaction.getId();
-    // Check if the reaction ID matches the expected BiGG ID format and exists in the database
-    boolean isBiGGid = bigg.isReaction(id);
-    if (!isBiGGid) {
+    ReactionInput input = ReactionInput.of(reaction);
+    List<RegistryURI> foreignIds = bigg.isReaction(input.id())
+      ? List.of()
+      : getForeignIds(input, registry.resolveBackwards(input.resources()));
+    return findBiGGId(input, foreignIds, bigg.getBiggIdsForReactionForeignId(foreignIds));
+  }
+
+
+  /**
+   * Only used for reactions whose ID is not a BiGG ID already, the others have no foreign IDs.
+   *
+   * @param resolved The resolved resources, see {@link Registry#resolveBackwards(Collection)}.
+   * @return The cross-references of the reaction resolved from its {@link Qualifier#BQB_IS} resources.
+   */
+  private static List<RegistryURI> getForeignIds(ReactionInput reaction, Map<String, RegistryURI> resolved) {
+    return reaction.resources()
+            .stream()
+            .map(resolved::get)
+            .filter(Objects::nonNull)
+            .toList();
+  }
+
+
+  private BiGGId findBiGGId(ReactionInput reaction, List<RegistryURI> foreignIds,
+                            Map<RegistryURI, Collection<ForeignReaction>> foreignReactions) {
+    String id = reaction.id();
+    if (!foreignIds.isEmpty()) {
       // Extract BiGG IDs from annotations if the direct ID check fails
-      var ids = reaction.getAnnotation().getListOfCVTerms()
+      var ids = foreignIds
               .stream()
-              .filter(cvTerm -> cvTerm.getQualifier() == Qualifier.BQB_IS)
-              .flatMap(term -> term.getResources().stream())
-              .map(registry::resolveBackwards)
-              .flatMap(Optional::stream)
-              .map(bigg::getBiggIdsForReactionForeignId)
+              .map(uri -> foreignReactions.getOrDefault(uri, List.of()))
               .flatMap(Collection::stream)
               .filter(foreignReaction -> matchingCompartments(reaction, foreignReaction))
               .map(fr -> fr.reactionId)
@@ -132,7 +268,7 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
    * @param foreignReaction The foreign reaction object containing compartment details to compare against the reaction.
    * @return true if the compartments match according to the conditions above, false otherwise.
    */
-  private boolean matchingCompartments(Reaction reaction, BiGGDB.ForeignReaction foreignReaction) {
+  private boolean matchingCompartments(ReactionInput reaction, ForeignReaction foreignReaction) {
     if (!reaction.isSetCompartment()
             && null == foreignReaction.compartmentId
             && null == foreignReaction.compartmentName) {
@@ -141,16 +277,15 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
             && (null != foreignReaction.compartmentId
             || null != foreignReaction.compartmentName)) {
       return false;
-    } else if (reaction.isSetCompartmentInstance()
-            && reaction.getCompartmentInstance().isSetName()
+    } else if (reaction.compartmentName() != null
     && foreignReaction.compartmentName != null) {
-      String reactionCompartmentName = reaction.getCompartmentInstance().getName().toLowerCase();
+      String reactionCompartmentName = reaction.compartmentName().toLowerCase();
       String foreignReactionCompartmentName = foreignReaction.compartmentName.toLowerCase();
       return reactionCompartmentName.equals(foreignReactionCompartmentName)
               || reactionCompartmentName.contains(foreignReactionCompartmentName)
               || foreignReactionCompartmentName.contains(reactionCompartmentName);
     } else if (reaction.isSetCompartment()) {
-      return reaction.getCompartment().equals(foreignReaction.compartmentId);
+      return reaction.compartment().equals(foreignReaction.compartmentId);
     }
     else
       return false;
@@ -187,6 +322,15 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
   }
 
   void addAnnotations(Reaction node, BiGGId biggId) throws SQLException {
+    boolean isBiGGReaction = bigg.isReaction(biggId.getAbbreviation());
+    Set<IdentifiersOrgURI> resources = isBiGGReaction
+      ? bigg.getResources(biggId, biGGAnnotationParameters.includeAnyURI(), true)
+      : Set.of();
+    addAnnotations(node, biggId, isBiGGReaction, resources);
+  }
+
+
+  private void addAnnotations(Reaction node, BiGGId biggId, boolean isBiGGReaction, Set<IdentifiersOrgURI> resources) {
     CVTerm cvTerm = null;
     for (CVTerm term : node.getAnnotation().getListOfCVTerms()) {
       if (term.getQualifier() == Qualifier.BQB_IS) {
@@ -200,12 +344,11 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
     }
 
     Set<String> annotations = new HashSet<>();
-    boolean isBiGGReaction = bigg.isReaction(biggId.getAbbreviation());
     // using BiGG Database
     if (isBiGGReaction) {
       annotations.add(new IdentifiersOrgURI("bigg.reaction", biggId).getURI());
 
-      Set<String> biggAnnotations = bigg.getResources(biggId, biGGAnnotationParameters.includeAnyURI(), true)
+      Set<String> biggAnnotations = resources
               .stream()
               .map(IdentifiersOrgURI::getURI)
               .collect(Collectors.toSet());
@@ -243,7 +386,11 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
    */
   public void parseGeneReactionRules(Reaction reaction, BiGGId biggId) throws SQLException {
     String abbreviation = biggId.getAbbreviation();
-    List<String> geneReactionRules = bigg.getGeneReactionRule(abbreviation, reaction.getModel().getId());
+    setGeneReactionRules(reaction, bigg.getGeneReactionRule(abbreviation, reaction.getModel().getId()));
+  }
+
+
+  private void setGeneReactionRules(Reaction reaction, List<String> geneReactionRules) {
     for (String geneReactionRule : geneReactionRules) {
       GPRParser.setGeneProductAssociation(reaction, geneReactionRule, sboParameters.addGenericTerms());
     }
@@ -264,15 +411,18 @@ public class BiGGReactionsAnnotator extends BiGGCVTermAnnotator<Reaction> implem
   private void parseSubsystems(Reaction reaction, BiGGId biggId) throws SQLException {
     Model model = reaction.getModel();
     boolean isBiGGModel = bigg.isModel(model.getId());
-    List<String> subsystems;
-    if (isBiGGModel) {
-      subsystems = bigg.getSubsystems(model.getId(), biggId.getAbbreviation());
-    } else {
-      if (!triggeredSubsystemWarning) {
-        triggeredSubsystemWarning = true;
-        logger.debug(MESSAGES.getString("SUBSYSTEM_MODEL_NOT_BIGG"));
-      }
-      subsystems = bigg.getSubsystemsForReaction(biggId.getAbbreviation());
+    List<String> subsystems = isBiGGModel
+      ? bigg.getSubsystems(model.getId(), biggId.getAbbreviation())
+      : bigg.getSubsystemsForReaction(biggId.getAbbreviation());
+    parseSubsystems(reaction, isBiGGModel, subsystems);
+  }
+
+
+  private void parseSubsystems(Reaction reaction, boolean isBiGGModel, List<String> subsystems) {
+    Model model = reaction.getModel();
+    if (!isBiGGModel && !triggeredSubsystemWarning) {
+      triggeredSubsystemWarning = true;
+      logger.debug(MESSAGES.getString("SUBSYSTEM_MODEL_NOT_BIGG"));
     }
     if (subsystems.isEmpty()) {
       return;
@@ -9,12 +9,19 @@ import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.parameters.SBOParameters;
 import de.uni_halle.informatik.biodata.mp.annotation.AnnotationsSorter;
 import de.uni_halle.informatik.biodata.mp.annotation.bigg.ext.fbc.BiGGFBCAnnotator;
+import de.uni_halle.informatik.biodata.mp.db.QueryTimeoutException;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import org.sbml.jsbml.Model;
 import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.ext.fbc.FBCConstants;
+import org.sbml.jsbml.ext.fbc.FBCModelPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGModelSnapshot;
 
 
 /**
@@ -26,14 +33,16 @@ import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
  */
 public class BiGGSBMLAnnotator extends AbstractBiGGAnnotator implements IAnnotateSBases<SBMLDocument> {
 
+  private static final Logger logger = LoggerFactory.getLogger(BiGGSBMLAnnotator.class);
+
   private final SBOParameters sboParameters;
 
-  public BiGGSBMLAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry) {
+  public BiGGSBMLAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry) {
     super(bigg, parameters, registry);
     this.sboParameters = sboParameters;
   }
 
-  public BiGGSBMLAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry, List<ProgressObserver> observers) {
+  public BiGGSBMLAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry, List<ProgressObserver> observers) {
     super(bigg, parameters, registry, observers);
     this.sboParameters = sboParameters;
   }
@@ -43,29 +52,94 @@ public class BiGGSBMLAnnotator extends AbstractBiGGAnnotator implements IAnnotat
    * Annotates an SBMLDocument using data from the BiGG Knowledgebase. This method processes various components of the
    * SBML model such as compartments, species, reactions, and gene products by adding relevant annotations from BiGG.
    * It also handles the addition of publications and notes related to the model.
+   * The per-element lookups of all annotators are prefetched for the whole model beforehand, see
+   * {@link BiGGModelSnapshot}. Elements whose lookups time out may be skipped, see {@link #skipOnTimeout}.
    *
    * @param doc The SBMLDocument that contains the model to be annotated.
    */
   @Override
   public void annotate(SBMLDocument doc) throws SQLException, AnnotationException {
     Model model = doc.getModel();
+    IQueryBiGG snapshot = prefetch(model);
 
-    new BiGGModelAnnotator(bigg, biGGAnnotationParameters, registry, getObservers()).annotate(model);
+    try {
+      new BiGGModelAnnotator(snapshot, biGGAnnotationParameters, registry, getObservers()).annotate(model);
+    } catch (SQLException e) {
+      skipOnTimeout(model, e);
+    }
 
     // Annotate various components of the model
-    new BiGGPublicationsAnnotator(bigg, biGGAnnotationParameters, registry, getObservers()).annotate(model);
+    try {
+      new BiGGPublicationsAnnotator(snapshot, biGGAnnotationParameters, registry, getObservers()).annotate(model);
+    } catch (SQLException e) {
+      skipOnTimeout(model, e);
+    }
 
-    new BiGGCompartmentsAnnotator(bigg, biGGAnnotationParameters, registry, getObservers()).annotate(model.getListOfCompartments());
+    new BiGGCompartmentsAnnotator(snapshot, biGGAnnotationParameters, registry, getObservers()).annotate(model.getListOfCompartments());
 
-    new BiGGSpeciesAnnotator(bigg, biGGAnnotationParameters, sboParameters, registry, getObservers()).annotate(model.getListOfSpecies());
+    new BiGGSpeciesAnnotator(snapshot, biGGAnnotationParameters, sboParameters, registry, getObservers()).annotate(model.getListOfSpecies());
 
-    new BiGGReactionsAnnotator(bigg, biGGAnnotationParameters, sboParameters, registry).annotate(model.getListOfReactions());
+    new BiGGReactionsAnnotator(snapshot, biGGAnnotationParameters, sboParameters, registry).annotate(model.getListOfReactions());
 
-    new BiGGFBCAnnotator(bigg, biGGAnnotationParameters, registry, getObservers()).annotate(model);
+    try {
+      new BiGGFBCAnnotator(snapshot, biGGAnnotationParameters, registry, getObservers()).annotate(model);
+    } catch (SQLException e) {
+      skipOnTimeout(model, e);
+    }
 
-    new BiGGDocumentNotesProcessor(bigg, biGGAnnotationParameters).processNotes(doc);
+    try {
+      new BiGGDocumentNotesProcessor(snapshot, biGGAnnotationParameters).processNotes(doc);
+    } catch (SQLException e) {
+      skipOnTimeout(model, e);
+    }
 
     new AnnotationsSorter().groupAndSortAnnotations(doc);
   }
 
+
+  /**
+   * Fetches the BiGG data needed to annotate the species, reactions and gene products of the model with one query
+   * per kind of lookup. If these queries time out and
+   * {@link de.uni_halle.informatik.biodata.mp.parameters.DBParameters#degradeOnTimeout()} is set, the elements which
+   * have not been prefetched are looked up one by one instead, each within its own deadline.
+   *
+   * @param model The model to be annotated.
+   * @return A snapshot answering the lookups of the annotators for this model.
+   */
+  private BiGGModelSnapshot prefetch(Model model) throws SQLException {
+    var snapshot = new BiGGModelSnapshot(bigg, model.getId(), biGGAnnotationParameters.includeAnyURI());
+    try {
+      prefetch(snapshot, model);
+    } catch (SQLException e) {
+      if (!biGGAnnotationParameters.dbParameters().degradeOnTimeout() || !QueryTimeoutException.isTimeout(e)) {
+        throw e;
+      }
+      logger.warn("Could not prefetch the BiGG data of model {}: {}", model.getId(), e.getMessage());
+    }
+    return snapshot;
+  }
+
+
+  private void prefetch(BiGGModelSnapshot snapshot, Model model) throws SQLException {
+    snapshot.prefetchMetabolites(model.getListOfSpecies().stream()
+            .map(species -> BiGGId.createMetaboliteId(species.getId()))
+            .toList());
+    snapshot.prefetchReactions(model.getListOfReactions().stream()
+            .map(reaction -> BiGGId.createReactionId(reaction.getId()))
+            .toList());
+    if (model.isSetPlugin(FBCConstants.shortLabel)) {
+      var fbcModelPlugin = (FBCModelPlugin) model.getPlugin(FBCConstants.shortLabel);
+      List<BiGGId> geneIds = fbcModelPlugin.getListOfGeneProducts().stream()
+              .map(geneProduct -> BiGGId.createGeneId(geneProduct.getId()))
+              .toList();
+      // same label the gene product annotator uses to look up gene names
+      List<String> labels = fbcModelPlugin.getListOfGeneProducts().stream()
+              .map(geneProduct -> geneProduct.isSetLabel() && !geneProduct.getLabel().equalsIgnoreCase("None")
+                      ? geneProduct.getLabel()
+                      : BiGGId.createGeneId(geneProduct.getId()).toBiGGId())
+              .toList();
+      snapshot.prefetchGeneProducts(geneIds, labels);
+    }
+  }
+
 }
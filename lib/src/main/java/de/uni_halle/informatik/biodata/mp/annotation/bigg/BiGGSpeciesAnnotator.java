@@ -1,10 +1,11 @@
 package de.uni_halle.informatik.biodata.mp.annotation.bigg;
 
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
+import de.uni_halle.informatik.biodata.mp.db.AsyncQueryExecutor;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.parameters.SBOParameters;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
@@ -13,6 +14,7 @@ import org.sbml.jsbml.CVTerm.Qualifier;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.TYPE_SPECIES;
@@ -29,27 +31,71 @@ public class BiGGSpeciesAnnotator extends BiGGCVTermAnnotator<Species> implement
 
   private final SBOParameters sboParameters;
 
-  protected BiGGSpeciesAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry) {
+  protected BiGGSpeciesAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry) {
     super(bigg, parameters, registry);
       this.sboParameters = sboParameters;
   }
-  protected BiGGSpeciesAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry, List<ProgressObserver> observers) {
+  protected BiGGSpeciesAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, SBOParameters sboParameters, Registry registry, List<ProgressObserver> observers) {
     super(bigg, parameters, registry, observers);
       this.sboParameters = sboParameters;
   }
 
+  /**
+   * The results of the database lookups for one species, see {@link #lookup(String, List, String)}.
+   */
+  private record SpeciesLookup(BiGGId biggId, Optional<String> name, boolean isBiGGMetabolite,
+                               Set<IdentifiersOrgURI> resources) {
+  }
+
+
   /**
    * Delegates annotation processing for all chemical species contained in the {@link Model}.
-   * This method iterates over each species in the model and applies specific annotations.
+   * The database lookups for all species are issued up front and run concurrently, the results are then applied to
+   * the species one after the other. A species whose lookups time out may be skipped, see
+   * {@link #skipOnTimeout}.
    */
   @Override
   public void annotate(List<Species> species) throws SQLException {
+    List<CompletableFuture<SpeciesLookup>> lookups = new ArrayList<>(species.size());
     for (Species s : species) {
+      String id = s.getId();
+      List<String> resources = getResources(s);
+      String name = s.isSetName() ? s.getName() : null;
+      lookups.add(queries.submit(() -> lookup(id, resources, name)));
+    }
+    for (int i = 0; i < species.size(); i++) {
+      Species s = species.get(i);
       statusReport("Annotating Species (3/5)  ", s);
-      annotate(s);
+      SpeciesLookup lookup;
+      try {
+        lookup = AsyncQueryExecutor.join(lookups.get(i));
+      } catch (SQLException e) {
+        skipOnTimeout(s, e);
+        continue;
+      }
+      lookup.name().ifPresent(s::setName);
+      addAnnotations(s, lookup.biggId(), lookup.isBiGGMetabolite(), lookup.resources());
     }
   }
 
+
+  /**
+   * Performs all database lookups needed to annotate a species, without accessing the species itself.
+   *
+   * @param id        The ID of the species.
+   * @param resources The {@link Qualifier#BQB_IS} resources of the species.
+   * @param name      The name of the species, or {@code null} if it is not set.
+   */
+  private SpeciesLookup lookup(String id, List<String> resources, String name) throws SQLException {
+    BiGGId biggId = findBiGGId(id, resources);
+    Optional<String> componentName = needsName(name, biggId) ? bigg.getComponentName(biggId) : Optional.empty();
+    boolean isBiGGMetabolite = bigg.isMetabolite(biggId.getAbbreviation());
+    Set<IdentifiersOrgURI> uris = isBiGGMetabolite
+      ? bigg.getResources(biggId, biGGAnnotationParameters.includeAnyURI(), false)
+      : Set.of();
+    return new SpeciesLookup(biggId, componentName, isBiGGMetabolite, uris);
+  }
+
   /**
    * This method annotates a species with various details fetched from the BiGG Knowledgebase. It performs the following:
    * 1. Sets the species name based on the BiGGId. If the species does not have a name, it uses the BiGGId as the name.
@@ -76,20 +122,19 @@ public class BiGGSpeciesAnnotator extends BiGGCVTermAnnotator<Species> implement
    */
   @Override
   public BiGGId findBiGGId(Species species) throws SQLException {
+    return findBiGGId(species.getId(), getResources(species));
+  }
+
+
+  private BiGGId findBiGGId(String id, List<String> resources) throws SQLException {
     // Attempt to create a BiGGId from the species ID
-    var metaboliteId = BiGGId.createMetaboliteId(species.getId());
+    var metaboliteId = BiGGId.createMetaboliteId(id);
 
     // Check if the created BiGGId is valid, if not, try to find a BiGGId from annotations
     boolean isBiGGid = bigg.isMetabolite(metaboliteId.getAbbreviation());
 
     if (!isBiGGid) {
-      // Collect all resources from CVTerms that qualify as BQB_IS
       // Attempt to retrieve a BiGGId from the collected resources
-      List<String> resources = species.getAnnotation().getListOfCVTerms()
-              .stream()
-              .filter(cvTerm -> cvTerm.getQualifier() == Qualifier.BQB_IS)
-              .flatMap(term -> term.getResources().stream())
-              .toList();
       var biggIdFromResources = getBiGGIdFromResources(resources, TYPE_SPECIES);
       if (biggIdFromResources.isPresent()) {
         return biggIdFromResources.get();
@@ -99,6 +144,18 @@ public class BiGGSpeciesAnnotator extends BiGGCVTermAnnotator<Species> implement
   }
 
 
+  /**
+   * @return The resources of all CVTerms of the species that qualify as {@link Qualifier#BQB_IS}.
+   */
+  private static List<String> getResources(Species species) {
+    return species.getAnnotation().getListOfCVTerms()
+            .stream()
+            .filter(cvTerm -> cvTerm.getQualifier() == Qualifier.BQB_IS)
+            .flatMap(term -> term.getResources().stream())
+            .toList();
+  }
+
+
   /**
    * Updates the name of the species based on data retrieved from the BiGG Knowledgebase.
    * The species name is set only if it has not been previously set or if the current name
@@ -108,14 +165,28 @@ public class BiGGSpeciesAnnotator extends BiGGCVTermAnnotator<Species> implement
    * @param biggId The {@link BiGGId} associated with the species, used to fetch the component name from the BiGG database.
    */
   public void setName(Species species, BiGGId biggId) throws SQLException {
-    if (!species.isSetName()
-      || species.getName().equals(format("{0}_{1}", biggId.getAbbreviation(), biggId.getCompartmentCode()))) {
+    if (needsName(species.isSetName() ? species.getName() : null, biggId)) {
       bigg.getComponentName(biggId).ifPresent(species::setName);
     }
   }
 
 
+  private static boolean needsName(String name, BiGGId biggId) {
+    return name == null || name.equals(format("{0}_{1}", biggId.getAbbreviation(), biggId.getCompartmentCode()));
+  }
+
+
   void addAnnotations(Species species, BiGGId biggId) throws IllegalArgumentException, SQLException {
+    boolean isBiGGMetabolite = bigg.isMetabolite(biggId.getAbbreviation());
+    Set<IdentifiersOrgURI> resources = isBiGGMetabolite
+      ? bigg.getResources(biggId, biGGAnnotationParameters.includeAnyURI(), false)
+      : Set.of();
+    addAnnotations(species, biggId, isBiGGMetabolite, resources);
+  }
+
+
+  private void addAnnotations(Species species, BiGGId biggId, boolean isBiGGMetabolite,
+                              Set<IdentifiersOrgURI> resources) {
 
     CVTerm cvTerm = null;
     for (CVTerm term : species.getAnnotation().getListOfCVTerms()) {
@@ -131,13 +202,12 @@ public class BiGGSpeciesAnnotator extends BiGGCVTermAnnotator<Species> implement
 
     Set<String> annotations = new HashSet<>();
 
-    boolean isBiGGMetabolite = bigg.isMetabolite(biggId.getAbbreviation());
     // using BiGG Database
     if (isBiGGMetabolite) {
       if (cvTerm.getResources().stream().noneMatch(resource -> resource.contains("bigg.metabolite"))) {
           annotations.add(new IdentifiersOrgURI("bigg.metabolite", biggId).getURI());
       }
-      Set<String> biggAnnotations = bigg.getResources(biggId, biGGAnnotationParameters.includeAnyURI(), false)
+      Set<String> biggAnnotations = resources
               .stream()
               .map(IdentifiersOrgURI::getURI)
               .collect(Collectors.toSet());
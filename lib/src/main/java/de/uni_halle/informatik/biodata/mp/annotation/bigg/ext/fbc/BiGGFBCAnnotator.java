@@ -4,7 +4,7 @@ import de.uni_halle.informatik.biodata.mp.annotation.AnnotationException;
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.annotation.bigg.AbstractBiGGAnnotator;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import org.sbml.jsbml.Model;
@@ -16,7 +16,7 @@ import java.util.List;
 
 public class BiGGFBCAnnotator extends AbstractBiGGAnnotator implements IAnnotateSBases<Model> {
 
-    public BiGGFBCAnnotator(BiGGDB bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
+    public BiGGFBCAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters parameters, Registry registry, List<ProgressObserver> observers) {
         super(bigg, parameters, registry, observers);
     }
 
@@ -3,12 +3,15 @@ package de.uni_halle.informatik.biodata.mp.annotation.bigg.ext.fbc;
 import de.zbit.util.ResourceManager;
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
 import de.uni_halle.informatik.biodata.mp.annotation.bigg.AbstractBiGGAnnotator;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.CompartmentalizedComponent;
+import de.uni_halle.informatik.biodata.mp.db.bigg.ComponentChemistry;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
 import de.uni_halle.informatik.biodata.mp.logging.BundleNames;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import org.sbml.jsbml.CVTerm;
+import org.sbml.jsbml.Model;
 import org.sbml.jsbml.Species;
 import org.sbml.jsbml.ext.fbc.FBCConstants;
 import org.sbml.jsbml.ext.fbc.FBCSpeciesPlugin;
@@ -17,6 +20,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
@@ -29,17 +38,70 @@ public class BiGGFBCSpeciesAnnotator extends AbstractBiGGAnnotator implements IA
     private static final ResourceBundle MESSAGES = ResourceManager.getBundle(BundleNames.BIGG_ANNOTATION_MESSAGES);
 
 
-    public BiGGFBCSpeciesAnnotator(BiGGDB bigg, BiGGAnnotationParameters biGGAnnotationParameters, Registry registry) {
+    public BiGGFBCSpeciesAnnotator(IQueryBiGG bigg, BiGGAnnotationParameters biGGAnnotationParameters, Registry registry) {
         super(bigg, biGGAnnotationParameters, registry);
     }
 
+    /**
+     * Sets the chemical formulas and charges of all species of a model. The BiGG IDs of all species are resolved
+     * first, then the formulas and charges of all of them are looked up together, see
+     * {@link IQueryBiGG#getChemistry(Collection, String)} and
+     * {@link IQueryBiGG#getChemistryByCompartment(Collection)}. If these lookups time out, all species may be skipped,
+     * see {@link #skipOnTimeout}.
+     */
     @Override
-    public void annotate(Species species) throws SQLException {
-        var biGGId = findBiGGId(species);
-        setFormulaFromBiGGId(species, biGGId); // Set the chemical formula and charge
-
-        setCharge(species, biGGId);
+    public void annotate(List<Species> species) throws SQLException {
+        if (species.isEmpty()) {
+            return;
+        }
+        Model model = species.get(0).getModel();
+        boolean isBiGGModel;
+        List<BiGGId> biggIds = new ArrayList<>(species.size());
+        Map<String, ComponentChemistry> inModel;
+        Map<CompartmentalizedComponent, ComponentChemistry> inCompartment;
+        try {
+            isBiGGModel = isBiGGModel(model);
+            for (Species s : species) {
+                biggIds.add(findBiGGId(s));
+            }
+            inModel = isBiGGModel
+                    ? bigg.getChemistry(biggIds.stream().map(BiGGId::getAbbreviation).filter(Objects::nonNull)
+                            .distinct().toList(), model.getId())
+                    : Collections.emptyMap();
+            inCompartment = bigg.getChemistryByCompartment(
+                    biggIds.stream()
+                            .filter(BiGGFBCSpeciesAnnotator::hasCompartment)
+                            .map(BiGGFBCSpeciesAnnotator::compartmentalized)
+                            .distinct()
+                            .toList());
+        } catch (SQLException e) {
+            // the lookups are shared by all species, so none of them gets a formula or charge
+            for (Species s : species) {
+                skipOnTimeout(s, e);
+            }
+            return;
+        }
+        for (int i = 0; i < species.size(); i++) {
+            BiGGId biggId = biggIds.get(i);
+            ComponentChemistry compartmentChemistry = hasCompartment(biggId)
+                    ? inCompartment.getOrDefault(compartmentalized(biggId), ComponentChemistry.EMPTY)
+                    : ComponentChemistry.EMPTY;
+            setChemistry(species.get(i), isBiGGModel,
+                    inModel.getOrDefault(biggId.getAbbreviation(), ComponentChemistry.EMPTY),
+                    () -> compartmentChemistry);
+        }
+    }
 
+    @Override
+    public void annotate(Species species) throws SQLException {
+        var biggId = findBiGGId(species);
+        boolean isBiGGModel = isBiGGModel(species.getModel());
+        ComponentChemistry inModel = isBiGGModel
+                ? bigg.getChemistry(biggId.getAbbreviation(), species.getModel().getId())
+                : ComponentChemistry.EMPTY;
+        setChemistry(species, isBiGGModel, inModel, () -> hasCompartment(biggId)
+                ? bigg.getChemistryByCompartment(biggId.getAbbreviation(), biggId.getCompartmentCode())
+                : ComponentChemistry.EMPTY);
     }
 
     public BiGGId findBiGGId(Species species) throws SQLException {
@@ -66,47 +128,57 @@ public class BiGGFBCSpeciesAnnotator extends AbstractBiGGAnnotator implements IA
         return metaboliteId;
     }
 
+    private boolean isBiGGModel(Model model) throws SQLException {
+        return model != null && bigg.isModel(model.getId());
+    }
+
+    private static boolean hasCompartment(BiGGId biggId) {
+        String compartmentCode = biggId.getCompartmentCode();
+        return compartmentCode != null && !compartmentCode.isEmpty();
+    }
+
+    private static CompartmentalizedComponent compartmentalized(BiGGId biggId) {
+        return new CompartmentalizedComponent(biggId.getAbbreviation(), biggId.getCompartmentCode());
+    }
+
     /**
-     * Sets the chemical formula and charge for a species based on the provided BiGGId.
-     * This method first checks if the species belongs to a BiGG model and retrieves the compartment code.
-     * It then attempts to set the chemical formula if it has not been set already. The formula is fetched
-     * from the BiGG database either based on the model ID or the compartment code if the model ID fetch fails.
-     * If the formula is successfully retrieved, it is set using the FBCSpeciesPlugin.
-     * Similarly, the charge is fetched and set if the species does not already have a charge set.
-     * If a charge is fetched and if it contradicts an existing charge, log a warning and unset the existing charge.
-     *
-     * @param biggId: {@link BiGGId} from species id
+     * The formulas and charges of a species in its compartment, which are only looked up if needed.
      */
-    private void setFormulaFromBiGGId(Species species, BiGGId biggId) throws SQLException {
-        boolean isBiGGModel = species.getModel() !=null && bigg.isModel(species.getModel().getId());
+    @FunctionalInterface
+    private interface CompartmentChemistry {
+        ComponentChemistry get() throws SQLException;
+    }
 
-        String compartmentCode = biggId.getCompartmentCode();
+    /**
+     * Sets the chemical formula and charge of a species from the formulas and charges found in BiGG.
+     * If the species does not have a chemical formula yet, the unique formula of the component in its BiGG model is
+     * set, or, if there is none or the model is not a BiGG model, the unique formula of the component in its
+     * compartment. The charge is taken from the model for BiGG models and from the compartment otherwise. If a charge
+     * is found and it contradicts an existing charge, this is logged and the existing charge is unset.
+     *
+     * @param isBiGGModel   Whether the model of the species is a BiGG model.
+     * @param inModel       The formulas and charges of the component in the BiGG model.
+     * @param inCompartment The formulas and charges of the component in its compartment across all models.
+     */
+    private void setChemistry(Species species, boolean isBiGGModel, ComponentChemistry inModel,
+                              CompartmentChemistry inCompartment) throws SQLException {
         var fbcSpecPlug = (FBCSpeciesPlugin) species.getPlugin(FBCConstants.shortLabel);
+        ComponentChemistry compartmentChemistry = null;
 
-        boolean compartmentNonEmpty = compartmentCode != null && !compartmentCode.isEmpty();
         if (!fbcSpecPlug.isSetChemicalFormula()) {
-            Optional<String> chemicalFormula = Optional.empty();
-            if (isBiGGModel) {
-                chemicalFormula = bigg.getChemicalFormula(biggId.getAbbreviation(), species.getModel().getId());
-            }
-            if ((!isBiGGModel || chemicalFormula.isEmpty()) && compartmentNonEmpty) {
-                chemicalFormula = bigg.getChemicalFormulaByCompartment(biggId.getAbbreviation(), compartmentCode);
+            Optional<String> chemicalFormula = isBiGGModel ? inModel.formula() : Optional.empty();
+            if (chemicalFormula.isEmpty()) {
+                compartmentChemistry = inCompartment.get();
+                chemicalFormula = compartmentChemistry.formula();
             }
             chemicalFormula.filter(SyntaxChecker::isValidChemicalFormula).ifPresent(fbcSpecPlug::setChemicalFormula);
         }
-    }
-
-    private void setCharge(Species species, BiGGId biggId) throws SQLException {
-        boolean isBiGGModel = species.getModel() !=null && bigg.isModel(species.getModel().getId());
-        String compartmentCode = biggId.getCompartmentCode();
-        boolean compartmentNonEmpty = compartmentCode != null && !compartmentCode.isEmpty();
-        var fbcSpecPlug = (FBCSpeciesPlugin) species.getPlugin(FBCConstants.shortLabel);
 
-        Optional<Integer> chargeFromBiGG = Optional.empty();
+        Optional<Integer> chargeFromBiGG;
         if (isBiGGModel) {
-            chargeFromBiGG = bigg.getCharge(biggId.getAbbreviation(), species.getModel().getId());
-        } else if (compartmentNonEmpty) {
-            chargeFromBiGG = bigg.getChargeByCompartment(biggId.getAbbreviation(), biggId.getCompartmentCode());
+            chargeFromBiGG = inModel.charge();
+        } else {
+            chargeFromBiGG = (compartmentChemistry != null ? compartmentChemistry : inCompartment.get()).charge();
         }
         if (fbcSpecPlug.isSetCharge()) {
             chargeFromBiGG
@@ -2,13 +2,16 @@ package de.uni_halle.informatik.biodata.mp.annotation.bigg.ext.fbc;
 
 import de.zbit.util.ResourceManager;
 import de.uni_halle.informatik.biodata.mp.annotation.IAnnotateSBases;
+import de.uni_halle.informatik.biodata.mp.db.AsyncQueryExecutor;
 import de.uni_halle.informatik.biodata.mp.logging.BundleNames;
 import de.uni_halle.informatik.biodata.mp.parameters.BiGGAnnotationParameters;
 import de.uni_halle.informatik.biodata.mp.annotation.bigg.BiGGCVTermAnnotator;
 import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGId;
-import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.GeneReferences;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrg;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
 import de.uni_halle.informatik.biodata.mp.reporting.ProgressObserver;
 import org.sbml.jsbml.CVTerm;
 import org.sbml.jsbml.CVTerm.Qualifier;
@@ -17,10 +20,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.TYPE_GENE_PRODUCT;
 import static java.text.MessageFormat.format;
@@ -41,7 +50,7 @@ public class BiGGGeneProductAnnotator extends BiGGCVTermAnnotator<GeneProduct> i
    */
   private final BiGGGeneProductReferencesAnnotator gprAnnotator;
 
-  public BiGGGeneProductAnnotator(BiGGGeneProductReferencesAnnotator gprAnnotator, BiGGDB bigg, BiGGAnnotationParameters parameters,
+  public BiGGGeneProductAnnotator(BiGGGeneProductReferencesAnnotator gprAnnotator, IQueryBiGG bigg, BiGGAnnotationParameters parameters,
                                   Registry registry, List<ProgressObserver> observers) {
     super(bigg, parameters, registry, observers);
     this.gprAnnotator = gprAnnotator;
@@ -49,18 +58,73 @@ public class BiGGGeneProductAnnotator extends BiGGCVTermAnnotator<GeneProduct> i
 
 
   /**
-   * This method handles the annotation of gene products in a given SBML model. It checks if the model has the FBC plugin
-   * set and then proceeds to annotate each gene product found within the model. The progress bar is updated to reflect
-   * the number of gene products being annotated.
+   * The results of the database lookups for one gene product, see {@link #lookup(String, boolean, List, String)}.
+   */
+  private record GeneProductLookup(BiGGId biggId, String label, Set<IdentifiersOrgURI> geneIds,
+                                   Optional<String> geneName) {
+  }
+
+
+  /**
+   * This method handles the annotation of gene products in a given SBML model. The database lookups for all gene
+   * products are issued up front and run concurrently, the results are then applied to the gene products one after
+   * the other. The progress bar is updated to reflect the number of gene products being annotated. A gene product
+   * whose lookups time out may be skipped, see {@link #skipOnTimeout}.
    */
   @Override
   public void annotate(List<GeneProduct> geneProducts) throws SQLException {
-    // Iterate over each gene product and annotate it
+    List<CompletableFuture<GeneProductLookup>> lookups = new ArrayList<>(geneProducts.size());
     for (GeneProduct geneProduct : geneProducts) {
+      String id = geneProduct.getId();
+      boolean isSetId = geneProduct.isSetId();
+      List<String> resources = getResources(geneProduct);
+      String label = geneProduct.isSetLabel() ? geneProduct.getLabel() : null;
+      lookups.add(queries.submit(() -> lookup(id, isSetId, resources, label)));
+    }
+    for (int i = 0; i < geneProducts.size(); i++) {
+      GeneProduct geneProduct = geneProducts.get(i);
       statusReport("Annotating Gene Products (5/5)  ", geneProduct);
-      annotate(geneProduct);
+      GeneProductLookup lookup;
+      try {
+        lookup = AsyncQueryExecutor.join(lookups.get(i));
+      } catch (SQLException e) {
+        skipOnTimeout(geneProduct, e);
+        continue;
+      }
+      if (lookup.label().isEmpty()) {
+        continue;
+      }
+      gprAnnotator.update(geneProduct);
+      addAnnotations(geneProduct, lookup.geneIds());
+      if (geneProduct.getCVTermCount() > 0) {
+        geneProduct.setMetaId(lookup.biggId().toBiGGId());
+      }
+      setGPLabelName(geneProduct, lookup.label(), lookup.geneName());
     }
+  }
+
 
+  /**
+   * Performs all database lookups needed to annotate a gene product, without accessing the gene product itself.
+   *
+   * @param id        The ID of the gene product.
+   * @param isSetId   Whether the ID of the gene product is set.
+   * @param resources The {@link Qualifier#BQB_IS} resources of the gene product.
+   * @param label     The label of the gene product, or {@code null} if it is not set.
+   */
+  private GeneProductLookup lookup(String id, boolean isSetId, List<String> resources, String label)
+    throws SQLException {
+    BiGGId biggId = findBiGGId(id, resources);
+    String gpLabel = getLabel(label, isSetId, biggId);
+    if (gpLabel.isEmpty()) {
+      return new GeneProductLookup(biggId, gpLabel, Set.of(), Optional.empty());
+    }
+    // the identifiers are looked up by the BiGG ID and the name by the label, which are often the same
+    Map<String, GeneReferences> references = bigg.getGeneReferences(Stream.of(biggId.getAbbreviation(), gpLabel)
+      .filter(Objects::nonNull).distinct().toList());
+    return new GeneProductLookup(biggId, gpLabel,
+      references.getOrDefault(biggId.getAbbreviation(), GeneReferences.EMPTY).ids(),
+      references.getOrDefault(gpLabel, GeneReferences.EMPTY).name());
   }
 
   /**
@@ -100,14 +164,13 @@ public class BiGGGeneProductAnnotator extends BiGGCVTermAnnotator<GeneProduct> i
    */
   @Override
   public BiGGId findBiGGId(GeneProduct geneProduct) throws SQLException {
-    String id = geneProduct.getId();
+    return findBiGGId(geneProduct.getId(), getResources(geneProduct));
+  }
+
+
+  private BiGGId findBiGGId(String id, List<String> resources) throws SQLException {
     boolean isBiGGid = id.matches(BIGG_GENE_ID_PATTERN);
     if (!isBiGGid) {
-      // Collect all resources from CVTerms that qualify as BQB_IS into a list
-      List<String> resources = geneProduct.getAnnotation().getListOfCVTerms().stream()
-                                          .filter(cvTerm -> cvTerm.getQualifier() == Qualifier.BQB_IS)
-                                          .flatMap(term -> term.getResources().stream())
-                                          .collect(Collectors.toList());
       // Attempt to update the ID with a valid BiGG ID from the resources, if available
       Optional<BiGGId> biGGIdFromResources = getBiGGIdFromResources(resources, TYPE_GENE_PRODUCT);
       if (biGGIdFromResources.isPresent()) {
@@ -119,6 +182,17 @@ public class BiGGGeneProductAnnotator extends BiGGCVTermAnnotator<GeneProduct> i
   }
 
 
+  /**
+   * @return The resources of all CVTerms of the gene product that qualify as {@link Qualifier#BQB_IS}.
+   */
+  private static List<String> getResources(GeneProduct geneProduct) {
+    return geneProduct.getAnnotation().getListOfCVTerms().stream()
+                      .filter(cvTerm -> cvTerm.getQualifier() == Qualifier.BQB_IS)
+                      .flatMap(term -> term.getResources().stream())
+                      .collect(Collectors.toList());
+  }
+
+
   /**
    * Retrieves the label for a gene product based on the provided BiGGId. If the gene product has a label set and it is not "None",
    * that label is returned. If no label is set but the gene product has an ID, the BiGGId is converted to a string and returned.
@@ -128,9 +202,14 @@ public class BiGGGeneProductAnnotator extends BiGGCVTermAnnotator<GeneProduct> i
    * @return An {@code Optional<String>} containing the label of the gene product, or an empty string if no appropriate label is found.
    */
   public String getLabel(GeneProduct geneProduct, BiGGId biggId) {
-    if (geneProduct.isSetLabel() && !geneProduct.getLabel().equalsIgnoreCase("None")) {
-      return geneProduct.getLabel();
-    } else if (geneProduct.isSetId()) {
+    return getLabel(geneProduct.isSetLabel() ? geneProduct.getLabel() : null, geneProduct.isSetId(), biggId);
+  }
+
+
+  private static String getLabel(String label, boolean isSetId, BiGGId biggId) {
+    if (label != null && !label.equalsIgnoreCase("None")) {
+      return label;
+    } else if (isSetId) {
       return biggId.toBiGGId();
     } else {
       return "";
@@ -149,12 +228,17 @@ public class BiGGGeneProductAnnotator extends BiGGCVTermAnnotator<GeneProduct> i
    *              or be derived from {@link GeneProduct#getId()}.
    */
   public void setGPLabelName(GeneProduct geneProduct, String label) throws SQLException {
+    // Attempt to fetch the gene name from the BiGG database using the label
+    setGPLabelName(geneProduct, label, bigg.getGeneName(label));
+  }
+
+
+  private void setGPLabelName(GeneProduct geneProduct, String label, Optional<String> name) {
     // Check if the current label is "None" and update it if so
     if (geneProduct.getLabel().equalsIgnoreCase("None")) {
       geneProduct.setLabel(label);
     }
-    // Attempt to fetch the gene name from the BiGG database using the label
-    bigg.getGeneName(label).ifPresent(geneName -> {
+    name.ifPresent(geneName -> {
       // Log if no gene name is associated with the label
       if (geneName.isEmpty()) {
         logger.debug(format(MESSAGES.getString("NO_GENE_FOR_LABEL"), geneProduct.getName()));
@@ -179,10 +263,16 @@ public class BiGGGeneProductAnnotator extends BiGGCVTermAnnotator<GeneProduct> i
    * @param biggId The {@link BiGGId} associated with the gene product, typically derived from a species ID.
    */
   public void addAnnotations(GeneProduct geneProduct, BiGGId biggId) throws SQLException {
+    // Retrieve gene IDs from BiGG database
+    addAnnotations(geneProduct, bigg.getGeneIds(biggId.getAbbreviation()));
+  }
+
+
+  private void addAnnotations(GeneProduct geneProduct, Set<IdentifiersOrgURI> geneIds) {
     CVTerm termIs = new CVTerm(Qualifier.BQB_IS);
     CVTerm termEncodedBy = new CVTerm(Qualifier.BQB_IS_ENCODED_BY);
-    // Retrieve gene IDs from BiGG database and categorize them based on their prefix
-    bigg.getGeneIds(biggId.getAbbreviation()).forEach(
+    // Categorize the gene IDs based on their prefix
+    geneIds.forEach(
             uri -> {
               switch (IdentifiersOrg.fixIdentifiersOrgUri(uri).getPrefix()) {
                 case "interpro":
@@ -0,0 +1,122 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs database lookups asynchronously on a fixed number of daemon threads, so that the annotators can issue the
+ * lookups for all elements of a model up front and apply the results afterwards, instead of waiting for one query
+ * after the other.
+ * <p>
+ * The number of threads bounds the number of concurrent lookups. For the {@link #shared()} instance it equals the size
+ * of the connection pool, so that surplus lookups wait in the queue of the executor instead of waiting for a connection,
+ * which would eventually time out.
+ * <p>
+ * The lookups must not modify the SBML document, which is not thread-safe; they should only read from the database and
+ * from values captured before submitting them.
+ */
+public class AsyncQueryExecutor {
+
+  private static AsyncQueryExecutor shared;
+
+  private final ExecutorService executor;
+  private final int parallelism;
+
+  /**
+   * A lookup which may fail with an {@link SQLException}.
+   */
+  @FunctionalInterface
+  public interface Query<T> {
+    T run() throws SQLException;
+  }
+
+
+  /**
+   * @param parallelism The maximum number of lookups running at the same time.
+   */
+  public AsyncQueryExecutor(int parallelism) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("The number of concurrent lookups must be positive.");
+    }
+    this.parallelism = parallelism;
+    AtomicInteger threads = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "db-query-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+
+  /**
+   * @return The executor shared by all annotators, running as many lookups at a time as the largest connection pool
+   *         has connections over all of its hosts.
+   */
+  public static synchronized AsyncQueryExecutor shared() {
+    if (shared == null) {
+      int parallelism = PostgresConnectionPool.getPools().stream()
+        .mapToInt(PostgresConnectionPool::getMaximumPoolSize)
+        .max()
+        .orElse(PostgresConnectionPool.MAXIMUM_POOL_SIZE);
+      shared = new AsyncQueryExecutor(parallelism);
+    }
+    return shared;
+  }
+
+
+  /**
+   * @return A future completed with the result of the lookup, or exceptionally with a {@link CompletionException}
+   *         wrapping the exception thrown by it.
+   */
+  public <T> CompletableFuture<T> submit(Query<T> query) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return query.run();
+      } catch (SQLException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+
+  /**
+   * Waits for the lookup and rethrows the {@link SQLException} it failed with, if any.
+   */
+  public static <T> T join(CompletableFuture<T> future) throws SQLException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof SQLException cause) {
+        throw cause;
+      } else if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+
+  /**
+   * Waits for all lookups, in order.
+   *
+   * @return The results in the order of the futures.
+   */
+  public static <T> List<T> joinAll(List<CompletableFuture<T>> futures) throws SQLException {
+    List<T> results = new ArrayList<>(futures.size());
+    for (CompletableFuture<T> future : futures) {
+      results.add(join(future));
+    }
+    return results;
+  }
+
+
+  public int getParallelism() {
+    return parallelism;
+  }
+}
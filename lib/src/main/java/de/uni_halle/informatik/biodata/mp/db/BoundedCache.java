@@ -0,0 +1,147 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, thread-safe least-recently-used cache.
+ * <p>
+ * The entries are spread over a fixed number of segments by the hash of their key, each segment being an
+ * access-ordered {@link LinkedHashMap} guarded by its own lock, so that threads working on different keys rarely
+ * contend. When a segment is full, its least recently used entry is evicted. Hits, misses and evictions are counted.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values, which must not be {@code null}.
+ */
+public class BoundedCache<K, V> {
+
+  private static final int SEGMENTS = 16;
+
+  private final Segment<K, V>[] segments;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+
+  /**
+   * @param maximumSize The maximum number of entries, which is rounded up to a multiple of the number of segments.
+   */
+  @SuppressWarnings("unchecked")
+  public BoundedCache(int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("The maximum size of a cache must be positive.");
+    }
+    int segmentSize = (maximumSize + SEGMENTS - 1) / SEGMENTS;
+    segments = new Segment[SEGMENTS];
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment<>(segmentSize, evictions);
+    }
+  }
+
+
+  /**
+   * @return The cached value, or {@code null} if there is none.
+   */
+  public V get(K key) {
+    Segment<K, V> segment = segment(key);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+    (value == null ? misses : hits).increment();
+    return value;
+  }
+
+
+  public void put(K key, V value) {
+    Segment<K, V> segment = segment(key);
+    synchronized (segment) {
+      segment.put(key, value);
+    }
+  }
+
+
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+
+  public long size() {
+    long size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+
+  /**
+   * @return The share of lookups which found a cached value, or 0 if there were none.
+   */
+  public double getHitRate() {
+    long hitCount = getHitCount();
+    long lookups = hitCount + getMissCount();
+    return lookups == 0 ? 0 : (double) hitCount / lookups;
+  }
+
+
+  @Override
+  public String toString() {
+    return "BoundedCache{" +
+      "size=" + size() +
+      ", hits=" + getHitCount() +
+      ", misses=" + getMissCount() +
+      ", evictions=" + getEvictionCount() +
+      '}';
+  }
+
+
+  private Segment<K, V> segment(K key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+  }
+
+
+  private static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maximumSize;
+    private final LongAdder evictions;
+
+    Segment(int maximumSize, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      if (size() > maximumSize) {
+        evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of the {@link QueryStatistics} and connection states of all {@link PostgresConnectionPool}s of this
+ * process, e.g. to find out which query dominates a slow run.
+ *
+ * @param pools    The state of each connection pool.
+ * @param queries  The statistics of each query, sorted by total execution time within each database.
+ * @param degraded The elements left unannotated because their lookups timed out, see {@link DegradedLookups}.
+ * @param warmUps  The warm-ups of the databases which have finished, see {@link DatabaseWarmUp}.
+ */
+public record DatabaseReport(List<PostgresConnectionPool.PoolSummary> pools, List<QueryStatistics.Summary> queries,
+                             List<DegradedLookups.Entry> degraded, List<DatabaseWarmUp.Summary> warmUps) {
+
+  /**
+   * @return The report of all queries run so far.
+   */
+  public static DatabaseReport collect() {
+    List<PostgresConnectionPool.PoolSummary> pools = new ArrayList<>();
+    List<QueryStatistics.Summary> queries = new ArrayList<>();
+    for (PostgresConnectionPool pool : PostgresConnectionPool.getPools()) {
+      pools.add(pool.getPoolSummary());
+      queries.addAll(pool.getStatistics().summaries());
+    }
+    return new DatabaseReport(pools, queries, DegradedLookups.getAll(), DatabaseWarmUp.getSummaries());
+  }
+
+
+  public String toJson() throws JsonProcessingException {
+    return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(this);
+  }
+}
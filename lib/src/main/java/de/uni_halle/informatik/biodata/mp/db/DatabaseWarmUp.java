@@ -0,0 +1,100 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import de.zbit.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Prepares a database for the first model of a run in the background, while the input is still being read: the
+ * connections of the pool are opened, and the given tasks, e.g. loading lookup tables and running the frequent queries
+ * once, are run at the same time instead of one after the other behind the first lookups.
+ * <p>
+ * The summaries of all warm-ups of this process are part of the {@link DatabaseReport}.
+ */
+public final class DatabaseWarmUp {
+
+  private static final Logger logger = LoggerFactory.getLogger(DatabaseWarmUp.class);
+
+  private static final List<Summary> summaries = new CopyOnWriteArrayList<>();
+
+  private DatabaseWarmUp() {
+  }
+
+
+  /**
+   * A part of the warm-up, whose failure is logged but does not affect the other tasks.
+   */
+  @FunctionalInterface
+  public interface Task {
+    void run() throws Exception;
+  }
+
+
+  /**
+   * Starts the warm-up on daemon threads and returns immediately.
+   *
+   * @param pool  The pool whose connections are opened, see {@link PostgresConnectionPool#openConnections()}.
+   * @param tasks The tasks by name, which are run concurrently.
+   * @return A future completed with the summary once the connections are open and all tasks have finished.
+   */
+  public static CompletableFuture<Summary> start(PostgresConnectionPool pool, Map<String, Task> tasks) {
+    long start = System.currentTimeMillis();
+    String database = pool.getStatistics().getDatabase();
+    ExecutorService executor = Executors.newFixedThreadPool(tasks.size() + 1, runnable -> {
+      Thread thread = new Thread(runnable, "db-warm-up-" + database);
+      thread.setDaemon(true);
+      return thread;
+    });
+    CompletableFuture<Integer> connections = CompletableFuture.supplyAsync(pool::openConnections, executor);
+    List<String> failed = new CopyOnWriteArrayList<>();
+    List<CompletableFuture<?>> parts = new ArrayList<>(tasks.size() + 1);
+    parts.add(connections);
+    for (Map.Entry<String, Task> task : tasks.entrySet()) {
+      parts.add(CompletableFuture.runAsync(() -> {
+        try {
+          task.getValue().run();
+        } catch (Exception e) {
+          failed.add(task.getKey());
+          logger.debug(format("Warm-up task {0} of {1} failed: {2}", task.getKey(), database, Utils.getMessage(e)));
+        }
+      }, executor));
+    }
+    executor.shutdown();
+    return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).thenApply(done -> {
+      Summary summary = new Summary(database, System.currentTimeMillis() - start, connections.join(), tasks.size(),
+        List.copyOf(failed));
+      summaries.add(summary);
+      logger.info(format("Warmed up database {0} in {1} ms: {2} connections opened, {3} of {4} tasks succeeded",
+        database, summary.millis(), summary.connections(), summary.tasks() - failed.size(), summary.tasks()));
+      return summary;
+    });
+  }
+
+
+  /**
+   * @return The summaries of all warm-ups which have finished so far.
+   */
+  public static List<Summary> getSummaries() {
+    return List.copyOf(summaries);
+  }
+
+
+  /**
+   * @param millis      The time from the start of the warm-up until the connections were open and all tasks finished.
+   * @param connections The number of connections which were open at the same time.
+   * @param tasks       The number of tasks run besides opening the connections.
+   * @param failed      The names of the tasks which failed.
+   */
+  public record Summary(String database, long millis, int connections, int tasks, List<String> failed) {
+  }
+}
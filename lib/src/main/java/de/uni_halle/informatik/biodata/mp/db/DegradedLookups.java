@@ -0,0 +1,45 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The elements left unannotated in this process because their lookups exceeded their deadline, see
+ * {@link de.uni_halle.informatik.biodata.mp.parameters.DBParameters#degradeOnTimeout()}. They are listed in the
+ * {@link DatabaseReport}.
+ */
+public final class DegradedLookups {
+
+  private static final List<Entry> entries = new CopyOnWriteArrayList<>();
+
+  private DegradedLookups() {
+  }
+
+
+  /**
+   * @param model   The ID of the model, or the name of its file if it could not be annotated at all.
+   * @param element The ID of the element left unannotated, or {@code null} for the model as a whole.
+   * @param e       The timeout of its lookup.
+   */
+  public static void record(String model, String element, SQLException e) {
+    String query = e instanceof QueryTimeoutException timeout ? timeout.getQuery() : null;
+    entries.add(new Entry(model, element, query, e.getMessage()));
+  }
+
+
+  /**
+   * @return All elements recorded so far, in the order they were recorded.
+   */
+  public static List<Entry> getAll() {
+    return List.copyOf(entries);
+  }
+
+
+  /**
+   * @param query  The logical name of the query which timed out, if known.
+   * @param reason The message of the timeout.
+   */
+  public record Entry(String model, String element, String query, String reason) {
+  }
+}
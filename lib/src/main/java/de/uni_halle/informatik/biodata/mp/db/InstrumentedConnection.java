@@ -0,0 +1,191 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps a pooled {@link Connection} so that the statements prepared on it record their execution times and row counts
+ * in {@link QueryStatistics.Query}. The execution time of a query runs from {@link PreparedStatement#executeQuery()}
+ * until its {@link ResultSet} or statement is closed, so it includes fetching the rows. All other calls are passed
+ * through unchanged.
+ * <p>
+ * The statements get the query timeout of the pool, and a timeout is rethrown as {@link QueryTimeoutException}. A
+ * {@link Cancellation} allows another thread to cancel the statements, e.g. once a hedged request has succeeded.
+ */
+final class InstrumentedConnection {
+
+  private InstrumentedConnection() {
+  }
+
+
+  /**
+   * @param queryTimeoutSeconds The timeout of each statement, or 0 for none.
+   */
+  static Connection wrap(Connection connection, QueryStatistics.Query query, int queryTimeoutSeconds,
+                         Cancellation cancellation) {
+    return proxy(Connection.class, connection, (method, args) -> {
+      Object result = invoke(connection, method, args);
+      if (method.getName().equals("prepareStatement")) {
+        PreparedStatement statement = (PreparedStatement) result;
+        if (queryTimeoutSeconds > 0) {
+          statement.setQueryTimeout(queryTimeoutSeconds);
+        }
+        cancellation.statements.add(statement);
+        return wrap(statement, query, cancellation);
+      }
+      return result;
+    });
+  }
+
+
+  private static PreparedStatement wrap(PreparedStatement statement, QueryStatistics.Query query,
+                                        Cancellation cancellation) {
+    Execution[] pending = new Execution[1];
+    return proxy(PreparedStatement.class, statement, (method, args) -> {
+      switch (method.getName()) {
+        case "executeQuery" -> {
+          if (pending[0] != null) {
+            pending[0].finish();
+          }
+          if (cancellation.cancelled) {
+            throw new SQLException("The query was cancelled.", QueryTimeoutException.QUERY_CANCELED);
+          }
+          Execution execution = new Execution(query);
+          try {
+            ResultSet resultSet = (ResultSet) invoke(statement, method, args);
+            pending[0] = execution;
+            return execution.wrap(resultSet);
+          } catch (SQLException e) {
+            if (cancellation.cancelled) {
+              throw e;
+            }
+            query.recordError();
+            if (QueryTimeoutException.isTimeout(e)) {
+              query.recordTimeout();
+              throw new QueryTimeoutException(query.getName(), e);
+            }
+            throw e;
+          } catch (Throwable e) {
+            query.recordError();
+            throw e;
+          }
+        }
+        case "close" -> {
+          if (pending[0] != null) {
+            pending[0].finish();
+          }
+          return invoke(statement, method, args);
+        }
+        default -> {
+          return invoke(statement, method, args);
+        }
+      }
+    });
+  }
+
+
+  /**
+   * Cancels the statements prepared on a connection from another thread. Statements which are executed afterwards fail
+   * right away. The failures of cancelled statements are not recorded.
+   */
+  static final class Cancellation {
+
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+
+    void cancel() {
+      cancelled = true;
+      for (Statement statement : statements) {
+        try {
+          statement.cancel();
+        } catch (SQLException e) {
+          // the statement has already been closed
+        }
+      }
+    }
+  }
+
+
+  /**
+   * One execution of a query, which is recorded once its result is closed.
+   */
+  private static final class Execution {
+
+    private final QueryStatistics.Query query;
+    private final long start = System.nanoTime();
+    private long rows;
+    private boolean finished;
+
+
+    private Execution(QueryStatistics.Query query) {
+      this.query = query;
+    }
+
+
+    private ResultSet wrap(ResultSet resultSet) {
+      return proxy(ResultSet.class, resultSet, (method, args) -> {
+        Object result = invoke(resultSet, method, args);
+        switch (method.getName()) {
+          case "next" -> {
+            if (Boolean.TRUE.equals(result)) {
+              rows++;
+            }
+          }
+          case "close" -> finish();
+          default -> {
+          }
+        }
+        return result;
+      });
+    }
+
+
+    private void finish() {
+      if (!finished) {
+        finished = true;
+        query.recordExecution(System.nanoTime() - start, rows);
+      }
+    }
+  }
+
+
+  @FunctionalInterface
+  private interface Handler {
+    Object invoke(Method method, Object[] args) throws Throwable;
+  }
+
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, T target, Handler handler) {
+    InvocationHandler invocationHandler = (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        return switch (method.getName()) {
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          default -> invoke(target, method, args);
+        };
+      }
+      return handler.invoke(method, args);
+    };
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+  }
+
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds with log-linear buckets, in the style of HdrHistogram.
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKETS} buckets of equal width, so a percentile is reported with a
+ * relative error of at most 1/{@value #SUB_BUCKETS}, at a fixed size of a few kilobytes regardless of the number of
+ * recorded values. The maximum is tracked exactly.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts.incrementAndGet(bucket(value));
+    count.increment();
+    sum.add(value);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+
+  public long getCount() {
+    return count.sum();
+  }
+
+
+  public long getMaxNanos() {
+    return max.get();
+  }
+
+
+  public double getMeanNanos() {
+    long n = count.sum();
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+
+  /**
+   * @param percentile Between 0 and 100.
+   * @return The upper bound of the bucket holding the value at the percentile, but at most the maximum, or 0 if
+   *         nothing has been recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long n = count.sum();
+    if (n == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += counts.get(bucket);
+      if (seen >= rank) {
+        return Math.min(upperBound(bucket), max.get());
+      }
+    }
+    return max.get();
+  }
+
+
+  /**
+   * @return The summary of the recorded durations, converted to milliseconds.
+   */
+  public Summary summary() {
+    return new Summary(getCount(), toMillis(getMeanNanos()), toMillis(getValueAtPercentile(50)),
+      toMillis(getValueAtPercentile(99)), toMillis(getMaxNanos()));
+  }
+
+
+  /**
+   * Values below {@value #SUB_BUCKETS} get a bucket each; above, the bucket is given by the position of the highest bit
+   * and the {@value #SUB_BUCKET_BITS} bits below it.
+   */
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> exponent) - SUB_BUCKETS;
+    return (exponent + 1) * SUB_BUCKETS + subBucket;
+  }
+
+
+  static long upperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = bucket / SUB_BUCKETS - 1;
+    long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << exponent) - 1;
+  }
+
+
+  private static double toMillis(double nanos) {
+    return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+
+  /**
+   * Durations in milliseconds.
+   */
+  public record Summary(long count, double meanMillis, double p50Millis, double p99Millis, double maxMillis) {
+  }
+}
@@ -0,0 +1,362 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only key/value log on disk, which keeps lookup results across ModelPolisher invocations.
+ * <p>
+ * Each value is a list of strings, each of which may be {@code null}. The file starts with a stamp identifying the
+ * database the results were read from, e.g. its version. If the stamp of an existing file differs, the file is
+ * discarded and started anew, so that results of an outdated database are never returned.
+ * <p>
+ * Layout, all numbers big-endian:
+ * <pre>
+ * header:  int magic, int format version, UTF stamp
+ * records: int length of the rest of the record, int key length, UTF-8 key,
+ *          int value count, value count * (int length or -1 for null, UTF-8 bytes)
+ * </pre>
+ * On opening, the records written by earlier runs are memory-mapped and indexed in an open-addressing table holding
+ * the hash of the key and the offset of the record packed into one {@code long}, i.e. 16 bytes per entry at most.
+ * Records appended later are read from the file. A truncated last record, e.g. after a crash, is dropped. If a key was
+ * written several times, the last record wins.
+ * <p>
+ * Only one process can append to a file at a time, which is ensured by a file lock. Other processes opening the same
+ * file only read the records present when opening it, which they copy into memory instead of mapping them, since the
+ * process owning the file discards its contents if the stamp changes. Files are limited to 2 GB; beyond that, nothing
+ * is appended.
+ * All methods are thread-safe.
+ */
+public class PersistentLookupCache implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(PersistentLookupCache.class);
+
+  static final int MAGIC = 0x4d50434b;
+  static final int FORMAT_VERSION = 1;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final FileLock lock;
+  /**
+   * The records present when opening the file, up to the end of the last complete one.
+   */
+  private ByteBuffer mapped;
+  private long end;
+  private long[] index = new long[1024];
+  private int size;
+  private boolean full;
+
+
+  private PersistentLookupCache(Path file, FileChannel channel, FileLock lock, String stamp) throws IOException {
+    this.file = file;
+    this.channel = channel;
+    this.lock = lock;
+    long headerEnd = readHeader(stamp);
+    if (headerEnd < 0) {
+      if (lock == null) {
+        // another process owns the file and will replace it
+        end = channel.size();
+        mapped = ByteBuffer.allocate(0);
+        return;
+      }
+      logger.info("Discarding lookup cache {}, which belongs to another database", file);
+      channel.truncate(0);
+      headerEnd = writeHeader(stamp);
+    }
+    long size = Math.min(channel.size(), Integer.MAX_VALUE);
+    mapped = lock == null ? read(size) : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    end = scan((int) headerEnd);
+    if (lock != null && end < channel.size()) {
+      logger.debug("Dropping {} bytes of incomplete records from lookup cache {}", channel.size() - end, file);
+      channel.truncate(end);
+      // the records appended from now on are read from the file, not through the mapping of the dropped bytes
+      mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+    }
+    logger.debug("Opened lookup cache {} with {} entries{}", file, this.size, lock == null ? ", read-only" : "");
+  }
+
+
+  /**
+   * Opens the cache file, creating it and its directory if necessary.
+   *
+   * @param file  The cache file.
+   * @param stamp Identifies the database the cached results belong to.
+   */
+  public static PersistentLookupCache open(Path file, String stamp) throws IOException {
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      FileLock lock;
+      try {
+        lock = channel.tryLock();
+      } catch (OverlappingFileLockException e) {
+        lock = null;
+      }
+      return new PersistentLookupCache(file, channel, lock, stamp);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+
+  /**
+   * @return The values stored for the key, or {@code null} if there are none.
+   */
+  public synchronized String[] get(String key) {
+    byte[] target = key.getBytes(StandardCharsets.UTF_8);
+    int hash = Arrays.hashCode(target);
+    int mask = index.length - 1;
+    for (int slot = hash & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+      if ((int) (index[slot] >>> 32) == hash) {
+        try {
+          ByteBuffer record = record((int) index[slot]);
+          byte[] recordKey = new byte[record.getInt()];
+          record.get(recordKey);
+          if (Arrays.equals(recordKey, target)) {
+            return readValues(record);
+          }
+        } catch (IOException e) {
+          logger.debug("Could not read from lookup cache {}: {}", file, e.getMessage());
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+
+  /**
+   * Appends the values for the key, unless the file is read-only or full.
+   */
+  public synchronized void put(String key, String[] values) {
+    if (lock == null || full) {
+      return;
+    }
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    byte[][] valueBytes = new byte[values.length][];
+    int length = 8 + keyBytes.length;
+    for (int i = 0; i < values.length; i++) {
+      valueBytes[i] = values[i] == null ? null : values[i].getBytes(StandardCharsets.UTF_8);
+      length += 4 + (valueBytes[i] == null ? 0 : valueBytes[i].length);
+    }
+    if (end + 4 + length > Integer.MAX_VALUE) {
+      logger.info("Lookup cache {} is full, no further results are stored", file);
+      full = true;
+      return;
+    }
+    ByteBuffer record = ByteBuffer.allocate(4 + length);
+    record.putInt(length).putInt(keyBytes.length).put(keyBytes).putInt(values.length);
+    for (byte[] value : valueBytes) {
+      if (value == null) {
+        record.putInt(-1);
+      } else {
+        record.putInt(value.length).put(value);
+      }
+    }
+    record.flip();
+    try {
+      long position = end;
+      while (record.hasRemaining()) {
+        position += channel.write(record, position);
+      }
+      index(Arrays.hashCode(keyBytes), (int) end, keyBytes);
+      end = position;
+    } catch (IOException e) {
+      logger.debug("Could not write to lookup cache {}: {}", file, e.getMessage());
+      full = true;
+    }
+  }
+
+
+  /**
+   * @return The number of distinct keys.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      if (lock != null) {
+        channel.force(false);
+        lock.release();
+      }
+    } finally {
+      channel.close();
+    }
+  }
+
+
+  /**
+   * @return The end of the header, or -1 if the file has no valid header with the given stamp.
+   */
+  private long readHeader(String stamp) throws IOException {
+    if (channel.size() < 10) {
+      return -1;
+    }
+    ByteBuffer header = ByteBuffer.allocate((int) Math.min(channel.size(), 10 + 4 * 65535));
+    channel.read(header, 0);
+    header.flip();
+    if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+      return -1;
+    }
+    int length = header.getShort() & 0xffff;
+    if (header.remaining() < length) {
+      return -1;
+    }
+    byte[] bytes = new byte[length];
+    header.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8).equals(stamp) ? header.position() : -1;
+  }
+
+
+  private long writeHeader(String stamp) throws IOException {
+    byte[] bytes = stamp.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer header = ByteBuffer.allocate(10 + bytes.length);
+    header.putInt(MAGIC).putInt(FORMAT_VERSION).putShort((short) bytes.length).put(bytes).flip();
+    while (header.hasRemaining()) {
+      channel.write(header, header.position());
+    }
+    return header.limit();
+  }
+
+
+  /**
+   * @return The first bytes of the file, copied into memory.
+   */
+  private ByteBuffer read(long size) throws IOException {
+    ByteBuffer contents = ByteBuffer.allocate((int) size);
+    while (contents.hasRemaining()) {
+      if (channel.read(contents, contents.position()) < 0) {
+        break;
+      }
+    }
+    return contents.flip();
+  }
+
+
+  /**
+   * Indexes all complete records of the mapped file.
+   *
+   * @return The end of the last complete record.
+   */
+  private long scan(int position) {
+    while (position + 4 <= mapped.limit()) {
+      int length = mapped.getInt(position);
+      if (length < 8 || position + 4L + length > mapped.limit()) {
+        break;
+      }
+      int keyLength = mapped.getInt(position + 4);
+      if (keyLength < 0 || keyLength > length - 8) {
+        break;
+      }
+      byte[] key = new byte[keyLength];
+      mapped.get(position + 8, key);
+      index(Arrays.hashCode(key), position, key);
+      position += 4 + length;
+    }
+    return position;
+  }
+
+
+  private ByteBuffer record(int offset) throws IOException {
+    if (offset + 4L <= mapped.limit()) {
+      int length = mapped.getInt(offset);
+      if (length >= 0 && offset + 4L + length <= mapped.limit()) {
+        return mapped.slice(offset + 4, length);
+      }
+    }
+    ByteBuffer length = ByteBuffer.allocate(4);
+    channel.read(length, offset);
+    ByteBuffer record = ByteBuffer.allocate(length.flip().getInt());
+    while (record.hasRemaining()) {
+      if (channel.read(record, offset + 4L + record.position()) < 0) {
+        throw new IOException("Unexpected end of lookup cache file.");
+      }
+    }
+    return record.flip();
+  }
+
+
+  private static String[] readValues(ByteBuffer record) {
+    String[] values = new String[record.getInt()];
+    for (int i = 0; i < values.length; i++) {
+      int length = record.getInt();
+      if (length >= 0) {
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        values[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+    }
+    return values;
+  }
+
+
+  /**
+   * Adds the record to the index, replacing an earlier record with the same key.
+   */
+  private void index(int hash, int offset, byte[] key) {
+    if (2 * (size + 1) > index.length) {
+      long[] old = index;
+      index = new long[2 * old.length];
+      for (long entry : old) {
+        if (entry != 0) {
+          insert(entry);
+        }
+      }
+    }
+    int mask = index.length - 1;
+    for (int slot = hash & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+      if ((int) (index[slot] >>> 32) == hash && sameKey((int) index[slot], key)) {
+        index[slot] = entry(hash, offset);
+        return;
+      }
+    }
+    insert(entry(hash, offset));
+    size++;
+  }
+
+
+  private boolean sameKey(int offset, byte[] key) {
+    try {
+      ByteBuffer record = record(offset);
+      byte[] recordKey = new byte[record.getInt()];
+      record.get(recordKey);
+      return Arrays.equals(recordKey, key);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+
+  private void insert(long entry) {
+    int mask = index.length - 1;
+    int slot = (int) (entry >>> 32) & mask;
+    while (index[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    index[slot] = entry;
+  }
+
+
+  private static long entry(int hash, int offset) {
+    return ((long) hash << 32) | (offset & 0xffffffffL);
+  }
+}
@@ -2,42 +2,637 @@ package de.uni_halle.informatik.biodata.mp.db;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import de.uni_halle.informatik.biodata.mp.parameters.DBHostParameters;
 import org.sbml.jsbml.util.StringTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.text.MessageFormat.format;
 
+/**
+ * Connections to one database, which may be replicated on several hosts, e.g. a primary and its read replicas. Each
+ * host has a pool of its own, and each connection is taken from the healthy host with the fewest outstanding requests,
+ * i.e. connections in use plus threads waiting for one.
+ * <p>
+ * A host which fails to hand out a connection because it cannot be reached is ejected, and the request is passed on to
+ * the next host. With more than one host, a background check validates all hosts every
+ * {@value #HEALTH_CHECK_INTERVAL_SECONDS} seconds on a connection outside the pools, ejecting hosts which fail and
+ * readmitting hosts which have recovered. If no host is healthy, all of them are tried nonetheless.
+ * <p>
+ * Queries are bounded by deadlines: the connection timeout of each host limits the wait for a connection, and an
+ * optional query timeout limits the execution of each statement. Both are reported as {@link QueryTimeoutException}.
+ * Queries run by {@link #execute(String, Callback)} may additionally be hedged on a second host.
+ * <p>
+ * Statements are prepared on the server from their first execution on a connection, and kept prepared for as long as
+ * the connection lives in the pool, see {@link #PREPARE_THRESHOLD}.
+ */
 public class PostgresConnectionPool {
 
   private static final Logger logger = LoggerFactory.getLogger(PostgresConnectionPool.class);
-  private final HikariDataSource dataSource;
+
+  /**
+   * The default maximum number of connections per host.
+   */
+  public static final int MAXIMUM_POOL_SIZE = 16;
+
+  /**
+   * The default maximum number of milliseconds to wait for a connection from a host.
+   */
+  public static final long CONNECTION_TIMEOUT_MILLIS = 30_000;
+
+  /**
+   * The number of executions of a statement on a connection after which the driver prepares it on the server, so that
+   * it is no longer parsed and planned on every execution. The driver's default of 5 leaves the first executions of
+   * every query on every pooled connection unprepared, although all queries are fixed strings which are run over and
+   * over again.
+   */
+  static final int PREPARE_THRESHOLD = 1;
+
+  /**
+   * The number of server-side prepared statements the driver keeps per connection, well above the number of distinct
+   * queries of {@link de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB} and
+   * {@link de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDB}, so that none of them is evicted.
+   */
+  static final int PREPARED_STATEMENT_CACHE_QUERIES = 512;
+
+  static final int HEALTH_CHECK_INTERVAL_SECONDS = 10;
+
+  private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 5;
+
+  /**
+   * The number of executions of a query needed before it is hedged, so that the percentile is meaningful.
+   */
+  static final int HEDGE_MINIMUM_EXECUTIONS = 20;
+
+  /**
+   * How often {@link #openConnections()} checks whether the pools are full.
+   */
+  private static final long OPEN_CONNECTIONS_POLL_MILLIS = 20;
+
+  /**
+   * All pools created in this process, for {@link DatabaseReport}.
+   */
+  private static final List<PostgresConnectionPool> pools = new CopyOnWriteArrayList<>();
+
+  private final List<Host> hosts;
+  private final QueryStatistics statistics;
+  private final ScheduledExecutorService healthCheck;
+  private final int queryTimeoutSeconds;
+  private final double hedgePercentile;
+  /**
+   * Starts the hedged requests, or {@code null} if queries are not hedged.
+   */
+  private final ScheduledExecutorService hedgeTimer;
+  private final ExecutorService hedgeExecutor;
+  /**
+   * Where the search for the least loaded host starts, rotated on each request so that ties are spread evenly.
+   */
+  private final AtomicInteger next = new AtomicInteger();
 
   public Connection getConnection() throws SQLException {
-    return dataSource.getConnection();
+    return acquire(null).connection();
+  }
+
+  /**
+   * Returns a connection whose queries are recorded in {@link #getStatistics()}, along with the time it took to
+   * acquire the connection. Its statements have the query timeout of the pool.
+   *
+   * @param queryName The logical name of the query, under which it is recorded, e.g. the name of the method running it.
+   * @throws QueryTimeoutException If no connection could be acquired in time.
+   */
+  public Connection getConnection(String queryName) throws SQLException {
+    return lease(statistics.get(queryName), null, new InstrumentedConnection.Cancellation()).connection();
+  }
+
+  /**
+   * Runs a query on a connection of the pool. With a hedge percentile and more than one host, the query is run on a
+   * second host as well if the first one has not answered after the given percentile of its previous execution times.
+   * The first result is used and the other execution is cancelled, so that a single slow host does not hold up the
+   * query.
+   *
+   * @param queryName The logical name of the query, under which it is recorded, e.g. the name of the method running it.
+   * @param callback  Runs the query, possibly twice at the same time on different connections.
+   * @throws QueryTimeoutException If the query or the acquisition of its connection exceeded its deadline.
+   */
+  public <T> T execute(String queryName, Callback<T> callback) throws SQLException {
+    QueryStatistics.Query query = statistics.get(queryName);
+    long threshold = hedgeThresholdNanos(query);
+    if (threshold <= 0) {
+      try (Connection connection = lease(query, null, new InstrumentedConnection.Cancellation()).connection()) {
+        return callback.run(connection);
+      }
+    }
+    InstrumentedConnection.Cancellation cancellation = new InstrumentedConnection.Cancellation();
+    Lease primary = lease(query, null, cancellation);
+    Hedge<T> hedge = new Hedge<>(query, callback, primary.host(), cancellation);
+    ScheduledFuture<?> timer = hedgeTimer.schedule(hedge::start, threshold, TimeUnit.NANOSECONDS);
+    try (Connection connection = primary.connection()) {
+      T value = callback.run(connection);
+      hedge.primarySucceeded();
+      return value;
+    } catch (SQLException | RuntimeException e) {
+      CompletableFuture<T> started = hedge.primaryFailed();
+      if (started == null) {
+        throw e;
+      }
+      try {
+        T value = started.join();
+        query.recordHedgeWin();
+        return value;
+      } catch (CompletionException hedgeFailure) {
+        e.addSuppressed(hedgeFailure.getCause());
+        throw e;
+      }
+    } finally {
+      timer.cancel(false);
+    }
+  }
+
+  /**
+   * @return The time after which the query is sent to a second host, or 0 if it is not hedged, i.e. if hedging is
+   *         disabled, there is only one host, or the query has not been run often enough for a meaningful percentile.
+   */
+  private long hedgeThresholdNanos(QueryStatistics.Query query) {
+    if (hedgeTimer == null || query.getExecution().getCount() < HEDGE_MINIMUM_EXECUTIONS) {
+      return 0;
+    }
+    return Math.max(1, query.getExecution().getValueAtPercentile(hedgePercentile));
+  }
+
+  /**
+   * Acquires a connection and wraps it for {@link #getStatistics()}.
+   *
+   * @param excluded A host not to take the connection from, or {@code null}.
+   */
+  private Lease lease(QueryStatistics.Query query, Host excluded, InstrumentedConnection.Cancellation cancellation)
+    throws SQLException {
+    long start = System.nanoTime();
+    try {
+      Lease lease = acquire(excluded);
+      query.recordAcquire(System.nanoTime() - start);
+      return new Lease(lease.host(), InstrumentedConnection.wrap(lease.connection(), query, queryTimeoutSeconds,
+        cancellation));
+    } catch (SQLException e) {
+      query.recordAcquire(System.nanoTime() - start);
+      query.recordError();
+      if (QueryTimeoutException.isTimeout(e)) {
+        query.recordTimeout();
+        throw new QueryTimeoutException(query.getName(), e);
+      }
+      throw e;
+    } catch (RuntimeException e) {
+      query.recordAcquire(System.nanoTime() - start);
+      query.recordError();
+      throw e;
+    }
+  }
+
+  /**
+   * @param excluded A host not to take the connection from, or {@code null}.
+   */
+  private Lease acquire(Host excluded) throws SQLException {
+    SQLException failure = null;
+    for (Host host : candidates()) {
+      if (host == excluded) {
+        continue;
+      }
+      try {
+        return new Lease(host, host.dataSource.getConnection());
+      } catch (SQLException e) {
+        if (hosts.size() > 1 && isUnreachable(host, e)) {
+          eject(host, e);
+        }
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure == null) {
+      throw new SQLException("There is no other database host to connect to.");
+    }
+    throw failure;
+  }
+
+  /**
+   * @return The healthy hosts, the one with the fewest outstanding requests first, or all hosts if none is healthy. Ties
+   *         go to the hosts in turn.
+   */
+  private List<Host> candidates() {
+    if (hosts.size() == 1) {
+      return hosts;
+    }
+    int offset = Math.floorMod(next.getAndIncrement(), hosts.size());
+    List<Host> candidates = new ArrayList<>(hosts.size());
+    int best = 0;
+    int bestOutstanding = Integer.MAX_VALUE;
+    for (int i = 0; i < hosts.size(); i++) {
+      Host host = hosts.get((offset + i) % hosts.size());
+      if (host.healthy) {
+        int outstanding = host.outstanding();
+        if (outstanding < bestOutstanding) {
+          best = candidates.size();
+          bestOutstanding = outstanding;
+        }
+        candidates.add(host);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return hosts;
+    }
+    // the remaining hosts are only tried if the least loaded one fails
+    candidates.add(0, candidates.remove(best));
+    return candidates;
+  }
+
+  /**
+   * A connection timeout is only caused by the host itself if the pool could not open any connection to it; Hikari
+   * then attaches the failure of the last attempt as the cause. Otherwise, all connections were merely in use.
+   */
+  private static boolean isUnreachable(Host host, SQLException e) {
+    HikariPoolMXBean pool = host.dataSource.getHikariPoolMXBean();
+    return e.getCause() != null || pool == null || pool.getTotalConnections() == 0;
+  }
+
+  private void eject(Host host, Exception e) {
+    if (host.healthy) {
+      host.healthy = false;
+      logger.warn(format("Ejected database host {0} of {1}: {2}", host.name, statistics.getDatabase(),
+        e.getMessage()));
+    }
+  }
+
+  private void checkHealth() {
+    for (Host host : hosts) {
+      try (Connection connection = DriverManager.getConnection(host.url, host.properties)) {
+        if (!connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS)) {
+          eject(host, new SQLException("Connection is not valid"));
+        } else if (!host.healthy) {
+          host.healthy = true;
+          logger.info(format("Readmitted database host {0} of {1}", host.name, statistics.getDatabase()));
+        }
+      } catch (SQLException | RuntimeException e) {
+        eject(host, e);
+      }
+    }
+  }
+
+  /**
+   * Waits until the pools of all healthy hosts have opened their connections up to the maximum pool size, so that the
+   * first queries do not have to wait for connections being established. The pools open them on their own right after
+   * they have been created, as their minimum number of idle connections is the maximum pool size, so this only waits
+   * for them, at most for the longest connection timeout of the hosts.
+   *
+   * @return The number of connections which are open.
+   */
+  public int openConnections() {
+    List<Host> healthy = hosts.stream().filter(host -> host.healthy).toList();
+    long timeout = healthy.stream().mapToLong(host -> host.connectionTimeout).max().orElse(0);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    while (true) {
+      int open = 0;
+      boolean full = true;
+      for (Host host : healthy) {
+        int total = host.open();
+        open += total;
+        full &= total >= host.maximumSize;
+      }
+      if (full || System.nanoTime() - deadline >= 0) {
+        return open;
+      }
+      try {
+        Thread.sleep(OPEN_CONNECTIONS_POLL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return open;
+      }
+    }
+  }
+
+  public QueryStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * @return The maximum number of connections over all hosts.
+   */
+  public int getMaximumPoolSize() {
+    return hosts.stream().mapToInt(host -> host.maximumSize).sum();
+  }
+
+  /**
+   * @return The current state of the connections of the pool, summed over all hosts.
+   */
+  public PoolSummary getPoolSummary() {
+    List<HostSummary> summaries = new ArrayList<>(hosts.size());
+    int total = 0;
+    int active = 0;
+    int idle = 0;
+    int awaiting = 0;
+    for (Host host : hosts) {
+      HostSummary summary = host.summary();
+      summaries.add(summary);
+      total += summary.total();
+      active += summary.active();
+      idle += summary.idle();
+      awaiting += summary.awaiting();
+    }
+    return new PoolSummary(statistics.getDatabase(), getMaximumPoolSize(), total, active, idle, awaiting, summaries);
+  }
+
+  /**
+   * @return All pools created in this process.
+   */
+  public static List<PostgresConnectionPool> getPools() {
+    return List.copyOf(pools);
   }
 
   public void close() {
-    dataSource.close();
+    if (healthCheck != null) {
+      healthCheck.shutdownNow();
+    }
+    if (hedgeTimer != null) {
+      hedgeTimer.shutdownNow();
+      hedgeExecutor.shutdownNow();
+    }
+    for (Host host : hosts) {
+      host.dataSource.close();
+    }
   }
 
   public PostgresConnectionPool(String host, int port, String user, String password, String dbName) {
+    this(host, port, user, password, dbName, true);
+  }
+
+  /**
+   * @param readOnly Whether the connections are read-only, which all lookups use. Only maintenance tasks such as
+   *                 {@link de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSchemaOptimizer} need to write.
+   */
+  public PostgresConnectionPool(String host, int port, String user, String password, String dbName, boolean readOnly) {
+    this(List.of(new DBHostParameters(host, port, MAXIMUM_POOL_SIZE, CONNECTION_TIMEOUT_MILLIS)), user, password,
+      dbName, readOnly);
+  }
+
+  /**
+   * @param hosts    The hosts holding the database, each with its own pool size and connection timeout.
+   * @param readOnly Whether the connections are read-only, which all lookups use. Only maintenance tasks such as
+   *                 {@link de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSchemaOptimizer} need to write, which
+   *                 requires a single host.
+   */
+  public PostgresConnectionPool(List<DBHostParameters> hosts, String user, String password, String dbName,
+                                boolean readOnly) {
+    this(hosts, user, password, dbName, readOnly, 0, 0);
+  }
+
+  /**
+   * @param queryTimeoutMillis The maximum time a statement may run, rounded up to whole seconds, or 0 for none.
+   * @param hedgePercentile    The percentile of the execution times of a query after which it is sent to a second host
+   *                           by {@link #execute(String, Callback)}, or 0 to not hedge queries.
+   * @see #PostgresConnectionPool(List, String, String, String, boolean)
+   */
+  public PostgresConnectionPool(List<DBHostParameters> hosts, String user, String password, String dbName,
+                                boolean readOnly, long queryTimeoutMillis, double hedgePercentile) {
+    if (hosts.isEmpty()) {
+      throw new IllegalArgumentException("At least one database host is required.");
+    }
     password = password == null ? "" : password;
-    Properties properties = new Properties();
-    properties.setProperty("dataSourceClassName", "org.postgresql.ds.PGSimpleDataSource");
-    properties.setProperty("dataSource.user", user);
-    properties.setProperty("dataSource.password", password);
-    properties.setProperty("dataSource.databaseName", dbName);
-    properties.setProperty("dataSource.serverName", host);
-    properties.setProperty("dataSource.portNumber", Integer.toString(port));
-    HikariConfig config = new HikariConfig(properties);
-    config.setMaximumPoolSize(16);
-    config.setReadOnly(true);
-    dataSource = new HikariDataSource(config);
-    logger.debug(format("{0}@{1}:{2}, password={3}", user, host, port, StringTools.fill(password.length(), '*')));
+    List<Host> pooled = new ArrayList<>(hosts.size());
+    for (DBHostParameters host : hosts) {
+      pooled.add(new Host(host, user, password, dbName, readOnly));
+      logger.debug(format("{0}@{1}:{2}, password={3}", user, host.host(), host.port(),
+        StringTools.fill(password.length(), '*')));
+    }
+    this.hosts = List.copyOf(pooled);
+    statistics = new QueryStatistics(dbName);
+    if (this.hosts.size() > 1) {
+      healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "db-health-check-" + dbName);
+        thread.setDaemon(true);
+        return thread;
+      });
+      healthCheck.scheduleWithFixedDelay(this::checkHealth, HEALTH_CHECK_INTERVAL_SECONDS,
+        HEALTH_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    } else {
+      healthCheck = null;
+    }
+    queryTimeoutSeconds = (int) Math.ceil(Math.max(queryTimeoutMillis, 0) / 1000d);
+    this.hedgePercentile = hedgePercentile;
+    if (this.hosts.size() > 1 && hedgePercentile > 0) {
+      hedgeTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "db-hedge-timer-" + dbName);
+        thread.setDaemon(true);
+        return thread;
+      });
+      AtomicInteger threads = new AtomicInteger();
+      hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "db-hedge-" + dbName + "-" + threads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    } else {
+      hedgeTimer = null;
+      hedgeExecutor = null;
+    }
+    pools.add(this);
+  }
+
+  /**
+   * A query run on a connection of the pool.
+   */
+  @FunctionalInterface
+  public interface Callback<T> {
+    T run(Connection connection) throws SQLException;
+  }
+
+  private record Lease(Host host, Connection connection) {
+  }
+
+  /**
+   * The second request of a hedged query, which is started by the timer unless the first request has finished by
+   * then. Whichever request succeeds first cancels the other.
+   */
+  private final class Hedge<T> {
+
+    private final QueryStatistics.Query query;
+    private final Callback<T> callback;
+    private final Host primaryHost;
+    private final InstrumentedConnection.Cancellation primary;
+    private final InstrumentedConnection.Cancellation cancellation = new InstrumentedConnection.Cancellation();
+    /**
+     * Guarded by this.
+     */
+    private boolean primaryDone;
+    /**
+     * The result of the second request once it has been started, guarded by this.
+     */
+    private CompletableFuture<T> result;
+
+
+    private Hedge(QueryStatistics.Query query, Callback<T> callback, Host primaryHost,
+                  InstrumentedConnection.Cancellation primary) {
+      this.query = query;
+      this.callback = callback;
+      this.primaryHost = primaryHost;
+      this.primary = primary;
+    }
+
+
+    private void start() {
+      CompletableFuture<T> started = new CompletableFuture<>();
+      synchronized (this) {
+        if (primaryDone) {
+          return;
+        }
+        result = started;
+      }
+      query.recordHedge();
+      try {
+        hedgeExecutor.execute(() -> run(started));
+      } catch (RuntimeException e) {
+        started.completeExceptionally(e);
+      }
+    }
+
+
+    private void run(CompletableFuture<T> started) {
+      try (Connection connection = lease(query, primaryHost, cancellation).connection()) {
+        started.complete(callback.run(connection));
+      } catch (Throwable e) {
+        started.completeExceptionally(e);
+        return;
+      }
+      synchronized (this) {
+        if (primaryDone) {
+          return;
+        }
+      }
+      primary.cancel();
+    }
+
+
+    private void primarySucceeded() {
+      CompletableFuture<T> started;
+      synchronized (this) {
+        primaryDone = true;
+        started = result;
+      }
+      if (started != null) {
+        cancellation.cancel();
+      }
+    }
+
+
+    /**
+     * @return The result of the second request, or {@code null} if it has not been started.
+     */
+    private synchronized CompletableFuture<T> primaryFailed() {
+      primaryDone = true;
+      return result;
+    }
+  }
+
+  /**
+   * The pool of one host.
+   */
+  private static final class Host {
+
+    private final String name;
+    private final String url;
+    private final Properties properties = new Properties();
+    private final int maximumSize;
+    private final long connectionTimeout;
+    private final HikariDataSource dataSource;
+    private volatile boolean healthy = true;
+
+
+    private Host(DBHostParameters host, String user, String password, String dbName, boolean readOnly) {
+      name = host.host() + ":" + host.port();
+      url = "jdbc:postgresql://" + name + "/" + dbName;
+      properties.setProperty("user", user);
+      properties.setProperty("password", password);
+      properties.setProperty("connectTimeout", Integer.toString(HEALTH_CHECK_TIMEOUT_SECONDS));
+      maximumSize = host.poolSize();
+      connectionTimeout = host.connectionTimeout();
+      Properties dataSourceProperties = new Properties();
+      dataSourceProperties.setProperty("dataSourceClassName", "org.postgresql.ds.PGSimpleDataSource");
+      dataSourceProperties.setProperty("dataSource.user", user);
+      dataSourceProperties.setProperty("dataSource.password", password);
+      dataSourceProperties.setProperty("dataSource.databaseName", dbName);
+      dataSourceProperties.setProperty("dataSource.serverName", host.host());
+      dataSourceProperties.setProperty("dataSource.portNumber", Integer.toString(host.port()));
+      dataSourceProperties.setProperty("dataSource.prepareThreshold", Integer.toString(PREPARE_THRESHOLD));
+      dataSourceProperties.setProperty("dataSource.preparedStatementCacheQueries",
+        Integer.toString(PREPARED_STATEMENT_CACHE_QUERIES));
+      HikariConfig config = new HikariConfig(dataSourceProperties);
+      config.setPoolName(dbName + "@" + name);
+      config.setMaximumPoolSize(host.poolSize());
+      config.setMinimumIdle(host.poolSize());
+      config.setConnectionTimeout(host.connectionTimeout());
+      config.setReadOnly(readOnly);
+      dataSource = new HikariDataSource(config);
+    }
+
+
+    /**
+     * @return The number of open connections, in use or idle.
+     */
+    private int open() {
+      HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+      return pool == null ? 0 : pool.getTotalConnections();
+    }
+
+
+    private int outstanding() {
+      HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+      return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+    }
+
+
+    private HostSummary summary() {
+      HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+      if (pool == null) {
+        return new HostSummary(name, healthy, maximumSize, 0, 0, 0, 0);
+      }
+      return new HostSummary(name, healthy, maximumSize, pool.getTotalConnections(), pool.getActiveConnections(),
+        pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+    }
+  }
+
+  /**
+   * @param maximumSize The maximum number of connections over all hosts.
+   * @param total       The number of open connections.
+   * @param active      The number of connections in use.
+   * @param idle        The number of connections waiting to be used.
+   * @param awaiting    The number of threads waiting for a connection.
+   * @param hosts       The state of each host.
+   */
+  public record PoolSummary(String database, int maximumSize, int total, int active, int idle, int awaiting,
+                            List<HostSummary> hosts) {
+  }
+
+  /**
+   * @param host    The host and port.
+   * @param healthy Whether connections are taken from the host, see {@link PostgresConnectionPool}.
+   */
+  public record HostSummary(String host, boolean healthy, int maximumSize, int total, int active, int idle,
+                            int awaiting) {
   }
 }
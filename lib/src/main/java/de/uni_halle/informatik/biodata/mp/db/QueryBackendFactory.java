@@ -0,0 +1,112 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.adb.CachingAnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.adb.IQueryAnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.adb.InMemoryAnnotateDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSnapshotFile;
+import de.uni_halle.informatik.biodata.mp.db.bigg.CachingBiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.CoalescingBiGGDB;
+import de.uni_halle.informatik.biodata.mp.db.bigg.IQueryBiGG;
+import de.uni_halle.informatik.biodata.mp.db.bigg.OfflineBiGGDB;
+import de.uni_halle.informatik.biodata.mp.parameters.DBParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.SQLException;
+
+/**
+ * Creates the backends the annotators query, as selected by {@link DBParameters#backend()}, wrapped in the caches
+ * configured by {@link DBParameters#cacheSize()} and {@link DBParameters#cacheDirectory()}. Concurrent identical
+ * lookups on the BiGG database are coalesced by {@link CoalescingBiGGDB}.
+ * <p>
+ * The parameters are expected to have been validated when they were read: an {@link IllegalArgumentException} is
+ * thrown for a backend which needs a missing snapshot file, or which is not available for the database.
+ */
+public class QueryBackendFactory {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryBackendFactory.class);
+
+  public static IQueryBiGG bigg(DBParameters parameters) throws IOException, SQLException {
+    IQueryBiGG backend = biggBackend(parameters);
+    if (parameters.cacheSize() > 0) {
+      String version = backend.getBiGGVersion().map(Date::toString).orElse("");
+      return new CachingBiGGDB(backend, parameters.cacheSize(), store(parameters, "bigg.cache", "BiGG " + version));
+    }
+    return backend;
+  }
+
+
+  private static IQueryBiGG biggBackend(DBParameters parameters) throws IOException {
+    logger.debug("Using {} backend for BiGG", parameters.backend());
+    return switch (parameters.backend()) {
+      case JDBC -> {
+        BiGGDB.init(parameters);
+        yield new CoalescingBiGGDB(new BiGGDB());
+      }
+      case MEMORY -> new OfflineBiGGDB(BiGGSnapshotFile.load(snapshotFile(parameters)));
+      case SNAPSHOT -> new OfflineBiGGDB(BiGGSnapshotFile.open(snapshotFile(parameters)));
+    };
+  }
+
+
+  public static IQueryAnnotateDB adb(DBParameters parameters) throws IOException, SQLException {
+    IQueryAnnotateDB backend = adbBackend(parameters);
+    if (parameters.cacheSize() > 0) {
+      String identity = "AnnotateDB " + parameters.host() + ":" + parameters.port() + "/" + parameters.dbName();
+      return new CachingAnnotateDB(backend, parameters.cacheSize(), store(parameters, "annotatedb.cache", identity));
+    }
+    return backend;
+  }
+
+
+  private static IQueryAnnotateDB adbBackend(DBParameters parameters) throws SQLException {
+    logger.debug("Using {} backend for AnnotateDB", parameters.backend());
+    return switch (parameters.backend()) {
+      case JDBC -> {
+        AnnotateDB.init(parameters);
+        yield new AnnotateDB();
+      }
+      case MEMORY -> {
+        AnnotateDB.init(parameters);
+        yield InMemoryAnnotateDB.load(new AnnotateDB());
+      }
+      case SNAPSHOT -> throw new IllegalArgumentException(
+        "There are no snapshot files for AnnotateDB, please use the JDBC or MEMORY backend.");
+    };
+  }
+
+
+  /**
+   * @return The cache file in the configured cache directory, which is closed on shutdown, or {@code null} if there
+   *         is no cache directory.
+   */
+  private static PersistentLookupCache store(DBParameters parameters, String fileName, String stamp)
+    throws IOException {
+    if (parameters.cacheDirectory() == null || parameters.cacheDirectory().isEmpty()) {
+      return null;
+    }
+    PersistentLookupCache store = PersistentLookupCache.open(Path.of(parameters.cacheDirectory(), fileName), stamp);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        store.close();
+      } catch (IOException e) {
+        logger.debug("Could not close lookup cache {}: {}", fileName, e.getMessage());
+      }
+    }));
+    return store;
+  }
+
+
+  private static Path snapshotFile(DBParameters parameters) {
+    if (parameters.snapshotFile() == null || parameters.snapshotFile().isEmpty()) {
+      throw new IllegalArgumentException(
+        "The " + parameters.backend() + " backend requires a snapshot-file in the database configuration.");
+    }
+    return Path.of(parameters.snapshotFile());
+  }
+}
@@ -0,0 +1,152 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts, latencies and row counts of the queries sent through one {@link PostgresConnectionPool}, by the logical
+ * name of the query, e.g. {@code getResources}. Batch variants are recorded under the name with a {@code [batch]}
+ * suffix. All methods are thread-safe.
+ */
+public class QueryStatistics {
+
+  private final String database;
+  private final Map<String, Query> queries = new ConcurrentHashMap<>();
+
+
+  public QueryStatistics(String database) {
+    this.database = database;
+  }
+
+
+  public String getDatabase() {
+    return database;
+  }
+
+
+  /**
+   * @return The counters of the query, which are created on first use.
+   */
+  public Query get(String name) {
+    return queries.computeIfAbsent(name, Query::new);
+  }
+
+
+  /**
+   * @return The summaries of all queries recorded so far, sorted by their total execution time, longest first.
+   */
+  public List<Summary> summaries() {
+    List<Summary> summaries = new ArrayList<>();
+    for (Query query : queries.values()) {
+      summaries.add(query.summary(database));
+    }
+    summaries.sort(Comparator.comparingDouble(
+      (Summary summary) -> summary.execution().meanMillis() * summary.execution().count()).reversed());
+    return summaries;
+  }
+
+
+  /**
+   * The counters of one logical query.
+   */
+  public static class Query {
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram execution = new LatencyHistogram();
+
+
+    private Query(String name) {
+      this.name = name;
+    }
+
+
+    /**
+     * Records the time spent waiting for a connection from the pool, which is counted as one call of the query.
+     */
+    public void recordAcquire(long nanos) {
+      calls.increment();
+      acquire.record(nanos);
+    }
+
+
+    /**
+     * Records the time from sending the query until its result has been read and closed.
+     */
+    public void recordExecution(long nanos, long rowCount) {
+      execution.record(nanos);
+      rows.add(rowCount);
+    }
+
+
+    public void recordError() {
+      errors.increment();
+    }
+
+
+    /**
+     * Records that the query exceeded its deadline, which is counted as an error as well.
+     */
+    public void recordTimeout() {
+      timeouts.increment();
+    }
+
+
+    /**
+     * Records that the query was sent to a second host because the first one did not answer in time.
+     */
+    public void recordHedge() {
+      hedges.increment();
+    }
+
+
+    /**
+     * Records that the result of the second host was used.
+     */
+    public void recordHedgeWin() {
+      hedgeWins.increment();
+    }
+
+
+    public String getName() {
+      return name;
+    }
+
+
+    LatencyHistogram getExecution() {
+      return execution;
+    }
+
+
+    Summary summary(String database) {
+      return new Summary(database, name, calls.sum(), errors.sum(), timeouts.sum(), hedges.sum(), hedgeWins.sum(),
+        rows.sum(), acquire.summary(), execution.summary());
+    }
+  }
+
+
+  /**
+   * @param calls     The number of connections acquired for the query.
+   * @param errors    The number of failed acquisitions and executions.
+   * @param timeouts  The number of acquisitions and executions which exceeded their deadline.
+   * @param hedges    The number of executions which were sent to a second host as well.
+   * @param hedgeWins The number of those in which the result of the second host was used.
+   * @param rows      The number of rows read from all results.
+   * @param acquire   The time spent waiting for a connection.
+   * @param execution The time from sending the query until its result was closed.
+   */
+  public record Summary(String database, String query, long calls, long errors, long timeouts, long hedges,
+                        long hedgeWins, long rows,
+                        LatencyHistogram.Summary acquire, LatencyHistogram.Summary execution) {
+  }
+}
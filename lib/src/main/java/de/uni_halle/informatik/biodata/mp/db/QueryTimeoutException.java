@@ -0,0 +1,51 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Thrown if a query exceeded its deadline, either while waiting for a connection, see
+ * {@link de.uni_halle.informatik.biodata.mp.parameters.DBHostParameters#connectionTimeout()}, or while running, see
+ * {@link de.uni_halle.informatik.biodata.mp.parameters.DBParameters#queryTimeout()}.
+ */
+public class QueryTimeoutException extends SQLTimeoutException {
+
+  /**
+   * The SQL state PostgreSQL reports for a statement cancelled because of its timeout.
+   */
+  static final String QUERY_CANCELED = "57014";
+
+  private final String query;
+
+
+  /**
+   * @param query The logical name of the query, see {@link QueryStatistics}.
+   * @param cause The timeout as reported by the driver or the pool.
+   */
+  public QueryTimeoutException(String query, SQLException cause) {
+    super(format("Query {0} exceeded its deadline: {1}", query, cause.getMessage()), cause.getSQLState(), cause);
+    this.query = query;
+  }
+
+
+  /**
+   * @return The logical name of the query, see {@link QueryStatistics}.
+   */
+  public String getQuery() {
+    return query;
+  }
+
+
+  /**
+   * @return Whether the exception reports an exceeded deadline, including timeouts of the driver and of the pool which
+   *         have not been wrapped in a {@link QueryTimeoutException}.
+   */
+  public static boolean isTimeout(SQLException e) {
+    return e instanceof SQLTimeoutException
+      || e instanceof SQLTransientConnectionException
+      || QUERY_CANCELED.equals(e.getSQLState());
+  }
+}
@@ -0,0 +1,94 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets concurrent callers of the same lookup share one execution of it: the first caller for a key runs the lookup,
+ * and callers arriving with an equal key while it is in flight wait for its result instead of running it again. Once
+ * the lookup has finished, the next caller runs it anew, so results are never kept beyond the execution.
+ * <p>
+ * All callers of one execution receive the same result object, or the same exception if the lookup failed, so
+ * mutable results have to be copied by the callers.
+ *
+ * @param <K> The type of the keys, which identify a lookup together with its arguments.
+ */
+public class SingleFlight<K> {
+
+  private final Map<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder executions = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * A lookup which may fail with a checked exception.
+   */
+  @FunctionalInterface
+  public interface Loader<V, E extends Exception> {
+    V load() throws E;
+  }
+
+
+  /**
+   * @return The result of the lookup, either run by this call or by a concurrent call with an equal key.
+   */
+  @SuppressWarnings("unchecked")
+  public <V, E extends Exception> V run(K key, Loader<V, E> loader) throws E {
+    CompletableFuture<Object> own = new CompletableFuture<>();
+    CompletableFuture<Object> pending = inFlight.putIfAbsent(key, own);
+    if (pending != null) {
+      coalesced.increment();
+      try {
+        return (V) pending.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        } else if (cause instanceof Error error) {
+          throw error;
+        }
+        // the loader of the same key can only have thrown an E or an unchecked exception
+        throw (E) cause;
+      }
+    }
+    executions.increment();
+    try {
+      V value = loader.load();
+      own.complete(value);
+      return value;
+    } catch (Throwable e) {
+      own.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+
+  /**
+   * @return The number of lookups which were actually run.
+   */
+  public long getExecutionCount() {
+    return executions.sum();
+  }
+
+
+  /**
+   * @return The number of calls which were answered by the execution of a concurrent call.
+   */
+  public long getCoalescedCount() {
+    return coalesced.sum();
+  }
+
+
+  @Override
+  public String toString() {
+    return "SingleFlight{" +
+      "executions=" + getExecutionCount() +
+      ", coalesced=" + getCoalescedCount() +
+      ", inFlight=" + inFlight.size() +
+      '}';
+  }
+}
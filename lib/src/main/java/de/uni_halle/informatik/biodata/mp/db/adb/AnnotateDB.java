@@ -1,6 +1,8 @@
 package de.uni_halle.informatik.biodata.mp.db.adb;
 
+import de.uni_halle.informatik.biodata.mp.db.DatabaseWarmUp;
 import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
+import de.uni_halle.informatik.biodata.mp.parameters.DBHostParameters;
 import de.uni_halle.informatik.biodata.mp.parameters.DBParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +11,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -28,25 +36,27 @@ import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Const
 /**
  * @author Kaustubh Trivedi
  */
-public class AnnotateDB {
+public class AnnotateDB implements IQueryAnnotateDB {
 
   private static final Logger logger = LoggerFactory.getLogger(AnnotateDB.class);
   private static PostgresConnectionPool connectionPool;
+  /**
+   * The URL patterns by namespace from {@code adb_collection}, loaded once by {@link #getUrlPatterns()}.
+   */
+  private static volatile Map<String, List<String>> urlPatterns;
 
   public AnnotateDB () {}
 
   public static void init(DBParameters parameters) {
     String dbName = parameters.dbName();
-    String host = parameters.host();
     String passwd = parameters.passwd();
-    Integer port = parameters.port();
     String user = parameters.user();
     boolean run = iStrNotNullOrEmpty(dbName);
-    run &= iStrNotNullOrEmpty(host);
-    run &= port != null;
+    run &= parameters.effectiveHosts().stream()
+      .allMatch(h -> iStrNotNullOrEmpty(h.host()) && null != h.port());
     run &= iStrNotNullOrEmpty(user);
     if (run) {
-      init(host, port, user, passwd, dbName);
+      init(parameters.effectiveHosts(), user, passwd, dbName, parameters.queryTimeout(), parameters.hedgePercentile());
     }
   }
 
@@ -55,18 +65,45 @@ public class AnnotateDB {
   }
 
   public static void init(String host, Integer port, String user, String passwd, String dbName) {
+    init(List.of(new DBHostParameters(host, port, PostgresConnectionPool.MAXIMUM_POOL_SIZE,
+      PostgresConnectionPool.CONNECTION_TIMEOUT_MILLIS)), user, passwd, dbName);
+  }
+
+  /**
+   * @param hosts The hosts holding the database, e.g. a primary and its read replicas, over which the queries are
+   *              distributed by {@link PostgresConnectionPool}.
+   */
+  public static void init(List<DBHostParameters> hosts, String user, String passwd, String dbName) {
+    init(hosts, user, passwd, dbName, 0, 0);
+  }
+
+  /**
+   * @param queryTimeoutMillis The deadline of each query, see {@link DBParameters#queryTimeout()}.
+   * @param hedgePercentile    When to send a query to a second host as well, see
+   *                           {@link DBParameters#hedgePercentile()}.
+   */
+  public static void init(List<DBHostParameters> hosts, String user, String passwd, String dbName,
+                          long queryTimeoutMillis, double hedgePercentile) {
     if (null == connectionPool) {
       logger.debug("Initialize AnnotateDB");
-      connectionPool = new PostgresConnectionPool(host, port, user, passwd, dbName);
+      connectionPool = new PostgresConnectionPool(hosts, user, passwd, dbName, true, queryTimeoutMillis,
+        hedgePercentile);
 
       Runtime.getRuntime().addShutdownHook(new Thread(connectionPool::close));
+      Map<String, DatabaseWarmUp.Task> tasks = new LinkedHashMap<>();
+      AnnotateDB adb = new AnnotateDB();
+      tasks.put("getUrlPatterns", AnnotateDB::getUrlPatterns);
+      tasks.put("getAnnotations metabolites", () -> adb.getAnnotations(BIGG_METABOLITE, List.of("")));
+      tasks.put("getAnnotations reactions", () -> adb.getAnnotations(BIGG_REACTION, List.of("")));
+      DatabaseWarmUp.start(connectionPool, tasks);
     }
   }
 
 
   /**
    * Retrieves a set of annotated URLs based on the type and BiGG ID provided.
-   * This method queries the database to find matching annotations and constructs URLs using the retrieved data.
+   * This method queries the database to find matching annotations and constructs URLs using the retrieved data,
+   * see {@link #getAnnotations(String, Collection)}.
    * 
    * @param type   The type of the BiGG ID, which can be either a metabolite or a reaction.
    * @param biggId The BiGG ID for which annotations are to be retrieved. The ID may be modified if it starts
@@ -75,43 +112,138 @@ public class AnnotateDB {
    *         nor reaction, or if an SQL exception occurs, an empty set is returned.
    */
   public Set<String> getAnnotations(String type, String biggId) throws SQLException {
-    TreeSet<String> annotations = new TreeSet<>();
-    // Check if the type is valid for querying annotations
-    if (!type.equals(BIGG_METABOLITE) && !type.equals(BIGG_REACTION)) {
+    return getAnnotations(type, List.of(biggId)).getOrDefault(biggId, new TreeSet<>());
+  }
+
+
+  /**
+   * Retrieves the annotated URLs of many BiGG IDs in one query. Instead of joining {@code adb_collection} for every
+   * row, the URLs are built from the URL patterns loaded once per process, see {@link #getUrlPatterns()}.
+   *
+   * @param type    The type of the BiGG IDs, which can be either a metabolite or a reaction.
+   * @param biggIds The BiGG IDs, which are adjusted as for {@link #getAnnotations(String, String)}.
+   * @return The sorted sets of URLs by BiGG ID as given, for the BiGG IDs with annotations. Empty if the type is neither
+   *         metabolite nor reaction.
+   */
+  @Override
+  public Map<String, Set<String>> getAnnotations(String type, Collection<String> biggIds) throws SQLException {
+    Map<String, Set<String>> annotations = new HashMap<>();
+    if ((!type.equals(BIGG_METABOLITE) && !type.equals(BIGG_REACTION)) || biggIds.isEmpty()) {
       return annotations;
     }
-    // Adjust the BiGG ID if it starts with a known prefix
-    if (type.equals(BIGG_METABOLITE) && biggId.startsWith(METABOLITE_PREFIX)) {
-      biggId = biggId.substring(2);
-    } else if (type.equals(BIGG_REACTION) && biggId.startsWith(REACTION_PREFIX)) {
-      biggId = biggId.substring(2);
+    // several given IDs may be adjusted to the same term
+    Map<String, List<String>> biggIdsByTerm = new HashMap<>();
+    for (String biggId : biggIds) {
+      biggIdsByTerm.computeIfAbsent(adjustBiGGId(type, biggId), term -> new ArrayList<>()).add(biggId);
     }
-    // Remove trailing underscore from the BiGG ID if present
-    if (biggId.endsWith("_")) {
-      biggId = biggId.substring(0, biggId.length() - 2);
+    Map<String, List<String>> patterns = getUrlPatterns();
+    String query = "SELECT m." + SOURCE_TERM + ", m." + TARGET_NAMESPACE + ", m." + TARGET_TERM + " FROM "
+      + MAPPING_VIEW + " m WHERE m." + SOURCE_NAMESPACE + " = ? AND m." + SOURCE_TERM + " = ANY(?)";
+    int rows = 0;
+    try (Connection connection = connectionPool.getConnection("getAnnotations [batch]");
+         PreparedStatement pStatement = connection.prepareStatement(query)) {
+      pStatement.setString(1, type);
+      pStatement.setArray(2, connection.createArrayOf("text", biggIdsByTerm.keySet().toArray()));
+      try (ResultSet resultSet = pStatement.executeQuery()) {
+        while (resultSet.next()) {
+          List<String> namespacePatterns = patterns.get(resultSet.getString(TARGET_NAMESPACE));
+          if (namespacePatterns == null) {
+            continue;
+          }
+          rows++;
+          String term = resultSet.getString(TARGET_TERM);
+          for (String biggId : biggIdsByTerm.get(resultSet.getString(SOURCE_TERM))) {
+            Set<String> uris = annotations.computeIfAbsent(biggId, id -> new TreeSet<>());
+            for (String pattern : namespacePatterns) {
+              uris.add(pattern.replace("{$id}", term));
+            }
+          }
+        }
+      }
     }
-    // SQL query to fetch annotations
-    String query = "SELECT m." + TARGET_TERM + ", ac." + URLPATTERN + " FROM " + MAPPING_VIEW + " m, " + ADB_COLLECTION
-      + " ac WHERE m." + SOURCE_NAMESPACE + " = ? AND m." + SOURCE_TERM + " = ? AND ac." + NAMESPACE + " = m."
+    logger.debug("Added {} annotations from ADB for {} IDs of type {}", rows, biggIds.size(), type);
+    return annotations;
+  }
+
+
+  /**
+   * @return The URL patterns by namespace of all collections in {@code adb_collection}, except for those whose pattern
+   *         is the bare ID. A namespace may have several collections, e.g. several providers of the same identifiers,
+   *         which all yield a URL as the join in {@link #getAllAnnotations(String)} does. The patterns are read from the
+   *         database on the first call only.
+   */
+  static Map<String, List<String>> getUrlPatterns() throws SQLException {
+    Map<String, List<String>> patterns = urlPatterns;
+    if (patterns == null) {
+      synchronized (AnnotateDB.class) {
+        patterns = urlPatterns;
+        if (patterns == null) {
+          Map<String, List<String>> loaded = new HashMap<>();
+          String query = "SELECT " + NAMESPACE + ", " + URLPATTERN + " FROM " + ADB_COLLECTION + " WHERE "
+            + URLPATTERN + " != '{$id}'";
+          try (Connection connection = connectionPool.getConnection("getUrlPatterns");
+               PreparedStatement pStatement = connection.prepareStatement(query);
+               ResultSet resultSet = pStatement.executeQuery()) {
+            while (resultSet.next()) {
+              String namespace = resultSet.getString(NAMESPACE);
+              if (namespace != null) {
+                loaded.computeIfAbsent(namespace, key -> new ArrayList<>()).add(resultSet.getString(URLPATTERN));
+              }
+            }
+          }
+          logger.debug("Loaded the URL patterns of {} namespaces from ADB", loaded.size());
+          loaded.replaceAll((namespace, namespacePatterns) -> List.copyOf(namespacePatterns));
+          patterns = Map.copyOf(loaded);
+          urlPatterns = patterns;
+        }
+      }
+    }
+    return patterns;
+  }
+
+
+  /**
+   * Retrieves the annotated URLs of all BiGG IDs of the given type at once, e.g. to hold them in an
+   * {@link InMemoryAnnotateDB}.
+   *
+   * @param type The type of the BiGG IDs, either a metabolite or a reaction.
+   * @return The sorted sets of URLs by BiGG ID, as {@link #getAnnotations(String, String)} would return them.
+   */
+  public Map<String, Set<String>> getAllAnnotations(String type) throws SQLException {
+    Map<String, Set<String>> annotations = new HashMap<>();
+    String query = "SELECT m." + SOURCE_TERM + ", m." + TARGET_TERM + ", ac." + URLPATTERN + " FROM " + MAPPING_VIEW
+      + " m, " + ADB_COLLECTION + " ac WHERE m." + SOURCE_NAMESPACE + " = ? AND ac." + NAMESPACE + " = m."
       + TARGET_NAMESPACE + " AND ac.urlpattern != '{$id}'";
-    try (Connection connection = connectionPool.getConnection();
+    try (Connection connection = connectionPool.getConnection("getAllAnnotations");
          PreparedStatement pStatement = connection.prepareStatement(query)) {
       pStatement.setString(1, type);
-      pStatement.setString(2, biggId);
-      int i = 0;
       try (ResultSet resultSet = pStatement.executeQuery()) {
-        // Process each result and construct the URL
         while (resultSet.next()) {
-          i++;
-          String uri = resultSet.getString(URLPATTERN);
-          String id = resultSet.getString(TARGET_TERM);
-          uri = uri.replace("{$id}", id);
-          annotations.add(uri);
+          String uri = resultSet.getString(URLPATTERN).replace("{$id}", resultSet.getString(TARGET_TERM));
+          annotations.computeIfAbsent(resultSet.getString(SOURCE_TERM), id -> new TreeSet<>()).add(uri);
         }
-        logger.debug("Added {} annotations from ADB for {} with ID {}", i, type, biggId);
       }
     }
+    logger.debug("Loaded annotations from ADB for {} IDs of type {}", annotations.size(), type);
     return annotations;
   }
 
+
+  /**
+   * Strips a known prefix and a trailing underscore from the BiGG ID, as AnnotateDB stores the IDs without them.
+   */
+  static String adjustBiGGId(String type, String biggId) {
+    // Adjust the BiGG ID if it starts with a known prefix
+    if (type.equals(BIGG_METABOLITE) && biggId.startsWith(METABOLITE_PREFIX)) {
+      biggId = biggId.substring(2);
+    } else if (type.equals(BIGG_REACTION) && biggId.startsWith(REACTION_PREFIX)) {
+      biggId = biggId.substring(2);
+    }
+    // Remove trailing underscore from the BiGG ID if present
+    if (biggId.endsWith("_")) {
+      biggId = biggId.substring(0, biggId.length() - 2);
+    }
+    return biggId;
+  }
+
 }
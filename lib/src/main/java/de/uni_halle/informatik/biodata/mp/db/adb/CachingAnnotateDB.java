@@ -0,0 +1,121 @@
+package de.uni_halle.informatik.biodata.mp.db.adb;
+
+import de.uni_halle.informatik.biodata.mp.db.BoundedCache;
+import de.uni_halle.informatik.biodata.mp.db.PersistentLookupCache;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link IQueryAnnotateDB} keeping the annotations looked up in a {@link BoundedCache}, and optionally in a
+ * {@link PersistentLookupCache} consulted before the wrapped backend, so that later invocations of ModelPolisher start
+ * with the results of the earlier ones.
+ * <p>
+ * Instances are thread-safe if the wrapped backend is, and are meant to be shared by all annotation runs.
+ */
+public class CachingAnnotateDB implements IQueryAnnotateDB {
+
+  private final IQueryAnnotateDB source;
+  private final BoundedCache<List<String>, Set<String>> cache;
+  private final PersistentLookupCache store;
+
+
+  /**
+   * @param source      The backend answering all lookups not found in the caches.
+   * @param maximumSize The maximum number of lookup results held in memory.
+   * @param store       The cache on disk, or {@code null} to keep the results in memory only.
+   */
+  public CachingAnnotateDB(IQueryAnnotateDB source, int maximumSize, PersistentLookupCache store) {
+    this.source = source;
+    this.cache = new BoundedCache<>(maximumSize);
+    this.store = store;
+  }
+
+
+  /**
+   * @return The cache, e.g. to report its hit, miss and eviction counts.
+   */
+  public BoundedCache<?, ?> getCache() {
+    return cache;
+  }
+
+
+  /**
+   * @return The cache on disk, or {@code null} if there is none.
+   */
+  public PersistentLookupCache getStore() {
+    return store;
+  }
+
+
+  @Override
+  public Set<String> getAnnotations(String type, String biggId) throws SQLException {
+    Set<String> annotations = cached(type, biggId);
+    if (annotations == null) {
+      annotations = Set.copyOf(source.getAnnotations(type, biggId));
+      put(type, biggId, annotations);
+    }
+    return new TreeSet<>(annotations);
+  }
+
+
+  /**
+   * Answers the lookup from the caches where possible and queries the backend for the remaining BiGG IDs in one batch.
+   */
+  @Override
+  public Map<String, Set<String>> getAnnotations(String type, Collection<String> biggIds) throws SQLException {
+    Map<String, Set<String>> results = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (String biggId : new LinkedHashSet<>(biggIds)) {
+      Set<String> annotations = cached(type, biggId);
+      if (annotations == null) {
+        missing.add(biggId);
+      } else if (!annotations.isEmpty()) {
+        results.put(biggId, new TreeSet<>(annotations));
+      }
+    }
+    if (!missing.isEmpty()) {
+      Map<String, Set<String>> loaded = source.getAnnotations(type, missing);
+      for (String biggId : missing) {
+        Set<String> annotations = Set.copyOf(loaded.getOrDefault(biggId, Set.of()));
+        put(type, biggId, annotations);
+        if (!annotations.isEmpty()) {
+          results.put(biggId, new TreeSet<>(annotations));
+        }
+      }
+    }
+    return results;
+  }
+
+
+  /**
+   * @return The annotations from the cache in memory or on disk, or {@code null} if there are none.
+   */
+  private Set<String> cached(String type, String biggId) {
+    List<String> key = List.of(type, biggId);
+    Set<String> annotations = cache.get(key);
+    if (annotations == null && store != null) {
+      String[] stored = store.get(type + '\0' + biggId);
+      if (stored != null) {
+        annotations = Set.of(stored);
+        cache.put(key, annotations);
+      }
+    }
+    return annotations;
+  }
+
+
+  private void put(String type, String biggId, Set<String> annotations) {
+    cache.put(List.of(type, biggId), annotations);
+    if (store != null) {
+      store.put(type + '\0' + biggId, annotations.toArray(String[]::new));
+    }
+  }
+}
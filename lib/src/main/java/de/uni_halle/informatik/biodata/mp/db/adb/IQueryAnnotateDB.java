@@ -0,0 +1,34 @@
+package de.uni_halle.informatik.biodata.mp.db.adb;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The lookups the AnnotateDB annotators perform, independent of where the data is stored.
+ * <p>
+ * {@link AnnotateDB} answers them from the PostgreSQL database, {@link InMemoryAnnotateDB} from mappings held in the
+ * heap. Which backend is used is chosen via
+ * {@link de.uni_halle.informatik.biodata.mp.parameters.DBParameters#backend()}.
+ */
+public interface IQueryAnnotateDB {
+
+  /**
+   * @param type   The type of the BiGG ID, either {@link AnnotateDBContract.Constants#BIGG_METABOLITE} or
+   *               {@link AnnotateDBContract.Constants#BIGG_REACTION}.
+   * @param biggId The BiGG ID, with or without its {@code M_} or {@code R_} prefix.
+   * @return A new, mutable sorted set of the annotation URLs for the BiGG ID. Empty for any other type.
+   */
+  Set<String> getAnnotations(String type, String biggId) throws SQLException;
+
+  /**
+   * Looks up the annotations of many BiGG IDs of the same type at once, e.g. of all species of a model.
+   *
+   * @param type    The type of the BiGG IDs, as for {@link #getAnnotations(String, String)}.
+   * @param biggIds The BiGG IDs, with or without their {@code M_} or {@code R_} prefix.
+   * @return New, mutable sorted sets of the annotation URLs by BiGG ID as given. BiGG IDs without annotations are
+   *         missing from the map.
+   */
+  Map<String, Set<String>> getAnnotations(String type, Collection<String> biggIds) throws SQLException;
+}
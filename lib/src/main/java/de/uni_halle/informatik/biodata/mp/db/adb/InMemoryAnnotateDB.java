@@ -0,0 +1,67 @@
+package de.uni_halle.informatik.biodata.mp.db.adb;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Constants.BIGG_METABOLITE;
+import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Constants.BIGG_REACTION;
+
+/**
+ * {@link IQueryAnnotateDB} answering all lookups from annotations held in the heap, either loaded from an
+ * {@link AnnotateDB} up front or given directly, e.g. as a fixture.
+ * <p>
+ * The annotations are only read after construction, so an instance can be shared between threads.
+ */
+public class InMemoryAnnotateDB implements IQueryAnnotateDB {
+
+  private final Map<String, Map<String, Set<String>>> annotations = new HashMap<>();
+
+
+  /**
+   * @param annotations The annotation URLs by BiGG ID (without prefix), by type of the BiGG ID.
+   */
+  public InMemoryAnnotateDB(Map<String, ? extends Map<String, ? extends Set<String>>> annotations) {
+    annotations.forEach((type, byId) -> {
+      Map<String, Set<String>> copy = new HashMap<>();
+      byId.forEach((id, urls) -> copy.put(id, Set.copyOf(urls)));
+      this.annotations.put(type, copy);
+    });
+  }
+
+
+  /**
+   * Loads the annotations of all BiGG metabolites and reactions from the given database.
+   */
+  public static InMemoryAnnotateDB load(AnnotateDB source) throws SQLException {
+    return new InMemoryAnnotateDB(Map.of(
+      BIGG_METABOLITE, source.getAllAnnotations(BIGG_METABOLITE),
+      BIGG_REACTION, source.getAllAnnotations(BIGG_REACTION)));
+  }
+
+
+  @Override
+  public Set<String> getAnnotations(String type, String biggId) {
+    if (!type.equals(BIGG_METABOLITE) && !type.equals(BIGG_REACTION)) {
+      return new TreeSet<>();
+    }
+    Set<String> urls = annotations.getOrDefault(type, Map.of()).get(AnnotateDB.adjustBiGGId(type, biggId));
+    return urls == null ? new TreeSet<>() : new TreeSet<>(urls);
+  }
+
+
+  @Override
+  public Map<String, Set<String>> getAnnotations(String type, Collection<String> biggIds) {
+    Map<String, Set<String>> results = new HashMap<>();
+    for (String biggId : biggIds) {
+      Set<String> urls = getAnnotations(type, biggId);
+      if (!urls.isEmpty()) {
+        results.put(biggId, urls);
+      }
+    }
+    return results;
+  }
+}
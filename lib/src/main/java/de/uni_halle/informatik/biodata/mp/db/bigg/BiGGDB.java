@@ -17,17 +17,28 @@ package de.uni_halle.informatik.biodata.mp.db.bigg;
 import de.zbit.util.ResourceManager;
 import de.zbit.util.Utils;
 import de.uni_halle.informatik.biodata.mp.logging.BundleNames;
+import de.uni_halle.informatik.biodata.mp.parameters.DBHostParameters;
 import de.uni_halle.informatik.biodata.mp.parameters.DBParameters;
+import de.uni_halle.informatik.biodata.mp.db.DatabaseWarmUp;
 import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
+import de.uni_halle.informatik.biodata.mp.db.QueryStatistics;
+import de.uni_halle.informatik.biodata.mp.db.QueryTimeoutException;
 import de.uni_halle.informatik.biodata.mp.polishing.NamePolisher;
 import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.Date;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.*;
@@ -41,18 +52,109 @@ import static java.text.MessageFormat.format;
  * @author Andreas Dr&auml;ger
  */
 @SuppressWarnings("ALL")
-public class BiGGDB {
+public class BiGGDB implements IQueryBiGG {
 
   private static final Logger logger = LoggerFactory.getLogger(BiGGDB.class);
   private static final ResourceBundle MESSAGES = ResourceManager.getBundle(BundleNames.DB_MESSAGES);
 
   private static PostgresConnectionPool connectionPool;
 
-  private static Set<String> BiGGDBCompartments = new HashSet<>();
-  private static Set<String> BiGGDBDataSources = new HashSet<>();
-  private static Set<String> BiGGDBMetabolites = new HashSet<>();
-  private static Set<String> BiGGDBModels = new HashSet<>();
-  private static Set<String> BiGGDBReactions = new HashSet<>();
+  /**
+   * An ID no table contains, with which the warm-up runs the lookups.
+   */
+  private static final String WARM_UP_ID = "";
+
+  /**
+   * Selects the rows of {@code mcc} with a formula or a charge, as {@link #getChemicalFormula(String, String)} and
+   * {@link #getCharge(String, String)} each select the rows with their value.
+   */
+  private static final String CHEMISTRY_CONDITION = "(mcc." + FORMULA + " <> '' OR mcc." + CHARGE + " IS NOT NULL)";
+
+  /**
+   * The queries of {@link #getResources(BiGGId, boolean, boolean)} and its batch counterpart for every combination of
+   * their flags, so that they are not assembled anew for every lookup, see {@link #getResourcesQuery}.
+   */
+  private static final String[] RESOURCES_QUERIES = new String[16];
+
+  static {
+    for (int i = 0; i < RESOURCES_QUERIES.length; i++) {
+      RESOURCES_QUERIES[i] = buildResourcesQuery((i & 8) != 0, (i & 4) != 0, (i & 2) != 0, (i & 1) != 0);
+    }
+  }
+
+  /**
+   * The data sources of gene synonyms which are not identifiers, i.e. the ones matching {@code LIKE}
+   * {@value BiGGDBContract.Constants.Table#REFSEQ_PATTERN} in {@link #getGeneIds(String)}.
+   */
+  private static final Pattern REFSEQ_SOURCE = Pattern.compile("refseq.+", Pattern.DOTALL);
+
+  /**
+   * The data sources of gene names, i.e. the ones matching {@code LIKE}
+   * {@value BiGGDBContract.Constants.Table#REFSEQ_NAME} in {@link #getGeneName(String)}.
+   */
+  private static final Pattern REFSEQ_NAME_SOURCE = Pattern.compile("refseq.name", Pattern.DOTALL);
+
+  /**
+   * The data source of former BiGG IDs, which are not identifiers either, i.e. the SQL literal
+   * {@value BiGGDBContract.Constants.Table#OLD_BIGG_ID} without its quotes.
+   */
+  private static final String OLD_BIGG_ID_SOURCE = OLD_BIGG_ID.substring(1, OLD_BIGG_ID.length() - 1);
+
+  /**
+   * The queries of {@link #getBiggIdFromSynonym(String, String, String)} by entity type.
+   */
+  private static final Map<String, String> SYNONYM_QUERIES = Map.of(
+    TYPE_SPECIES, "SELECT c." + BIGG_ID + " FROM " + COMPONENT + " c, " + DATA_SOURCE + " d, " + SYNONYM + " s WHERE d."
+      + BIGG_ID + " = ? AND d." + ID + " = s." + DATA_SOURCE_ID + " AND s." + SYNONYM_COL + " = ? AND s." + OME_ID
+      + " = c." + ID,
+    TYPE_REACTION, "SELECT r." + BIGG_ID + " FROM " + REACTION + " r, " + DATA_SOURCE + " d, " + SYNONYM + " s WHERE d."
+      + BIGG_ID + " = ? AND d." + ID + " = s." + DATA_SOURCE_ID + " AND s." + SYNONYM_COL + " = ? AND s." + OME_ID
+      + " = r." + ID,
+    TYPE_GENE_PRODUCT, "SELECT g." + LOCUS_TAG + " FROM " + GENE + " g, " + DATA_SOURCE + " d, " + SYNONYM + " s WHERE d."
+      + BIGG_ID + " = ? AND d." + ID + " = s." + DATA_SOURCE_ID + " AND s." + SYNONYM_COL + " = ? AND s." + OME_ID
+      + " = g." + ID);
+
+  /**
+   * The queries of {@link #getBiggIdFromSynonym(Collection, String)} by entity type.
+   */
+  private static final Map<String, String> SYNONYM_BATCH_QUERIES = Map.of(
+    TYPE_SPECIES, "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", c." + BIGG_ID + " FROM " + COMPONENT + " c, "
+      + DATA_SOURCE + " d, " + SYNONYM + " s WHERE d." + BIGG_ID + " = ANY(?) AND d." + ID + " = s." + DATA_SOURCE_ID
+      + " AND s." + SYNONYM_COL + " = ANY(?) AND s." + OME_ID + " = c." + ID,
+    TYPE_REACTION, "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", r." + BIGG_ID + " FROM " + REACTION + " r, "
+      + DATA_SOURCE + " d, " + SYNONYM + " s WHERE d." + BIGG_ID + " = ANY(?) AND d." + ID + " = s." + DATA_SOURCE_ID
+      + " AND s." + SYNONYM_COL + " = ANY(?) AND s." + OME_ID + " = r." + ID,
+    TYPE_GENE_PRODUCT, "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", g." + LOCUS_TAG + " FROM " + GENE + " g, "
+      + DATA_SOURCE + " d, " + SYNONYM + " s WHERE d." + BIGG_ID + " = ANY(?) AND d." + ID + " = s." + DATA_SOURCE_ID
+      + " AND s." + SYNONYM_COL + " = ANY(?) AND s." + OME_ID + " = g." + ID);
+
+  /**
+   * The tables whose IDs are held in a {@link BiGGIdCatalog} for the {@code is*} checks.
+   */
+  private static final List<String> ID_CATALOG_TABLES = List.of(COMPARTMENT, DATA_SOURCE, COMPONENT, MODEL, REACTION);
+  private static final Map<String, CompletableFuture<BiGGIdCatalog>> idCatalogs = new ConcurrentHashMap<>();
+
+  /**
+   * The entity types whose synonyms are held in a {@link SynonymIndex}, if enabled by
+   * {@link DBParameters#synonymIndex()}.
+   */
+  private static final List<String> SYNONYM_INDEX_TYPES = List.of(TYPE_SPECIES, TYPE_REACTION, TYPE_GENE_PRODUCT);
+  private static final Map<String, CompletableFuture<SynonymIndex>> synonymIndexes = new ConcurrentHashMap<>();
+  private static volatile boolean useSynonymIndex;
+
+  /**
+   * The materialized views installed by {@link BiGGSchemaOptimizer}, loaded once by {@link #getMaterializedViews()}.
+   */
+  private static volatile Set<String> materializedViews;
+  /**
+   * When the materialized views are looked up again after the lookup failed, or 0 if it succeeded.
+   */
+  private static volatile long materializedViewsRetryAt;
+
+  /**
+   * How long the original tables are queried after the lookup of the materialized views failed, before it is retried.
+   */
+  private static final long MATERIALIZED_VIEWS_RETRY_MILLIS = 60_000;
 
 
   public BiGGDB () {}
@@ -63,27 +165,271 @@ public class BiGGDB {
 
   public static void init(DBParameters parameters) {
     String dbName = parameters.dbName();
-    String host = parameters.host();
     String passwd = parameters.passwd();
-    Integer port = parameters.port();
     String user = parameters.user();
     boolean run = iStrNotNullOrEmpty(dbName);
-    run &= iStrNotNullOrEmpty(host);
-    run &= null != port;
+    run &= parameters.effectiveHosts().stream()
+      .allMatch(h -> iStrNotNullOrEmpty(h.host()) && null != h.port());
     run &= iStrNotNullOrEmpty(user);
     if (run) {
-      init(host, port, user, passwd, dbName);
+      init(parameters.effectiveHosts(), user, passwd, dbName, parameters.queryTimeout(), parameters.hedgePercentile());
+      if (parameters.synonymIndex() && !useSynonymIndex) {
+        useSynonymIndex = true;
+        loadSynonymIndexes();
+      }
     }
   }
 
   public static void init(String host, Integer port, String user, String passwd, String dbName) {
+    init(List.of(new DBHostParameters(host, port, PostgresConnectionPool.MAXIMUM_POOL_SIZE,
+      PostgresConnectionPool.CONNECTION_TIMEOUT_MILLIS)), user, passwd, dbName);
+  }
+
+  /**
+   * @param hosts The hosts holding the database, e.g. a primary and its read replicas, over which the queries are
+   *              distributed by {@link PostgresConnectionPool}.
+   */
+  public static void init(List<DBHostParameters> hosts, String user, String passwd, String dbName) {
+    init(hosts, user, passwd, dbName, 0, 0);
+  }
 
+  /**
+   * @param queryTimeoutMillis The deadline of each query, see {@link DBParameters#queryTimeout()}.
+   * @param hedgePercentile    When to send a query to a second host as well, see
+   *                           {@link DBParameters#hedgePercentile()}.
+   */
+  public static void init(List<DBHostParameters> hosts, String user, String passwd, String dbName,
+                          long queryTimeoutMillis, double hedgePercentile) {
     if (null == connectionPool) {
       logger.debug("Initialize BiGG DB");
-      connectionPool = new PostgresConnectionPool(host, port, user, passwd, dbName);
+      connectionPool = new PostgresConnectionPool(hosts, user, passwd, dbName, true, queryTimeoutMillis,
+        hedgePercentile);
 
       Runtime.getRuntime().addShutdownHook(new Thread(connectionPool::close));
+      DatabaseWarmUp.start(connectionPool, warmUpTasks());
+    }
+  }
+
+
+  /**
+   * The tasks of the warm-up started by {@link #init}: the ID catalogs of all tables are loaded, so that the first
+   * {@code is*} checks do not have to wait for the table scans one after another, and the batch lookups which
+   * {@link BiGGModelSnapshot} prefetches for every model are run once with an ID matching nothing, so that their tables
+   * and indexes are loaded and the first model does not pay for it.
+   */
+  private static Map<String, DatabaseWarmUp.Task> warmUpTasks() {
+    BiGGDB bigg = new BiGGDB();
+    List<String> none = List.of(WARM_UP_ID);
+    Map<String, DatabaseWarmUp.Task> tasks = new LinkedHashMap<>();
+    for (String table : ID_CATALOG_TABLES) {
+      tasks.put("getIdCatalog " + table, () -> bigg.getIdCatalog(table));
+    }
+    tasks.put("getMaterializedViews", BiGGDB::getMaterializedViews);
+    tasks.put("getComponentName", () -> bigg.getComponentName(none));
+    tasks.put("getResources metabolites", () -> bigg.getResources(none, false, false));
+    tasks.put("getChemistry", () -> bigg.getChemistry(none, WARM_UP_ID));
+    tasks.put("getChemistryByCompartment",
+      () -> bigg.getChemistryByCompartment(List.of(new CompartmentalizedComponent(WARM_UP_ID, WARM_UP_ID))));
+    tasks.put("getReactionName", () -> bigg.getReactionName(none));
+    tasks.put("isPseudoreaction", () -> bigg.isPseudoreaction(none));
+    tasks.put("getResources reactions", () -> bigg.getResources(none, false, true));
+    tasks.put("getGeneReactionRule", () -> bigg.getGeneReactionRule(none, WARM_UP_ID));
+    tasks.put("getSubsystems", () -> bigg.getSubsystems(WARM_UP_ID, none));
+    tasks.put("getSubsystemsForReaction", () -> bigg.getSubsystemsForReaction(none));
+    tasks.put("getGeneIds", () -> bigg.getGeneIds(none));
+    tasks.put("getGeneName", () -> bigg.getGeneName(none));
+    return tasks;
+  }
+
+
+  /**
+   * Starts loading the synonym indexes of all entity types concurrently in the background, just like the ID catalogs
+   * are loaded by the warm-up.
+   */
+  private static void loadSynonymIndexes() {
+    ExecutorService executor = Executors.newFixedThreadPool(SYNONYM_INDEX_TYPES.size(), runnable -> {
+      Thread thread = new Thread(runnable, "bigg-synonym-index");
+      thread.setDaemon(true);
+      return thread;
+    });
+    BiGGDB bigg = new BiGGDB();
+    for (String type : SYNONYM_INDEX_TYPES) {
+      executor.execute(() -> bigg.getSynonymIndex(type));
+    }
+    executor.shutdown();
+  }
+
+
+  /**
+   * @return The ID catalogs which have been loaded so far, e.g. to report their sizes and load times.
+   */
+  public static List<BiGGIdCatalog> getIdCatalogs() {
+    List<BiGGIdCatalog> catalogs = new ArrayList<>();
+    for (CompletableFuture<BiGGIdCatalog> catalog : idCatalogs.values()) {
+      if (catalog.isDone() && !catalog.isCompletedExceptionally()) {
+        catalogs.add(catalog.join());
+      }
+    }
+    return catalogs;
+  }
+
+
+  /**
+   * Returns the ID catalog of the table, loading it if no other thread has done so yet. Concurrent callers wait for the
+   * one load in progress instead of scanning the table again. If the load fails, the next call tries again.
+   */
+  private BiGGIdCatalog getIdCatalog(String table) throws SQLException {
+    CompletableFuture<BiGGIdCatalog> created = new CompletableFuture<>();
+    CompletableFuture<BiGGIdCatalog> catalog = idCatalogs.putIfAbsent(table, created);
+    if (catalog == null) {
+      catalog = created;
+      try {
+        long start = System.currentTimeMillis();
+        Set<String> ids = getAllBiggIds(table);
+        created.complete(BiGGIdCatalog.of(table, ids, System.currentTimeMillis() - start));
+        logger.debug("Loaded {}", created.join());
+      } catch (SQLException | RuntimeException e) {
+        idCatalogs.remove(table, created);
+        created.completeExceptionally(e);
+        throw e;
+      }
+    }
+    try {
+      return catalog.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof SQLException sqlException) {
+        throw sqlException;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the synonym index of the entity type, loading it if no other thread has done so yet, in the same way as
+   * {@link #getIdCatalog(String)}.
+   *
+   * @return The index, or {@code null} if the index is disabled or could not be loaded, in which case the synonyms
+   *         are looked up in the database. A failed load is not retried during this run.
+   */
+  private SynonymIndex getSynonymIndex(String type) {
+    if (!useSynonymIndex || !SYNONYM_INDEX_TYPES.contains(type)) {
+      return null;
+    }
+    CompletableFuture<SynonymIndex> created = new CompletableFuture<>();
+    CompletableFuture<SynonymIndex> index = synonymIndexes.putIfAbsent(type, created);
+    if (index == null) {
+      index = created;
+      try {
+        long start = System.currentTimeMillis();
+        SynonymIndex.Builder builder = SynonymIndex.builder(type);
+        streamQuery("getSynonymIndex", getSynonymIndexQuery(type), row -> builder.add(row[0], row[1], row[2]));
+        created.complete(builder.build(System.currentTimeMillis() - start));
+        logger.debug("Loaded {}", created.join());
+      } catch (SQLException | IOException | RuntimeException e) {
+        // the failed scan is not repeated for every lookup, which fall back to the queries on the synonym table
+        logger.warn(format("Could not load the synonyms of type {0}, looking them up one by one: {1}", type,
+          Utils.getMessage(e)));
+        created.complete(null);
+      }
+    }
+    return index.join();
+  }
+
+
+  /**
+   * @return The query for all data sources, synonyms and BiGG IDs of the entity type, matching the joins of
+   *         {@link #getBiggIdFromSynonym(String, String, String)}.
+   */
+  private static String getSynonymIndexQuery(String type) {
+    String sharedQuerySubstring = DATA_SOURCE + " d, " + SYNONYM + " s "
+            + "WHERE d." + ID + " = s." + DATA_SOURCE_ID + " AND s." + OME_ID;
+    String select = "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", ";
+    return switch (type) {
+      case TYPE_SPECIES -> select + "c." + BIGG_ID + " FROM " + COMPONENT + " c, " + sharedQuerySubstring + " = c." + ID;
+      case TYPE_REACTION -> select + "r." + BIGG_ID + " FROM " + REACTION + " r, " + sharedQuerySubstring + " = r." + ID;
+      case TYPE_GENE_PRODUCT -> select + "g." + LOCUS_TAG + " FROM " + GENE + " g, " + sharedQuerySubstring + " = g." + ID;
+      default -> throw new IllegalArgumentException("Unknown entity type " + type);
+    };
+  }
+
+
+  /**
+   * @return The names of the materialized views of {@link BiGGSchemaOptimizer} present in the database and built from
+   *         its current version, which are looked up on first use. Empty if they cannot be looked up, in which case
+   *         the original tables are queried until the lookup is retried, see {@link #loadMaterializedViews()}.
+   */
+  static Set<String> getMaterializedViews() {
+    Set<String> views = materializedViews;
+    if (views == null || isMaterializedViewsRetryDue()) {
+      synchronized (BiGGDB.class) {
+        views = materializedViews;
+        if (views == null || isMaterializedViewsRetryDue()) {
+          materializedViews = views = loadMaterializedViews();
+        }
+      }
+    }
+    return views;
+  }
+
+
+  private static boolean isMaterializedViewsRetryDue() {
+    long retryAt = materializedViewsRetryAt;
+    return retryAt != 0 && System.currentTimeMillis() >= retryAt;
+  }
+
+
+  /**
+   * @return The materialized views present in the database and built from its current version, or none if they
+   *         could not be looked up, in which case the lookup is retried after
+   *         {@value #MATERIALIZED_VIEWS_RETRY_MILLIS} ms.
+   */
+  private static Set<String> loadMaterializedViews() {
+    Set<String> views = new HashSet<>();
+    String query = "SELECT matviewname, obj_description(CAST(quote_ident(schemaname) || '.' || "
+      + "quote_ident(matviewname) AS regclass), 'pg_class'), (" + BiGGSchemaOptimizer.VERSION_QUERY
+      + ") FROM pg_matviews WHERE matviewname = ANY(?)";
+    try {
+      for (String[] row : new BiGGDB().runArrayQuery("getMaterializedViews", query,
+        BiGGSchemaOptimizer.VIEWS.stream().map(BiGGSchemaOptimizer.View::name).toList())) {
+        if (Objects.equals(row[1], row[2])) {
+          views.add(row[0]);
+        } else {
+          logger.warn(format("Ignoring the materialized view {0}, which was built from BiGG version {1} "
+            + "instead of {2}; install the schema optimizations again to use it.", row[0], row[1], row[2]));
+        }
+      }
+    } catch (SQLException e) {
+      logger.warn(format("Could not look up the materialized views, querying the original tables for {0} ms: {1}",
+        MATERIALIZED_VIEWS_RETRY_MILLIS, Utils.getMessage(e)));
+      materializedViewsRetryAt = System.currentTimeMillis() + MATERIALIZED_VIEWS_RETRY_MILLIS;
+      return Set.of();
+    }
+    logger.debug("Using materialized views {}", views);
+    materializedViewsRetryAt = 0;
+    return Set.copyOf(views);
+  }
+
+
+  /**
+   * Makes the next lookup check again which materialized views are present, e.g. after they have been installed.
+   */
+  static synchronized void refreshMaterializedViews() {
+    materializedViews = null;
+    materializedViewsRetryAt = 0;
+  }
+
+
+  /**
+   * @return The synonym indexes which have been loaded so far, e.g. to report their sizes and load times.
+   */
+  public static List<SynonymIndex> getSynonymIndexes() {
+    List<SynonymIndex> indexes = new ArrayList<>();
+    for (CompletableFuture<SynonymIndex> index : synonymIndexes.values()) {
+      if (index.isDone() && index.join() != null) {
+        indexes.add(index.join());
+      }
     }
+    return indexes;
   }
 
   /**
@@ -96,16 +442,13 @@ public class BiGGDB {
    * @return {@link Optional<Date>} The date of the last database update, or an empty {@link Optional} if not available.
    */
   public Optional<Date> getBiGGVersion() throws SQLException {
-    Optional<Date> date = Optional.empty();
     String query = "SELECT " + DATE_TIME + " FROM " + DATABASE_VERSION;
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query);
-         ResultSet resultSet = pStatement.executeQuery();) {
-      if (resultSet.next()) {
-        date = Optional.of(resultSet.getDate(1));
+    return connectionPool.execute("getBiGGVersion", connection -> {
+      try (PreparedStatement pStatement = connection.prepareStatement(query);
+           ResultSet resultSet = pStatement.executeQuery()) {
+        return resultSet.next() ? Optional.of(resultSet.getDate(1)) : Optional.<Date>empty();
       }
-    }
-    return date;
+    });
   }
 
 
@@ -122,18 +465,35 @@ public class BiGGDB {
     String query = "SELECT DISTINCT mr." + SUBSYSTEM + " FROM " + REACTION + " r, " + MODEL + " m, " + MODEL_REACTION
       + " mr WHERE m." + BIGG_ID + " = ? AND r." + BIGG_ID + " = ? AND m." + ID + " = mr." + MODEL_ID + " AND r." + ID
       + " = mr." + REACTION_ID + " AND LENGTH(mr." + SUBSYSTEM + ") > 0";
-    List<String> list = new LinkedList<>();
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-      pStatement.setString(1, modelBiGGid);
-      pStatement.setString(2, reactionBiGGid);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          list.add(resultSet.getString(1));
+    return connectionPool.execute("getSubsystems", connection -> {
+      List<String> list = new LinkedList<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, modelBiGGid);
+        pStatement.setString(2, reactionBiGGid);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            list.add(resultSet.getString(1));
+          }
         }
       }
-    }
-    return list;
+      return list;
+    });
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getSubsystems(String, String)}, which retrieves the distinct subsystems of all given
+   * reactions within one model in a single query.
+   *
+   * @param modelBiGGid The BiGG ID of the model.
+   * @param reactionBiGGids The BiGG IDs of the reactions.
+   * @return A map from reaction BiGG ID to its subsystems. Reactions without subsystems are not contained.
+   */
+  public Map<String, List<String>> getSubsystems(String modelBiGGid, Collection<String> reactionBiGGids) throws SQLException {
+    String query = "SELECT DISTINCT r." + BIGG_ID + ", mr." + SUBSYSTEM + " FROM " + REACTION + " r, " + MODEL + " m, "
+      + MODEL_REACTION + " mr WHERE m." + BIGG_ID + " = ? AND r." + BIGG_ID + " = ANY(?) AND m." + ID + " = mr."
+      + MODEL_ID + " AND r." + ID + " = mr." + REACTION_ID + " AND LENGTH(mr." + SUBSYSTEM + ") > 0";
+    return groupByKey(runArrayQuery("getSubsystems [batch]", query, modelBiGGid, reactionBiGGids));
   }
 
 
@@ -148,17 +508,33 @@ public class BiGGDB {
   public List<String> getSubsystemsForReaction(String reactionBiGGid) throws SQLException {
     String query = "SELECT DISTINCT mr." + SUBSYSTEM + " FROM " + REACTION + " r, " + MODEL_REACTION + " mr WHERE r."
       + BIGG_ID + " = ? AND r." + ID + " = mr." + REACTION_ID + " AND LENGTH(mr." + SUBSYSTEM + ") > 0";
-    List<String> list = new LinkedList<>();
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-      pStatement.setString(1, reactionBiGGid);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          list.add(resultSet.getString(1));
+    return connectionPool.execute("getSubsystemsForReaction", connection -> {
+      List<String> list = new LinkedList<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, reactionBiGGid);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            list.add(resultSet.getString(1));
+          }
         }
       }
-    }
-    return list;
+      return list;
+    });
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getSubsystemsForReaction(String)}, which retrieves the distinct subsystems of all
+   * given reactions, regardless of the model, in a single query.
+   *
+   * @param reactionBiGGids The BiGG IDs of the reactions.
+   * @return A map from reaction BiGG ID to its subsystems. Reactions without subsystems are not contained.
+   */
+  public Map<String, List<String>> getSubsystemsForReaction(Collection<String> reactionBiGGids) throws SQLException {
+    String query = "SELECT DISTINCT r." + BIGG_ID + ", mr." + SUBSYSTEM + " FROM " + REACTION + " r, " + MODEL_REACTION
+      + " mr WHERE r." + BIGG_ID + " = ANY(?) AND r." + ID + " = mr." + REACTION_ID + " AND LENGTH(mr." + SUBSYSTEM
+      + ") > 0";
+    return groupByKey(runArrayQuery("getSubsystemsForReaction [batch]", query, reactionBiGGids));
   }
 
 
@@ -178,7 +554,7 @@ public class BiGGDB {
       + COMPONENT + " c, " + COMPARTMENT + " co WHERE c." + BIGG_ID + " = ? AND c." + ID + " = cc." + COMPONENT_ID
       + " AND co." + BIGG_ID + " = ? AND co." + ID + " = cc." + COMPARTMENT_ID + " and cc." + ID + " = mcc."
       + COMPARTMENTALIZED_COMPONENT_ID + " AND mcc." + FORMULA + " <> '' ORDER BY mcc." + FORMULA;
-    Set<String> results = runFormulaQuery(query, componentId, compartmentId);
+    Set<String> results = runFormulaQuery("getChemicalFormulaByCompartment", query, componentId, compartmentId);
     if (results.size() == 1) {
       return Optional.of(results.iterator().next());
     } else {
@@ -190,29 +566,51 @@ public class BiGGDB {
   }
 
 
+  /**
+   * Batch counterpart of {@link #getChemicalFormulaByCompartment(String, String)}. All components are looked up in a
+   * single query and the same ambiguity rule applies to each of them: a formula is only returned if exactly one
+   * distinct formula exists for the component in its compartment.
+   *
+   * @param components The components together with the compartments they are located in.
+   * @return A map containing the unique chemical formula for each component that has one. Components with none or
+   *         multiple formulas are not contained.
+   */
+  public Map<CompartmentalizedComponent, String> getChemicalFormulaByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    String query = "SELECT DISTINCT c." + BIGG_ID + ", co." + BIGG_ID + ", mcc." + FORMULA + " FROM " + MCC + " mcc, "
+      + COMPARTMENTALIZED_COMPONENT + " cc, " + COMPONENT + " c, " + COMPARTMENT + " co WHERE c." + BIGG_ID
+      + " = ANY(?) AND c." + ID + " = cc." + COMPONENT_ID + " AND co." + BIGG_ID + " = ANY(?) AND co." + ID + " = cc."
+      + COMPARTMENT_ID + " and cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND mcc." + FORMULA + " <> ''";
+    var formulas = groupByComponent(runArrayQuery("getChemicalFormulaByCompartment [batch]", query, componentIds(components), compartmentIds(components)), components);
+    return uniqueValues(formulas, key -> format(MESSAGES.getString("FORMULA_COMPARTMENT_AMBIGUOUS"),
+      key.componentId(), key.compartmentId()));
+  }
+
+
   /**
    * Executes a database query to retrieve distinct chemical formulas based on the provided SQL query.
    * This method is designed to handle queries that fetch chemical formulas for a specific component
    * within either a compartment or a model, depending on the IDs provided.
    *
+   * @param name The logical name of the query, under which it is recorded in the {@link QueryStatistics}.
    * @param query The SQL query string that retrieves distinct chemical formulas.
    * @param componentId The BiGG ID of the component for which the formula is being retrieved.
    * @param compartmentOrModelId The BiGG ID of either the compartment or the model associated with the component.
    * @return A set of unique chemical formulas as strings. If no valid formulas are found, returns an empty set.
    */
-  private Set<String> runFormulaQuery(String query, String componentId, String compartmentOrModelId) throws SQLException {
-    Set<String> results = new HashSet<>();
-    try (Connection connection = connectionPool.getConnection()) {
+  private Set<String> runFormulaQuery(String name, String query, String componentId, String compartmentOrModelId) throws SQLException {
+    Set<String> results = connectionPool.execute(name, connection -> {
+      Set<String> formulas = new HashSet<>();
       try (PreparedStatement pStatement = connection.prepareStatement(query)) {
         pStatement.setString(1, componentId);
         pStatement.setString(2, compartmentOrModelId);
         try (ResultSet resultSet = pStatement.executeQuery()) {
           while (resultSet.next()) {
-            results.add(resultSet.getString(1));
+            formulas.add(resultSet.getString(1));
           }
         }
       }
-    }
+      return formulas;
+    });
     return results.stream().filter(formula -> formula != null && !formula.isEmpty()).collect(Collectors.toSet());
   }
 
@@ -232,7 +630,7 @@ public class BiGGDB {
       + " cc,\n" + MODEL + " m,\n" + MCC + " mcc\n WHERE c." + ID + " = cc." + COMPONENT_ID + " AND\n cc." + ID
       + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND\n c." + BIGG_ID + " = ? AND\n m." + BIGG_ID + " = ? AND\n m."
       + ID + " = mcc." + MODEL_ID + " AND mcc." + FORMULA + " <> ''";
-    Set<String> results = runFormulaQuery(query, componentId, modelId);
+    Set<String> results = runFormulaQuery("getChemicalFormula", query, componentId, modelId);
     if (results.size() == 1) {
       return Optional.of(results.iterator().next());
     } else {
@@ -244,6 +642,25 @@ public class BiGGDB {
   }
 
 
+  /**
+   * Batch counterpart of {@link #getChemicalFormula(String, String)}, which looks up the chemical formulas of all
+   * given components within one model in a single query.
+   *
+   * @param componentIds The BiGG IDs of the components.
+   * @param modelId The BiGG ID of the model in which the components are present.
+   * @return A map containing the unique chemical formula for each component that has one. Components with none or
+   *         multiple formulas are not contained.
+   */
+  public Map<String, String> getChemicalFormula(Collection<String> componentIds, String modelId) throws SQLException {
+    String query = "SELECT DISTINCT c." + BIGG_ID + ", mcc." + FORMULA + "\n FROM " + COMPONENT + " c,\n"
+      + COMPARTMENTALIZED_COMPONENT + " cc,\n" + MODEL + " m,\n" + MCC + " mcc\n WHERE c." + ID + " = cc." + COMPONENT_ID
+      + " AND\n cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND\n c." + BIGG_ID + " = ANY(?) AND\n m."
+      + BIGG_ID + " = ? AND\n m." + ID + " = mcc." + MODEL_ID + " AND mcc." + FORMULA + " <> ''";
+    var formulas = groupByKey(runArrayQuery("getChemicalFormula [batch]", query, componentIds, modelId));
+    return uniqueValues(formulas, componentId -> format(MESSAGES.getString("FORMULA_MODEL_AMBIGUOUS"), componentId, modelId));
+  }
+
+
   /**
    * Retrieves the name of the compartment associated with the given BiGG ID from the database.
    * This method constructs a SQL query to select the compartment name where the BiGG ID matches
@@ -254,7 +671,22 @@ public class BiGGDB {
    */
   public Optional<String> getCompartmentName(BiGGId biggId) throws SQLException {
     String query = "SELECT " + NAME + " FROM " + COMPARTMENT + " WHERE " + BIGG_ID + " = ? AND " + NAME + " <> ''";
-    return singleParamStatement(query, biggId.getAbbreviation());
+    return singleParamStatement("getCompartmentName", query, biggId.getAbbreviation());
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getCompartmentName(BiGGId)}, which retrieves the names of all given compartments in a
+   * single query.
+   *
+   * @param abbreviations The abbreviations of the compartments' BiGG IDs.
+   * @return A map from abbreviation to compartment name. Compartments without a unique name are not contained.
+   */
+  public Map<String, String> getCompartmentName(Collection<String> abbreviations) throws SQLException {
+    String query = "SELECT " + BIGG_ID + ", " + NAME + " FROM " + COMPARTMENT + " WHERE " + BIGG_ID + " = ANY(?) AND "
+      + NAME + " <> ''";
+    return uniqueValues(groupByKey(runArrayQuery("getCompartmentName [batch]", query, abbreviations)),
+      abbreviation -> format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), abbreviation, query));
   }
 
 
@@ -268,16 +700,27 @@ public class BiGGDB {
    * @return An {@link Optional<String>} containing the result if exactly one result is found, otherwise empty.
    */
   public Optional<String> singleParamStatement(String query, String param) throws SQLException {
-    Set<String> results = new HashSet<>();
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)){
-      pStatement.setString(1, param);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          results.add(resultSet.getString(1));
+    return singleParamStatement("singleParamStatement", query, param);
+  }
+
+
+  /**
+   * @param name The logical name of the query, under which it is recorded in the {@link QueryStatistics}.
+   * @see #singleParamStatement(String, String)
+   */
+  private Optional<String> singleParamStatement(String name, String query, String param) throws SQLException {
+    Set<String> results = connectionPool.execute(name, connection -> {
+      Set<String> values = new HashSet<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, param);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            values.add(resultSet.getString(1));
+          }
         }
       }
-    }
+      return values;
+    });
     results = results.stream().filter(result -> result != null && !result.isEmpty()).collect(Collectors.toSet());
     if (results.size() == 1) {
       return Optional.of(results.iterator().next());
@@ -300,7 +743,25 @@ public class BiGGDB {
    */
   public Optional<String> getComponentName(BiGGId biggId) throws SQLException {
     String query = "SELECT " + NAME + " FROM " + COMPONENT + " WHERE " + BIGG_ID + " = ? AND " + NAME + " <> ''";
-    return singleParamStatement(query, biggId.getAbbreviation()).map(name -> new NamePolisher().polish(name));
+    return singleParamStatement("getComponentName", query, biggId.getAbbreviation()).map(name -> new NamePolisher().polish(name));
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getComponentName(BiGGId)}, which retrieves the names of all given components in a
+   * single query.
+   *
+   * @param abbreviations The abbreviations of the components' BiGG IDs.
+   * @return A map from abbreviation to the polished name of the component. Components without a unique name are not
+   *         contained.
+   */
+  public Map<String, String> getComponentName(Collection<String> abbreviations) throws SQLException {
+    String query = "SELECT " + BIGG_ID + ", " + NAME + " FROM " + COMPONENT + " WHERE " + BIGG_ID + " = ANY(?) AND "
+      + NAME + " <> ''";
+    Map<String, String> names = uniqueValues(groupByKey(runArrayQuery("getComponentName [batch]", query, abbreviations)),
+      abbreviation -> format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), abbreviation, query));
+    names.replaceAll((abbreviation, name) -> new NamePolisher().polish(name));
+    return names;
   }
 
   /**
@@ -313,7 +774,22 @@ public class BiGGDB {
    */
   public Optional<String> getComponentType(BiGGId biggId) throws SQLException {
     String query = "SELECT " + TYPE + " FROM " + COMPONENT + " WHERE " + BIGG_ID + " = ? AND " + NAME + " <> ''";
-    return singleParamStatement(query, biggId.getAbbreviation());
+    return singleParamStatement("getComponentType", query, biggId.getAbbreviation());
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getComponentType(BiGGId)}, which retrieves the types of all given components in a
+   * single query.
+   *
+   * @param abbreviations The abbreviations of the components' BiGG IDs.
+   * @return A map from abbreviation to component type. Components without a unique type are not contained.
+   */
+  public Map<String, String> getComponentType(Collection<String> abbreviations) throws SQLException {
+    String query = "SELECT " + BIGG_ID + ", " + TYPE + " FROM " + COMPONENT + " WHERE " + BIGG_ID + " = ANY(?) AND "
+      + NAME + " <> ''";
+    return uniqueValues(groupByKey(runArrayQuery("getComponentType [batch]", query, abbreviations)),
+      abbreviation -> format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), abbreviation, query));
   }
 
 
@@ -333,31 +809,69 @@ public class BiGGDB {
             + " AND\n gr." + BIGG_ID + " = ? AND\n d." + BIGG_ID + " != " + OLD_BIGG_ID
             + " AND\n d." + BIGG_ID + " NOT LIKE "
             + REFSEQ_PATTERN;
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)){
-      pStatement.setString(1, label);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          String resource;
-          String prefix = resultSet.getString(1);
-          String id = resultSet.getString(2);
-          if (prefix != null && id != null) {
-
-            if (prefix.startsWith("http://identifiers.org/")) {
-              String[] segments = prefix.split("/");
-              prefix =  segments[segments.length - 1];
-            }
-
-            results.add(new IdentifiersOrgURI(prefix, id));
-          } else if (prefix == null) {
-            logger.debug(format(MESSAGES.getString("COLLECTION_NULL_GENE"), label));
-            continue;
-          } else {
-            logger.debug(format(MESSAGES.getString("IDENTIFIER_NULL_GENE"), prefix));
-            continue;
+    List<String[]> rows = connectionPool.execute("getGeneIds", connection -> {
+      List<String[]> values = new ArrayList<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, label);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            values.add(new String[] {resultSet.getString(1), resultSet.getString(2)});
           }
         }
       }
+      return values;
+    });
+    for (String[] row : rows) {
+      String prefix = row[0];
+      String id = row[1];
+      if (prefix != null && id != null) {
+
+        if (prefix.startsWith("http://identifiers.org/")) {
+          String[] segments = prefix.split("/");
+          prefix =  segments[segments.length - 1];
+        }
+
+        results.add(new IdentifiersOrgURI(prefix, id));
+      } else if (prefix == null) {
+        logger.debug(format(MESSAGES.getString("COLLECTION_NULL_GENE"), label));
+      } else {
+        logger.debug(format(MESSAGES.getString("IDENTIFIER_NULL_GENE"), prefix));
+      }
+    }
+    return results;
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getGeneIds(String)}, which retrieves the MIRIAM-compliant identifiers of all given
+   * genes in a single query.
+   *
+   * @param labels The labels used to query gene identifiers.
+   * @return A map from label to the sorted identifiers of that gene. Genes without identifiers are not contained.
+   */
+  public Map<String, TreeSet<IdentifiersOrgURI>> getGeneIds(Collection<String> labels) throws SQLException {
+    Map<String, TreeSet<IdentifiersOrgURI>> results = new HashMap<>();
+    String query = "SELECT gr." + BIGG_ID + ", " + URL_PREFIX + ", s." + SYNONYM + "\n"
+            + "FROM  " + DATA_SOURCE + " d, " + SYNONYM + " s, " + GENOME_REGION + " gr\n"
+            + "WHERE d." + ID + " = s." + DATA_SOURCE_ID + " AND\n s." + OME_ID + " = gr." + ID
+            + " AND\n gr." + BIGG_ID + " = ANY(?) AND\n d." + BIGG_ID + " != " + OLD_BIGG_ID
+            + " AND\n d." + BIGG_ID + " NOT LIKE "
+            + REFSEQ_PATTERN;
+    for (String[] row : runArrayQuery("getGeneIds [batch]", query, labels)) {
+      String label = row[0];
+      String prefix = row[1];
+      String id = row[2];
+      if (prefix != null && id != null) {
+        if (prefix.startsWith("http://identifiers.org/")) {
+          String[] segments = prefix.split("/");
+          prefix = segments[segments.length - 1];
+        }
+        results.computeIfAbsent(label, key -> new TreeSet<>()).add(new IdentifiersOrgURI(prefix, id));
+      } else if (prefix == null) {
+        logger.debug(format(MESSAGES.getString("COLLECTION_NULL_GENE"), label));
+      } else {
+        logger.debug(format(MESSAGES.getString("IDENTIFIER_NULL_GENE"), prefix));
+      }
     }
     return results;
   }
@@ -377,7 +891,95 @@ public class BiGGDB {
     String query = "SELECT s." + SYNONYM + "\n" + "FROM  " + DATA_SOURCE + " d, " + SYNONYM + " s, " + GENOME_REGION
       + " gr\n" + "WHERE d." + ID + " = s." + DATA_SOURCE_ID + " AND\n s." + OME_ID + " = gr." + ID + " AND\n gr."
       + BIGG_ID + " = ? AND\n d." + BIGG_ID + " LIKE " + REFSEQ_NAME + " AND s." + SYNONYM_COL + " <> ''";
-    return singleParamStatement(query, label);
+    return singleParamStatement("getGeneName", query, label);
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getGeneName(String)}, which retrieves the names of all given genes in a single query.
+   *
+   * @param labels The labels used to query the gene names, typically BiGG IDs.
+   * @return A map from label to gene name. Genes without a unique name are not contained.
+   */
+  public Map<String, String> getGeneName(Collection<String> labels) throws SQLException {
+    String query = "SELECT gr." + BIGG_ID + ", s." + SYNONYM + "\n" + "FROM  " + DATA_SOURCE + " d, " + SYNONYM + " s, "
+      + GENOME_REGION + " gr\n" + "WHERE d." + ID + " = s." + DATA_SOURCE_ID + " AND\n s." + OME_ID + " = gr." + ID
+      + " AND\n gr." + BIGG_ID + " = ANY(?) AND\n d." + BIGG_ID + " LIKE " + REFSEQ_NAME + " AND s." + SYNONYM_COL
+      + " <> ''";
+    return uniqueValues(groupByKey(runArrayQuery("getGeneName [batch]", query, labels)),
+      label -> format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), label, query));
+  }
+
+
+  @Override
+  public GeneReferences getGeneReferences(String label) throws SQLException {
+    return getGeneReferences(List.of(label)).getOrDefault(label, GeneReferences.EMPTY);
+  }
+
+
+  /**
+   * Loads the identifiers and names of all given genes, typically all genes of a model, in a single pass over their
+   * synonyms. Instead of the two queries of {@link #getGeneIds(Collection)} and {@link #getGeneName(Collection)}, whose
+   * {@code LIKE} conditions on the data source cannot use an index, all synonyms of the genes are fetched and sorted
+   * into identifiers and RefSeq names by their data source here. The identifiers.org prefix is derived once per data
+   * source rather than once per row.
+   *
+   * @param labels The labels of the genes, i.e. the BiGG IDs of their genome regions.
+   * @return The references by label, for the genes with at least one identifier or name.
+   */
+  @Override
+  public Map<String, GeneReferences> getGeneReferences(Collection<String> labels) throws SQLException {
+    String query = "SELECT gr." + BIGG_ID + ", d." + BIGG_ID + ", " + URL_PREFIX + ", s." + SYNONYM + " FROM "
+      + DATA_SOURCE + " d, " + SYNONYM + " s, " + GENOME_REGION + " gr WHERE d." + ID + " = s." + DATA_SOURCE_ID
+      + " AND s." + OME_ID + " = gr." + ID + " AND gr." + BIGG_ID + " = ANY(?)";
+    Map<String, List<IdentifiersOrgURI>> ids = new HashMap<>();
+    Map<String, List<String>> names = new HashMap<>();
+    Map<String, String> prefixes = new HashMap<>();
+    for (String[] row : runArrayQuery("getGeneReferences [batch]", query, labels)) {
+      String label = row[0];
+      String dataSource = row[1];
+      String id = row[3];
+      if (dataSource == null) {
+        continue;
+      }
+      if (REFSEQ_NAME_SOURCE.matcher(dataSource).matches()) {
+        names.computeIfAbsent(label, key -> new ArrayList<>()).add(id);
+      } else if (!REFSEQ_SOURCE.matcher(dataSource).matches() && !dataSource.equals(OLD_BIGG_ID_SOURCE)) {
+        if (row[2] == null) {
+          logger.debug(format(MESSAGES.getString("COLLECTION_NULL_GENE"), label));
+        } else if (id == null) {
+          logger.debug(format(MESSAGES.getString("IDENTIFIER_NULL_GENE"), row[2]));
+        } else {
+          String prefix = prefixes.computeIfAbsent(row[2], BiGGDB::getGenePrefix);
+          ids.computeIfAbsent(label, key -> new ArrayList<>()).add(new IdentifiersOrgURI(prefix, id));
+        }
+      }
+    }
+    Map<String, GeneReferences> results = new HashMap<>();
+    for (String label : labels) {
+      GeneReferences references = GeneReferences.of(ids.getOrDefault(label, List.of()),
+        names.getOrDefault(label, List.of()));
+      if (references.isNameAmbiguous()) {
+        logger.debug(format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), label, query));
+      }
+      if (!references.isEmpty()) {
+        results.put(label, references);
+      }
+    }
+    return results;
+  }
+
+
+  /**
+   * @param urlPrefix The URL prefix of a data source of gene synonyms.
+   * @return The prefix of the identifiers.org URIs of the data source, as derived by {@link #getGeneIds(String)}.
+   */
+  private static String getGenePrefix(String urlPrefix) {
+    if (urlPrefix.startsWith("http://identifiers.org/")) {
+      String[] segments = urlPrefix.split("/");
+      return segments[segments.length - 1];
+    }
+    return urlPrefix;
   }
 
 
@@ -392,8 +994,11 @@ public class BiGGDB {
    * @return A list of formatted gene reaction rules as strings.
    */
   public List<String> getGeneReactionRule(String reactionId, String modelId) throws SQLException {
-    return getReactionRules("SELECT REPLACE(REPLACE(RTRIM(REPLACE(REPLACE(mr." + GENE_REACTION_RULE
-      + ", 'or', '||'), 'and', '&&'), '.'), '.', '__SBML_DOT__'), '_AT', '__SBML_DOT__') AS " + GENE_REACTION_RULE
+    if (getMaterializedViews().contains(MP_GENE_REACTION_RULE)) {
+      return getReactionRules("SELECT " + GENE_REACTION_RULE + " FROM " + MP_GENE_REACTION_RULE + " WHERE "
+        + REACTION_BIGG_ID + " = ? AND " + MODEL_BIGG_ID + " = ? ORDER BY " + POSITION, reactionId, modelId);
+    }
+    return getReactionRules("SELECT " + BiGGSchemaOptimizer.FORMATTED_GENE_REACTION_RULE + " AS " + GENE_REACTION_RULE
       + " FROM " + MODEL_REACTION + " mr, " + REACTION + " r, " + MODEL + " m WHERE r." + ID + " = mr." + REACTION_ID
       + " AND m." + ID + " = mr." + MODEL_ID + " AND mr." + GENE_REACTION_RULE + " IS NOT NULL AND  LENGTH(mr."
       + GENE_REACTION_RULE + ") > 0 AND r." + BIGG_ID + " = ? AND m." + BIGG_ID + " = ? AND mr." + GENE_REACTION_RULE
@@ -401,6 +1006,31 @@ public class BiGGDB {
   }
 
 
+
+  /**
+   * Batch counterpart of {@link #getGeneReactionRule(String, String)}, which retrieves the formatted gene reaction
+   * rules of all given reactions within one model in a single query.
+   *
+   * @param reactionIds The IDs of the reactions for which gene reaction rules are to be retrieved.
+   * @param modelId The ID of the model associated with the reactions.
+   * @return A map from reaction ID to its formatted gene reaction rules. Reactions without rules are not contained.
+   */
+  public Map<String, List<String>> getGeneReactionRule(Collection<String> reactionIds, String modelId) throws SQLException {
+    if (getMaterializedViews().contains(MP_GENE_REACTION_RULE)) {
+      return groupByKey(runArrayQuery("getGeneReactionRule [batch]", "SELECT " + REACTION_BIGG_ID + ", "
+        + GENE_REACTION_RULE + " FROM " + MP_GENE_REACTION_RULE + " WHERE " + REACTION_BIGG_ID + " = ANY(?) AND "
+        + MODEL_BIGG_ID + " = ? ORDER BY " + POSITION, reactionIds, modelId));
+    }
+    return groupByKey(runArrayQuery("getGeneReactionRule [batch]", "SELECT r." + BIGG_ID + ", "
+      + BiGGSchemaOptimizer.FORMATTED_GENE_REACTION_RULE + " AS " + GENE_REACTION_RULE + " FROM " + MODEL_REACTION
+      + " mr, " + REACTION + " r, " + MODEL + " m WHERE r." + ID + " = mr." + REACTION_ID + " AND m." + ID + " = mr."
+      + MODEL_ID + " AND mr." + GENE_REACTION_RULE + " IS NOT NULL AND  LENGTH(mr." + GENE_REACTION_RULE
+      + ") > 0 AND r." + BIGG_ID + " = ANY(?) AND m." + BIGG_ID + " = ? AND mr." + GENE_REACTION_RULE
+      + " <> '' ORDER BY mr." + ID, reactionIds, modelId));
+  }
+
+
+
   /**
    * Executes a provided SQL query to retrieve gene reaction rules from the database.
    * This method prepares a statement with the given query, setting the specified reactionId and modelId as parameters.
@@ -412,18 +1042,19 @@ public class BiGGDB {
    * @return A list of strings where each string is a gene reaction rule retrieved based on the given IDs.
    */
   public List<String> getReactionRules(String query, String reactionId, String modelId) throws SQLException {
-    List<String> results = new ArrayList<>();
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)){
-      pStatement.setString(1, reactionId);
-      pStatement.setString(2, modelId);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          results.add(resultSet.getString(1));
-        }
-      }
-    }
-    return results;
+    return connectionPool.execute("getReactionRules", connection -> {
+      List<String> results = new ArrayList<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, reactionId);
+        pStatement.setString(2, modelId);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            results.add(resultSet.getString(1));
+          }
+        }
+      }
+      return results;
+    });
   }
 
   
@@ -438,7 +1069,22 @@ public class BiGGDB {
   public Optional<String> getOrganism(String abbreviation) throws SQLException {
     String query = "SELECT g." + ORGANISM + " FROM " + GENOME + " g, " + MODEL + " m WHERE m." + GENOME_ID + " = g."
       + ID + " AND m." + BIGG_ID + " = ?";
-    return singleParamStatement(query, abbreviation);
+    return singleParamStatement("getOrganism", query, abbreviation);
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getOrganism(String)}, which retrieves the organisms of all given models in a single
+   * query.
+   *
+   * @param abbreviations The abbreviations of the models.
+   * @return A map from model abbreviation to organism name. Models without a unique organism are not contained.
+   */
+  public Map<String, String> getOrganism(Collection<String> abbreviations) throws SQLException {
+    String query = "SELECT m." + BIGG_ID + ", g." + ORGANISM + " FROM " + GENOME + " g, " + MODEL + " m WHERE m."
+      + GENOME_ID + " = g." + ID + " AND m." + BIGG_ID + " = ANY(?)";
+    return uniqueValues(groupByKey(runArrayQuery("getOrganism [batch]", query, abbreviations)),
+      abbreviation -> format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), abbreviation, query));
   }
 
 
@@ -451,19 +1097,41 @@ public class BiGGDB {
    * @return A list of pairs where each pair consists of a publication type and its corresponding ID.
    */
   public List<Publication> getPublications(String abbreviation) throws SQLException {
-    List<Publication> results = new ArrayList<>();
     String query = "SELECT p." + REFERENCE_TYPE + ", p." + REFERENCE_ID + " FROM  " + PUBLICATION + " p, "
       + PUBLICATION_MODEL + " pm, " + MODEL + " m WHERE p." + ID + " = pm." + PUBLICATION_ID + " AND pm." + MODEL_ID
       + " = m." + ID + " AND m." + BIGG_ID + " = ?";
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)){
-      pStatement.setString(1, abbreviation);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          String key = resultSet.getString(1);
-          results.add(new Publication(key.equals("pmid") ? "pubmed" : key, resultSet.getString(2)));
+    return connectionPool.execute("getPublications", connection -> {
+      List<Publication> results = new ArrayList<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, abbreviation);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            String key = resultSet.getString(1);
+            results.add(new Publication(key.equals("pmid") ? "pubmed" : key, resultSet.getString(2)));
+          }
         }
       }
+      return results;
+    });
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getPublications(String)}, which retrieves the publications of all given models in a
+   * single query.
+   *
+   * @param abbreviations The abbreviations of the models.
+   * @return A map from model abbreviation to its publications. Models without publications are not contained.
+   */
+  public Map<String, List<Publication>> getPublications(Collection<String> abbreviations) throws SQLException {
+    String query = "SELECT m." + BIGG_ID + ", p." + REFERENCE_TYPE + ", p." + REFERENCE_ID + " FROM  " + PUBLICATION
+      + " p, " + PUBLICATION_MODEL + " pm, " + MODEL + " m WHERE p." + ID + " = pm." + PUBLICATION_ID + " AND pm."
+      + MODEL_ID + " = m." + ID + " AND m." + BIGG_ID + " = ANY(?)";
+    Map<String, List<Publication>> results = new HashMap<>();
+    for (String[] row : runArrayQuery("getPublications [batch]", query, abbreviations)) {
+      String key = row[1];
+      results.computeIfAbsent(row[0], abbreviation -> new ArrayList<>())
+             .add(new Publication(key.equals("pmid") ? "pubmed" : key, row[2]));
     }
     return results;
   }
@@ -479,7 +1147,24 @@ public class BiGGDB {
    */
   public Optional<String> getReactionName(String abbreviation) throws SQLException {
     String query = "SELECT " + NAME + " FROM " + REACTION + " WHERE " + BIGG_ID + " = ? AND " + NAME + " <> ''";
-    return singleParamStatement(query, abbreviation).map(name -> new NamePolisher().polish(name));
+    return singleParamStatement("getReactionName", query, abbreviation).map(name -> new NamePolisher().polish(name));
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getReactionName(String)}, which retrieves the names of all given reactions in a
+   * single query.
+   *
+   * @param abbreviations The abbreviations of the reactions for which the names are to be retrieved.
+   * @return A map from abbreviation to the polished reaction name. Reactions without a unique name are not contained.
+   */
+  public Map<String, String> getReactionName(Collection<String> abbreviations) throws SQLException {
+    String query = "SELECT " + BIGG_ID + ", " + NAME + " FROM " + REACTION + " WHERE " + BIGG_ID + " = ANY(?) AND "
+      + NAME + " <> ''";
+    Map<String, String> names = uniqueValues(groupByKey(runArrayQuery("getReactionName [batch]", query, abbreviations)),
+      abbreviation -> format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), abbreviation, query));
+    names.replaceAll((abbreviation, name) -> new NamePolisher().polish(name));
+    return names;
   }
 
   
@@ -494,27 +1179,73 @@ public class BiGGDB {
    * @return A sorted set of URLs as strings, potentially filtered by the 'identifiers.org' domain.
    */
   public Set<IdentifiersOrgURI> getResources(BiGGId biggId, boolean includeAnyURI, boolean isReaction) throws SQLException {
-    String type = isReaction ? REACTION : COMPONENT;
-    Set<IdentifiersOrgURI> resources = new TreeSet<>();
-    String query = format(
-            "SELECT CONCAT(" + URL_PREFIX + ", s." + SYNONYM_COL + ") AS " + URL + " FROM {0} t, " + SYNONYM + " s, "
-                    + DATA_SOURCE + " d WHERE t." + ID + " = s." + OME_ID + " AND s." + DATA_SOURCE_ID + " = d." + ID + " AND "
-                    + URL_PREFIX + " IS NOT NULL AND {1} AND t." + BIGG_ID + " = ? {2}",
-            type, getTypeQuery(isReaction), includeAnyURI ? "" : "AND " + URL_PREFIX + " LIKE '%%identifiers.org%%'");
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-      pStatement.setString(1, biggId.getAbbreviation());
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          String result = resultSet.getString(1);
-          resources.add(new IdentifiersOrgURI(result));
+    String query = getResourcesQuery(getMaterializedViews().contains(MP_RESOURCE), isReaction, includeAnyURI, false);
+    return connectionPool.execute("getResources", connection -> {
+      Set<IdentifiersOrgURI> resources = new TreeSet<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, biggId.getAbbreviation());
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            String result = resultSet.getString(1);
+            resources.add(new IdentifiersOrgURI(result));
+          }
         }
       }
+      return resources;
+    });
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getResources(BiGGId, boolean, boolean)}, which retrieves the resource URLs of all
+   * given components or reactions in a single query.
+   *
+   * @param abbreviations The abbreviations of the BiGG IDs of the components or reactions.
+   * @param includeAnyURI If true, all URLs are included; if false, only URLs containing 'identifiers.org' are included.
+   * @param isReaction If true, the abbreviations are treated as reactions; if false, they are treated as components.
+   * @return A map from abbreviation to the sorted set of its resources. Entries without resources are not contained.
+   */
+  public Map<String, Set<IdentifiersOrgURI>> getResources(Collection<String> abbreviations, boolean includeAnyURI,
+                                                          boolean isReaction) throws SQLException {
+    String query = getResourcesQuery(getMaterializedViews().contains(MP_RESOURCE), isReaction, includeAnyURI, true);
+    Map<String, Set<IdentifiersOrgURI>> resources = new HashMap<>();
+    for (String[] row : runArrayQuery("getResources [batch]", query, abbreviations)) {
+      resources.computeIfAbsent(row[0], key -> new TreeSet<>()).add(new IdentifiersOrgURI(row[1]));
     }
     return resources;
   }
 
 
+  /**
+   * @return The query of {@link #getResources(BiGGId, boolean, boolean)}, or of its batch counterpart, from
+   *         {@link #RESOURCES_QUERIES}.
+   */
+  private static String getResourcesQuery(boolean materialized, boolean isReaction, boolean includeAnyURI,
+                                          boolean batch) {
+    return RESOURCES_QUERIES[(materialized ? 8 : 0) + (isReaction ? 4 : 0) + (includeAnyURI ? 2 : 0) + (batch ? 1 : 0)];
+  }
+
+
+  private static String buildResourcesQuery(boolean materialized, boolean isReaction, boolean includeAnyURI,
+                                            boolean batch) {
+    String type = isReaction ? REACTION : COMPONENT;
+    if (materialized) {
+      return "SELECT " + (batch ? BIGG_ID + ", " : "") + URL + " FROM " + MP_RESOURCE + " WHERE " + KIND + " = '"
+        + type + "' AND " + BIGG_ID + (batch ? " = ANY(?)" : " = ?") + (includeAnyURI ? "" : " AND " + IDENTIFIERS_ORG);
+    }
+    if (batch) {
+      return "SELECT t." + BIGG_ID + ", CONCAT(" + URL_PREFIX + ", s." + SYNONYM_COL + ") AS " + URL + " FROM "
+        + type + " t, " + SYNONYM + " s, " + DATA_SOURCE + " d WHERE t." + ID + " = s." + OME_ID + " AND s."
+        + DATA_SOURCE_ID + " = d." + ID + " AND " + URL_PREFIX + " IS NOT NULL AND " + getTypeQuery(isReaction)
+        + " AND t." + BIGG_ID + " = ANY(?) " + (includeAnyURI ? "" : "AND " + URL_PREFIX + " LIKE '%%identifiers.org%%'");
+    }
+    return "SELECT CONCAT(" + URL_PREFIX + ", s." + SYNONYM_COL + ") AS " + URL + " FROM " + type + " t, " + SYNONYM
+      + " s, " + DATA_SOURCE + " d WHERE t." + ID + " = s." + OME_ID + " AND s." + DATA_SOURCE_ID + " = d." + ID
+      + " AND " + URL_PREFIX + " IS NOT NULL AND " + getTypeQuery(isReaction) + " AND t." + BIGG_ID + " = ? "
+      + (includeAnyURI ? "" : "AND " + URL_PREFIX + " LIKE '%%identifiers.org%%'");
+  }
+
+
   /**
    * Constructs a SQL query condition based on whether the subject is a reaction or a component.
    * This method dynamically generates part of a SQL WHERE clause. If the subject is a reaction,
@@ -524,7 +1255,7 @@ public class BiGGDB {
    * @param isReaction A boolean indicating if the subject is a reaction (true) or not (false).
    * @return A string representing a SQL WHERE clause condition based on the type of subject.
    */
-  private String getTypeQuery(boolean isReaction) {
+  static String getTypeQuery(boolean isReaction) {
     if (isReaction) {
       return "CAST(s." + TYPE + " AS \"text\") = '" + REACTION + "'";
     }
@@ -542,23 +1273,46 @@ public class BiGGDB {
    * @return An {@link Optional} containing the taxon ID if found; otherwise, an empty {@link Optional}.
    */
   public Optional<Integer> getTaxonId(String abbreviation) throws SQLException {
-    Integer result = null;
     String query = "SELECT " + TAXON_ID + " FROM " + GENOME + " g, " + MODEL + " m WHERE g." + ID + " = m." + GENOME_ID
       + " AND m." + BIGG_ID + " = ? AND " + TAXON_ID + " IS NOT NULL";
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-      pStatement.setString(1, abbreviation);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          if (result != null) {
-            logger.debug(format(MESSAGES.getString("QUERY_TAXON_MULTIPLE_RESULTS"), abbreviation));
-          } else {
-            result = resultSet.getInt(1);
+    List<Integer> results = connectionPool.execute("getTaxonId", connection -> {
+      List<Integer> taxonIds = new ArrayList<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, abbreviation);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            taxonIds.add(resultSet.getInt(1));
           }
         }
       }
+      return taxonIds;
+    });
+    if (results.size() > 1) {
+      logger.debug(format(MESSAGES.getString("QUERY_TAXON_MULTIPLE_RESULTS"), abbreviation));
+    }
+    return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getTaxonId(String)}, which retrieves the taxon IDs of all given models in a single
+   * query. As for the single lookup, the first taxon ID found is used if there are several.
+   *
+   * @param abbreviations The abbreviations of the models.
+   * @return A map from model abbreviation to taxon ID. Models without taxon ID are not contained.
+   */
+  public Map<String, Integer> getTaxonId(Collection<String> abbreviations) throws SQLException {
+    String query = "SELECT m." + BIGG_ID + ", " + TAXON_ID + " FROM " + GENOME + " g, " + MODEL + " m WHERE g." + ID
+      + " = m." + GENOME_ID + " AND m." + BIGG_ID + " = ANY(?) AND " + TAXON_ID + " IS NOT NULL";
+    Map<String, Integer> results = new HashMap<>();
+    for (String[] row : runArrayQuery("getTaxonId [batch]", query, abbreviations)) {
+      if (results.containsKey(row[0])) {
+        logger.debug(format(MESSAGES.getString("QUERY_TAXON_MULTIPLE_RESULTS"), row[0]));
+      } else {
+        results.put(row[0], Integer.parseInt(row[1]));
+      }
     }
-    return result == null ? Optional.empty() : Optional.of(result);
+    return results;
   }
 
 
@@ -577,19 +1331,34 @@ public class BiGGDB {
   public String getGenomeAccesion(String id) throws SQLException {
     String query = "SELECT g." + ACCESSION_VALUE + " FROM " + GENOME + " g, " + MODEL + " m WHERE m." + BIGG_ID
       + " = ? AND m." + GENOME_ID + " = g." + ID;
-    String result = "";
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-      pStatement.setString(1, id);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        // There should always be exactly one entry, as the presence of a BiGG model ID is verified beforehand.
-        if (resultSet.next()) {
-          result = resultSet.getString(1);
+    // The result should be non-empty as the query is expected to always return exactly one result.
+    return connectionPool.execute("getGenomeAccesion", connection -> {
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, id);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          // There should always be exactly one entry, as the presence of a BiGG model ID is verified beforehand.
+          return resultSet.next() ? resultSet.getString(1) : "";
         }
       }
+    });
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getGenomeAccesion(String)}, which retrieves the genome accessions of all given models
+   * in a single query.
+   *
+   * @param ids The model IDs present in BiGG.
+   * @return A map from model ID to accession. Models without accession are not contained.
+   */
+  public Map<String, String> getGenomeAccesion(Collection<String> ids) throws SQLException {
+    String query = "SELECT m." + BIGG_ID + ", g." + ACCESSION_VALUE + " FROM " + GENOME + " g, " + MODEL + " m WHERE m."
+      + BIGG_ID + " = ANY(?) AND m." + GENOME_ID + " = g." + ID;
+    Map<String, String> results = new HashMap<>();
+    for (String[] row : runArrayQuery("getGenomeAccesion [batch]", query, ids)) {
+      results.putIfAbsent(row[0], row[1]);
     }
-    // The result should be non-empty as the query is expected to always return exactly one result.
-    return result;
+    return results;
   }
 
 
@@ -603,17 +1372,17 @@ public class BiGGDB {
    *         the returned set will be empty.
    */
   public Set<String> getAllBiggIds(String table) throws SQLException {
-    Set<String> biggIds = new LinkedHashSet<>();
     String query = "SELECT " + BIGG_ID + " FROM " + table + " ORDER BY " + BIGG_ID;
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-      try (ResultSet resultSet = pStatement.executeQuery()) {
+    return connectionPool.execute("getAllBiggIds", connection -> {
+      Set<String> biggIds = new LinkedHashSet<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query);
+           ResultSet resultSet = pStatement.executeQuery()) {
         while (resultSet.next()) {
           biggIds.add(resultSet.getString(1));
         }
       }
-    }
-    return biggIds;
+      return biggIds;
+    });
   }
 
 
@@ -632,7 +1401,7 @@ public class BiGGDB {
       + COMPONENT + " c, " + COMPARTMENT + " co WHERE c." + BIGG_ID + " = ? AND c." + ID + " = cc." + COMPONENT_ID
       + " AND co." + BIGG_ID + " = ? AND co." + ID + " = cc." + COMPARTMENT_ID + " and cc." + ID + " = mcc."
       + COMPARTMENTALIZED_COMPONENT_ID + " AND LENGTH(CAST( mcc." + CHARGE + " AS text)) > 0 ORDER BY mcc." + CHARGE;
-    Set<String> results = runChargeQuery(query, componentId, compartmentId);
+    Set<String> results = runChargeQuery("getChargeByCompartment", query, componentId, compartmentId);
     if (results.size() == 1) {
       return Optional.of(Integer.parseInt(results.iterator().next()));
     } else {
@@ -644,28 +1413,51 @@ public class BiGGDB {
   }
 
 
+  /**
+   * Batch counterpart of {@link #getChargeByCompartment(String, String)}. All components are looked up in a single
+   * query and a charge is only returned if it is unique for the component in its compartment.
+   *
+   * @param components The components together with the compartments they are located in.
+   * @return A map containing the unique charge of each component that has one. Components with none or multiple
+   *         charges are not contained.
+   */
+  public Map<CompartmentalizedComponent, Integer> getChargeByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    String query = "SELECT DISTINCT c." + BIGG_ID + ", co." + BIGG_ID + ", mcc." + CHARGE + " FROM " + MCC + " mcc, "
+      + COMPARTMENTALIZED_COMPONENT + " cc, " + COMPONENT + " c, " + COMPARTMENT + " co WHERE c." + BIGG_ID
+      + " = ANY(?) AND c." + ID + " = cc." + COMPONENT_ID + " AND co." + BIGG_ID + " = ANY(?) AND co." + ID + " = cc."
+      + COMPARTMENT_ID + " and cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND LENGTH(CAST( mcc." + CHARGE
+      + " AS text)) > 0";
+    var charges = groupByComponent(runArrayQuery("getChargeByCompartment [batch]", query, componentIds(components), compartmentIds(components)), components);
+    return toCharges(uniqueValues(charges, key -> format(MESSAGES.getString("CHARGE_NOT_UNIQUE_COMPARTMENT"),
+      key.componentId(), key.compartmentId())));
+  }
+
+
   /**
    * Executes a SQL query to retrieve distinct charge values based on the provided query string.
    * This method prepares and executes a SQL statement using the provided component ID and compartment or model ID.
    * It collects the results into a set, ensuring that only non-null and non-empty values are included.
    *
+   * @param name The logical name of the query, under which it is recorded in the {@link QueryStatistics}.
    * @param query The SQL query string to execute, expecting placeholders for componentId and compartmentOrModelId.
    * @param componentId The BiGG ID of the component, used to replace the first placeholder in the query.
    * @param compartmentOrModelId The BiGG ID of the compartment or model, used to replace the second placeholder in the query.
    * @return A Set of strings containing distinct charge values from the query results. If no valid results are found, returns an empty set.
    */
-  private Set<String> runChargeQuery(String query, String componentId, String compartmentOrModelId) throws SQLException {
-    Set<String> results = new HashSet<>();
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-      pStatement.setString(1, componentId);
-      pStatement.setString(2, compartmentOrModelId);
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          results.add(resultSet.getString(1));
+  private Set<String> runChargeQuery(String name, String query, String componentId, String compartmentOrModelId) throws SQLException {
+    Set<String> results = connectionPool.execute(name, connection -> {
+      Set<String> charges = new HashSet<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setString(1, componentId);
+        pStatement.setString(2, compartmentOrModelId);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          while (resultSet.next()) {
+            charges.add(resultSet.getString(1));
+          }
         }
       }
-    }
+      return charges;
+    });
     return results.stream().filter(charge -> charge != null && !charge.isEmpty()).collect(Collectors.toSet());
   }
 
@@ -685,7 +1477,7 @@ public class BiGGDB {
       + " cc,\n" + MODEL + " m,\n" + MCC + " mcc\n WHERE c." + ID + " = cc." + COMPONENT_ID + " AND\n cc." + ID
       + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND\n c." + BIGG_ID + " = ? AND\n m." + BIGG_ID + " = ? AND\n m."
       + ID + " = mcc." + MODEL_ID + " AND mcc." + CHARGE + " IS NOT NULL";
-    Set<String> results = runChargeQuery(query, componentId, modelId);
+    Set<String> results = runChargeQuery("getCharge", query, componentId, modelId);
     if (results.size() == 1) {
       return Optional.of(Integer.parseInt(results.iterator().next()));
     } else {
@@ -697,6 +1489,160 @@ public class BiGGDB {
   }
 
 
+  /**
+   * Batch counterpart of {@link #getCharge(String, String)}, which looks up the charges of all given components
+   * within one model in a single query.
+   *
+   * @param componentIds The BiGG IDs of the components.
+   * @param modelId The BiGG ID of the model.
+   * @return A map containing the unique charge of each component that has one. Components with none or multiple
+   *         charges are not contained.
+   */
+  public Map<String, Integer> getCharge(Collection<String> componentIds, String modelId) throws SQLException {
+    String query = "SELECT DISTINCT c." + BIGG_ID + ", mcc." + CHARGE + "\n FROM " + COMPONENT + " c,\n"
+      + COMPARTMENTALIZED_COMPONENT + " cc,\n" + MODEL + " m,\n" + MCC + " mcc\n WHERE c." + ID + " = cc." + COMPONENT_ID
+      + " AND\n cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND\n c." + BIGG_ID + " = ANY(?) AND\n m."
+      + BIGG_ID + " = ? AND\n m." + ID + " = mcc." + MODEL_ID + " AND mcc." + CHARGE + " IS NOT NULL";
+    var charges = groupByKey(runArrayQuery("getCharge [batch]", query, componentIds, modelId));
+    return toCharges(uniqueValues(charges,
+      componentId -> format(MESSAGES.getString("CHARGE_NOT_UNIQUE_MODEL"), componentId, modelId)));
+  }
+
+
+  /**
+   * Retrieves the chemical formulas and charges of a component within a model in a single query, which returns the same
+   * candidates as {@link #getChemicalFormula(String, String)} and {@link #getCharge(String, String)} together. Ambiguous
+   * formulas and charges are logged like there.
+   *
+   * @param componentId The BiGG ID of the component.
+   * @param modelId The BiGG ID of the model.
+   * @return The distinct formulas and charges of the component in the model.
+   */
+  public ComponentChemistry getChemistry(String componentId, String modelId) throws SQLException {
+    String query = "SELECT DISTINCT mcc." + FORMULA + ", mcc." + CHARGE + " FROM " + COMPONENT + " c, "
+      + COMPARTMENTALIZED_COMPONENT + " cc, " + MODEL + " m, " + MCC + " mcc WHERE c." + ID + " = cc." + COMPONENT_ID
+      + " AND cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND c." + BIGG_ID + " = ? AND m." + BIGG_ID
+      + " = ? AND m." + ID + " = mcc." + MODEL_ID + " AND " + CHEMISTRY_CONDITION;
+    var chemistry = toChemistry(runArrayQuery("getChemistry", query, componentId, modelId), 0);
+    logModelAmbiguity(chemistry, componentId, modelId);
+    return chemistry;
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getChemistry(String, String)}, which looks up the formulas and charges of all given
+   * components within one model in a single query.
+   *
+   * @param componentIds The BiGG IDs of the components.
+   * @param modelId The BiGG ID of the model.
+   * @return A map from component ID to its chemistry. Components without any formula or charge are not contained.
+   */
+  public Map<String, ComponentChemistry> getChemistry(Collection<String> componentIds, String modelId) throws SQLException {
+    String query = "SELECT DISTINCT c." + BIGG_ID + ", mcc." + FORMULA + ", mcc." + CHARGE + " FROM " + COMPONENT
+      + " c, " + COMPARTMENTALIZED_COMPONENT + " cc, " + MODEL + " m, " + MCC + " mcc WHERE c." + ID + " = cc."
+      + COMPONENT_ID + " AND cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND c." + BIGG_ID
+      + " = ANY(?) AND m." + BIGG_ID + " = ? AND m." + ID + " = mcc." + MODEL_ID + " AND " + CHEMISTRY_CONDITION;
+    Map<String, List<String[]>> groups = new HashMap<>();
+    for (String[] row : runArrayQuery("getChemistry [batch]", query, componentIds, modelId)) {
+      groups.computeIfAbsent(row[0], key -> new ArrayList<>()).add(row);
+    }
+    Map<String, ComponentChemistry> results = new HashMap<>();
+    groups.forEach((componentId, rows) -> {
+      var chemistry = toChemistry(rows, 1);
+      logModelAmbiguity(chemistry, componentId, modelId);
+      results.put(componentId, chemistry);
+    });
+    return results;
+  }
+
+
+  /**
+   * Retrieves the chemical formulas and charges of a component within a compartment across all models in a single
+   * query, which returns the same candidates as {@link #getChemicalFormulaByCompartment(String, String)} and
+   * {@link #getChargeByCompartment(String, String)} together.
+   *
+   * @param componentId The BiGG ID of the component.
+   * @param compartmentId The BiGG ID of the compartment.
+   * @return The distinct formulas and charges of the component in the compartment.
+   */
+  public ComponentChemistry getChemistryByCompartment(String componentId, String compartmentId) throws SQLException {
+    String query = "SELECT DISTINCT mcc." + FORMULA + ", mcc." + CHARGE + " FROM " + MCC + " mcc, "
+      + COMPARTMENTALIZED_COMPONENT + " cc, " + COMPONENT + " c, " + COMPARTMENT + " co WHERE c." + BIGG_ID
+      + " = ? AND c." + ID + " = cc." + COMPONENT_ID + " AND co." + BIGG_ID + " = ? AND co." + ID + " = cc."
+      + COMPARTMENT_ID + " AND cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND " + CHEMISTRY_CONDITION;
+    var chemistry = toChemistry(runArrayQuery("getChemistryByCompartment", query, componentId, compartmentId), 0);
+    logCompartmentAmbiguity(chemistry, componentId, compartmentId);
+    return chemistry;
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getChemistryByCompartment(String, String)}, which looks up the formulas and charges of
+   * all given components in their compartments in a single query.
+   *
+   * @param components The components together with the compartments they are located in.
+   * @return A map from component to its chemistry. Components without any formula or charge are not contained.
+   */
+  public Map<CompartmentalizedComponent, ComponentChemistry> getChemistryByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    String query = "SELECT DISTINCT c." + BIGG_ID + ", co." + BIGG_ID + ", mcc." + FORMULA + ", mcc." + CHARGE
+      + " FROM " + MCC + " mcc, " + COMPARTMENTALIZED_COMPONENT + " cc, " + COMPONENT + " c, " + COMPARTMENT
+      + " co WHERE c." + BIGG_ID + " = ANY(?) AND c." + ID + " = cc." + COMPONENT_ID + " AND co." + BIGG_ID
+      + " = ANY(?) AND co." + ID + " = cc." + COMPARTMENT_ID + " AND cc." + ID + " = mcc."
+      + COMPARTMENTALIZED_COMPONENT_ID + " AND " + CHEMISTRY_CONDITION;
+    Set<CompartmentalizedComponent> requested = new HashSet<>(components);
+    Map<CompartmentalizedComponent, List<String[]>> groups = new HashMap<>();
+    for (String[] row : runArrayQuery("getChemistryByCompartment [batch]", query, componentIds(components),
+      compartmentIds(components))) {
+      var key = new CompartmentalizedComponent(row[0], row[1]);
+      if (requested.contains(key)) {
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+      }
+    }
+    Map<CompartmentalizedComponent, ComponentChemistry> results = new HashMap<>();
+    groups.forEach((key, rows) -> {
+      var chemistry = toChemistry(rows, 2);
+      logCompartmentAmbiguity(chemistry, key.componentId(), key.compartmentId());
+      results.put(key, chemistry);
+    });
+    return results;
+  }
+
+
+  /**
+   * @param rows   Rows containing the formula and the charge starting at the given column.
+   * @param column The column of the formula, which is followed by the charge.
+   */
+  private static ComponentChemistry toChemistry(List<String[]> rows, int column) {
+    List<String> formulas = new ArrayList<>(rows.size());
+    List<String> charges = new ArrayList<>(rows.size());
+    for (String[] row : rows) {
+      formulas.add(row[column]);
+      charges.add(row[column + 1]);
+    }
+    return ComponentChemistry.of(formulas, charges);
+  }
+
+
+  private static void logModelAmbiguity(ComponentChemistry chemistry, String componentId, String modelId) {
+    if (chemistry.isFormulaAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("FORMULA_MODEL_AMBIGUOUS"), componentId, modelId));
+    }
+    if (chemistry.isChargeAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("CHARGE_NOT_UNIQUE_MODEL"), componentId, modelId));
+    }
+  }
+
+
+  private static void logCompartmentAmbiguity(ComponentChemistry chemistry, String componentId, String compartmentId) {
+    if (chemistry.isFormulaAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("FORMULA_COMPARTMENT_AMBIGUOUS"), componentId, compartmentId));
+    }
+    if (chemistry.isChargeAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("CHARGE_NOT_UNIQUE_COMPARTMENT"), componentId, compartmentId));
+    }
+  }
+
+
   /**
    * Determines if a given reaction ID corresponds to a pseudoreaction in the database.
    * A pseudoreaction is typically used to represent non-biochemical data flows such as biomass accumulation,
@@ -707,11 +1653,29 @@ public class BiGGDB {
    */
   public boolean isPseudoreaction(String reactionId) throws SQLException {
     String query = "SELECT " + PSEUDOREACTION + " FROM " + REACTION + " WHERE " + BIGG_ID + " = ?";
-    Optional<String> result = singleParamStatement(query, reactionId);
+    Optional<String> result = singleParamStatement("isPseudoreaction", query, reactionId);
     return result.isPresent() && result.get().equals("t");
   }
 
 
+  /**
+   * Batch counterpart of {@link #isPseudoreaction(String)}, which checks all given reactions in a single query.
+   *
+   * @param reactionIds The BiGG IDs of the reactions to be checked.
+   * @return A map from each given reaction ID to whether it is a pseudoreaction.
+   */
+  public Map<String, Boolean> isPseudoreaction(Collection<String> reactionIds) throws SQLException {
+    String query = "SELECT " + BIGG_ID + ", " + PSEUDOREACTION + " FROM " + REACTION + " WHERE " + BIGG_ID + " = ANY(?)";
+    Map<String, String> flags = uniqueValues(groupByKey(runArrayQuery("isPseudoreaction [batch]", query, reactionIds)),
+      reactionId -> format(MESSAGES.getString("QUERY_MULTIPLE_RESULTS"), reactionId, query));
+    Map<String, Boolean> results = new HashMap<>();
+    for (String reactionId : reactionIds) {
+      results.put(reactionId, "t".equals(flags.get(reactionId)));
+    }
+    return results;
+  }
+
+
   /**
    * Retrieves the BiGG ID associated with a given synonym and type from the specified data source.
    * This method constructs a SQL query based on the type of biological entity (species, reaction, or gene product)
@@ -722,48 +1686,41 @@ public class BiGGDB {
    * @param type The type of the entity, which can be species, reaction, or gene product.
    * @return An Optional containing the BiGG ID if exactly one unique ID is found, otherwise an empty Optional.
    */
-  public Optional<BiGGId> getBiggIdFromSynonym(String dataSourceId, String synonym, String type) {
-    // Construct the shared part of the SQL query
-    String sharedQuerySubstring = DATA_SOURCE + " d, " + SYNONYM + " s "
-            + "WHERE d." + BIGG_ID + " = ? AND d." + ID + " = s." + DATA_SOURCE_ID
-            + " AND s." + SYNONYM_COL + " = ? AND s." + OME_ID;
-
-    // Build the full query based on the type
-    String query;
-    switch (type) {
-      case TYPE_SPECIES:
-        query = "SELECT c." + BIGG_ID + " FROM " + COMPONENT + " c, " + sharedQuerySubstring + " = c." + ID;
-        break;
-      case TYPE_REACTION:
-        query = "SELECT r." + BIGG_ID + " FROM " + REACTION + " r, " + sharedQuerySubstring + " = r." + ID;
-        break;
-      case TYPE_GENE_PRODUCT:
-        query = "SELECT g." + LOCUS_TAG + " FROM " + GENE + " g, " + sharedQuerySubstring + " = g." + ID;
-        break;
-      default:
-        return Optional.empty();
-    }
-
-    try (Connection connection = connectionPool.getConnection();
-         PreparedStatement pStatement = connection.prepareStatement(query)) {
-
-      pStatement.setString(1, dataSourceId);
-      pStatement.setString(2, synonym);
-
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        Set<BiGGId> results = new HashSet<>();
-        while (resultSet.next()) {
-          var biggId = resultSet.getString(1);
-          if (biggId != null && !biggId.isEmpty()) {
-            results.add(new BiGGId(biggId));
-          }
-        }
+  public Optional<BiGGId> getBiggIdFromSynonym(String dataSourceId, String synonym, String type) throws SQLException {
+    SynonymIndex index = getSynonymIndex(type);
+    if (index != null) {
+      return index.get(dataSourceId, synonym).map(BiGGId::new);
+    }
+
+    String query = SYNONYM_QUERIES.get(type);
+    if (query == null) {
+      return Optional.empty();
+    }
 
-        if (results.size() == 1) {
-          return Optional.of(results.iterator().next());
+    try {
+      Set<BiGGId> results = connectionPool.execute("getBiggIdFromSynonym", connection -> {
+        Set<BiGGId> biggIds = new HashSet<>();
+        try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+          pStatement.setString(1, dataSourceId);
+          pStatement.setString(2, synonym);
+          try (ResultSet resultSet = pStatement.executeQuery()) {
+            while (resultSet.next()) {
+              var biggId = resultSet.getString(1);
+              if (biggId != null && !biggId.isEmpty()) {
+                biggIds.add(new BiGGId(biggId));
+              }
+            }
+          }
         }
+        return biggIds;
+      });
+      if (results.size() == 1) {
+        return Optional.of(results.iterator().next());
       }
     } catch (SQLException exc) {
+      if (QueryTimeoutException.isTimeout(exc)) {
+        throw exc;
+      }
       logger.debug(Utils.getMessage(exc));
     }
 
@@ -771,12 +1728,60 @@ public class BiGGDB {
   }
 
 
+  /**
+   * Batch counterpart of {@link #getBiggIdFromSynonym(String, String, String)}, which resolves the synonyms of all
+   * given URIs in a single query. Just like the single lookup, a URI is only mapped to a BiGG ID if its synonym
+   * identifies exactly one entity of the given type in the URI's data source.
+   *
+   * @param uris The URIs whose prefix is the data source and whose ID is the synonym.
+   * @param type The type of the entities, which can be species, reaction, or gene product.
+   * @return A map from URI to the BiGG ID it identifies uniquely.
+   */
+  public <T extends RegistryURI> Map<T, BiGGId> getBiggIdFromSynonym(Collection<T> uris, String type) throws SQLException {
+    SynonymIndex index = getSynonymIndex(type);
+    if (index != null) {
+      Map<T, BiGGId> results = new HashMap<>();
+      for (T uri : uris) {
+        index.get(uri.getPrefix(), uri.getId()).ifPresent(biggId -> results.put(uri, new BiGGId(biggId)));
+      }
+      return results;
+    }
+    String query = SYNONYM_BATCH_QUERIES.get(type);
+    if (query == null) {
+      return new HashMap<>();
+    }
+
+    Map<T, BiGGId> results = new HashMap<>();
+    try {
+      Map<List<String>, Set<BiGGId>> found = new HashMap<>();
+      for (String[] row : runArrayQuery("getBiggIdFromSynonym [batch]", query, uris.stream().map(RegistryURI::getPrefix).toList(),
+        uris.stream().map(RegistryURI::getId).toList())) {
+        if (row[2] != null && !row[2].isEmpty()) {
+          found.computeIfAbsent(List.of(row[0], row[1]), key -> new HashSet<>()).add(new BiGGId(row[2]));
+        }
+      }
+      for (T uri : uris) {
+        Set<BiGGId> biggIds = found.getOrDefault(Arrays.asList(uri.getPrefix(), uri.getId()), Set.of());
+        if (biggIds.size() == 1) {
+          results.put(uri, biggIds.iterator().next());
+        }
+      }
+    } catch (SQLException exc) {
+      if (QueryTimeoutException.isTimeout(exc)) {
+        throw exc;
+      }
+      logger.debug(Utils.getMessage(exc));
+    }
+    return results;
+  }
+
+
   /**
    * Represents a reaction from an external data source mapped to the BiGG database, including its compartment details.
    * "Foreign" in this context refers to the origin of the reaction data from a source outside of the primary BiGG database schema,
    * typically involving cross-referencing with external databases or data sources.
    */
-  public class ForeignReaction {
+  public static class ForeignReaction {
     public final String reactionId;       // The BiGG ID of the reaction.
     public final String compartmentId;    // The BiGG ID of the compartment.
     public final String compartmentName;  // The name of the compartment.
@@ -793,8 +1798,24 @@ public class BiGGDB {
       this.compartmentId = compartmentId;
       this.compartmentName = compartmentName;
     }
+
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ForeignReaction that = (ForeignReaction) o;
+      return Objects.equals(reactionId, that.reactionId) && Objects.equals(compartmentId, that.compartmentId)
+        && Objects.equals(compartmentName, that.compartmentName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(reactionId, compartmentId, compartmentName);
+    }
   }
 
+
   /**
    * Retrieves a collection of ForeignReaction objects for a given synonym and data source ID.
    * This method queries the database to find reactions and their associated compartment details
@@ -803,9 +1824,7 @@ public class BiGGDB {
    *
    * @return A collection of ForeignReaction objects containing the reaction and compartment details.
    */
-  public Collection<ForeignReaction> getBiggIdsForReactionForeignId(RegistryURI uri) {
-    Set<ForeignReaction> results = new HashSet<>();
-
+  public Collection<ForeignReaction> getBiggIdsForReactionForeignId(RegistryURI uri) throws SQLException {
     // SQL query to fetch reaction and compartment details
     var query = "SELECT R.BIGG_ID AS REACTION_BIGG_ID, "
             + "C.BIGG_ID AS COMPARTMENT_BIGG_ID, "
@@ -821,71 +1840,274 @@ public class BiGGDB {
             + "on synonym = ? and r.id = s.ome_id "
             + "join data_source d "
             + "on s.data_source_id = d.id and d.bigg_id = ?";
+    if (getMaterializedViews().contains(MP_FOREIGN_REACTION)) {
+      query = "SELECT " + REACTION_BIGG_ID + ", " + COMPARTMENT_BIGG_ID + ", " + COMPARTMENT_NAME + " FROM "
+        + MP_FOREIGN_REACTION + " WHERE " + SYNONYM_COL + " = ? AND " + DATA_SOURCE_BIGG_ID + " = ?";
+    }
 
-    try (var connection = connectionPool.getConnection();
-         var pStatement = connection.prepareStatement(query)) {
-      pStatement.setString(1, uri.getId());
-      pStatement.setString(2, uri.getPrefix());
-      try (ResultSet resultSet = pStatement.executeQuery()) {
-        while (resultSet.next()) {
-          var reactionBiggId = resultSet.getString(1);
-          var compartmentBiggId = resultSet.getString(2);
-          var compartmentName = resultSet.getString(3);
-          var r = new ForeignReaction(reactionBiggId, compartmentBiggId, compartmentName);
-          results.add(r);
+    String foreignReactionQuery = query;
+    try {
+      return connectionPool.execute("getBiggIdsForReactionForeignId", connection -> {
+        Set<ForeignReaction> results = new HashSet<>();
+        try (var pStatement = connection.prepareStatement(foreignReactionQuery)) {
+          pStatement.setString(1, uri.getId());
+          pStatement.setString(2, uri.getPrefix());
+          try (ResultSet resultSet = pStatement.executeQuery()) {
+            while (resultSet.next()) {
+              var reactionBiggId = resultSet.getString(1);
+              var compartmentBiggId = resultSet.getString(2);
+              var compartmentName = resultSet.getString(3);
+              results.add(new ForeignReaction(reactionBiggId, compartmentBiggId, compartmentName));
+            }
+          }
+        }
+        return results;
+      });
+    } catch (SQLException exc) {
+      if (QueryTimeoutException.isTimeout(exc)) {
+        throw exc;
+      }
+      logger.debug(Utils.getMessage(exc));
+    }
+    return new HashSet<>();
+  }
+
+
+  /**
+   * Batch counterpart of {@link #getBiggIdsForReactionForeignId(RegistryURI)}, which resolves all given URIs in a single
+   * query. The synonyms and data sources are matched as sets, so the rows are assigned to the URIs by their pair of
+   * data source and synonym afterwards, as in {@link #getBiggIdFromSynonym(Collection, String)}.
+   *
+   * @param uris The URIs whose prefix is the data source and whose ID is the synonym, e.g. all cross-references of the
+   *             reactions of a model.
+   * @return The reactions and their compartments by URI, for the URIs referring to any reaction.
+   */
+  public <T extends RegistryURI> Map<T, Collection<ForeignReaction>> getBiggIdsForReactionForeignId(Collection<T> uris) throws SQLException {
+    var query = "SELECT DISTINCT d." + BIGG_ID + ", s." + SYNONYM_COL + ", r." + BIGG_ID + ", c." + BIGG_ID + ", c."
+            + NAME + " FROM " + SYNONYM + " s "
+            + "join " + DATA_SOURCE + " d "
+            + "on s." + DATA_SOURCE_ID + " = d." + ID + " and d." + BIGG_ID + " = ANY(?) "
+            + "join " + REACTION + " r "
+            + "on r." + ID + " = s." + OME_ID + " "
+            + "left join " + REACTION_MATRIX + " rm "
+            + "on rm." + REACTION_ID + " = r." + ID + " "
+            + "left join " + COMPARTMENTALIZED_COMPONENT + " cc "
+            + "on rm." + COMPARTMENTALIZED_COMPONENT_ID + " = cc." + ID + " "
+            + "left join " + COMPARTMENT + " c "
+            + "on cc." + COMPARTMENT_ID + " = c." + ID + " "
+            + "WHERE s." + SYNONYM_COL + " = ANY(?)";
+    if (getMaterializedViews().contains(MP_FOREIGN_REACTION)) {
+      query = "SELECT " + DATA_SOURCE_BIGG_ID + ", " + SYNONYM_COL + ", " + REACTION_BIGG_ID + ", " + COMPARTMENT_BIGG_ID
+        + ", " + COMPARTMENT_NAME + " FROM " + MP_FOREIGN_REACTION + " WHERE " + DATA_SOURCE_BIGG_ID + " = ANY(?) AND "
+        + SYNONYM_COL + " = ANY(?)";
+    }
+
+    Map<T, Collection<ForeignReaction>> results = new HashMap<>();
+    try {
+      Map<List<String>, Set<ForeignReaction>> found = new HashMap<>();
+      for (String[] row : runArrayQuery("getBiggIdsForReactionForeignId [batch]", query, uris.stream().map(RegistryURI::getPrefix).toList(),
+        uris.stream().map(RegistryURI::getId).toList())) {
+        found.computeIfAbsent(List.of(row[0], row[1]), key -> new HashSet<>())
+             .add(new ForeignReaction(row[2], row[3], row[4]));
+      }
+      for (T uri : uris) {
+        Set<ForeignReaction> reactions = found.get(Arrays.asList(uri.getPrefix(), uri.getId()));
+        if (reactions != null) {
+          results.put(uri, reactions);
         }
       }
     } catch (SQLException exc) {
-        logger.debug(Utils.getMessage(exc));
+      if (QueryTimeoutException.isTimeout(exc)) {
+        throw exc;
+      }
+      logger.debug(Utils.getMessage(exc));
     }
     return results;
   }
 
-  public boolean isCompartment(String id) throws SQLException {
-    if (BiGGDBCompartments.isEmpty()) {
-      BiGGDBCompartments = getAllBiggIds("compartment");
+  /**
+   * Executes a query in which collection-valued parameters are bound as PostgreSQL text arrays, so that a whole set of
+   * IDs can be matched with {@code = ANY(?)} in one round trip. All other parameters are bound as strings.
+   * If any of the collections is empty, no query is sent at all. The query may be hedged, see
+   * {@link PostgresConnectionPool#execute(String, PostgresConnectionPool.Callback)}.
+   *
+   * @param name The logical name of the query, under which it is recorded in the {@link QueryStatistics}.
+   * @param query The SQL query to be executed.
+   * @param parameters The parameters in the order of the placeholders, either {@link String}s or {@link Collection}s.
+   * @return All rows of the result, each given as the array of its column values.
+   */
+  private List<String[]> runArrayQuery(String name, String query, Object... parameters) throws SQLException {
+    for (Object parameter : parameters) {
+      if (parameter instanceof Collection<?> values && values.isEmpty()) {
+        return new ArrayList<>();
+      }
+    }
+    return connectionPool.execute(name, connection -> {
+      List<String[]> rows = new ArrayList<>();
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        for (int i = 0; i < parameters.length; i++) {
+          if (parameters[i] instanceof Collection<?> values) {
+            pStatement.setArray(i + 1, connection.createArrayOf("text", values.stream().distinct().toArray()));
+          } else {
+            pStatement.setString(i + 1, (String) parameters[i]);
+          }
+        }
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          int columns = resultSet.getMetaData().getColumnCount();
+          while (resultSet.next()) {
+            String[] row = new String[columns];
+            for (int column = 0; column < columns; column++) {
+              row[column] = resultSet.getString(column + 1);
+            }
+            rows.add(row);
+          }
+        }
+      }
+      return rows;
+    });
+  }
+
+
+  /**
+   * Passes the rows of a query without parameters to the given consumer while they are being fetched, instead of
+   * collecting the whole result first. This allows to export complete tables.
+   *
+   * @param name The logical name of the query, under which it is recorded in the {@link QueryStatistics}.
+   * @param query The SQL query to be executed.
+   * @param consumer Receives each row as the array of its column values.
+   */
+  void streamQuery(String name, String query, RowConsumer consumer) throws SQLException, IOException {
+    try (Connection connection = connectionPool.getConnection(name)) {
+      boolean autoCommit = connection.getAutoCommit();
+      // PostgreSQL only fetches in chunks within a transaction
+      connection.setAutoCommit(false);
+      try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+        pStatement.setFetchSize(10000);
+        try (ResultSet resultSet = pStatement.executeQuery()) {
+          int columns = resultSet.getMetaData().getColumnCount();
+          while (resultSet.next()) {
+            String[] row = new String[columns];
+            for (int column = 0; column < columns; column++) {
+              row[column] = resultSet.getString(column + 1);
+            }
+            consumer.accept(row);
+          }
+        }
+      } finally {
+        connection.rollback();
+        connection.setAutoCommit(autoCommit);
+      }
+    }
+  }
+
+
+  @FunctionalInterface
+  interface RowConsumer {
+    void accept(String[] row) throws IOException;
+  }
+
+
+  /**
+   * Groups two-column rows by the value of their first column, preserving the order of the rows.
+   */
+  private static Map<String, List<String>> groupByKey(List<String[]> rows) {
+    Map<String, List<String>> groups = new LinkedHashMap<>();
+    for (String[] row : rows) {
+      groups.computeIfAbsent(row[0], key -> new ArrayList<>()).add(row[1]);
+    }
+    return groups;
+  }
+
+
+  /**
+   * Groups three-column rows of component ID, compartment ID and value by their component/compartment pair.
+   * As a batch query matches all combinations of the given component and compartment IDs, only the pairs that
+   * were actually requested are kept.
+   */
+  private static Map<CompartmentalizedComponent, List<String>> groupByComponent(List<String[]> rows,
+                                                                                Collection<CompartmentalizedComponent> requested) {
+    Set<CompartmentalizedComponent> keys = new HashSet<>(requested);
+    Map<CompartmentalizedComponent, List<String>> groups = new HashMap<>();
+    for (String[] row : rows) {
+      var key = new CompartmentalizedComponent(row[0], row[1]);
+      if (keys.contains(key)) {
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(row[2]);
+      }
+    }
+    return groups;
+  }
+
+
+  private static List<String> componentIds(Collection<CompartmentalizedComponent> components) {
+    return components.stream().map(CompartmentalizedComponent::componentId).distinct().toList();
+  }
+
+
+  private static List<String> compartmentIds(Collection<CompartmentalizedComponent> components) {
+    return components.stream().map(CompartmentalizedComponent::compartmentId).distinct().toList();
+  }
+
+
+  /**
+   * Applies the ambiguity rule of the single-ID lookups to every key of a batch result: a key is only mapped to a
+   * value if exactly one distinct, non-empty value was found for it; otherwise the given message is logged.
+   *
+   * @param groups The values found per key.
+   * @param ambiguityMessage Creates the debug message for keys with multiple distinct values.
+   * @return A mutable map from each key with a unique value to that value.
+   */
+  private static <K> Map<K, String> uniqueValues(Map<K, List<String>> groups, java.util.function.Function<K, String> ambiguityMessage) {
+    Map<K, String> results = new HashMap<>();
+    for (var entry : groups.entrySet()) {
+      Set<String> values = entry.getValue().stream().filter(value -> value != null && !value.isEmpty())
+        .collect(Collectors.toSet());
+      if (values.size() == 1) {
+        results.put(entry.getKey(), values.iterator().next());
+      } else if (values.size() > 1) {
+        logger.debug(ambiguityMessage.apply(entry.getKey()));
+      }
     }
+    return results;
+  }
+
+
+  private static <K> Map<K, Integer> toCharges(Map<K, String> charges) {
+    Map<K, Integer> results = new HashMap<>();
+    charges.forEach((key, charge) -> results.put(key, Integer.parseInt(charge)));
+    return results;
+  }
+
+
+  public boolean isCompartment(String id) throws SQLException {
     if (id.startsWith("C_")) {
       id = id.substring(2);
     }
-    return BiGGDBCompartments.contains(id);
+    return getIdCatalog(COMPARTMENT).contains(id);
   }
 
 
   public boolean isDataSource(String id) throws SQLException {
-    if (BiGGDBDataSources.isEmpty()) {
-      BiGGDBDataSources = getAllBiggIds("data_source");
-    }
-    return BiGGDBDataSources.contains(id);
+    return getIdCatalog(DATA_SOURCE).contains(id);
   }
 
 
   public boolean isMetabolite(String id) throws SQLException {
-    if (BiGGDBMetabolites.isEmpty()) {
-      BiGGDBMetabolites = getAllBiggIds("component");
-    }
     if (id.startsWith("M_")) {
       id = id.substring(2);
     }
-    return BiGGDBMetabolites.contains(id);
+    return getIdCatalog(COMPONENT).contains(id);
   }
 
 
   public boolean isModel(String id) throws SQLException {
-    if (BiGGDBModels.isEmpty()) {
-      BiGGDBModels = getAllBiggIds("model");
-    }
-    return BiGGDBModels.contains(id);
+    return getIdCatalog(MODEL).contains(id);
   }
 
 
   public boolean isReaction(String id) throws SQLException {
-    if (BiGGDBReactions.isEmpty()) {
-      BiGGDBReactions = getAllBiggIds("reaction");
-    }
     if (id.startsWith("R_")) {
       id = id.substring(2);
     }
-    return BiGGDBReactions.contains(id);
+    return getIdCatalog(REACTION).contains(id);
   }
 }
@@ -24,11 +24,16 @@ public final class BiGGDBContract {
       static final String PUBLICATION = "publication";
       static final String PUBLICATION_MODEL = "publication_model";
       static final String REACTION = "reaction";
+      static final String REACTION_MATRIX = "reaction_matrix";
       static final String REFSEQ_PATTERN = "'refseq_%%'";
       static final String REFSEQ_NAME = "'refseq_name'";
       static final String SYNONYM = "synonym";
       static final String URL = "url";
       static final String URL_PREFIX = "url_prefix";
+      // materialized views installed by BiGGSchemaOptimizer
+      static final String MP_FOREIGN_REACTION = "mp_foreign_reaction";
+      static final String MP_GENE_REACTION_RULE = "mp_gene_reaction_rule";
+      static final String MP_RESOURCE = "mp_resource";
     }
 
     public static class Column {
@@ -61,6 +66,15 @@ public final class BiGGDBContract {
       static final String TYPE = "type";
       static final String SYNONYM_COL = "synonym";
       static final String LOCUS_TAG = "locus_tag";
+      // columns of the materialized views
+      static final String COMPARTMENT_BIGG_ID = "compartment_bigg_id";
+      static final String COMPARTMENT_NAME = "compartment_name";
+      static final String DATA_SOURCE_BIGG_ID = "data_source_bigg_id";
+      static final String IDENTIFIERS_ORG = "identifiers_org";
+      static final String KIND = "kind";
+      static final String MODEL_BIGG_ID = "model_bigg_id";
+      static final String POSITION = "position";
+      static final String REACTION_BIGG_ID = "reaction_bigg_id";
     }
 
     // Other constants
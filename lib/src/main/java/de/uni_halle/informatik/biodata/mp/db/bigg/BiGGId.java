@@ -40,6 +40,12 @@ public class BiGGId {
 
   private static final Logger logger = LoggerFactory.getLogger(BiGGId.class);
   private static final ResourceBundle MESSAGES = ResourceManager.getBundle(BundleNames.DB_MESSAGES);
+  /**
+   * Compartment codes enclosed in parentheses or brackets, after {@link #makeBiGGConform(String)} has replaced these
+   * characters
+   */
+  private static final Pattern PAREN_COMPARTMENT = Pattern.compile("_LPAREN_(?<paren>.*?)_RPAREN_");
+  private static final Pattern BRACKET_COMPARTMENT = Pattern.compile("_LBRACKET_(?<bracket>.*)_RBRACKET_");
   /**
    * First part of BiGG ID, either R, M or G
    */
@@ -216,54 +222,160 @@ public class BiGGId {
    * - Removes trailing parts of IDs that are marked as copies.
    * - Ensures that only alphanumeric characters and underscores are retained, replacing all other characters with underscores.
    * - Trims any trailing underscores from the final ID.
+   * <p>
+   * This is called for every ID the polishers, annotators and parsers create, so each step scans the ID directly
+   * instead of using regular expressions, and returns it without copying if there is nothing to change.
    *
    * @param id The original identifier that needs to be transformed.
    * @return A string representing the transformed identifier conforming to BiGG standards.
    */
-  private static String makeBiGGConform(String id) {
-    // Prefix the ID with an underscore if it starts with a digit
-    if (Character.isDigit(id.charAt(0))) {
-      id = "_" + id;
-    }
-    // Replace problematic characters with specific strings
-    id = id.replaceAll("[-/]", "__")
-            .replaceAll("\\.", "__SBML_DOT__")
-            .replaceAll("\\(", "_LPAREN_")
-            .replaceAll("\\)", "_RPAREN_")
-            .replaceAll("\\[", "_LBRACKET_")
-            .replaceAll("]", "_RBRACKET_");
+  static String makeBiGGConform(String id) {
+    // Prefix the ID with an underscore if it starts with a digit, and replace problematic characters with specific
+    // strings
+    id = escape(id);
     // Extract and reformat compartment codes enclosed in parentheses
-    Pattern parenCompartment = Pattern.compile("_LPAREN_(?<paren>.*?)_RPAREN_");
-    Matcher parenMatcher = parenCompartment.matcher(id);
-    if (parenMatcher.find()) {
-      id = id.replaceAll(parenCompartment.toString(), "_" + parenMatcher.group("paren"));
-    }
+    id = replaceEnclosed(id, "_LPAREN_", "_RPAREN_", false, PAREN_COMPARTMENT);
     // Extract and reformat compartment codes enclosed in brackets
-    Pattern bracketCompartment = Pattern.compile("_LBRACKET_(?<bracket>.*)_RBRACKET_");
-    Matcher bracketMatcher = bracketCompartment.matcher(id);
-    if (bracketMatcher.find()) {
-      id = id.replaceAll(bracketCompartment.toString(), "_" + bracketMatcher.group("bracket"));
-    }
+    id = replaceEnclosed(id, "_LBRACKET_", "_RBRACKET_", true, BRACKET_COMPARTMENT);
     // Remove the '_copy' suffix and any trailing digits
-    if (id.matches(".*_copy\\d*")) {
-      id = id.substring(0, id.lastIndexOf('_'));
-    }
-    // Retain only alphanumeric characters and underscores, replacing all other characters
-    Pattern alphaNum = Pattern.compile("[a-zA-Z0-9_]");
-    StringBuilder builder = new StringBuilder(id.length());
-    for (char ch : id.toCharArray()) {
-      if (alphaNum.matcher(String.valueOf(ch)).matches()) {
-	builder.append(ch);
+    id = removeCopySuffix(id);
+    // Retain only alphanumeric characters and underscores, replacing all other characters, and remove a trailing
+    // underscore
+    return replaceInvalidCharacters(id);
+  }
+
+
+  private static String escape(String id) {
+    boolean leadingDigit = Character.isDigit(id.charAt(0));
+    int i = 0;
+    while (i < id.length() && escapeOf(id.charAt(i)) == null) {
+      i++;
+    }
+    if (!leadingDigit && i == id.length()) {
+      return id;
+    }
+    StringBuilder builder = new StringBuilder(id.length() + 16);
+    if (leadingDigit) {
+      builder.append('_');
+    }
+    builder.append(id, 0, i);
+    for (; i < id.length(); i++) {
+      char c = id.charAt(i);
+      String escaped = escapeOf(c);
+      if (escaped == null) {
+        builder.append(c);
       } else {
-	builder.append("_");
+        builder.append(escaped);
+      }
+    }
+    return builder.toString();
+  }
+
+
+  /**
+   * @return The replacement of the character, or {@code null} if it is kept as it is.
+   */
+  private static String escapeOf(char c) {
+    return switch (c) {
+      case '-', '/' -> "__";
+      case '.' -> "__SBML_DOT__";
+      case '(' -> "_LPAREN_";
+      case ')' -> "_RPAREN_";
+      case '[' -> "_LBRACKET_";
+      case ']' -> "_RBRACKET_";
+      default -> null;
+    };
+  }
+
+
+  /**
+   * Replaces every occurrence of the opening text, some content and the closing text with an underscore and the
+   * content of the first occurrence, like the given pattern does with {@link Matcher#replaceAll(String)}. The
+   * content, as matched by {@code .}, does not span line terminators.
+   *
+   * @param greedy Whether the content extends to the last closing text of its line rather than to the first one.
+   */
+  private static String replaceEnclosed(String id, String open, String close, boolean greedy, Pattern pattern) {
+    StringBuilder builder = null;
+    String replacement = null;
+    int copied = 0;
+    int from = 0;
+    int start;
+    while ((start = id.indexOf(open, from)) >= 0) {
+      int contentStart = start + open.length();
+      int lineEnd = lineEnd(id, contentStart);
+      int end = greedy ? id.lastIndexOf(close, lineEnd - close.length()) : id.indexOf(close, contentStart);
+      if (end < contentStart || end + close.length() > lineEnd) {
+        from = start + 1;
+        continue;
+      }
+      if (replacement == null) {
+        replacement = "_" + id.substring(contentStart, end);
+        if (replacement.indexOf('$') >= 0 || replacement.indexOf('\\') >= 0) {
+          // group references and escapes in the replacement are interpreted by the matcher
+          return pattern.matcher(id).replaceAll(replacement);
+        }
+        builder = new StringBuilder(id.length());
       }
+      builder.append(id, copied, start).append(replacement);
+      copied = end + close.length();
+      from = copied;
     }
-    id = builder.toString();
-    // Remove any trailing underscores
-    if (id.endsWith("_")) {
-      id = id.substring(0, id.length() - 1);
+    if (builder == null) {
+      return id;
     }
-    return id;
+    return builder.append(id, copied, id.length()).toString();
+  }
+
+
+  /**
+   * @return The index of the first line terminator from the given index on, or the length of the ID if there is none.
+   */
+  private static int lineEnd(String id, int from) {
+    for (int i = from; i < id.length(); i++) {
+      switch (id.charAt(i)) {
+        case '\n', '\r', '\u0085', '\u2028', '\u2029':
+          return i;
+        default:
+          break;
+      }
+    }
+    return id.length();
+  }
+
+
+  private static String removeCopySuffix(String id) {
+    int end = id.length();
+    while (end > 0 && id.charAt(end - 1) >= '0' && id.charAt(end - 1) <= '9') {
+      end--;
+    }
+    int suffix = end - "_copy".length();
+    if (suffix < 0 || !id.startsWith("_copy", suffix) || lineEnd(id, 0) < suffix) {
+      return id;
+    }
+    return id.substring(0, suffix);
+  }
+
+
+  private static String replaceInvalidCharacters(String id) {
+    char[] chars = null;
+    for (int i = 0; i < id.length(); i++) {
+      char c = id.charAt(i);
+      if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_')) {
+        if (chars == null) {
+          chars = id.toCharArray();
+        }
+        chars[i] = '_';
+      }
+    }
+    int length = id.length();
+    if (length > 0 && (chars == null ? id.charAt(length - 1) : chars[length - 1]) == '_') {
+      length--;
+    }
+    if (chars != null) {
+      return new String(chars, 0, length);
+    }
+    return length == id.length() ? id : id.substring(0, length);
   }
 
 
@@ -0,0 +1,124 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of the BiGG IDs of one table, used for the {@code is*} checks of {@link BiGGDB}.
+ * <p>
+ * The IDs are stored sorted by their UTF-8 bytes and without duplicates in a single byte array, with an array of start
+ * offsets next to it, i.e. about one byte per character plus four bytes per ID instead of a boxed {@link String} and a
+ * hash table entry per ID. Membership is tested by binary search. As instances are never modified after construction,
+ * they can be shared between threads without synchronization.
+ */
+public final class BiGGIdCatalog {
+
+  private final String table;
+  private final byte[] arena;
+  private final int[] offsets;
+  private final long loadTimeMillis;
+
+
+  private BiGGIdCatalog(String table, byte[] arena, int[] offsets, long loadTimeMillis) {
+    this.table = table;
+    this.arena = arena;
+    this.offsets = offsets;
+    this.loadTimeMillis = loadTimeMillis;
+  }
+
+
+  /**
+   * @param table          The table the IDs were read from.
+   * @param ids            The IDs in any order, possibly containing duplicates or {@code null}s, which are dropped.
+   * @param loadTimeMillis The time it took to read the IDs from the database.
+   */
+  public static BiGGIdCatalog of(String table, Collection<String> ids, long loadTimeMillis) {
+    List<byte[]> encoded = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      if (id != null) {
+        encoded.add(id.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    encoded.sort(Arrays::compareUnsigned);
+
+    int[] offsets = new int[encoded.size() + 1];
+    int count = 0;
+    int length = 0;
+    for (int i = 0; i < encoded.size(); i++) {
+      if (i == 0 || !Arrays.equals(encoded.get(i), encoded.get(i - 1))) {
+        length += encoded.get(i).length;
+        offsets[++count] = length;
+      }
+    }
+    byte[] arena = new byte[length];
+    for (int i = 0, id = 0; i < encoded.size(); i++) {
+      if (i == 0 || !Arrays.equals(encoded.get(i), encoded.get(i - 1))) {
+        System.arraycopy(encoded.get(i), 0, arena, offsets[id], encoded.get(i).length);
+        id++;
+      }
+    }
+    return new BiGGIdCatalog(table, arena, Arrays.copyOf(offsets, count + 1), loadTimeMillis);
+  }
+
+
+  public boolean contains(String id) {
+    if (id == null) {
+      return false;
+    }
+    byte[] key = id.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int cmp = Arrays.compareUnsigned(arena, offsets[middle], offsets[middle + 1], key, 0, key.length);
+      if (cmp < 0) {
+        low = middle + 1;
+      } else if (cmp > 0) {
+        high = middle - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+
+  public String getTable() {
+    return table;
+  }
+
+
+  /**
+   * @return The number of distinct IDs.
+   */
+  public int size() {
+    return offsets.length - 1;
+  }
+
+
+  /**
+   * @return The number of bytes taken by the ID bytes and offsets, not counting the object headers.
+   */
+  public long getMemoryBytes() {
+    return arena.length + 4L * offsets.length;
+  }
+
+
+  public long getLoadTimeMillis() {
+    return loadTimeMillis;
+  }
+
+
+  @Override
+  public String toString() {
+    return "BiGGIdCatalog{" +
+      "table='" + table + '\'' +
+      ", size=" + size() +
+      ", memoryBytes=" + getMemoryBytes() +
+      ", loadTimeMillis=" + loadTimeMillis +
+      '}';
+  }
+}
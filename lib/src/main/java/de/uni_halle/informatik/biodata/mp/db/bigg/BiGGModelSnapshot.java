@@ -0,0 +1,593 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB.ForeignReaction;
+import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only view of the BiGG database for the annotation of a single model.
+ * <p>
+ * The per-element lookups of the annotators (names, resources, formulas, charges, gene reaction rules, subsystems,
+ * gene identifiers and names) are fetched up front for all IDs of the model with one set-based query per lookup
+ * type, instead of one round trip per element. Lookups for IDs that were prefetched are answered from memory with
+ * exactly the same results the underlying {@link IQueryBiGG} would return; all other lookups are delegated to it.
+ * <p>
+ * A snapshot belongs to one model and is meant to be used by a single annotation run. It may be read by several
+ * threads at once, also while it is being filled: the prefetched results are held in concurrent maps, and an ID is
+ * only marked as prefetched once all its results have been stored.
+ */
+public class BiGGModelSnapshot implements IQueryBiGG {
+
+  private static final Logger logger = LoggerFactory.getLogger(BiGGModelSnapshot.class);
+
+  private final IQueryBiGG source;
+  private final String modelId;
+  private final boolean includeAnyURI;
+  private final boolean isBiGGModel;
+
+  private final Set<String> metabolites = ConcurrentHashMap.newKeySet();
+  private final Map<String, String> componentNames = new ConcurrentHashMap<>();
+  private final Map<String, Set<IdentifiersOrgURI>> componentResources = new ConcurrentHashMap<>();
+  private final Map<String, ComponentChemistry> chemistries = new ConcurrentHashMap<>();
+  private final Set<CompartmentalizedComponent> compartmentalizedComponents = ConcurrentHashMap.newKeySet();
+  private final Map<CompartmentalizedComponent, ComponentChemistry> chemistriesByCompartment = new ConcurrentHashMap<>();
+
+  private final Set<String> reactions = ConcurrentHashMap.newKeySet();
+  private final Map<String, String> reactionNames = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> pseudoreactions = new ConcurrentHashMap<>();
+  private final Map<String, Set<IdentifiersOrgURI>> reactionResources = new ConcurrentHashMap<>();
+  private final Map<String, List<String>> geneReactionRules = new ConcurrentHashMap<>();
+  private final Map<String, List<String>> subsystems = new ConcurrentHashMap<>();
+
+  private final Set<String> genes = ConcurrentHashMap.newKeySet();
+  private final Map<String, GeneReferences> geneReferences = new ConcurrentHashMap<>();
+
+
+  /**
+   * @param source The database all queries are sent to.
+   * @param modelId The ID of the model that is going to be annotated.
+   * @param includeAnyURI Whether resources are prefetched including non-identifiers.org URIs, cf.
+   *                      {@link IQueryBiGG#getResources(BiGGId, boolean, boolean)}.
+   */
+  public BiGGModelSnapshot(IQueryBiGG source, String modelId, boolean includeAnyURI) throws SQLException {
+    this.source = source;
+    this.modelId = modelId;
+    this.includeAnyURI = includeAnyURI;
+    this.isBiGGModel = modelId != null && source.isModel(modelId);
+  }
+
+
+  /**
+   * Fetches names, resources, chemical formulas and charges of the given metabolites, where the formulas and charges
+   * are fetched together, see {@link IQueryBiGG#getChemistry(Collection, String)}.
+   *
+   * @param metaboliteIds The BiGG IDs of the species of the model.
+   */
+  public void prefetchMetabolites(Collection<BiGGId> metaboliteIds) throws SQLException {
+    long start = System.currentTimeMillis();
+    List<String> abbreviations = metaboliteIds.stream().map(BiGGId::getAbbreviation)
+      .filter(Objects::nonNull).distinct().toList();
+    List<CompartmentalizedComponent> components = metaboliteIds.stream()
+      .filter(id -> id.getAbbreviation() != null && id.isSetCompartmentCode())
+      .map(id -> new CompartmentalizedComponent(id.getAbbreviation(), id.getCompartmentCode()))
+      .distinct().toList();
+
+    putAll(componentNames, source.getComponentName(abbreviations));
+    putAll(componentResources, source.getResources(abbreviations, includeAnyURI, false));
+    if (isBiGGModel) {
+      putAll(chemistries, source.getChemistry(abbreviations, modelId));
+    }
+    putAll(chemistriesByCompartment, source.getChemistryByCompartment(components));
+    metabolites.addAll(abbreviations);
+    compartmentalizedComponents.addAll(components);
+    logger.debug("Prefetched {} metabolites of model {} in {} ms", abbreviations.size(), modelId,
+      System.currentTimeMillis() - start);
+  }
+
+
+  /**
+   * Fetches names, pseudoreaction flags, resources, gene reaction rules and subsystems of the given reactions.
+   *
+   * @param reactionIds The BiGG IDs of the reactions of the model.
+   */
+  public void prefetchReactions(Collection<BiGGId> reactionIds) throws SQLException {
+    long start = System.currentTimeMillis();
+    List<String> abbreviations = reactionIds.stream().map(BiGGId::getAbbreviation)
+      .filter(Objects::nonNull).distinct().toList();
+
+    putAll(reactionNames, source.getReactionName(abbreviations));
+    putAll(pseudoreactions, source.isPseudoreaction(abbreviations));
+    putAll(reactionResources, source.getResources(abbreviations, includeAnyURI, true));
+    if (isBiGGModel) {
+      putAll(geneReactionRules, source.getGeneReactionRule(abbreviations, modelId));
+      putAll(subsystems, source.getSubsystems(modelId, abbreviations));
+    } else {
+      putAll(subsystems, source.getSubsystemsForReaction(abbreviations));
+    }
+    reactions.addAll(abbreviations);
+    logger.debug("Prefetched {} reactions of model {} in {} ms", abbreviations.size(), modelId,
+      System.currentTimeMillis() - start);
+  }
+
+
+  /**
+   * Fetches identifiers and names of the given genes together in a single pass, see
+   * {@link IQueryBiGG#getGeneReferences(Collection)}.
+   *
+   * @param geneIds The BiGG IDs of the gene products of the model, as used to look up their identifiers.
+   * @param labels The labels of the gene products, as used to look up their names.
+   */
+  public void prefetchGeneProducts(Collection<BiGGId> geneIds, Collection<String> labels) throws SQLException {
+    long start = System.currentTimeMillis();
+    List<String> abbreviations = geneIds.stream().map(BiGGId::getAbbreviation)
+      .filter(Objects::nonNull).distinct().toList();
+    Set<String> keys = new LinkedHashSet<>(abbreviations);
+    labels.stream().filter(Objects::nonNull).forEach(keys::add);
+
+    putAll(geneReferences, source.getGeneReferences(keys));
+    genes.addAll(keys);
+    logger.debug("Prefetched {} gene products of model {} in {} ms", abbreviations.size(), modelId,
+      System.currentTimeMillis() - start);
+  }
+
+
+  /**
+   * Stores the results of a batch lookup, where IDs without a value are treated like IDs not found, as concurrent
+   * maps cannot hold them.
+   */
+  private static <K, V> void putAll(Map<K, V> target, Map<K, V> results) {
+    results.forEach((key, value) -> {
+      if (key != null && value != null) {
+        target.put(key, value);
+      }
+    });
+  }
+
+
+  private boolean isThisModel(String modelId) {
+    return this.modelId != null && this.modelId.equals(modelId);
+  }
+
+
+  @Override
+  public Optional<Date> getBiGGVersion() throws SQLException {
+    return source.getBiGGVersion();
+  }
+
+
+  @Override
+  public List<String> getSubsystems(String modelBiGGid, String reactionBiGGid) throws SQLException {
+    if (isBiGGModel && isThisModel(modelBiGGid) && reactions.contains(reactionBiGGid)) {
+      return new ArrayList<>(subsystems.getOrDefault(reactionBiGGid, List.of()));
+    }
+    return source.getSubsystems(modelBiGGid, reactionBiGGid);
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystems(String modelBiGGid, Collection<String> reactionBiGGids) throws SQLException {
+    return source.getSubsystems(modelBiGGid, reactionBiGGids);
+  }
+
+
+  @Override
+  public List<String> getSubsystemsForReaction(String reactionBiGGid) throws SQLException {
+    if (!isBiGGModel && reactions.contains(reactionBiGGid)) {
+      return new ArrayList<>(subsystems.getOrDefault(reactionBiGGid, List.of()));
+    }
+    return source.getSubsystemsForReaction(reactionBiGGid);
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystemsForReaction(Collection<String> reactionBiGGids) throws SQLException {
+    return source.getSubsystemsForReaction(reactionBiGGids);
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormulaByCompartment(String componentId, String compartmentId) throws SQLException {
+    var key = new CompartmentalizedComponent(componentId, compartmentId);
+    if (compartmentalizedComponents.contains(key)) {
+      return chemistriesByCompartment.getOrDefault(key, ComponentChemistry.EMPTY).formula();
+    }
+    return source.getChemicalFormulaByCompartment(componentId, compartmentId);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, String> getChemicalFormulaByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    return source.getChemicalFormulaByCompartment(components);
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormula(String componentId, String modelId) throws SQLException {
+    if (isBiGGModel && isThisModel(modelId) && metabolites.contains(componentId)) {
+      return chemistries.getOrDefault(componentId, ComponentChemistry.EMPTY).formula();
+    }
+    return source.getChemicalFormula(componentId, modelId);
+  }
+
+
+  @Override
+  public Map<String, String> getChemicalFormula(Collection<String> componentIds, String modelId) throws SQLException {
+    return source.getChemicalFormula(componentIds, modelId);
+  }
+
+
+  @Override
+  public Optional<String> getCompartmentName(BiGGId biggId) throws SQLException {
+    return source.getCompartmentName(biggId);
+  }
+
+
+  @Override
+  public Map<String, String> getCompartmentName(Collection<String> abbreviations) throws SQLException {
+    return source.getCompartmentName(abbreviations);
+  }
+
+
+  @Override
+  public Optional<String> getComponentName(BiGGId biggId) throws SQLException {
+    if (metabolites.contains(biggId.getAbbreviation())) {
+      return Optional.ofNullable(componentNames.get(biggId.getAbbreviation()));
+    }
+    return source.getComponentName(biggId);
+  }
+
+
+  @Override
+  public Map<String, String> getComponentName(Collection<String> abbreviations) throws SQLException {
+    return source.getComponentName(abbreviations);
+  }
+
+
+  @Override
+  public Optional<String> getComponentType(BiGGId biggId) throws SQLException {
+    return source.getComponentType(biggId);
+  }
+
+
+  @Override
+  public Map<String, String> getComponentType(Collection<String> abbreviations) throws SQLException {
+    return source.getComponentType(abbreviations);
+  }
+
+
+  @Override
+  public TreeSet<IdentifiersOrgURI> getGeneIds(String label) throws SQLException {
+    if (genes.contains(label)) {
+      return new TreeSet<>(geneReferences.getOrDefault(label, GeneReferences.EMPTY).ids());
+    }
+    return source.getGeneIds(label);
+  }
+
+
+  @Override
+  public Map<String, TreeSet<IdentifiersOrgURI>> getGeneIds(Collection<String> labels) throws SQLException {
+    return source.getGeneIds(labels);
+  }
+
+
+  @Override
+  public Optional<String> getGeneName(String label) throws SQLException {
+    if (genes.contains(label)) {
+      return geneReferences.getOrDefault(label, GeneReferences.EMPTY).name();
+    }
+    return source.getGeneName(label);
+  }
+
+
+  @Override
+  public Map<String, String> getGeneName(Collection<String> labels) throws SQLException {
+    return source.getGeneName(labels);
+  }
+
+
+  @Override
+  public GeneReferences getGeneReferences(String label) throws SQLException {
+    if (genes.contains(label)) {
+      return geneReferences.getOrDefault(label, GeneReferences.EMPTY);
+    }
+    return source.getGeneReferences(label);
+  }
+
+
+  @Override
+  public Map<String, GeneReferences> getGeneReferences(Collection<String> labels) throws SQLException {
+    Map<String, GeneReferences> results = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (String label : labels) {
+      if (genes.contains(label)) {
+        Optional.ofNullable(geneReferences.get(label)).ifPresent(references -> results.put(label, references));
+      } else {
+        missing.add(label);
+      }
+    }
+    if (!missing.isEmpty()) {
+      putAll(results, source.getGeneReferences(missing));
+    }
+    return results;
+  }
+
+
+  @Override
+  public List<String> getGeneReactionRule(String reactionId, String modelId) throws SQLException {
+    if (isThisModel(modelId) && reactions.contains(reactionId)) {
+      return new ArrayList<>(geneReactionRules.getOrDefault(reactionId, List.of()));
+    }
+    return source.getGeneReactionRule(reactionId, modelId);
+  }
+
+
+  @Override
+  public Map<String, List<String>> getGeneReactionRule(Collection<String> reactionIds, String modelId) throws SQLException {
+    return source.getGeneReactionRule(reactionIds, modelId);
+  }
+
+
+  @Override
+  public Optional<String> getOrganism(String abbreviation) throws SQLException {
+    return source.getOrganism(abbreviation);
+  }
+
+
+  @Override
+  public Map<String, String> getOrganism(Collection<String> abbreviations) throws SQLException {
+    return source.getOrganism(abbreviations);
+  }
+
+
+  @Override
+  public List<Publication> getPublications(String abbreviation) throws SQLException {
+    return source.getPublications(abbreviation);
+  }
+
+
+  @Override
+  public Map<String, List<Publication>> getPublications(Collection<String> abbreviations) throws SQLException {
+    return source.getPublications(abbreviations);
+  }
+
+
+  @Override
+  public Optional<String> getReactionName(String abbreviation) throws SQLException {
+    if (reactions.contains(abbreviation)) {
+      return Optional.ofNullable(reactionNames.get(abbreviation));
+    }
+    return source.getReactionName(abbreviation);
+  }
+
+
+  @Override
+  public Map<String, String> getReactionName(Collection<String> abbreviations) throws SQLException {
+    return source.getReactionName(abbreviations);
+  }
+
+
+  @Override
+  public Set<IdentifiersOrgURI> getResources(BiGGId biggId, boolean includeAnyURI, boolean isReaction) throws SQLException {
+    String abbreviation = biggId.getAbbreviation();
+    if (includeAnyURI == this.includeAnyURI) {
+      if (isReaction && reactions.contains(abbreviation)) {
+        return new TreeSet<>(reactionResources.getOrDefault(abbreviation, Set.of()));
+      } else if (!isReaction && metabolites.contains(abbreviation)) {
+        return new TreeSet<>(componentResources.getOrDefault(abbreviation, Set.of()));
+      }
+    }
+    return source.getResources(biggId, includeAnyURI, isReaction);
+  }
+
+
+  @Override
+  public Map<String, Set<IdentifiersOrgURI>> getResources(Collection<String> abbreviations, boolean includeAnyURI,
+                                                          boolean isReaction) throws SQLException {
+    return source.getResources(abbreviations, includeAnyURI, isReaction);
+  }
+
+
+  @Override
+  public Optional<Integer> getTaxonId(String abbreviation) throws SQLException {
+    return source.getTaxonId(abbreviation);
+  }
+
+
+  @Override
+  public Map<String, Integer> getTaxonId(Collection<String> abbreviations) throws SQLException {
+    return source.getTaxonId(abbreviations);
+  }
+
+
+  @Override
+  public String getGenomeAccesion(String id) throws SQLException {
+    return source.getGenomeAccesion(id);
+  }
+
+
+  @Override
+  public Map<String, String> getGenomeAccesion(Collection<String> ids) throws SQLException {
+    return source.getGenomeAccesion(ids);
+  }
+
+
+  @Override
+  public Set<String> getAllBiggIds(String table) throws SQLException {
+    return source.getAllBiggIds(table);
+  }
+
+
+  @Override
+  public Optional<Integer> getChargeByCompartment(String componentId, String compartmentId) throws SQLException {
+    var key = new CompartmentalizedComponent(componentId, compartmentId);
+    if (compartmentalizedComponents.contains(key)) {
+      return chemistriesByCompartment.getOrDefault(key, ComponentChemistry.EMPTY).charge();
+    }
+    return source.getChargeByCompartment(componentId, compartmentId);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, Integer> getChargeByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    return source.getChargeByCompartment(components);
+  }
+
+
+  @Override
+  public Optional<Integer> getCharge(String componentId, String modelId) throws SQLException {
+    if (isBiGGModel && isThisModel(modelId) && metabolites.contains(componentId)) {
+      return chemistries.getOrDefault(componentId, ComponentChemistry.EMPTY).charge();
+    }
+    return source.getCharge(componentId, modelId);
+  }
+
+
+  @Override
+  public Map<String, Integer> getCharge(Collection<String> componentIds, String modelId) throws SQLException {
+    return source.getCharge(componentIds, modelId);
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistry(String componentId, String modelId) throws SQLException {
+    if (isBiGGModel && isThisModel(modelId) && metabolites.contains(componentId)) {
+      return chemistries.getOrDefault(componentId, ComponentChemistry.EMPTY);
+    }
+    return source.getChemistry(componentId, modelId);
+  }
+
+
+  /**
+   * Answers the prefetched components from memory and queries the others in one batch.
+   */
+  @Override
+  public Map<String, ComponentChemistry> getChemistry(Collection<String> componentIds, String modelId) throws SQLException {
+    if (!isBiGGModel || !isThisModel(modelId)) {
+      return source.getChemistry(componentIds, modelId);
+    }
+    Map<String, ComponentChemistry> results = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (String componentId : componentIds) {
+      if (metabolites.contains(componentId)) {
+        Optional.ofNullable(chemistries.get(componentId)).ifPresent(chemistry -> results.put(componentId, chemistry));
+      } else {
+        missing.add(componentId);
+      }
+    }
+    if (!missing.isEmpty()) {
+      putAll(results, source.getChemistry(missing, modelId));
+    }
+    return results;
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistryByCompartment(String componentId, String compartmentId) throws SQLException {
+    var key = new CompartmentalizedComponent(componentId, compartmentId);
+    if (compartmentalizedComponents.contains(key)) {
+      return chemistriesByCompartment.getOrDefault(key, ComponentChemistry.EMPTY);
+    }
+    return source.getChemistryByCompartment(componentId, compartmentId);
+  }
+
+
+  /**
+   * Answers the prefetched components from memory and queries the others in one batch.
+   */
+  @Override
+  public Map<CompartmentalizedComponent, ComponentChemistry> getChemistryByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    Map<CompartmentalizedComponent, ComponentChemistry> results = new HashMap<>();
+    List<CompartmentalizedComponent> missing = new ArrayList<>();
+    for (var component : components) {
+      if (compartmentalizedComponents.contains(component)) {
+        Optional.ofNullable(chemistriesByCompartment.get(component))
+          .ifPresent(chemistry -> results.put(component, chemistry));
+      } else {
+        missing.add(component);
+      }
+    }
+    if (!missing.isEmpty()) {
+      putAll(results, source.getChemistryByCompartment(missing));
+    }
+    return results;
+  }
+
+
+  @Override
+  public boolean isPseudoreaction(String reactionId) throws SQLException {
+    if (reactions.contains(reactionId)) {
+      return pseudoreactions.getOrDefault(reactionId, false);
+    }
+    return source.isPseudoreaction(reactionId);
+  }
+
+
+  @Override
+  public Map<String, Boolean> isPseudoreaction(Collection<String> reactionIds) throws SQLException {
+    return source.isPseudoreaction(reactionIds);
+  }
+
+
+  @Override
+  public Optional<BiGGId> getBiggIdFromSynonym(String dataSourceId, String synonym, String type) throws SQLException {
+    return source.getBiggIdFromSynonym(dataSourceId, synonym, type);
+  }
+
+
+  @Override
+  public <T extends RegistryURI> Map<T, BiGGId> getBiggIdFromSynonym(Collection<T> uris, String type) throws SQLException {
+    return source.getBiggIdFromSynonym(uris, type);
+  }
+
+
+  @Override
+  public Collection<ForeignReaction> getBiggIdsForReactionForeignId(RegistryURI uri) throws SQLException {
+    return source.getBiggIdsForReactionForeignId(uri);
+  }
+
+
+  @Override
+  public <T extends RegistryURI> Map<T, Collection<ForeignReaction>> getBiggIdsForReactionForeignId(Collection<T> uris) throws SQLException {
+    return source.getBiggIdsForReactionForeignId(uris);
+  }
+
+
+  @Override
+  public boolean isCompartment(String id) throws SQLException {
+    return source.isCompartment(id);
+  }
+
+
+  @Override
+  public boolean isDataSource(String id) throws SQLException {
+    return source.isDataSource(id);
+  }
+
+
+  @Override
+  public boolean isMetabolite(String id) throws SQLException {
+    return source.isMetabolite(id);
+  }
+
+
+  @Override
+  public boolean isModel(String id) throws SQLException {
+    if (isThisModel(id)) {
+      return isBiGGModel;
+    }
+    return source.isModel(id);
+  }
+
+
+  @Override
+  public boolean isReaction(String id) throws SQLException {
+    return source.isReaction(id);
+  }
+}
@@ -0,0 +1,167 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.*;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Table.*;
+
+/**
+ * Installs materialized views on a BiGG database, which precompute exactly the projections some lookups of
+ * {@link BiGGDB} read, along with indexes matching the lookups. {@link BiGGDB} uses a view instead of the query over
+ * the original tables whenever the view exists.
+ * <p>
+ * The views are needed because several of these queries cannot use any index: the resources are filtered on a cast of
+ * the synonym type and on a {@code LIKE} pattern, the gene reaction rules are rewritten row by row, and the foreign
+ * reactions join five tables. The views hold the same rows the queries return, so the lookups answer exactly as
+ * before. As they are not updated automatically, {@link #install()} has to be run again after the BiGG data has
+ * changed. Each view is commented with the {@code database_version} it was built from, and {@link BiGGDB} ignores
+ * views built from another version.
+ * <p>
+ * This requires a connection which is not read-only and a user who may create views in the database.
+ */
+public class BiGGSchemaOptimizer {
+
+  private static final Logger logger = LoggerFactory.getLogger(BiGGSchemaOptimizer.class);
+
+  /**
+   * The gene reaction rule of {@code mr}, with the operators and characters replaced as required by SBML.
+   */
+  static final String FORMATTED_GENE_REACTION_RULE = "REPLACE(REPLACE(RTRIM(REPLACE(REPLACE(mr." + GENE_REACTION_RULE
+    + ", 'or', '||'), 'and', '&&'), '.'), '.', '__SBML_DOT__'), '_AT', '__SBML_DOT__')";
+
+  /**
+   * The version of the BiGG data, as recorded in the comment of each view.
+   */
+  static final String VERSION_QUERY = "SELECT CAST(MAX(" + DATE_TIME + ") AS TEXT) FROM " + DATABASE_VERSION;
+
+  /**
+   * Appended to the names of the views while they are built, until they replace the previous ones.
+   */
+  private static final String BUILDING_SUFFIX = "_building";
+
+  /**
+   * @param name       The name of the view.
+   * @param definition The query the view holds the result of.
+   * @param index      The columns of the index on the view.
+   */
+  record View(String name, String definition, String index) {
+  }
+
+  static final List<View> VIEWS = List.of(
+    new View(MP_RESOURCE,
+      resourcesDefinition(true) + " UNION ALL " + resourcesDefinition(false),
+      KIND + ", " + BIGG_ID),
+    new View(MP_GENE_REACTION_RULE,
+      "SELECT m." + BIGG_ID + " AS " + MODEL_BIGG_ID + ", r." + BIGG_ID + " AS " + REACTION_BIGG_ID + ", "
+        + FORMATTED_GENE_REACTION_RULE + " AS " + GENE_REACTION_RULE + ", mr." + ID + " AS " + POSITION + " FROM "
+        + MODEL_REACTION + " mr, " + REACTION + " r, " + MODEL + " m WHERE r." + ID + " = mr." + REACTION_ID
+        + " AND m." + ID + " = mr." + MODEL_ID + " AND mr." + GENE_REACTION_RULE + " IS NOT NULL AND LENGTH(mr."
+        + GENE_REACTION_RULE + ") > 0 AND mr." + GENE_REACTION_RULE + " <> ''",
+      MODEL_BIGG_ID + ", " + REACTION_BIGG_ID + ", " + POSITION),
+    new View(MP_FOREIGN_REACTION,
+      "SELECT DISTINCT d." + BIGG_ID + " AS " + DATA_SOURCE_BIGG_ID + ", s." + SYNONYM_COL + ", r." + BIGG_ID + " AS "
+        + REACTION_BIGG_ID + ", c." + BIGG_ID + " AS " + COMPARTMENT_BIGG_ID + ", c." + NAME + " AS "
+        + COMPARTMENT_NAME + " FROM " + SYNONYM + " s JOIN " + DATA_SOURCE + " d ON s." + DATA_SOURCE_ID + " = d."
+        + ID + " JOIN " + REACTION + " r ON r." + ID + " = s." + OME_ID + " LEFT JOIN " + REACTION_MATRIX + " rm ON rm."
+        + REACTION_ID + " = r." + ID + " LEFT JOIN " + COMPARTMENTALIZED_COMPONENT + " cc ON rm."
+        + COMPARTMENTALIZED_COMPONENT_ID + " = cc." + ID + " LEFT JOIN " + COMPARTMENT + " c ON cc." + COMPARTMENT_ID
+        + " = c." + ID,
+      SYNONYM_COL + ", " + DATA_SOURCE_BIGG_ID));
+
+  private final PostgresConnectionPool connectionPool;
+
+
+  /**
+   * @param connectionPool A pool whose connections are not read-only.
+   */
+  public BiGGSchemaOptimizer(PostgresConnectionPool connectionPool) {
+    this.connectionPool = connectionPool;
+  }
+
+
+  /**
+   * Creates or recreates all views and their indexes. The views are built under temporary names first, while the
+   * previous ones are still in use, and then renamed in one short transaction, so that concurrent annotation runs
+   * either see the old views or the new ones.
+   */
+  public void install() throws SQLException {
+    long start = System.currentTimeMillis();
+    try (Connection connection = connectionPool.getConnection("installSchemaOptimizations");
+         Statement statement = connection.createStatement()) {
+      String version = version(statement).map(v -> "'" + v.replace("'", "''") + "'").orElse("NULL");
+      for (View view : VIEWS) {
+        String building = view.name() + BUILDING_SUFFIX;
+        logger.info("Creating materialized view {}", view.name());
+        statement.execute("DROP MATERIALIZED VIEW IF EXISTS " + building);
+        statement.execute("CREATE MATERIALIZED VIEW " + building + " AS " + view.definition());
+        statement.execute("CREATE INDEX " + building + "_idx ON " + building + " (" + view.index() + ")");
+        statement.execute("COMMENT ON MATERIALIZED VIEW " + building + " IS " + version);
+        statement.execute("ANALYZE " + building);
+      }
+      connection.setAutoCommit(false);
+      try {
+        for (View view : VIEWS) {
+          String building = view.name() + BUILDING_SUFFIX;
+          statement.execute("DROP MATERIALIZED VIEW IF EXISTS " + view.name());
+          statement.execute("ALTER MATERIALIZED VIEW " + building + " RENAME TO " + view.name());
+          statement.execute("ALTER INDEX " + building + "_idx RENAME TO " + view.name() + "_idx");
+        }
+        connection.commit();
+      } catch (SQLException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        connection.setAutoCommit(true);
+      }
+    }
+    BiGGDB.refreshMaterializedViews();
+    logger.info("Installed {} materialized views in {} s", VIEWS.size(), (System.currentTimeMillis() - start) / 1000);
+  }
+
+
+  /**
+   * Drops all views, so that {@link BiGGDB} queries the original tables again.
+   */
+  public void uninstall() throws SQLException {
+    try (Connection connection = connectionPool.getConnection("uninstallSchemaOptimizations");
+         Statement statement = connection.createStatement()) {
+      for (View view : VIEWS) {
+        logger.info("Dropping materialized view {}", view.name());
+        statement.execute("DROP MATERIALIZED VIEW IF EXISTS " + view.name());
+      }
+    }
+    BiGGDB.refreshMaterializedViews();
+  }
+
+
+  /**
+   * @return The version of the BiGG data, if the database has one.
+   */
+  private static Optional<String> version(Statement statement) throws SQLException {
+    try (ResultSet resultSet = statement.executeQuery(VERSION_QUERY)) {
+      return resultSet.next() ? Optional.ofNullable(resultSet.getString(1)) : Optional.empty();
+    }
+  }
+
+
+  /**
+   * @return The resources of all reactions or components, as selected by
+   *         {@link BiGGDB#getResources(BiGGId, boolean, boolean)}, with a flag whether they belong to identifiers.org.
+   */
+  private static String resourcesDefinition(boolean isReaction) {
+    String type = isReaction ? REACTION : COMPONENT;
+    return "SELECT '" + type + "' AS " + KIND + ", t." + BIGG_ID + ", CONCAT(" + URL_PREFIX + ", s." + SYNONYM_COL
+      + ") AS " + URL + ", " + URL_PREFIX + " LIKE '%identifiers.org%' AS " + IDENTIFIERS_ORG + " FROM " + type + " t, "
+      + SYNONYM + " s, " + DATA_SOURCE + " d WHERE t." + ID + " = s." + OME_ID + " AND s." + DATA_SOURCE_ID + " = d."
+      + ID + " AND " + URL_PREFIX + " IS NOT NULL AND " + BiGGDB.getTypeQuery(isReaction);
+  }
+}
@@ -0,0 +1,190 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Column.*;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.*;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.Table.*;
+
+/**
+ * Exports everything {@link BiGGDB} queries during annotation into a {@link BiGGSnapshotFile}, which can then be
+ * used through {@link OfflineBiGGDB} without a connection to the database.
+ * <p>
+ * Rather than copying the tables verbatim, every section holds the result of one lookup of {@link BiGGDB} for all
+ * keys at once, i.e. the joins over the tables are resolved during the export. The ambiguity rules of the lookups
+ * are still applied when reading, so the snapshot answers exactly like the database it was exported from.
+ */
+public class BiGGSnapshotExporter {
+
+  private static final Logger logger = LoggerFactory.getLogger(BiGGSnapshotExporter.class);
+
+  static final String IDS = "ids.";
+  static final String COMPARTMENT_NAME = "compartment.name";
+  static final String COMPONENT_NAME = "component.name";
+  static final String COMPONENT_TYPE = "component.type";
+  static final String COMPONENT_RESOURCES = "component.resources";
+  static final String FORMULA_BY_MODEL = "formula.model";
+  static final String FORMULA_BY_COMPARTMENT = "formula.compartment";
+  static final String CHARGE_BY_MODEL = "charge.model";
+  static final String CHARGE_BY_COMPARTMENT = "charge.compartment";
+  static final String REACTION_NAME = "reaction.name";
+  static final String REACTION_PSEUDO = "reaction.pseudoreaction";
+  static final String REACTION_RESOURCES = "reaction.resources";
+  static final String REACTION_RULES = "reaction.rules";
+  static final String SUBSYSTEMS_BY_MODEL = "subsystems.model";
+  static final String SUBSYSTEMS = "subsystems";
+  static final String GENE_IDS = "gene.ids";
+  static final String GENE_NAME = "gene.name";
+  static final String MODEL_ORGANISM = "model.organism";
+  static final String MODEL_TAXON = "model.taxon";
+  static final String MODEL_ACCESSION = "model.accession";
+  static final String MODEL_PUBLICATIONS = "model.publications";
+  static final String SYNONYM_PREFIX = "synonym.";
+  static final String FOREIGN_REACTIONS = "reaction.foreign";
+
+  /**
+   * The tables for which {@link BiGGDB#getAllBiggIds(String)} and thereby the {@code is*} checks are supported.
+   */
+  static final String[] ID_TABLES = {COMPARTMENT, DATA_SOURCE, COMPONENT, MODEL, REACTION};
+
+  private final BiGGDB bigg;
+
+
+  public BiGGSnapshotExporter(BiGGDB bigg) {
+    this.bigg = bigg;
+  }
+
+
+  /**
+   * Writes the snapshot file, replacing the file if it exists.
+   *
+   * @param file The file to be written.
+   */
+  public void export(Path file) throws SQLException, IOException {
+    long start = System.currentTimeMillis();
+    String version = bigg.getBiGGVersion().map(Object::toString).orElse("");
+    try (var writer = new BiGGSnapshotFile.Writer(file, version)) {
+      for (String table : ID_TABLES) {
+        section(writer, IDS + table, 1, 0, true,
+          "SELECT " + BIGG_ID + " FROM " + table + " ORDER BY " + c(BIGG_ID));
+      }
+      section(writer, COMPARTMENT_NAME, 1, 1, true,
+        "SELECT " + BIGG_ID + ", " + NAME + " FROM " + COMPARTMENT + " WHERE " + NAME + " <> '' ORDER BY " + c(BIGG_ID));
+      section(writer, COMPONENT_NAME, 1, 1, true,
+        "SELECT " + BIGG_ID + ", " + NAME + " FROM " + COMPONENT + " WHERE " + NAME + " <> '' ORDER BY " + c(BIGG_ID));
+      section(writer, COMPONENT_TYPE, 1, 1, true,
+        "SELECT " + BIGG_ID + ", " + TYPE + " FROM " + COMPONENT + " WHERE " + NAME + " <> '' ORDER BY " + c(BIGG_ID));
+      section(writer, COMPONENT_RESOURCES, 1, 2, true, resourcesQuery(false));
+      section(writer, FORMULA_BY_MODEL, 2, 1, true,
+        "SELECT c." + BIGG_ID + ", m." + BIGG_ID + ", mcc." + FORMULA + " FROM " + COMPONENT + " c, "
+          + COMPARTMENTALIZED_COMPONENT + " cc, " + MODEL + " m, " + MCC + " mcc WHERE c." + ID + " = cc." + COMPONENT_ID
+          + " AND cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND m." + ID + " = mcc." + MODEL_ID
+          + " AND mcc." + FORMULA + " <> '' ORDER BY " + c("c." + BIGG_ID) + ", " + c("m." + BIGG_ID));
+      section(writer, FORMULA_BY_COMPARTMENT, 2, 1, true,
+        "SELECT c." + BIGG_ID + ", co." + BIGG_ID + ", mcc." + FORMULA + " FROM " + MCC + " mcc, "
+          + COMPARTMENTALIZED_COMPONENT + " cc, " + COMPONENT + " c, " + COMPARTMENT + " co WHERE c." + ID + " = cc."
+          + COMPONENT_ID + " AND co." + ID + " = cc." + COMPARTMENT_ID + " AND cc." + ID + " = mcc."
+          + COMPARTMENTALIZED_COMPONENT_ID + " AND mcc." + FORMULA + " <> '' ORDER BY " + c("c." + BIGG_ID) + ", "
+          + c("co." + BIGG_ID));
+      section(writer, CHARGE_BY_MODEL, 2, 1, true,
+        "SELECT c." + BIGG_ID + ", m." + BIGG_ID + ", mcc." + CHARGE + " FROM " + COMPONENT + " c, "
+          + COMPARTMENTALIZED_COMPONENT + " cc, " + MODEL + " m, " + MCC + " mcc WHERE c." + ID + " = cc." + COMPONENT_ID
+          + " AND cc." + ID + " = mcc." + COMPARTMENTALIZED_COMPONENT_ID + " AND m." + ID + " = mcc." + MODEL_ID
+          + " AND mcc." + CHARGE + " IS NOT NULL ORDER BY " + c("c." + BIGG_ID) + ", " + c("m." + BIGG_ID));
+      section(writer, CHARGE_BY_COMPARTMENT, 2, 1, true,
+        "SELECT c." + BIGG_ID + ", co." + BIGG_ID + ", mcc." + CHARGE + " FROM " + MCC + " mcc, "
+          + COMPARTMENTALIZED_COMPONENT + " cc, " + COMPONENT + " c, " + COMPARTMENT + " co WHERE c." + ID + " = cc."
+          + COMPONENT_ID + " AND co." + ID + " = cc." + COMPARTMENT_ID + " AND cc." + ID + " = mcc."
+          + COMPARTMENTALIZED_COMPONENT_ID + " AND LENGTH(CAST(mcc." + CHARGE + " AS text)) > 0 ORDER BY "
+          + c("c." + BIGG_ID) + ", " + c("co." + BIGG_ID));
+      section(writer, REACTION_NAME, 1, 1, true,
+        "SELECT " + BIGG_ID + ", " + NAME + " FROM " + REACTION + " WHERE " + NAME + " <> '' ORDER BY " + c(BIGG_ID));
+      section(writer, REACTION_PSEUDO, 1, 1, true,
+        "SELECT " + BIGG_ID + ", " + PSEUDOREACTION + " FROM " + REACTION + " ORDER BY " + c(BIGG_ID));
+      section(writer, REACTION_RESOURCES, 1, 2, true, resourcesQuery(true));
+      section(writer, REACTION_RULES, 2, 1, false,
+        "SELECT r." + BIGG_ID + ", m." + BIGG_ID + ", " + BiGGSchemaOptimizer.FORMATTED_GENE_REACTION_RULE + " FROM "
+          + MODEL_REACTION + " mr, " + REACTION + " r, " + MODEL + " m WHERE r." + ID + " = mr." + REACTION_ID + " AND m." + ID + " = mr."
+          + MODEL_ID + " AND mr." + GENE_REACTION_RULE + " IS NOT NULL AND LENGTH(mr." + GENE_REACTION_RULE
+          + ") > 0 AND mr." + GENE_REACTION_RULE + " <> '' ORDER BY " + c("r." + BIGG_ID) + ", " + c("m." + BIGG_ID)
+          + ", mr." + ID);
+      section(writer, SUBSYSTEMS_BY_MODEL, 2, 1, true,
+        "SELECT r." + BIGG_ID + ", m." + BIGG_ID + ", mr." + SUBSYSTEM + " FROM " + REACTION + " r, " + MODEL + " m, "
+          + MODEL_REACTION + " mr WHERE m." + ID + " = mr." + MODEL_ID + " AND r." + ID + " = mr." + REACTION_ID
+          + " AND LENGTH(mr." + SUBSYSTEM + ") > 0 ORDER BY " + c("r." + BIGG_ID) + ", " + c("m." + BIGG_ID));
+      section(writer, SUBSYSTEMS, 1, 1, true,
+        "SELECT r." + BIGG_ID + ", mr." + SUBSYSTEM + " FROM " + REACTION + " r, " + MODEL_REACTION + " mr WHERE r."
+          + ID + " = mr." + REACTION_ID + " AND LENGTH(mr." + SUBSYSTEM + ") > 0 ORDER BY " + c("r." + BIGG_ID));
+      section(writer, GENE_IDS, 1, 2, true,
+        "SELECT gr." + BIGG_ID + ", " + URL_PREFIX + ", s." + SYNONYM + " FROM " + DATA_SOURCE + " d, " + SYNONYM
+          + " s, " + GENOME_REGION + " gr WHERE d." + ID + " = s." + DATA_SOURCE_ID + " AND s." + OME_ID + " = gr." + ID
+          + " AND d." + BIGG_ID + " != " + OLD_BIGG_ID + " AND d." + BIGG_ID + " NOT LIKE " + REFSEQ_PATTERN
+          + " ORDER BY " + c("gr." + BIGG_ID));
+      section(writer, GENE_NAME, 1, 1, true,
+        "SELECT gr." + BIGG_ID + ", s." + SYNONYM + " FROM " + DATA_SOURCE + " d, " + SYNONYM + " s, " + GENOME_REGION
+          + " gr WHERE d." + ID + " = s." + DATA_SOURCE_ID + " AND s." + OME_ID + " = gr." + ID + " AND d." + BIGG_ID
+          + " LIKE " + REFSEQ_NAME + " AND s." + SYNONYM_COL + " <> '' ORDER BY " + c("gr." + BIGG_ID));
+      section(writer, MODEL_ORGANISM, 1, 1, true,
+        "SELECT m." + BIGG_ID + ", g." + ORGANISM + " FROM " + GENOME + " g, " + MODEL + " m WHERE m." + GENOME_ID
+          + " = g." + ID + " ORDER BY " + c("m." + BIGG_ID));
+      section(writer, MODEL_TAXON, 1, 1, false,
+        "SELECT m." + BIGG_ID + ", " + TAXON_ID + " FROM " + GENOME + " g, " + MODEL + " m WHERE g." + ID + " = m."
+          + GENOME_ID + " AND " + TAXON_ID + " IS NOT NULL ORDER BY " + c("m." + BIGG_ID));
+      section(writer, MODEL_ACCESSION, 1, 1, false,
+        "SELECT m." + BIGG_ID + ", g." + ACCESSION_VALUE + " FROM " + GENOME + " g, " + MODEL + " m WHERE m."
+          + GENOME_ID + " = g." + ID + " ORDER BY " + c("m." + BIGG_ID));
+      section(writer, MODEL_PUBLICATIONS, 1, 2, false,
+        "SELECT m." + BIGG_ID + ", p." + REFERENCE_TYPE + ", p." + REFERENCE_ID + " FROM " + PUBLICATION + " p, "
+          + PUBLICATION_MODEL + " pm, " + MODEL + " m WHERE p." + ID + " = pm." + PUBLICATION_ID + " AND pm."
+          + MODEL_ID + " = m." + ID + " ORDER BY " + c("m." + BIGG_ID));
+      String synonymJoin = DATA_SOURCE + " d, " + SYNONYM + " s WHERE d." + ID + " = s." + DATA_SOURCE_ID + " AND s."
+        + OME_ID;
+      String synonymOrder = " ORDER BY " + c("d." + BIGG_ID) + ", " + c("s." + SYNONYM_COL);
+      section(writer, SYNONYM_PREFIX + TYPE_SPECIES, 2, 1, true,
+        "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", c." + BIGG_ID + " FROM " + COMPONENT + " c, " + synonymJoin
+          + " = c." + ID + synonymOrder);
+      section(writer, SYNONYM_PREFIX + TYPE_REACTION, 2, 1, true,
+        "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", r." + BIGG_ID + " FROM " + REACTION + " r, " + synonymJoin
+          + " = r." + ID + synonymOrder);
+      section(writer, SYNONYM_PREFIX + TYPE_GENE_PRODUCT, 2, 1, true,
+        "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", g." + LOCUS_TAG + " FROM " + GENE + " g, " + synonymJoin
+          + " = g." + ID + synonymOrder);
+      section(writer, FOREIGN_REACTIONS, 2, 3, true,
+        "SELECT d." + BIGG_ID + ", s." + SYNONYM_COL + ", r." + BIGG_ID + ", c." + BIGG_ID + ", c." + NAME + " FROM "
+          + REACTION + " r LEFT JOIN reaction_matrix rm ON rm." + REACTION_ID + " = r." + ID + " LEFT JOIN "
+          + COMPARTMENTALIZED_COMPONENT + " cc ON rm." + COMPARTMENTALIZED_COMPONENT_ID + " = cc." + ID + " LEFT JOIN "
+          + COMPARTMENT + " c ON cc." + COMPARTMENT_ID + " = c." + ID + " JOIN " + SYNONYM + " s ON r." + ID + " = s."
+          + OME_ID + " JOIN " + DATA_SOURCE + " d ON s." + DATA_SOURCE_ID + " = d." + ID + synonymOrder);
+    }
+    logger.info("Exported BiGG {} to {} in {} s", version, file, (System.currentTimeMillis() - start) / 1000);
+  }
+
+
+  private void section(BiGGSnapshotFile.Writer writer, String name, int keyFields, int valueFields, boolean distinct,
+                       String query) throws SQLException, IOException {
+    logger.debug("Exporting section {}", name);
+    var section = writer.section(name, keyFields, valueFields, distinct);
+    bigg.streamQuery("export " + name, query, section::add);
+    section.finish();
+  }
+
+
+  private static String resourcesQuery(boolean isReaction) {
+    return "SELECT t." + BIGG_ID + ", " + URL_PREFIX + ", s." + SYNONYM_COL + " FROM " + (isReaction ? REACTION : COMPONENT)
+      + " t, " + SYNONYM + " s, " + DATA_SOURCE + " d WHERE t." + ID + " = s." + OME_ID + " AND s." + DATA_SOURCE_ID
+      + " = d." + ID + " AND " + URL_PREFIX + " IS NOT NULL AND " + BiGGDB.getTypeQuery(isReaction) + " ORDER BY " + c("t." + BIGG_ID);
+  }
+
+
+  /**
+   * Byte-wise ordering of a column, as required by {@link BiGGSnapshotFile.Writer}.
+   */
+  private static String c(String column) {
+    return column + " COLLATE \"C\"";
+  }
+}
@@ -0,0 +1,414 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Read-only, memory-mapped file holding the parts of the BiGG database needed for annotation.
+ * <p>
+ * The file consists of named sections. Each section is a multimap from a (possibly composite) key to a list of values
+ * with a fixed number of fields, e.g. {@code (component, model) -> [formula]}. The records of a section are sorted by
+ * the UTF-8 bytes of their key and followed by an index of record offsets, so that a lookup is a binary search on the
+ * mapped file and does not require loading the file into the heap. Alternatively, {@link #load(Path)} reads the whole
+ * file into the heap, so that lookups never wait for the file system.
+ * <p>
+ * Layout, all numbers big-endian:
+ * <pre>
+ * header:    int magic, int format version, UTF BiGG database version
+ * sections:  records, each: key, int value count, value count * fields * (int length or -1 for null, UTF-8 bytes)
+ *            followed by one long offset per record
+ * directory: int section count, per section: UTF name, int key fields, int value fields, int record count,
+ *            long index offset
+ * trailer:   long directory offset
+ * </pre>
+ * Composite keys are stored as their fields joined by {@code '\0'}, which preserves the order of the field tuples.
+ * As a single mapping is used, files must not exceed 2 GB.
+ */
+public final class BiGGSnapshotFile implements Closeable {
+
+  static final int MAGIC = 0x4d504247;
+  static final int FORMAT_VERSION = 1;
+  private static final char KEY_SEPARATOR = '\0';
+
+  private final Closeable resource;
+  private final ByteBuffer buffer;
+  private final String biggVersion;
+  private final Map<String, Section> sections = new HashMap<>();
+
+  private record Section(int keyFields, int valueFields, int count, long index) {
+  }
+
+
+  private BiGGSnapshotFile(Closeable resource, ByteBuffer buffer) throws IOException {
+    this.resource = resource;
+    this.buffer = buffer;
+    if (buffer.limit() < 16 || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a BiGG snapshot file.");
+    }
+    int formatVersion = buffer.getInt(4);
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException(format("Unsupported BiGG snapshot format version {0}, expected {1}.",
+        formatVersion, FORMAT_VERSION));
+    }
+    biggVersion = readUTF(8);
+
+    var directory = buffer.duplicate().position((int) buffer.getLong(buffer.limit() - 8));
+    int sectionCount = directory.getInt();
+    for (int i = 0; i < sectionCount; i++) {
+      String name = readUTF(directory.position());
+      directory.position(directory.position() + 2 + (directory.getShort(directory.position()) & 0xffff));
+      sections.put(name, new Section(directory.getInt(), directory.getInt(), directory.getInt(), directory.getLong()));
+    }
+  }
+
+
+  /**
+   * Opens and maps the given snapshot file.
+   *
+   * @param file A file written by {@link BiGGSnapshotExporter}.
+   * @throws IOException If the file cannot be read or is not a snapshot file of the supported format version.
+   */
+  public static BiGGSnapshotFile open(Path file) throws IOException {
+    var channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(format("BiGG snapshot file exceeds the maximum size of {0} bytes.", Integer.MAX_VALUE));
+      }
+      return new BiGGSnapshotFile(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+
+  /**
+   * Reads the given snapshot file completely into the heap. Lookups then never touch the file system again, at the
+   * cost of holding the whole file in memory.
+   *
+   * @param file A file written by {@link BiGGSnapshotExporter}.
+   * @throws IOException If the file cannot be read or is not a snapshot file of the supported format version.
+   */
+  public static BiGGSnapshotFile load(Path file) throws IOException {
+    return new BiGGSnapshotFile(() -> {}, ByteBuffer.wrap(Files.readAllBytes(file)));
+  }
+
+
+  /**
+   * @return The version of the BiGG database the file was exported from, as given by its {@code database_version}
+   *         table, or an empty string if it has none.
+   */
+  public String getBiGGVersion() {
+    return biggVersion;
+  }
+
+
+  public boolean hasSection(String name) {
+    return sections.containsKey(name);
+  }
+
+
+  /**
+   * Looks up all values stored for a key.
+   *
+   * @param section The name of the section.
+   * @param key The fields of the key, their number has to match the section.
+   * @return The values in the order they were written, each as the array of its fields. Empty if the key is absent.
+   */
+  List<String[]> lookup(String section, String... key) {
+    var s = section(section);
+    if (key.length != s.keyFields() || Arrays.asList(key).contains(null)) {
+      return List.of();
+    }
+    byte[] target = joinKey(key).getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = s.count() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int record = recordOffset(s, mid);
+      int cmp = compareKey(record, target);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return readValues(s, record + 4 + buffer.getInt(record));
+      }
+    }
+    return List.of();
+  }
+
+
+  /**
+   * @return Whether the section contains the key.
+   */
+  boolean contains(String section, String... key) {
+    var s = section(section);
+    if (key.length != s.keyFields() || Arrays.asList(key).contains(null)) {
+      return false;
+    }
+    byte[] target = joinKey(key).getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = s.count() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compareKey(recordOffset(s, mid), target);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+
+  /**
+   * @return All keys of a section with a single key field, in ascending order.
+   */
+  List<String> keys(String section) {
+    var s = section(section);
+    List<String> keys = new ArrayList<>(s.count());
+    for (int i = 0; i < s.count(); i++) {
+      int record = recordOffset(s, i);
+      keys.add(readString(record + 4, buffer.getInt(record)));
+    }
+    return keys;
+  }
+
+
+  @Override
+  public void close() throws IOException {
+    resource.close();
+  }
+
+
+  private Section section(String name) {
+    var section = sections.get(name);
+    if (section == null) {
+      throw new IllegalArgumentException(format("BiGG snapshot file has no section ''{0}''.", name));
+    }
+    return section;
+  }
+
+
+  private int recordOffset(Section section, int i) {
+    return (int) buffer.getLong((int) section.index() + 8 * i);
+  }
+
+
+  private int compareKey(int record, byte[] target) {
+    int length = buffer.getInt(record);
+    int start = record + 4;
+    int n = Math.min(length, target.length);
+    for (int i = 0; i < n; i++) {
+      int cmp = Integer.compare(buffer.get(start + i) & 0xff, target[i] & 0xff);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return Integer.compare(length, target.length);
+  }
+
+
+  private List<String[]> readValues(Section section, int position) {
+    int count = buffer.getInt(position);
+    position += 4;
+    List<String[]> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String[] value = new String[section.valueFields()];
+      for (int field = 0; field < value.length; field++) {
+        int length = buffer.getInt(position);
+        position += 4;
+        if (length >= 0) {
+          value[field] = readString(position, length);
+          position += length;
+        }
+      }
+      values.add(value);
+    }
+    return values;
+  }
+
+
+  private String readString(int position, int length) {
+    byte[] bytes = new byte[length];
+    buffer.get(position, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+
+  private String readUTF(int position) {
+    int length = buffer.getShort(position) & 0xffff;
+    try {
+      return new DataInputStream(new ByteArrayInputStream(bytesAt(position, 2 + length))).readUTF();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+
+  private byte[] bytesAt(int position, int length) {
+    byte[] bytes = new byte[length];
+    buffer.get(position, bytes);
+    return bytes;
+  }
+
+
+  private static String joinKey(String... key) {
+    return String.join(String.valueOf(KEY_SEPARATOR), key);
+  }
+
+
+  /**
+   * Writes a snapshot file section by section. The rows of every section have to be added in ascending order of their
+   * key, compared by UTF-8 bytes, which is e.g. what PostgreSQL returns for {@code ORDER BY ... COLLATE "C"}.
+   */
+  static class Writer implements Closeable {
+
+    private final DataOutputStream out;
+    private final List<String> names = new ArrayList<>();
+    private final List<long[]> directory = new ArrayList<>();
+    private long position;
+
+    Writer(Path file, String biggVersion) throws IOException {
+      out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16) {
+        @Override
+        public synchronized void write(int b) throws IOException {
+          super.write(b);
+          position++;
+        }
+
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+          super.write(b, off, len);
+          position += len;
+        }
+      });
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeUTF(biggVersion == null ? "" : biggVersion);
+    }
+
+
+    /**
+     * Starts a new section. The previous section has to be finished before.
+     *
+     * @param name The name of the section.
+     * @param keyFields The number of leading columns of each row that make up the key.
+     * @param valueFields The number of remaining columns of each row that make up a value.
+     * @param distinct Whether repeated values of a key are dropped, i.e. the key maps to a set rather than a list.
+     */
+    SectionWriter section(String name, int keyFields, int valueFields, boolean distinct) {
+      return new SectionWriter(name, keyFields, valueFields, distinct);
+    }
+
+
+    @Override
+    public void close() throws IOException {
+      long directoryOffset = position;
+      out.writeInt(names.size());
+      for (int i = 0; i < names.size(); i++) {
+        long[] entry = directory.get(i);
+        out.writeUTF(names.get(i));
+        out.writeInt((int) entry[0]);
+        out.writeInt((int) entry[1]);
+        out.writeInt((int) entry[2]);
+        out.writeLong(entry[3]);
+      }
+      out.writeLong(directoryOffset);
+      out.close();
+    }
+
+
+    class SectionWriter {
+
+      private final String name;
+      private final int keyFields;
+      private final int valueFields;
+      private final boolean distinct;
+      private final List<Long> offsets = new ArrayList<>();
+      private byte[] currentKey;
+      private Collection<List<String>> currentValues;
+
+      private SectionWriter(String name, int keyFields, int valueFields, boolean distinct) {
+        this.name = name;
+        this.keyFields = keyFields;
+        this.valueFields = valueFields;
+        this.distinct = distinct;
+      }
+
+
+      /**
+       * Adds a row of key fields followed by value fields. Rows with a {@code null} key field are skipped.
+       */
+      void add(String[] row) throws IOException {
+        String[] key = Arrays.copyOf(row, keyFields);
+        if (Arrays.asList(key).contains(null)) {
+          return;
+        }
+        byte[] keyBytes = joinKey(key).getBytes(StandardCharsets.UTF_8);
+        if (currentKey == null || !Arrays.equals(currentKey, keyBytes)) {
+          if (currentKey != null && Arrays.compareUnsigned(currentKey, keyBytes) > 0) {
+            throw new IllegalStateException(format("Rows of section {0} are not sorted: {1}", name,
+              String.join(", ", key)));
+          }
+          flush();
+          currentKey = keyBytes;
+          currentValues = distinct ? new LinkedHashSet<>() : new ArrayList<>();
+        }
+        if (valueFields > 0) {
+          currentValues.add(Arrays.asList(Arrays.copyOfRange(row, keyFields, keyFields + valueFields)));
+        }
+      }
+
+
+      /**
+       * Writes the last record and the index of this section.
+       */
+      void finish() throws IOException {
+        flush();
+        long index = position;
+        for (long offset : offsets) {
+          out.writeLong(offset);
+        }
+        names.add(name);
+        directory.add(new long[] {keyFields, valueFields, offsets.size(), index});
+      }
+
+
+      private void flush() throws IOException {
+        if (currentKey == null) {
+          return;
+        }
+        offsets.add(position);
+        out.writeInt(currentKey.length);
+        out.write(currentKey);
+        out.writeInt(currentValues.size());
+        for (List<String> value : currentValues) {
+          for (String field : value) {
+            if (field == null) {
+              out.writeInt(-1);
+            } else {
+              byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+              out.writeInt(bytes.length);
+              out.write(bytes);
+            }
+          }
+        }
+        currentKey = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,929 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.db.BoundedCache;
+import de.uni_halle.informatik.biodata.mp.db.PersistentLookupCache;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB.ForeignReaction;
+import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * {@link IQueryBiGG} keeping the results of all lookups in a {@link BoundedCache}, so that the backend is only
+ * queried for each key once.
+ * <p>
+ * The negative results for IDs without a value are cached as well. Single and batch lookups share the same entries, a
+ * batch lookup only queries the backend for the keys missing from the cache. The keys contain the version of the BiGG
+ * database, which is checked again at most every {@value #VERSION_CHECK_INTERVAL_MILLIS} ms, so that an upgrade of the
+ * database invalidates all entries. The version itself is always looked up in the backend.
+ * <p>
+ * Optionally, the results are also written to a {@link PersistentLookupCache}, which is consulted before the backend,
+ * so that later invocations of ModelPolisher start with the results of the earlier ones and, once the models have been
+ * seen, do not query the database at all. This includes the {@code is*} checks, which are answered by ID, so that a
+ * warm run does not have to wait for the ID catalogs of {@link BiGGDB}.
+ * <p>
+ * Instances are thread-safe if the wrapped backend is, and are meant to be shared by all annotation runs.
+ */
+public class CachingBiGGDB implements IQueryBiGG {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachingBiGGDB.class);
+
+  static final long VERSION_CHECK_INTERVAL_MILLIS = 60_000;
+
+  private static final String ALL_BIGG_IDS = "allBiggIds";
+  private static final String CHARGE = "charge";
+  private static final String CHARGE_BY_COMPARTMENT = "chargeByCompartment";
+  private static final String CHEMISTRY = "chemistry";
+  private static final String CHEMISTRY_BY_COMPARTMENT = "chemistryByCompartment";
+  private static final String COMPARTMENT_NAME = "compartmentName";
+  private static final String COMPONENT_NAME = "componentName";
+  private static final String COMPONENT_TYPE = "componentType";
+  private static final String FOREIGN_REACTIONS = "foreignReactions";
+  private static final String FORMULA = "formula";
+  private static final String FORMULA_BY_COMPARTMENT = "formulaByCompartment";
+  private static final String GENE_IDS = "geneIds";
+  private static final String GENE_NAME = "geneName";
+  private static final String GENE_REACTION_RULE = "geneReactionRule";
+  private static final String GENE_REFERENCES = "geneReferences";
+  private static final String GENOME_ACCESSION = "genomeAccession";
+  private static final String IS_COMPARTMENT = "isCompartment";
+  private static final String IS_DATA_SOURCE = "isDataSource";
+  private static final String IS_METABOLITE = "isMetabolite";
+  private static final String IS_MODEL = "isModel";
+  private static final String IS_PSEUDOREACTION = "isPseudoreaction";
+  private static final String IS_REACTION = "isReaction";
+  private static final String ORGANISM = "organism";
+  private static final String PUBLICATIONS = "publications";
+  private static final String REACTION_NAME = "reactionName";
+  private static final String RESOURCES = "resources";
+  private static final String SUBSYSTEMS = "subsystems";
+  private static final String SUBSYSTEMS_FOR_REACTION = "subsystemsForReaction";
+  private static final String SYNONYM = "synonym";
+  private static final String TAXON_ID = "taxonId";
+
+  private final IQueryBiGG source;
+  private final BoundedCache<Key, Optional<?>> cache;
+  private final PersistentLookupCache store;
+  private volatile String version;
+  private volatile long versionCheckedAt;
+
+  private record Key(String version, String method, List<Object> arguments) {
+  }
+
+  @FunctionalInterface
+  private interface Loader<V> {
+    Optional<V> load() throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface BatchLoader<K, V> {
+    Map<K, V> load(Collection<K> keys) throws SQLException;
+  }
+
+  /**
+   * Converts the cached values from and to the string arrays of the {@link PersistentLookupCache}.
+   */
+  private interface Codec<V> {
+    String[] encode(V value);
+
+    V decode(String[] values);
+  }
+
+  private static final Codec<String> STRING_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(String value) {
+      return new String[] {value};
+    }
+
+    @Override
+    public String decode(String[] values) {
+      return values[0];
+    }
+  };
+
+  /**
+   * Stores the prefix and ID of each URI, as URIs not from identifiers.org have neither.
+   */
+  private static final Codec<Set<IdentifiersOrgURI>> RESOURCES_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(Set<IdentifiersOrgURI> value) {
+      String[] values = new String[2 * value.size()];
+      int i = 0;
+      for (IdentifiersOrgURI uri : value) {
+        values[i++] = uri.getPrefix();
+        values[i++] = uri.getId();
+      }
+      return values;
+    }
+
+    @Override
+    public Set<IdentifiersOrgURI> decode(String[] values) {
+      Set<IdentifiersOrgURI> uris = new TreeSet<>();
+      for (int i = 0; i + 1 < values.length; i += 2) {
+        uris.add(values[i] == null ? new IdentifiersOrgURI("") : new IdentifiersOrgURI(values[i], values[i + 1]));
+      }
+      return uris;
+    }
+  };
+
+  /**
+   * Stores the number of formulas, followed by the formulas and the charges.
+   */
+  private static final Codec<ComponentChemistry> CHEMISTRY_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(ComponentChemistry value) {
+      String[] values = new String[1 + value.formulas().size() + value.charges().size()];
+      int i = 0;
+      values[i++] = Integer.toString(value.formulas().size());
+      for (String formula : value.formulas()) {
+        values[i++] = formula;
+      }
+      for (Integer charge : value.charges()) {
+        values[i++] = charge.toString();
+      }
+      return values;
+    }
+
+    @Override
+    public ComponentChemistry decode(String[] values) {
+      int formulas = Integer.parseInt(values[0]);
+      return ComponentChemistry.of(Arrays.asList(values).subList(1, 1 + formulas),
+        Arrays.asList(values).subList(1 + formulas, values.length));
+    }
+  };
+
+  private static final Codec<Integer> INTEGER_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(Integer value) {
+      return new String[] {value.toString()};
+    }
+
+    @Override
+    public Integer decode(String[] values) {
+      return Integer.valueOf(values[0]);
+    }
+  };
+
+  private static final Codec<Boolean> BOOLEAN_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(Boolean value) {
+      return new String[] {value.toString()};
+    }
+
+    @Override
+    public Boolean decode(String[] values) {
+      return Boolean.valueOf(values[0]);
+    }
+  };
+
+  /**
+   * Stores the number of strings, followed by the strings, so that an empty collection is distinguished from a missing
+   * one.
+   */
+  private static final Codec<Collection<String>> STRINGS_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(Collection<String> value) {
+      String[] values = new String[1 + value.size()];
+      values[0] = Integer.toString(value.size());
+      int i = 1;
+      for (String string : value) {
+        values[i++] = string;
+      }
+      return values;
+    }
+
+    @Override
+    public Collection<String> decode(String[] values) {
+      return new ArrayList<>(Arrays.asList(values).subList(1, values.length));
+    }
+  };
+
+  /**
+   * Stores the number of identifiers, followed by the prefix and ID of each identifier and the names.
+   */
+  private static final Codec<GeneReferences> GENE_REFERENCES_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(GeneReferences value) {
+      String[] ids = RESOURCES_CODEC.encode(value.ids());
+      String[] values = new String[1 + ids.length + value.names().size()];
+      values[0] = Integer.toString(value.ids().size());
+      System.arraycopy(ids, 0, values, 1, ids.length);
+      int i = 1 + ids.length;
+      for (String name : value.names()) {
+        values[i++] = name;
+      }
+      return values;
+    }
+
+    @Override
+    public GeneReferences decode(String[] values) {
+      int ids = 1 + 2 * Integer.parseInt(values[0]);
+      return GeneReferences.of(RESOURCES_CODEC.decode(Arrays.copyOfRange(values, 1, ids)),
+        Arrays.asList(values).subList(ids, values.length));
+    }
+  };
+
+  /**
+   * Stores the type and ID of each publication.
+   */
+  private static final Codec<List<Publication>> PUBLICATIONS_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(List<Publication> value) {
+      String[] values = new String[2 * value.size()];
+      int i = 0;
+      for (Publication publication : value) {
+        values[i++] = publication.referenceType();
+        values[i++] = publication.referenceId();
+      }
+      return values;
+    }
+
+    @Override
+    public List<Publication> decode(String[] values) {
+      List<Publication> publications = new ArrayList<>();
+      for (int i = 0; i + 1 < values.length; i += 2) {
+        publications.add(new Publication(values[i], values[i + 1]));
+      }
+      return publications;
+    }
+  };
+
+  /**
+   * Stores the parts of the ID, as not every ID found by synonym is parsed back into the same parts.
+   */
+  private static final Codec<BiGGId> BIGG_ID_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(BiGGId value) {
+      return new String[] {
+        value.isSetPrefix() ? value.getPrefix() : null,
+        value.isSetAbbreviation() ? value.getAbbreviation() : null,
+        value.isSetCompartmentCode() ? value.getCompartmentCode() : null,
+        value.isSetTissueCode() ? value.getTissueCode() : null};
+    }
+
+    @Override
+    public BiGGId decode(String[] values) {
+      BiGGId biggId = new BiGGId();
+      biggId.setPrefix(values[0]);
+      biggId.setAbbreviation(values[1]);
+      biggId.setCompartmentCode(values[2]);
+      biggId.setTissueCode(values[3]);
+      return biggId;
+    }
+  };
+
+  /**
+   * Stores the reaction, compartment and compartment name of each reaction.
+   */
+  private static final Codec<Collection<ForeignReaction>> FOREIGN_REACTIONS_CODEC = new Codec<>() {
+    @Override
+    public String[] encode(Collection<ForeignReaction> value) {
+      String[] values = new String[3 * value.size()];
+      int i = 0;
+      for (ForeignReaction reaction : value) {
+        values[i++] = reaction.reactionId;
+        values[i++] = reaction.compartmentId;
+        values[i++] = reaction.compartmentName;
+      }
+      return values;
+    }
+
+    @Override
+    public Collection<ForeignReaction> decode(String[] values) {
+      Set<ForeignReaction> reactions = new HashSet<>();
+      for (int i = 0; i + 2 < values.length; i += 3) {
+        reactions.add(new ForeignReaction(values[i], values[i + 1], values[i + 2]));
+      }
+      return reactions;
+    }
+  };
+
+  private static final Map<String, Codec<?>> CODECS = Map.ofEntries(
+    Map.entry(ALL_BIGG_IDS, STRINGS_CODEC),
+    Map.entry(CHARGE, INTEGER_CODEC),
+    Map.entry(CHARGE_BY_COMPARTMENT, INTEGER_CODEC),
+    Map.entry(CHEMISTRY, CHEMISTRY_CODEC),
+    Map.entry(CHEMISTRY_BY_COMPARTMENT, CHEMISTRY_CODEC),
+    Map.entry(COMPARTMENT_NAME, STRING_CODEC),
+    Map.entry(COMPONENT_NAME, STRING_CODEC),
+    Map.entry(COMPONENT_TYPE, STRING_CODEC),
+    Map.entry(FOREIGN_REACTIONS, FOREIGN_REACTIONS_CODEC),
+    Map.entry(FORMULA, STRING_CODEC),
+    Map.entry(FORMULA_BY_COMPARTMENT, STRING_CODEC),
+    Map.entry(GENE_IDS, RESOURCES_CODEC),
+    Map.entry(GENE_NAME, STRING_CODEC),
+    Map.entry(GENE_REACTION_RULE, STRINGS_CODEC),
+    Map.entry(GENE_REFERENCES, GENE_REFERENCES_CODEC),
+    Map.entry(GENOME_ACCESSION, STRING_CODEC),
+    Map.entry(IS_COMPARTMENT, BOOLEAN_CODEC),
+    Map.entry(IS_DATA_SOURCE, BOOLEAN_CODEC),
+    Map.entry(IS_METABOLITE, BOOLEAN_CODEC),
+    Map.entry(IS_MODEL, BOOLEAN_CODEC),
+    Map.entry(IS_PSEUDOREACTION, BOOLEAN_CODEC),
+    Map.entry(IS_REACTION, BOOLEAN_CODEC),
+    Map.entry(ORGANISM, STRING_CODEC),
+    Map.entry(PUBLICATIONS, PUBLICATIONS_CODEC),
+    Map.entry(REACTION_NAME, STRING_CODEC),
+    Map.entry(RESOURCES, RESOURCES_CODEC),
+    Map.entry(SUBSYSTEMS, STRINGS_CODEC),
+    Map.entry(SUBSYSTEMS_FOR_REACTION, STRINGS_CODEC),
+    Map.entry(SYNONYM, BIGG_ID_CODEC),
+    Map.entry(TAXON_ID, INTEGER_CODEC));
+
+
+  /**
+   * @param source      The backend answering all lookups not found in the cache.
+   * @param maximumSize The maximum number of cached lookup results.
+   */
+  public CachingBiGGDB(IQueryBiGG source, int maximumSize) {
+    this(source, maximumSize, null);
+  }
+
+
+  /**
+   * @param source      The backend answering all lookups not found in the cache.
+   * @param maximumSize The maximum number of cached lookup results held in memory.
+   * @param store       The cache on disk, or {@code null} to keep the results in memory only.
+   */
+  public CachingBiGGDB(IQueryBiGG source, int maximumSize, PersistentLookupCache store) {
+    this.source = source;
+    this.cache = new BoundedCache<>(maximumSize);
+    this.store = store;
+  }
+
+
+  /**
+   * @return The cache, e.g. to report its hit, miss and eviction counts.
+   */
+  public BoundedCache<?, ?> getCache() {
+    return cache;
+  }
+
+
+  /**
+   * @return The cache on disk, or {@code null} if there is none.
+   */
+  public PersistentLookupCache getStore() {
+    return store;
+  }
+
+
+  /**
+   * @return The version of the BiGG database the cached results belong to. If it changed since the last check, all
+   *         cached results are dropped.
+   */
+  private String version() throws SQLException {
+    long now = System.currentTimeMillis();
+    if (version == null || now - versionCheckedAt > VERSION_CHECK_INTERVAL_MILLIS) {
+      synchronized (this) {
+        if (version == null || now - versionCheckedAt > VERSION_CHECK_INTERVAL_MILLIS) {
+          String current = source.getBiGGVersion().map(Date::toString).orElse("");
+          if (version != null && !version.equals(current)) {
+            logger.info("BiGG version changed from {} to {}, clearing the query cache", version, current);
+            cache.clear();
+          }
+          version = current;
+          versionCheckedAt = now;
+        }
+      }
+    }
+    return version;
+  }
+
+
+  private Key key(String method, Object... arguments) throws SQLException {
+    return new Key(version(), method, Arrays.asList(arguments));
+  }
+
+
+  @SuppressWarnings("unchecked")
+  private <V> Optional<V> lookup(Key key, Loader<V> loader) throws SQLException {
+    Optional<V> value = (Optional<V>) cache.get(key);
+    if (value == null) {
+      value = stored(key);
+      if (value == null) {
+        value = loader.load();
+        store(key, value);
+      }
+      cache.put(key, value);
+    }
+    return value;
+  }
+
+
+  /**
+   * @return The result found in the cache on disk, or {@code null} if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  private <V> Optional<V> stored(Key key) {
+    if (store == null) {
+      return null;
+    }
+    String[] values = store.get(storeKey(key));
+    if (values == null) {
+      return null;
+    }
+    return values.length == 0 ? Optional.empty() : Optional.of(((Codec<V>) CODECS.get(key.method())).decode(values));
+  }
+
+
+  @SuppressWarnings("unchecked")
+  private <V> void store(Key key, Optional<V> value) {
+    if (store != null) {
+      store.put(storeKey(key), value.map(v -> ((Codec<V>) CODECS.get(key.method())).encode(v)).orElse(new String[0]));
+    }
+  }
+
+
+  private static String storeKey(Key key) {
+    StringJoiner joiner = new StringJoiner("\0");
+    joiner.add(key.version()).add(key.method());
+    key.arguments().forEach(argument -> joiner.add(String.valueOf(argument)));
+    return joiner.toString();
+  }
+
+
+  /**
+   * Answers a batch lookup from the cache where possible and queries the backend for the remaining keys in one batch.
+   * Keys for which the backend does not return a value are cached as negative results.
+   */
+  @SuppressWarnings("unchecked")
+  private <K, V> Map<K, V> lookup(Collection<K> keys, Function<K, Key> cacheKey, BatchLoader<K, V> loader)
+    throws SQLException {
+    Map<K, V> results = new HashMap<>();
+    List<K> missing = new ArrayList<>();
+    for (K key : new LinkedHashSet<>(keys)) {
+      Key entry = cacheKey.apply(key);
+      Optional<V> value = (Optional<V>) cache.get(entry);
+      if (value == null && (value = stored(entry)) != null) {
+        cache.put(entry, value);
+      }
+      if (value == null) {
+        missing.add(key);
+      } else {
+        value.ifPresent(v -> results.put(key, v));
+      }
+    }
+    if (!missing.isEmpty()) {
+      Map<K, V> loaded = loader.load(missing);
+      for (K key : missing) {
+        Key entry = cacheKey.apply(key);
+        Optional<V> value = Optional.ofNullable(loaded.get(key));
+        store(entry, value);
+        cache.put(entry, value);
+        value.ifPresent(v -> results.put(key, v));
+      }
+    }
+    return results;
+  }
+
+
+  @FunctionalInterface
+  private interface Check {
+    boolean check() throws SQLException;
+  }
+
+
+  private boolean check(String method, String id, Check check) throws SQLException {
+    return lookup(key(method, id), () -> Optional.of(check.check())).orElse(false);
+  }
+
+
+  /**
+   * Widens the lists of a batch result to the collections of {@link #STRINGS_CODEC}.
+   */
+  private static Map<String, Collection<String>> collections(Map<String, List<String>> lists) {
+    return new HashMap<>(lists);
+  }
+
+
+  /**
+   * @return Copies of the cached collections of a batch result.
+   */
+  private static Map<String, List<String>> lists(Map<String, Collection<String>> collections) {
+    Map<String, List<String>> lists = new HashMap<>();
+    collections.forEach((key, collection) -> lists.put(key, new ArrayList<>(collection)));
+    return lists;
+  }
+
+
+  @Override
+  public Optional<Date> getBiGGVersion() throws SQLException {
+    return source.getBiGGVersion();
+  }
+
+
+  @Override
+  public List<String> getSubsystems(String modelBiGGid, String reactionBiGGid) throws SQLException {
+    Optional<Collection<String>> subsystems = lookup(key(SUBSYSTEMS, modelBiGGid, reactionBiGGid),
+      () -> Optional.<Collection<String>>of(source.getSubsystems(modelBiGGid, reactionBiGGid)).filter(list -> !list.isEmpty()));
+    return subsystems.<List<String>>map(ArrayList::new).orElseGet(ArrayList::new);
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystems(String modelBiGGid, Collection<String> reactionBiGGids) throws SQLException {
+    String version = version();
+    return lists(lookup(reactionBiGGids, reaction -> new Key(version, SUBSYSTEMS, List.of(modelBiGGid, reaction)),
+      missing -> collections(source.getSubsystems(modelBiGGid, missing))));
+  }
+
+
+  @Override
+  public List<String> getSubsystemsForReaction(String reactionBiGGid) throws SQLException {
+    Optional<Collection<String>> subsystems = lookup(key(SUBSYSTEMS_FOR_REACTION, reactionBiGGid),
+      () -> Optional.<Collection<String>>of(source.getSubsystemsForReaction(reactionBiGGid)).filter(list -> !list.isEmpty()));
+    return subsystems.<List<String>>map(ArrayList::new).orElseGet(ArrayList::new);
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystemsForReaction(Collection<String> reactionBiGGids) throws SQLException {
+    String version = version();
+    return lists(lookup(reactionBiGGids, reaction -> new Key(version, SUBSYSTEMS_FOR_REACTION, List.of(reaction)),
+      missing -> collections(source.getSubsystemsForReaction(missing))));
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormulaByCompartment(String componentId, String compartmentId) throws SQLException {
+    return lookup(key(FORMULA_BY_COMPARTMENT, componentId, compartmentId),
+      () -> source.getChemicalFormulaByCompartment(componentId, compartmentId));
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, String> getChemicalFormulaByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    String version = version();
+    return lookup(components, component -> new Key(version, FORMULA_BY_COMPARTMENT,
+      Arrays.asList(component.componentId(), component.compartmentId())), source::getChemicalFormulaByCompartment);
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormula(String componentId, String modelId) throws SQLException {
+    return lookup(key(FORMULA, componentId, modelId), () -> source.getChemicalFormula(componentId, modelId));
+  }
+
+
+  @Override
+  public Map<String, String> getChemicalFormula(Collection<String> componentIds, String modelId) throws SQLException {
+    String version = version();
+    return lookup(componentIds, component -> new Key(version, FORMULA, Arrays.asList(component, modelId)),
+      missing -> source.getChemicalFormula(missing, modelId));
+  }
+
+
+  @Override
+  public Optional<String> getCompartmentName(BiGGId biggId) throws SQLException {
+    return lookup(key(COMPARTMENT_NAME, biggId.getAbbreviation()), () -> source.getCompartmentName(biggId));
+  }
+
+
+  @Override
+  public Map<String, String> getCompartmentName(Collection<String> abbreviations) throws SQLException {
+    String version = version();
+    return lookup(abbreviations, abbreviation -> new Key(version, COMPARTMENT_NAME, List.of(abbreviation)),
+      source::getCompartmentName);
+  }
+
+
+  @Override
+  public Optional<String> getComponentName(BiGGId biggId) throws SQLException {
+    return lookup(key(COMPONENT_NAME, biggId.getAbbreviation()), () -> source.getComponentName(biggId));
+  }
+
+
+  @Override
+  public Map<String, String> getComponentName(Collection<String> abbreviations) throws SQLException {
+    String version = version();
+    return lookup(abbreviations, abbreviation -> new Key(version, COMPONENT_NAME, List.of(abbreviation)),
+      source::getComponentName);
+  }
+
+
+  @Override
+  public Optional<String> getComponentType(BiGGId biggId) throws SQLException {
+    return lookup(key(COMPONENT_TYPE, biggId.getAbbreviation()), () -> source.getComponentType(biggId));
+  }
+
+
+  @Override
+  public Map<String, String> getComponentType(Collection<String> abbreviations) throws SQLException {
+    String version = version();
+    return lookup(abbreviations, abbreviation -> new Key(version, COMPONENT_TYPE, List.of(abbreviation)),
+      source::getComponentType);
+  }
+
+
+  @Override
+  public TreeSet<IdentifiersOrgURI> getGeneIds(String label) throws SQLException {
+    Optional<Set<IdentifiersOrgURI>> ids = lookup(key(GENE_IDS, label),
+      () -> Optional.<Set<IdentifiersOrgURI>>of(source.getGeneIds(label)).filter(set -> !set.isEmpty()));
+    return ids.map(TreeSet::new).orElseGet(TreeSet::new);
+  }
+
+
+  @Override
+  public Map<String, TreeSet<IdentifiersOrgURI>> getGeneIds(Collection<String> labels) throws SQLException {
+    String version = version();
+    Map<String, Set<IdentifiersOrgURI>> ids = lookup(labels, label -> new Key(version, GENE_IDS, List.of(label)),
+      missing -> new HashMap<>(source.getGeneIds(missing)));
+    Map<String, TreeSet<IdentifiersOrgURI>> results = new HashMap<>();
+    ids.forEach((label, set) -> results.put(label, new TreeSet<>(set)));
+    return results;
+  }
+
+
+  @Override
+  public Optional<String> getGeneName(String label) throws SQLException {
+    return lookup(key(GENE_NAME, label), () -> source.getGeneName(label));
+  }
+
+
+  @Override
+  public Map<String, String> getGeneName(Collection<String> labels) throws SQLException {
+    String version = version();
+    return lookup(labels, label -> new Key(version, GENE_NAME, List.of(label)), source::getGeneName);
+  }
+
+
+  @Override
+  public GeneReferences getGeneReferences(String label) throws SQLException {
+    Optional<GeneReferences> references = lookup(key(GENE_REFERENCES, label),
+      () -> Optional.of(source.getGeneReferences(label)).filter(r -> !r.isEmpty()));
+    return references.orElse(GeneReferences.EMPTY);
+  }
+
+
+  @Override
+  public Map<String, GeneReferences> getGeneReferences(Collection<String> labels) throws SQLException {
+    String version = version();
+    return lookup(labels, label -> new Key(version, GENE_REFERENCES, List.of(label)), source::getGeneReferences);
+  }
+
+
+  @Override
+  public List<String> getGeneReactionRule(String reactionId, String modelId) throws SQLException {
+    Optional<Collection<String>> rules = lookup(key(GENE_REACTION_RULE, reactionId, modelId),
+      () -> Optional.<Collection<String>>of(source.getGeneReactionRule(reactionId, modelId)).filter(list -> !list.isEmpty()));
+    return rules.<List<String>>map(ArrayList::new).orElseGet(ArrayList::new);
+  }
+
+
+  @Override
+  public Map<String, List<String>> getGeneReactionRule(Collection<String> reactionIds, String modelId) throws SQLException {
+    String version = version();
+    return lists(lookup(reactionIds, reaction -> new Key(version, GENE_REACTION_RULE, Arrays.asList(reaction, modelId)),
+      missing -> collections(source.getGeneReactionRule(missing, modelId))));
+  }
+
+
+  @Override
+  public Optional<String> getOrganism(String abbreviation) throws SQLException {
+    return lookup(key(ORGANISM, abbreviation), () -> source.getOrganism(abbreviation));
+  }
+
+
+  @Override
+  public Map<String, String> getOrganism(Collection<String> abbreviations) throws SQLException {
+    String version = version();
+    return lookup(abbreviations, abbreviation -> new Key(version, ORGANISM, List.of(abbreviation)),
+      source::getOrganism);
+  }
+
+
+  @Override
+  public List<Publication> getPublications(String abbreviation) throws SQLException {
+    Optional<List<Publication>> publications = lookup(key(PUBLICATIONS, abbreviation),
+      () -> Optional.of(source.getPublications(abbreviation)).filter(list -> !list.isEmpty()));
+    return publications.<List<Publication>>map(ArrayList::new).orElseGet(ArrayList::new);
+  }
+
+
+  @Override
+  public Map<String, List<Publication>> getPublications(Collection<String> abbreviations) throws SQLException {
+    String version = version();
+    Map<String, List<Publication>> publications = lookup(abbreviations,
+      abbreviation -> new Key(version, PUBLICATIONS, List.of(abbreviation)), source::getPublications);
+    publications.replaceAll((abbreviation, list) -> new ArrayList<>(list));
+    return publications;
+  }
+
+
+  @Override
+  public Optional<String> getReactionName(String abbreviation) throws SQLException {
+    return lookup(key(REACTION_NAME, abbreviation), () -> source.getReactionName(abbreviation));
+  }
+
+
+  @Override
+  public Map<String, String> getReactionName(Collection<String> abbreviations) throws SQLException {
+    String version = version();
+    return lookup(abbreviations, abbreviation -> new Key(version, REACTION_NAME, List.of(abbreviation)),
+      source::getReactionName);
+  }
+
+
+  @Override
+  public Set<IdentifiersOrgURI> getResources(BiGGId biggId, boolean includeAnyURI, boolean isReaction) throws SQLException {
+    Optional<Set<IdentifiersOrgURI>> resources = lookup(key(RESOURCES, biggId.getAbbreviation(), includeAnyURI, isReaction),
+      () -> Optional.of(source.getResources(biggId, includeAnyURI, isReaction)).filter(set -> !set.isEmpty()));
+    return resources.map(TreeSet::new).orElseGet(TreeSet::new);
+  }
+
+
+  @Override
+  public Map<String, Set<IdentifiersOrgURI>> getResources(Collection<String> abbreviations, boolean includeAnyURI,
+                                                          boolean isReaction) throws SQLException {
+    String version = version();
+    Map<String, Set<IdentifiersOrgURI>> resources = lookup(abbreviations,
+      abbreviation -> new Key(version, RESOURCES, List.of(abbreviation, includeAnyURI, isReaction)),
+      missing -> source.getResources(missing, includeAnyURI, isReaction));
+    resources.replaceAll((abbreviation, set) -> new TreeSet<>(set));
+    return resources;
+  }
+
+
+  @Override
+  public Optional<Integer> getTaxonId(String abbreviation) throws SQLException {
+    return lookup(key(TAXON_ID, abbreviation), () -> source.getTaxonId(abbreviation));
+  }
+
+
+  @Override
+  public Map<String, Integer> getTaxonId(Collection<String> abbreviations) throws SQLException {
+    String version = version();
+    return lookup(abbreviations, abbreviation -> new Key(version, TAXON_ID, List.of(abbreviation)),
+      source::getTaxonId);
+  }
+
+
+  @Override
+  public String getGenomeAccesion(String id) throws SQLException {
+    return lookup(key(GENOME_ACCESSION, id), () -> Optional.ofNullable(source.getGenomeAccesion(id))).orElse(null);
+  }
+
+
+  @Override
+  public Map<String, String> getGenomeAccesion(Collection<String> ids) throws SQLException {
+    String version = version();
+    return lookup(ids, id -> new Key(version, GENOME_ACCESSION, List.of(id)), source::getGenomeAccesion);
+  }
+
+
+  @Override
+  public Set<String> getAllBiggIds(String table) throws SQLException {
+    Optional<Collection<String>> ids = lookup(key(ALL_BIGG_IDS, table),
+      () -> Optional.of(source.getAllBiggIds(table)));
+    return new LinkedHashSet<>(ids.orElseGet(List::of));
+  }
+
+
+  @Override
+  public Optional<Integer> getChargeByCompartment(String componentId, String compartmentId) throws SQLException {
+    return lookup(key(CHARGE_BY_COMPARTMENT, componentId, compartmentId),
+      () -> source.getChargeByCompartment(componentId, compartmentId));
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, Integer> getChargeByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    String version = version();
+    return lookup(components, component -> new Key(version, CHARGE_BY_COMPARTMENT,
+      Arrays.asList(component.componentId(), component.compartmentId())), source::getChargeByCompartment);
+  }
+
+
+  @Override
+  public Optional<Integer> getCharge(String componentId, String modelId) throws SQLException {
+    return lookup(key(CHARGE, componentId, modelId), () -> source.getCharge(componentId, modelId));
+  }
+
+
+  @Override
+  public Map<String, Integer> getCharge(Collection<String> componentIds, String modelId) throws SQLException {
+    String version = version();
+    return lookup(componentIds, component -> new Key(version, CHARGE, Arrays.asList(component, modelId)),
+      missing -> source.getCharge(missing, modelId));
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistry(String componentId, String modelId) throws SQLException {
+    Optional<ComponentChemistry> chemistry = lookup(key(CHEMISTRY, componentId, modelId),
+      () -> Optional.of(source.getChemistry(componentId, modelId)).filter(c -> !c.isEmpty()));
+    return chemistry.orElse(ComponentChemistry.EMPTY);
+  }
+
+
+  @Override
+  public Map<String, ComponentChemistry> getChemistry(Collection<String> componentIds, String modelId) throws SQLException {
+    String version = version();
+    return lookup(componentIds, component -> new Key(version, CHEMISTRY, Arrays.asList(component, modelId)),
+      missing -> source.getChemistry(missing, modelId));
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistryByCompartment(String componentId, String compartmentId) throws SQLException {
+    Optional<ComponentChemistry> chemistry = lookup(key(CHEMISTRY_BY_COMPARTMENT, componentId, compartmentId),
+      () -> Optional.of(source.getChemistryByCompartment(componentId, compartmentId)).filter(c -> !c.isEmpty()));
+    return chemistry.orElse(ComponentChemistry.EMPTY);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, ComponentChemistry> getChemistryByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    String version = version();
+    return lookup(components, component -> new Key(version, CHEMISTRY_BY_COMPARTMENT,
+      Arrays.asList(component.componentId(), component.compartmentId())), source::getChemistryByCompartment);
+  }
+
+
+  @Override
+  public boolean isPseudoreaction(String reactionId) throws SQLException {
+    return check(IS_PSEUDOREACTION, reactionId, () -> source.isPseudoreaction(reactionId));
+  }
+
+
+  @Override
+  public Map<String, Boolean> isPseudoreaction(Collection<String> reactionIds) throws SQLException {
+    String version = version();
+    Map<String, Boolean> results = lookup(reactionIds,
+      reactionId -> new Key(version, IS_PSEUDOREACTION, List.of(reactionId)), source::isPseudoreaction);
+    for (String reactionId : reactionIds) {
+      results.putIfAbsent(reactionId, false);
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<BiGGId> getBiggIdFromSynonym(String dataSourceId, String synonym, String type) throws SQLException {
+    return lookup(key(SYNONYM, dataSourceId, synonym, type),
+      () -> source.getBiggIdFromSynonym(dataSourceId, synonym, type));
+  }
+
+
+  @Override
+  public <T extends RegistryURI> Map<T, BiGGId> getBiggIdFromSynonym(Collection<T> uris, String type) throws SQLException {
+    String version = version();
+    return lookup(uris, uri -> new Key(version, SYNONYM, Arrays.asList(uri.getPrefix(), uri.getId(), type)),
+      missing -> source.getBiggIdFromSynonym(missing, type));
+  }
+
+
+  @Override
+  public Collection<ForeignReaction> getBiggIdsForReactionForeignId(RegistryURI uri) throws SQLException {
+    Optional<Collection<ForeignReaction>> reactions = lookup(key(FOREIGN_REACTIONS, uri.getPrefix(), uri.getId()),
+      () -> Optional.of(source.getBiggIdsForReactionForeignId(uri)).filter(c -> !c.isEmpty()));
+    return new HashSet<>(reactions.orElseGet(Set::of));
+  }
+
+
+  @Override
+  public <T extends RegistryURI> Map<T, Collection<ForeignReaction>> getBiggIdsForReactionForeignId(Collection<T> uris) throws SQLException {
+    String version = version();
+    Map<T, Collection<ForeignReaction>> reactions = lookup(uris,
+      uri -> new Key(version, FOREIGN_REACTIONS, Arrays.asList(uri.getPrefix(), uri.getId())),
+      source::getBiggIdsForReactionForeignId);
+    reactions.replaceAll((uri, collection) -> new HashSet<>(collection));
+    return reactions;
+  }
+
+
+  @Override
+  public boolean isCompartment(String id) throws SQLException {
+    return check(IS_COMPARTMENT, id, () -> source.isCompartment(id));
+  }
+
+
+  @Override
+  public boolean isDataSource(String id) throws SQLException {
+    return check(IS_DATA_SOURCE, id, () -> source.isDataSource(id));
+  }
+
+
+  @Override
+  public boolean isMetabolite(String id) throws SQLException {
+    return check(IS_METABOLITE, id, () -> source.isMetabolite(id));
+  }
+
+
+  @Override
+  public boolean isModel(String id) throws SQLException {
+    return check(IS_MODEL, id, () -> source.isModel(id));
+  }
+
+
+  @Override
+  public boolean isReaction(String id) throws SQLException {
+    return check(IS_REACTION, id, () -> source.isReaction(id));
+  }
+}
@@ -0,0 +1,439 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.db.SingleFlight;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB.ForeignReaction;
+import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link IQueryBiGG} letting concurrent identical lookups share one query to the wrapped backend, see
+ * {@link SingleFlight}. When several models are annotated in parallel, their threads often ask for the same entities
+ * at the same moment, e.g. the resources of {@code atp}; with this, only the first of them takes a connection and
+ * waits for the database, the others wait for its result.
+ * <p>
+ * Lookups are identical if they call the same method with equal arguments, where batch lookups are compared by the set
+ * of their keys. Nothing is kept once a lookup has finished, so this is independent of {@link CachingBiGGDB}, which
+ * should wrap this class to also coalesce its cache misses. Mutable results are copied for each caller. The
+ * {@code is*} checks, which are answered from memory, are passed through unchanged.
+ */
+public class CoalescingBiGGDB implements IQueryBiGG {
+
+  private final IQueryBiGG source;
+  private final SingleFlight<Key> flight = new SingleFlight<>();
+
+  private record Key(String method, List<Object> arguments) {
+  }
+
+
+  /**
+   * @param source The backend answering the lookups, which must be thread-safe.
+   */
+  public CoalescingBiGGDB(IQueryBiGG source) {
+    this.source = source;
+  }
+
+
+  /**
+   * @return The counts of executed and coalesced lookups.
+   */
+  public SingleFlight<?> getSingleFlight() {
+    return flight;
+  }
+
+
+  private <V, E extends Exception> V coalesce(SingleFlight.Loader<V, E> loader, String method, Object... arguments)
+    throws E {
+    return flight.run(new Key(method, Arrays.asList(arguments)), loader);
+  }
+
+
+  private static Set<Object> keys(Collection<?> keys) {
+    return new HashSet<>(keys);
+  }
+
+
+  private static <K, V> Map<K, V> copy(Map<K, V> map) {
+    return new HashMap<>(map);
+  }
+
+
+  private static <K, V> Map<K, V> copy(Map<K, V> map, UnaryOperator<V> copyValue) {
+    Map<K, V> copy = new HashMap<>(map);
+    copy.replaceAll((key, value) -> copyValue.apply(value));
+    return copy;
+  }
+
+
+  /**
+   * URIs have no equality of their own, so they are compared by their prefix and ID, which is all the lookups use.
+   */
+  private static List<String> uriKey(RegistryURI uri) {
+    return Arrays.asList(uri.getPrefix(), uri.getId());
+  }
+
+
+  @Override
+  public Optional<Date> getBiGGVersion() throws SQLException {
+    return coalesce(source::getBiGGVersion, "getBiGGVersion");
+  }
+
+
+  @Override
+  public List<String> getSubsystems(String modelBiGGid, String reactionBiGGid) throws SQLException {
+    return new ArrayList<>(coalesce(() -> source.getSubsystems(modelBiGGid, reactionBiGGid), "getSubsystems",
+      modelBiGGid, reactionBiGGid));
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystems(String modelBiGGid, Collection<String> reactionBiGGids) throws SQLException {
+    return copy(coalesce(() -> source.getSubsystems(modelBiGGid, reactionBiGGids), "getSubsystems [batch]",
+      modelBiGGid, keys(reactionBiGGids)), ArrayList::new);
+  }
+
+
+  @Override
+  public List<String> getSubsystemsForReaction(String reactionBiGGid) throws SQLException {
+    return new ArrayList<>(coalesce(() -> source.getSubsystemsForReaction(reactionBiGGid), "getSubsystemsForReaction",
+      reactionBiGGid));
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystemsForReaction(Collection<String> reactionBiGGids) throws SQLException {
+    return copy(coalesce(() -> source.getSubsystemsForReaction(reactionBiGGids), "getSubsystemsForReaction [batch]",
+      keys(reactionBiGGids)), ArrayList::new);
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormulaByCompartment(String componentId, String compartmentId) throws SQLException {
+    return coalesce(() -> source.getChemicalFormulaByCompartment(componentId, compartmentId),
+      "getChemicalFormulaByCompartment", componentId, compartmentId);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, String> getChemicalFormulaByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    return copy(coalesce(() -> source.getChemicalFormulaByCompartment(components),
+      "getChemicalFormulaByCompartment [batch]", keys(components)));
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormula(String componentId, String modelId) throws SQLException {
+    return coalesce(() -> source.getChemicalFormula(componentId, modelId), "getChemicalFormula", componentId, modelId);
+  }
+
+
+  @Override
+  public Map<String, String> getChemicalFormula(Collection<String> componentIds, String modelId) throws SQLException {
+    return copy(coalesce(() -> source.getChemicalFormula(componentIds, modelId), "getChemicalFormula [batch]",
+      keys(componentIds), modelId));
+  }
+
+
+  @Override
+  public Optional<String> getCompartmentName(BiGGId biggId) throws SQLException {
+    return coalesce(() -> source.getCompartmentName(biggId), "getCompartmentName", biggId);
+  }
+
+
+  @Override
+  public Map<String, String> getCompartmentName(Collection<String> abbreviations) throws SQLException {
+    return copy(coalesce(() -> source.getCompartmentName(abbreviations), "getCompartmentName [batch]",
+      keys(abbreviations)));
+  }
+
+
+  @Override
+  public Optional<String> getComponentName(BiGGId biggId) throws SQLException {
+    return coalesce(() -> source.getComponentName(biggId), "getComponentName", biggId);
+  }
+
+
+  @Override
+  public Map<String, String> getComponentName(Collection<String> abbreviations) throws SQLException {
+    return copy(coalesce(() -> source.getComponentName(abbreviations), "getComponentName [batch]",
+      keys(abbreviations)));
+  }
+
+
+  @Override
+  public Optional<String> getComponentType(BiGGId biggId) throws SQLException {
+    return coalesce(() -> source.getComponentType(biggId), "getComponentType", biggId);
+  }
+
+
+  @Override
+  public Map<String, String> getComponentType(Collection<String> abbreviations) throws SQLException {
+    return copy(coalesce(() -> source.getComponentType(abbreviations), "getComponentType [batch]",
+      keys(abbreviations)));
+  }
+
+
+  @Override
+  public TreeSet<IdentifiersOrgURI> getGeneIds(String label) throws SQLException {
+    return new TreeSet<>(coalesce(() -> source.getGeneIds(label), "getGeneIds", label));
+  }
+
+
+  @Override
+  public Map<String, TreeSet<IdentifiersOrgURI>> getGeneIds(Collection<String> labels) throws SQLException {
+    return copy(coalesce(() -> source.getGeneIds(labels), "getGeneIds [batch]", keys(labels)), TreeSet::new);
+  }
+
+
+  @Override
+  public Optional<String> getGeneName(String label) throws SQLException {
+    return coalesce(() -> source.getGeneName(label), "getGeneName", label);
+  }
+
+
+  @Override
+  public Map<String, String> getGeneName(Collection<String> labels) throws SQLException {
+    return copy(coalesce(() -> source.getGeneName(labels), "getGeneName [batch]", keys(labels)));
+  }
+
+
+  @Override
+  public GeneReferences getGeneReferences(String label) throws SQLException {
+    return coalesce(() -> source.getGeneReferences(label), "getGeneReferences", label);
+  }
+
+
+  @Override
+  public Map<String, GeneReferences> getGeneReferences(Collection<String> labels) throws SQLException {
+    return copy(coalesce(() -> source.getGeneReferences(labels), "getGeneReferences [batch]", keys(labels)));
+  }
+
+
+  @Override
+  public List<String> getGeneReactionRule(String reactionId, String modelId) throws SQLException {
+    return new ArrayList<>(coalesce(() -> source.getGeneReactionRule(reactionId, modelId), "getGeneReactionRule",
+      reactionId, modelId));
+  }
+
+
+  @Override
+  public Map<String, List<String>> getGeneReactionRule(Collection<String> reactionIds, String modelId) throws SQLException {
+    return copy(coalesce(() -> source.getGeneReactionRule(reactionIds, modelId), "getGeneReactionRule [batch]",
+      keys(reactionIds), modelId), ArrayList::new);
+  }
+
+
+  @Override
+  public Optional<String> getOrganism(String abbreviation) throws SQLException {
+    return coalesce(() -> source.getOrganism(abbreviation), "getOrganism", abbreviation);
+  }
+
+
+  @Override
+  public Map<String, String> getOrganism(Collection<String> abbreviations) throws SQLException {
+    return copy(coalesce(() -> source.getOrganism(abbreviations), "getOrganism [batch]", keys(abbreviations)));
+  }
+
+
+  @Override
+  public List<Publication> getPublications(String abbreviation) throws SQLException {
+    return new ArrayList<>(coalesce(() -> source.getPublications(abbreviation), "getPublications", abbreviation));
+  }
+
+
+  @Override
+  public Map<String, List<Publication>> getPublications(Collection<String> abbreviations) throws SQLException {
+    return copy(coalesce(() -> source.getPublications(abbreviations), "getPublications [batch]",
+      keys(abbreviations)), ArrayList::new);
+  }
+
+
+  @Override
+  public Optional<String> getReactionName(String abbreviation) throws SQLException {
+    return coalesce(() -> source.getReactionName(abbreviation), "getReactionName", abbreviation);
+  }
+
+
+  @Override
+  public Map<String, String> getReactionName(Collection<String> abbreviations) throws SQLException {
+    return copy(coalesce(() -> source.getReactionName(abbreviations), "getReactionName [batch]",
+      keys(abbreviations)));
+  }
+
+
+  @Override
+  public Set<IdentifiersOrgURI> getResources(BiGGId biggId, boolean includeAnyURI, boolean isReaction) throws SQLException {
+    return new TreeSet<>(coalesce(() -> source.getResources(biggId, includeAnyURI, isReaction), "getResources",
+      biggId.getAbbreviation(), includeAnyURI, isReaction));
+  }
+
+
+  @Override
+  public Map<String, Set<IdentifiersOrgURI>> getResources(Collection<String> abbreviations, boolean includeAnyURI,
+                                                          boolean isReaction) throws SQLException {
+    return copy(coalesce(() -> source.getResources(abbreviations, includeAnyURI, isReaction), "getResources [batch]",
+      keys(abbreviations), includeAnyURI, isReaction), TreeSet::new);
+  }
+
+
+  @Override
+  public Optional<Integer> getTaxonId(String abbreviation) throws SQLException {
+    return coalesce(() -> source.getTaxonId(abbreviation), "getTaxonId", abbreviation);
+  }
+
+
+  @Override
+  public Map<String, Integer> getTaxonId(Collection<String> abbreviations) throws SQLException {
+    return copy(coalesce(() -> source.getTaxonId(abbreviations), "getTaxonId [batch]", keys(abbreviations)));
+  }
+
+
+  @Override
+  public String getGenomeAccesion(String id) throws SQLException {
+    return coalesce(() -> source.getGenomeAccesion(id), "getGenomeAccesion", id);
+  }
+
+
+  @Override
+  public Map<String, String> getGenomeAccesion(Collection<String> ids) throws SQLException {
+    return copy(coalesce(() -> source.getGenomeAccesion(ids), "getGenomeAccesion [batch]", keys(ids)));
+  }
+
+
+  @Override
+  public Set<String> getAllBiggIds(String table) throws SQLException {
+    return new HashSet<>(coalesce(() -> source.getAllBiggIds(table), "getAllBiggIds", table));
+  }
+
+
+  @Override
+  public Optional<Integer> getChargeByCompartment(String componentId, String compartmentId) throws SQLException {
+    return coalesce(() -> source.getChargeByCompartment(componentId, compartmentId), "getChargeByCompartment",
+      componentId, compartmentId);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, Integer> getChargeByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    return copy(coalesce(() -> source.getChargeByCompartment(components), "getChargeByCompartment [batch]",
+      keys(components)));
+  }
+
+
+  @Override
+  public Optional<Integer> getCharge(String componentId, String modelId) throws SQLException {
+    return coalesce(() -> source.getCharge(componentId, modelId), "getCharge", componentId, modelId);
+  }
+
+
+  @Override
+  public Map<String, Integer> getCharge(Collection<String> componentIds, String modelId) throws SQLException {
+    return copy(coalesce(() -> source.getCharge(componentIds, modelId), "getCharge [batch]", keys(componentIds),
+      modelId));
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistry(String componentId, String modelId) throws SQLException {
+    return coalesce(() -> source.getChemistry(componentId, modelId), "getChemistry", componentId, modelId);
+  }
+
+
+  @Override
+  public Map<String, ComponentChemistry> getChemistry(Collection<String> componentIds, String modelId) throws SQLException {
+    return copy(coalesce(() -> source.getChemistry(componentIds, modelId), "getChemistry [batch]",
+      keys(componentIds), modelId));
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistryByCompartment(String componentId, String compartmentId) throws SQLException {
+    return coalesce(() -> source.getChemistryByCompartment(componentId, compartmentId), "getChemistryByCompartment",
+      componentId, compartmentId);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, ComponentChemistry> getChemistryByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException {
+    return copy(coalesce(() -> source.getChemistryByCompartment(components), "getChemistryByCompartment [batch]",
+      keys(components)));
+  }
+
+
+  @Override
+  public boolean isPseudoreaction(String reactionId) throws SQLException {
+    return coalesce(() -> source.isPseudoreaction(reactionId), "isPseudoreaction", reactionId);
+  }
+
+
+  @Override
+  public Map<String, Boolean> isPseudoreaction(Collection<String> reactionIds) throws SQLException {
+    return copy(coalesce(() -> source.isPseudoreaction(reactionIds), "isPseudoreaction [batch]", keys(reactionIds)));
+  }
+
+
+  @Override
+  public Optional<BiGGId> getBiggIdFromSynonym(String dataSourceId, String synonym, String type) throws SQLException {
+    return coalesce(() -> source.getBiggIdFromSynonym(dataSourceId, synonym, type), "getBiggIdFromSynonym",
+      dataSourceId, synonym, type);
+  }
+
+
+  /**
+   * Passed through unchanged, as the URIs of the resulting map have to be those of the caller.
+   */
+  @Override
+  public <T extends RegistryURI> Map<T, BiGGId> getBiggIdFromSynonym(Collection<T> uris, String type) throws SQLException {
+    return source.getBiggIdFromSynonym(uris, type);
+  }
+
+
+  @Override
+  public Collection<ForeignReaction> getBiggIdsForReactionForeignId(RegistryURI uri) throws SQLException {
+    return new ArrayList<>(coalesce(() -> source.getBiggIdsForReactionForeignId(uri),
+      "getBiggIdsForReactionForeignId", uriKey(uri)));
+  }
+
+
+  /**
+   * Passed through unchanged, as the URIs of the resulting map have to be those of the caller.
+   */
+  @Override
+  public <T extends RegistryURI> Map<T, Collection<ForeignReaction>> getBiggIdsForReactionForeignId(Collection<T> uris) throws SQLException {
+    return source.getBiggIdsForReactionForeignId(uris);
+  }
+
+
+  @Override
+  public boolean isCompartment(String id) throws SQLException {
+    return source.isCompartment(id);
+  }
+
+
+  @Override
+  public boolean isDataSource(String id) throws SQLException {
+    return source.isDataSource(id);
+  }
+
+
+  @Override
+  public boolean isMetabolite(String id) throws SQLException {
+    return source.isMetabolite(id);
+  }
+
+
+  @Override
+  public boolean isModel(String id) throws SQLException {
+    return source.isModel(id);
+  }
+
+
+  @Override
+  public boolean isReaction(String id) throws SQLException {
+    return source.isReaction(id);
+  }
+}
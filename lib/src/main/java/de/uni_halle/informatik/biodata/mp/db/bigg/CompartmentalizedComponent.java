@@ -0,0 +1,11 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+/**
+ * Key for lookups of a BiGG component within a specific compartment, i.e. the pair of BiGG IDs
+ * identifying one row of the {@code compartmentalized_component} table.
+ *
+ * @param componentId   The BiGG ID of the component, e.g. {@code atp}.
+ * @param compartmentId The BiGG ID of the compartment, e.g. {@code c}.
+ */
+public record CompartmentalizedComponent(String componentId, String compartmentId) {
+}
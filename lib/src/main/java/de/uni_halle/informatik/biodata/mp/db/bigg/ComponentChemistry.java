@@ -0,0 +1,80 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The chemical formulas and charges recorded for a component, either within one model or within one compartment
+ * across all models, as returned by {@link IQueryBiGG#getChemistry(String, String)} and
+ * {@link IQueryBiGG#getChemistryByCompartment(String, String)}.
+ * <p>
+ * A formula or charge is only used if it is unique, which is the same rule {@link IQueryBiGG#getChemicalFormula} and
+ * {@link IQueryBiGG#getCharge} apply.
+ *
+ * @param formulas The distinct, non-empty chemical formulas.
+ * @param charges  The distinct charges.
+ */
+public record ComponentChemistry(SortedSet<String> formulas, SortedSet<Integer> charges) {
+
+  public static final ComponentChemistry EMPTY = new ComponentChemistry(new TreeSet<>(), new TreeSet<>());
+
+  public ComponentChemistry {
+    formulas = Collections.unmodifiableSortedSet(new TreeSet<>(formulas));
+    charges = Collections.unmodifiableSortedSet(new TreeSet<>(charges));
+  }
+
+
+  /**
+   * @param formulas The formulas as stored in the database, of which {@code null} and empty values are skipped.
+   * @param charges  The charges as stored in the database, of which {@code null} and empty values are skipped.
+   */
+  public static ComponentChemistry of(Collection<String> formulas, Collection<String> charges) {
+    SortedSet<String> distinctFormulas = new TreeSet<>();
+    for (String formula : formulas) {
+      if (formula != null && !formula.isEmpty()) {
+        distinctFormulas.add(formula);
+      }
+    }
+    SortedSet<Integer> distinctCharges = new TreeSet<>();
+    for (String charge : charges) {
+      if (charge != null && !charge.isEmpty()) {
+        distinctCharges.add(Integer.parseInt(charge));
+      }
+    }
+    return new ComponentChemistry(distinctFormulas, distinctCharges);
+  }
+
+
+  /**
+   * @return The chemical formula, if exactly one was found.
+   */
+  public Optional<String> formula() {
+    return formulas.size() == 1 ? Optional.of(formulas.first()) : Optional.empty();
+  }
+
+
+  /**
+   * @return The charge, if exactly one was found.
+   */
+  public Optional<Integer> charge() {
+    return charges.size() == 1 ? Optional.of(charges.first()) : Optional.empty();
+  }
+
+
+  public boolean isFormulaAmbiguous() {
+    return formulas.size() > 1;
+  }
+
+
+  public boolean isChargeAmbiguous() {
+    return charges.size() > 1;
+  }
+
+
+  public boolean isEmpty() {
+    return formulas.isEmpty() && charges.isEmpty();
+  }
+}
@@ -0,0 +1,61 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The cross-references and RefSeq names recorded for a gene, as returned by
+ * {@link IQueryBiGG#getGeneReferences(String)}.
+ * <p>
+ * The identifiers are the ones {@link IQueryBiGG#getGeneIds(String)} returns, and a name is only used if it is unique,
+ * which is the same rule {@link IQueryBiGG#getGeneName(String)} applies.
+ *
+ * @param ids   The identifiers.org URIs of all synonyms of the gene.
+ * @param names The distinct, non-empty RefSeq names of the gene.
+ */
+public record GeneReferences(SortedSet<IdentifiersOrgURI> ids, SortedSet<String> names) {
+
+  public static final GeneReferences EMPTY = new GeneReferences(new TreeSet<>(), new TreeSet<>());
+
+  public GeneReferences {
+    ids = Collections.unmodifiableSortedSet(new TreeSet<>(ids));
+    names = Collections.unmodifiableSortedSet(new TreeSet<>(names));
+  }
+
+
+  /**
+   * @param names The names as stored in the database, of which {@code null} and empty values are skipped.
+   */
+  public static GeneReferences of(Collection<IdentifiersOrgURI> ids, Collection<String> names) {
+    SortedSet<String> distinctNames = new TreeSet<>();
+    for (String name : names) {
+      if (name != null && !name.isEmpty()) {
+        distinctNames.add(name);
+      }
+    }
+    return new GeneReferences(new TreeSet<>(ids), distinctNames);
+  }
+
+
+  /**
+   * @return The name of the gene, if exactly one was found.
+   */
+  public Optional<String> name() {
+    return names.size() == 1 ? Optional.of(names.first()) : Optional.empty();
+  }
+
+
+  public boolean isNameAmbiguous() {
+    return names.size() > 1;
+  }
+
+
+  public boolean isEmpty() {
+    return ids.isEmpty() && names.isEmpty();
+  }
+}
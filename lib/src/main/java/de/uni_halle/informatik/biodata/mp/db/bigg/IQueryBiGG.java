@@ -0,0 +1,239 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB.ForeignReaction;
+import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * All lookups the BiGG annotators perform, independent of where the data is stored.
+ * <p>
+ * {@link BiGGDB} answers them from the PostgreSQL database, {@link OfflineBiGGDB} from a snapshot file and
+ * {@link BiGGModelSnapshot} from results prefetched for one model. Which backend the annotators work on is
+ * chosen via {@link de.uni_halle.informatik.biodata.mp.parameters.DBParameters#backend()}.
+ * <p>
+ * Every single-key lookup has a batch variant taking a collection of keys. The resulting maps only contain the
+ * keys for which a value was found, and a key maps to a value exactly when the single-key lookup would return it.
+ */
+public interface IQueryBiGG {
+
+  /**
+   * @return The date of the last update of the BiGG database, or an empty {@link Optional} if not available.
+   */
+  Optional<Date> getBiGGVersion() throws SQLException;
+
+  /**
+   * @return The distinct, non-empty subsystems of the reaction within the model.
+   */
+  List<String> getSubsystems(String modelBiGGid, String reactionBiGGid) throws SQLException;
+
+  Map<String, List<String>> getSubsystems(String modelBiGGid, Collection<String> reactionBiGGids) throws SQLException;
+
+  /**
+   * @return The distinct, non-empty subsystems of the reaction across all models.
+   */
+  List<String> getSubsystemsForReaction(String reactionBiGGid) throws SQLException;
+
+  Map<String, List<String>> getSubsystemsForReaction(Collection<String> reactionBiGGids) throws SQLException;
+
+  /**
+   * @return The chemical formula of the component in the compartment, if it is unique across all models.
+   */
+  Optional<String> getChemicalFormulaByCompartment(String componentId, String compartmentId) throws SQLException;
+
+  Map<CompartmentalizedComponent, String> getChemicalFormulaByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException;
+
+  /**
+   * @return The chemical formula of the component in the model, if it is unique.
+   */
+  Optional<String> getChemicalFormula(String componentId, String modelId) throws SQLException;
+
+  Map<String, String> getChemicalFormula(Collection<String> componentIds, String modelId) throws SQLException;
+
+  /**
+   * @return The name of the compartment.
+   */
+  Optional<String> getCompartmentName(BiGGId biggId) throws SQLException;
+
+  Map<String, String> getCompartmentName(Collection<String> abbreviations) throws SQLException;
+
+  /**
+   * @return The name of the component.
+   */
+  Optional<String> getComponentName(BiGGId biggId) throws SQLException;
+
+  Map<String, String> getComponentName(Collection<String> abbreviations) throws SQLException;
+
+  /**
+   * @return The type of the component, e.g. {@code metabolite}.
+   */
+  Optional<String> getComponentType(BiGGId biggId) throws SQLException;
+
+  Map<String, String> getComponentType(Collection<String> abbreviations) throws SQLException;
+
+  /**
+   * @return The identifiers.org URIs of all synonyms of the gene.
+   */
+  TreeSet<IdentifiersOrgURI> getGeneIds(String label) throws SQLException;
+
+  Map<String, TreeSet<IdentifiersOrgURI>> getGeneIds(Collection<String> labels) throws SQLException;
+
+  /**
+   * @return The name of the gene, if it is unique.
+   */
+  Optional<String> getGeneName(String label) throws SQLException;
+
+  Map<String, String> getGeneName(Collection<String> labels) throws SQLException;
+
+  /**
+   * @return The identifiers and names of the gene, as looked up separately by {@link #getGeneIds(String)} and
+   *         {@link #getGeneName(String)}.
+   */
+  GeneReferences getGeneReferences(String label) throws SQLException;
+
+  /**
+   * @return The references of each gene with at least one identifier or name, e.g. of all genes of a model at once.
+   */
+  Map<String, GeneReferences> getGeneReferences(Collection<String> labels) throws SQLException;
+
+  /**
+   * @return The gene reaction rules of the reaction within the model, with the IDs of the genes as used in BiGG.
+   */
+  List<String> getGeneReactionRule(String reactionId, String modelId) throws SQLException;
+
+  Map<String, List<String>> getGeneReactionRule(Collection<String> reactionIds, String modelId) throws SQLException;
+
+  /**
+   * @return The organism of the genome the model is based on.
+   */
+  Optional<String> getOrganism(String abbreviation) throws SQLException;
+
+  Map<String, String> getOrganism(Collection<String> abbreviations) throws SQLException;
+
+  /**
+   * @return The publications of the model.
+   */
+  List<Publication> getPublications(String abbreviation) throws SQLException;
+
+  Map<String, List<Publication>> getPublications(Collection<String> abbreviations) throws SQLException;
+
+  /**
+   * @return The name of the reaction.
+   */
+  Optional<String> getReactionName(String abbreviation) throws SQLException;
+
+  Map<String, String> getReactionName(Collection<String> abbreviations) throws SQLException;
+
+  /**
+   * @param includeAnyURI Whether to include URIs which are not identifiers.org URIs.
+   * @param isReaction    Whether the ID refers to a reaction rather than to a component.
+   * @return The URIs of all synonyms of the reaction or component.
+   */
+  Set<IdentifiersOrgURI> getResources(BiGGId biggId, boolean includeAnyURI, boolean isReaction) throws SQLException;
+
+  Map<String, Set<IdentifiersOrgURI>> getResources(Collection<String> abbreviations, boolean includeAnyURI,
+                                                   boolean isReaction) throws SQLException;
+
+  /**
+   * @return The NCBI taxonomy ID of the genome the model is based on.
+   */
+  Optional<Integer> getTaxonId(String abbreviation) throws SQLException;
+
+  Map<String, Integer> getTaxonId(Collection<String> abbreviations) throws SQLException;
+
+  /**
+   * @return The accession of the genome the model is based on, or {@code null} if there is none.
+   */
+  String getGenomeAccesion(String id) throws SQLException;
+
+  Map<String, String> getGenomeAccesion(Collection<String> ids) throws SQLException;
+
+  /**
+   * @return All BiGG IDs of the given table.
+   */
+  Set<String> getAllBiggIds(String table) throws SQLException;
+
+  /**
+   * @return The charge of the component in the compartment, if it is unique across all models.
+   */
+  Optional<Integer> getChargeByCompartment(String componentId, String compartmentId) throws SQLException;
+
+  Map<CompartmentalizedComponent, Integer> getChargeByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException;
+
+  /**
+   * @return The charge of the component in the model, if it is unique.
+   */
+  Optional<Integer> getCharge(String componentId, String modelId) throws SQLException;
+
+  Map<String, Integer> getCharge(Collection<String> componentIds, String modelId) throws SQLException;
+
+  /**
+   * @return The chemical formulas and charges of the component in the model, as looked up separately by
+   *         {@link #getChemicalFormula(String, String)} and {@link #getCharge(String, String)}.
+   */
+  ComponentChemistry getChemistry(String componentId, String modelId) throws SQLException;
+
+  /**
+   * @return The chemistry of each component with at least one formula or charge in the model.
+   */
+  Map<String, ComponentChemistry> getChemistry(Collection<String> componentIds, String modelId) throws SQLException;
+
+  /**
+   * @return The chemical formulas and charges of the component in the compartment across all models, as looked up
+   *         separately by {@link #getChemicalFormulaByCompartment(String, String)} and
+   *         {@link #getChargeByCompartment(String, String)}.
+   */
+  ComponentChemistry getChemistryByCompartment(String componentId, String compartmentId) throws SQLException;
+
+  /**
+   * @return The chemistry of each component with at least one formula or charge in its compartment.
+   */
+  Map<CompartmentalizedComponent, ComponentChemistry> getChemistryByCompartment(Collection<CompartmentalizedComponent> components) throws SQLException;
+
+  /**
+   * @return Whether the reaction is a pseudoreaction, e.g. a biomass, exchange or demand reaction.
+   */
+  boolean isPseudoreaction(String reactionId) throws SQLException;
+
+  Map<String, Boolean> isPseudoreaction(Collection<String> reactionIds) throws SQLException;
+
+  /**
+   * @param type One of the synonym types of {@link BiGGDBContract.Constants}, e.g. {@code TYPE_SPECIES}.
+   * @return The BiGG ID the synonym of the data source refers to, if it is unique.
+   * @throws SQLException If the lookup exceeded its deadline. Other failures of the lookups by synonym are treated as
+   *                      if nothing was found.
+   */
+  Optional<BiGGId> getBiggIdFromSynonym(String dataSourceId, String synonym, String type) throws SQLException;
+
+  <T extends RegistryURI> Map<T, BiGGId> getBiggIdFromSynonym(Collection<T> uris, String type) throws SQLException;
+
+  /**
+   * @return The BiGG reactions the URI of an external data source refers to, together with their compartments.
+   * @throws SQLException If the lookup exceeded its deadline, as for {@link #getBiggIdFromSynonym}.
+   */
+  Collection<ForeignReaction> getBiggIdsForReactionForeignId(RegistryURI uri) throws SQLException;
+
+  /**
+   * @return The BiGG reactions each URI of an external data source refers to, together with their compartments. URIs
+   *         without reactions are missing from the map.
+   */
+  <T extends RegistryURI> Map<T, Collection<ForeignReaction>> getBiggIdsForReactionForeignId(Collection<T> uris) throws SQLException;
+
+  boolean isCompartment(String id) throws SQLException;
+
+  boolean isDataSource(String id) throws SQLException;
+
+  boolean isMetabolite(String id) throws SQLException;
+
+  boolean isModel(String id) throws SQLException;
+
+  boolean isReaction(String id) throws SQLException;
+}
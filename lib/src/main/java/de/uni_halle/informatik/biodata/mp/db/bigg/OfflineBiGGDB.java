@@ -0,0 +1,624 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.logging.BundleNames;
+import de.uni_halle.informatik.biodata.mp.polishing.NamePolisher;
+import de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDB.ForeignReaction;
+import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+import de.zbit.util.ResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.*;
+
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSnapshotExporter.*;
+import static java.text.MessageFormat.format;
+
+/**
+ * {@link IQueryBiGG} answering all lookups from a {@link BiGGSnapshotFile} instead of a PostgreSQL server.
+ * <p>
+ * Each lookup is a binary search in the memory-mapped (or heap-loaded) file, so annotation runs entirely locally.
+ * The results are identical to those of the {@link BiGGDB} the file was exported from, including the rules for
+ * ambiguous values.
+ */
+public class OfflineBiGGDB implements IQueryBiGG, Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(OfflineBiGGDB.class);
+  private static final ResourceBundle MESSAGES = ResourceManager.getBundle(BundleNames.DB_MESSAGES);
+
+  private final BiGGSnapshotFile file;
+
+
+  /**
+   * @param snapshot A file written by {@link BiGGSnapshotExporter}.
+   */
+  public OfflineBiGGDB(Path snapshot) throws IOException {
+    this(BiGGSnapshotFile.open(snapshot));
+  }
+
+
+  public OfflineBiGGDB(BiGGSnapshotFile file) {
+    this.file = file;
+    logger.debug("Using BiGG {} from snapshot file", file.getBiGGVersion());
+  }
+
+
+  @Override
+  public void close() throws IOException {
+    file.close();
+  }
+
+
+  /**
+   * @return The only distinct non-empty value stored for the key, if there is exactly one.
+   */
+  private Optional<String> unique(String section, String... key) {
+    Set<String> values = new HashSet<>();
+    for (String[] value : file.lookup(section, key)) {
+      if (value[0] != null && !value[0].isEmpty()) {
+        values.add(value[0]);
+      }
+    }
+    if (values.size() == 1) {
+      return Optional.of(values.iterator().next());
+    }
+    return Optional.empty();
+  }
+
+
+  private boolean isAmbiguous(String section, String... key) {
+    return file.lookup(section, key).stream()
+      .map(value -> value[0])
+      .filter(value -> value != null && !value.isEmpty())
+      .distinct()
+      .count() > 1;
+  }
+
+
+  private List<String> firstFields(String section, String... key) {
+    return file.lookup(section, key).stream().map(value -> value[0]).toList();
+  }
+
+
+  @Override
+  public Optional<Date> getBiGGVersion() {
+    String version = file.getBiGGVersion();
+    return version.isEmpty() ? Optional.empty() : Optional.of(Date.valueOf(version));
+  }
+
+
+  @Override
+  public List<String> getSubsystems(String modelBiGGid, String reactionBiGGid) {
+    return new ArrayList<>(firstFields(SUBSYSTEMS_BY_MODEL, reactionBiGGid, modelBiGGid));
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystems(String modelBiGGid, Collection<String> reactionBiGGids) {
+    Map<String, List<String>> results = new HashMap<>();
+    for (String reactionBiGGid : reactionBiGGids) {
+      var subsystems = getSubsystems(modelBiGGid, reactionBiGGid);
+      if (!subsystems.isEmpty()) {
+        results.put(reactionBiGGid, subsystems);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public List<String> getSubsystemsForReaction(String reactionBiGGid) {
+    return new ArrayList<>(firstFields(SUBSYSTEMS, reactionBiGGid));
+  }
+
+
+  @Override
+  public Map<String, List<String>> getSubsystemsForReaction(Collection<String> reactionBiGGids) {
+    Map<String, List<String>> results = new HashMap<>();
+    for (String reactionBiGGid : reactionBiGGids) {
+      var subsystems = getSubsystemsForReaction(reactionBiGGid);
+      if (!subsystems.isEmpty()) {
+        results.put(reactionBiGGid, subsystems);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormulaByCompartment(String componentId, String compartmentId) {
+    if (isAmbiguous(FORMULA_BY_COMPARTMENT, componentId, compartmentId)) {
+      logger.debug(format(MESSAGES.getString("FORMULA_COMPARTMENT_AMBIGUOUS"), componentId, compartmentId));
+    }
+    return unique(FORMULA_BY_COMPARTMENT, componentId, compartmentId);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, String> getChemicalFormulaByCompartment(Collection<CompartmentalizedComponent> components) {
+    Map<CompartmentalizedComponent, String> results = new HashMap<>();
+    for (var component : components) {
+      getChemicalFormulaByCompartment(component.componentId(), component.compartmentId())
+        .ifPresent(formula -> results.put(component, formula));
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<String> getChemicalFormula(String componentId, String modelId) {
+    if (isAmbiguous(FORMULA_BY_MODEL, componentId, modelId)) {
+      logger.debug(format(MESSAGES.getString("FORMULA_MODEL_AMBIGUOUS"), componentId, modelId));
+    }
+    return unique(FORMULA_BY_MODEL, componentId, modelId);
+  }
+
+
+  @Override
+  public Map<String, String> getChemicalFormula(Collection<String> componentIds, String modelId) {
+    Map<String, String> results = new HashMap<>();
+    for (String componentId : componentIds) {
+      getChemicalFormula(componentId, modelId).ifPresent(formula -> results.put(componentId, formula));
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<String> getCompartmentName(BiGGId biggId) {
+    return unique(COMPARTMENT_NAME, biggId.getAbbreviation());
+  }
+
+
+  @Override
+  public Map<String, String> getCompartmentName(Collection<String> abbreviations) {
+    return uniqueValues(COMPARTMENT_NAME, abbreviations);
+  }
+
+
+  @Override
+  public Optional<String> getComponentName(BiGGId biggId) {
+    return unique(COMPONENT_NAME, biggId.getAbbreviation()).map(name -> new NamePolisher().polish(name));
+  }
+
+
+  @Override
+  public Map<String, String> getComponentName(Collection<String> abbreviations) {
+    Map<String, String> names = uniqueValues(COMPONENT_NAME, abbreviations);
+    names.replaceAll((abbreviation, name) -> new NamePolisher().polish(name));
+    return names;
+  }
+
+
+  @Override
+  public Optional<String> getComponentType(BiGGId biggId) {
+    return unique(COMPONENT_TYPE, biggId.getAbbreviation());
+  }
+
+
+  @Override
+  public Map<String, String> getComponentType(Collection<String> abbreviations) {
+    return uniqueValues(COMPONENT_TYPE, abbreviations);
+  }
+
+
+  @Override
+  public TreeSet<IdentifiersOrgURI> getGeneIds(String label) {
+    TreeSet<IdentifiersOrgURI> results = new TreeSet<>();
+    for (String[] value : file.lookup(GENE_IDS, label)) {
+      String prefix = value[0];
+      String id = value[1];
+      if (prefix != null && id != null) {
+        if (prefix.startsWith("http://identifiers.org/")) {
+          String[] segments = prefix.split("/");
+          prefix = segments[segments.length - 1];
+        }
+        results.add(new IdentifiersOrgURI(prefix, id));
+      } else if (prefix == null) {
+        logger.debug(format(MESSAGES.getString("COLLECTION_NULL_GENE"), label));
+      } else {
+        logger.debug(format(MESSAGES.getString("IDENTIFIER_NULL_GENE"), prefix));
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public Map<String, TreeSet<IdentifiersOrgURI>> getGeneIds(Collection<String> labels) {
+    Map<String, TreeSet<IdentifiersOrgURI>> results = new HashMap<>();
+    for (String label : labels) {
+      var ids = getGeneIds(label);
+      if (!ids.isEmpty()) {
+        results.put(label, ids);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<String> getGeneName(String label) {
+    return unique(GENE_NAME, label);
+  }
+
+
+  @Override
+  public Map<String, String> getGeneName(Collection<String> labels) {
+    return uniqueValues(GENE_NAME, labels);
+  }
+
+
+  @Override
+  public GeneReferences getGeneReferences(String label) {
+    return GeneReferences.of(getGeneIds(label), firstFields(GENE_NAME, label));
+  }
+
+
+  @Override
+  public Map<String, GeneReferences> getGeneReferences(Collection<String> labels) {
+    Map<String, GeneReferences> results = new HashMap<>();
+    for (String label : labels) {
+      var references = getGeneReferences(label);
+      if (!references.isEmpty()) {
+        results.put(label, references);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public List<String> getGeneReactionRule(String reactionId, String modelId) {
+    return new ArrayList<>(firstFields(REACTION_RULES, reactionId, modelId));
+  }
+
+
+  @Override
+  public Map<String, List<String>> getGeneReactionRule(Collection<String> reactionIds, String modelId) {
+    Map<String, List<String>> results = new HashMap<>();
+    for (String reactionId : reactionIds) {
+      var rules = getGeneReactionRule(reactionId, modelId);
+      if (!rules.isEmpty()) {
+        results.put(reactionId, rules);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<String> getOrganism(String abbreviation) {
+    return unique(MODEL_ORGANISM, abbreviation);
+  }
+
+
+  @Override
+  public Map<String, String> getOrganism(Collection<String> abbreviations) {
+    return uniqueValues(MODEL_ORGANISM, abbreviations);
+  }
+
+
+  @Override
+  public List<Publication> getPublications(String abbreviation) {
+    List<Publication> results = new ArrayList<>();
+    for (String[] value : file.lookup(MODEL_PUBLICATIONS, abbreviation)) {
+      results.add(new Publication(value[0].equals("pmid") ? "pubmed" : value[0], value[1]));
+    }
+    return results;
+  }
+
+
+  @Override
+  public Map<String, List<Publication>> getPublications(Collection<String> abbreviations) {
+    Map<String, List<Publication>> results = new HashMap<>();
+    for (String abbreviation : abbreviations) {
+      var publications = getPublications(abbreviation);
+      if (!publications.isEmpty()) {
+        results.put(abbreviation, publications);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<String> getReactionName(String abbreviation) {
+    return unique(REACTION_NAME, abbreviation).map(name -> new NamePolisher().polish(name));
+  }
+
+
+  @Override
+  public Map<String, String> getReactionName(Collection<String> abbreviations) {
+    Map<String, String> names = uniqueValues(REACTION_NAME, abbreviations);
+    names.replaceAll((abbreviation, name) -> new NamePolisher().polish(name));
+    return names;
+  }
+
+
+  @Override
+  public Set<IdentifiersOrgURI> getResources(BiGGId biggId, boolean includeAnyURI, boolean isReaction) {
+    return getResources(biggId.getAbbreviation(), includeAnyURI, isReaction);
+  }
+
+
+  private Set<IdentifiersOrgURI> getResources(String abbreviation, boolean includeAnyURI, boolean isReaction) {
+    Set<IdentifiersOrgURI> resources = new TreeSet<>();
+    for (String[] value : file.lookup(isReaction ? REACTION_RESOURCES : COMPONENT_RESOURCES, abbreviation)) {
+      if (includeAnyURI || value[0].contains("identifiers.org")) {
+        resources.add(new IdentifiersOrgURI(value[0] + (value[1] == null ? "" : value[1])));
+      }
+    }
+    return resources;
+  }
+
+
+  @Override
+  public Map<String, Set<IdentifiersOrgURI>> getResources(Collection<String> abbreviations, boolean includeAnyURI,
+                                                          boolean isReaction) {
+    Map<String, Set<IdentifiersOrgURI>> results = new HashMap<>();
+    for (String abbreviation : abbreviations) {
+      var resources = getResources(abbreviation, includeAnyURI, isReaction);
+      if (!resources.isEmpty()) {
+        results.put(abbreviation, resources);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<Integer> getTaxonId(String abbreviation) {
+    var taxa = firstFields(MODEL_TAXON, abbreviation);
+    if (taxa.size() > 1) {
+      logger.debug(format(MESSAGES.getString("QUERY_TAXON_MULTIPLE_RESULTS"), abbreviation));
+    }
+    return taxa.stream().findFirst().map(Integer::parseInt);
+  }
+
+
+  @Override
+  public Map<String, Integer> getTaxonId(Collection<String> abbreviations) {
+    Map<String, Integer> results = new HashMap<>();
+    for (String abbreviation : abbreviations) {
+      getTaxonId(abbreviation).ifPresent(taxon -> results.put(abbreviation, taxon));
+    }
+    return results;
+  }
+
+
+  @Override
+  public String getGenomeAccesion(String id) {
+    return firstFields(MODEL_ACCESSION, id).stream().findFirst().orElse("");
+  }
+
+
+  @Override
+  public Map<String, String> getGenomeAccesion(Collection<String> ids) {
+    Map<String, String> results = new HashMap<>();
+    for (String id : ids) {
+      firstFields(MODEL_ACCESSION, id).stream().findFirst().ifPresent(accession -> results.put(id, accession));
+    }
+    return results;
+  }
+
+
+  @Override
+  public Set<String> getAllBiggIds(String table) throws SQLException {
+    if (!file.hasSection(IDS + table)) {
+      throw new SQLFeatureNotSupportedException(format("Table {0} is not contained in the BiGG snapshot file.", table));
+    }
+    return new LinkedHashSet<>(file.keys(IDS + table));
+  }
+
+
+  @Override
+  public Optional<Integer> getChargeByCompartment(String componentId, String compartmentId) {
+    if (isAmbiguous(CHARGE_BY_COMPARTMENT, componentId, compartmentId)) {
+      logger.debug(format(MESSAGES.getString("CHARGE_NOT_UNIQUE_COMPARTMENT"), componentId, compartmentId));
+    }
+    return unique(CHARGE_BY_COMPARTMENT, componentId, compartmentId).map(Integer::parseInt);
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, Integer> getChargeByCompartment(Collection<CompartmentalizedComponent> components) {
+    Map<CompartmentalizedComponent, Integer> results = new HashMap<>();
+    for (var component : components) {
+      getChargeByCompartment(component.componentId(), component.compartmentId())
+        .ifPresent(charge -> results.put(component, charge));
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<Integer> getCharge(String componentId, String modelId) {
+    if (isAmbiguous(CHARGE_BY_MODEL, componentId, modelId)) {
+      logger.debug(format(MESSAGES.getString("CHARGE_NOT_UNIQUE_MODEL"), componentId, modelId));
+    }
+    return unique(CHARGE_BY_MODEL, componentId, modelId).map(Integer::parseInt);
+  }
+
+
+  @Override
+  public Map<String, Integer> getCharge(Collection<String> componentIds, String modelId) {
+    Map<String, Integer> results = new HashMap<>();
+    for (String componentId : componentIds) {
+      getCharge(componentId, modelId).ifPresent(charge -> results.put(componentId, charge));
+    }
+    return results;
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistry(String componentId, String modelId) {
+    var chemistry = ComponentChemistry.of(firstFields(FORMULA_BY_MODEL, componentId, modelId),
+      firstFields(CHARGE_BY_MODEL, componentId, modelId));
+    if (chemistry.isFormulaAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("FORMULA_MODEL_AMBIGUOUS"), componentId, modelId));
+    }
+    if (chemistry.isChargeAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("CHARGE_NOT_UNIQUE_MODEL"), componentId, modelId));
+    }
+    return chemistry;
+  }
+
+
+  @Override
+  public Map<String, ComponentChemistry> getChemistry(Collection<String> componentIds, String modelId) {
+    Map<String, ComponentChemistry> results = new HashMap<>();
+    for (String componentId : componentIds) {
+      var chemistry = getChemistry(componentId, modelId);
+      if (!chemistry.isEmpty()) {
+        results.put(componentId, chemistry);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public ComponentChemistry getChemistryByCompartment(String componentId, String compartmentId) {
+    var chemistry = ComponentChemistry.of(firstFields(FORMULA_BY_COMPARTMENT, componentId, compartmentId),
+      firstFields(CHARGE_BY_COMPARTMENT, componentId, compartmentId));
+    if (chemistry.isFormulaAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("FORMULA_COMPARTMENT_AMBIGUOUS"), componentId, compartmentId));
+    }
+    if (chemistry.isChargeAmbiguous()) {
+      logger.debug(format(MESSAGES.getString("CHARGE_NOT_UNIQUE_COMPARTMENT"), componentId, compartmentId));
+    }
+    return chemistry;
+  }
+
+
+  @Override
+  public Map<CompartmentalizedComponent, ComponentChemistry> getChemistryByCompartment(Collection<CompartmentalizedComponent> components) {
+    Map<CompartmentalizedComponent, ComponentChemistry> results = new HashMap<>();
+    for (var component : components) {
+      var chemistry = getChemistryByCompartment(component.componentId(), component.compartmentId());
+      if (!chemistry.isEmpty()) {
+        results.put(component, chemistry);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public boolean isPseudoreaction(String reactionId) {
+    return unique(REACTION_PSEUDO, reactionId).filter("t"::equals).isPresent();
+  }
+
+
+  @Override
+  public Map<String, Boolean> isPseudoreaction(Collection<String> reactionIds) {
+    Map<String, Boolean> results = new HashMap<>();
+    for (String reactionId : reactionIds) {
+      results.put(reactionId, isPseudoreaction(reactionId));
+    }
+    return results;
+  }
+
+
+  @Override
+  public Optional<BiGGId> getBiggIdFromSynonym(String dataSourceId, String synonym, String type) {
+    if (!file.hasSection(SYNONYM_PREFIX + type)) {
+      return Optional.empty();
+    }
+    Set<BiGGId> results = new HashSet<>();
+    for (String biggId : firstFields(SYNONYM_PREFIX + type, dataSourceId, synonym)) {
+      if (biggId != null && !biggId.isEmpty()) {
+        results.add(new BiGGId(biggId));
+      }
+    }
+    return results.size() == 1 ? Optional.of(results.iterator().next()) : Optional.empty();
+  }
+
+
+  @Override
+  public <T extends RegistryURI> Map<T, BiGGId> getBiggIdFromSynonym(Collection<T> uris, String type) {
+    Map<T, BiGGId> results = new HashMap<>();
+    for (T uri : uris) {
+      getBiggIdFromSynonym(uri.getPrefix(), uri.getId(), type).ifPresent(biggId -> results.put(uri, biggId));
+    }
+    return results;
+  }
+
+
+  @Override
+  public Collection<ForeignReaction> getBiggIdsForReactionForeignId(RegistryURI uri) {
+    Set<ForeignReaction> results = new HashSet<>();
+    for (String[] value : file.lookup(FOREIGN_REACTIONS, uri.getPrefix(), uri.getId())) {
+      results.add(new ForeignReaction(value[0], value[1], value[2]));
+    }
+    return results;
+  }
+
+
+  @Override
+  public <T extends RegistryURI> Map<T, Collection<ForeignReaction>> getBiggIdsForReactionForeignId(Collection<T> uris) {
+    Map<T, Collection<ForeignReaction>> results = new HashMap<>();
+    for (T uri : uris) {
+      Collection<ForeignReaction> reactions = getBiggIdsForReactionForeignId(uri);
+      if (!reactions.isEmpty()) {
+        results.put(uri, reactions);
+      }
+    }
+    return results;
+  }
+
+
+  @Override
+  public boolean isCompartment(String id) {
+    if (id.startsWith("C_")) {
+      id = id.substring(2);
+    }
+    return file.contains(IDS + BiGGDBContract.Constants.Table.COMPARTMENT, id);
+  }
+
+
+  @Override
+  public boolean isDataSource(String id) {
+    return file.contains(IDS + BiGGDBContract.Constants.Table.DATA_SOURCE, id);
+  }
+
+
+  @Override
+  public boolean isMetabolite(String id) {
+    if (id.startsWith("M_")) {
+      id = id.substring(2);
+    }
+    return file.contains(IDS + BiGGDBContract.Constants.Table.COMPONENT, id);
+  }
+
+
+  @Override
+  public boolean isModel(String id) {
+    return file.contains(IDS + BiGGDBContract.Constants.Table.MODEL, id);
+  }
+
+
+  @Override
+  public boolean isReaction(String id) {
+    if (id.startsWith("R_")) {
+      id = id.substring(2);
+    }
+    return file.contains(IDS + BiGGDBContract.Constants.Table.REACTION, id);
+  }
+
+
+  private Map<String, String> uniqueValues(String section, Collection<String> keys) {
+    Map<String, String> results = new HashMap<>();
+    for (String key : keys) {
+      unique(section, key).ifPresent(value -> results.put(key, value));
+    }
+    return results;
+  }
+}
@@ -0,0 +1,222 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable index of the synonyms of one entity type, i.e. species, reaction or gene product, which answers
+ * {@link IQueryBiGG#getBiggIdFromSynonym(String, String, String)} without querying the database.
+ * <p>
+ * The data sources and the BiGG IDs the synonyms refer to are dictionary-encoded as {@code int} codes, so each distinct
+ * string is held once. The pairs of data source and synonym are kept in an open-addressing table of entry numbers,
+ * with the data source code, synonym and target code of each entry in parallel arrays. Just like the database query,
+ * a synonym only resolves to a BiGG ID if it refers to exactly one entity in its data source; synonyms referring to
+ * several entities are kept as ambiguous, so that they do not fall back to the database. As instances are never
+ * modified after construction, they can be shared between threads without synchronization.
+ */
+public final class SynonymIndex {
+
+  private static final int AMBIGUOUS = -1;
+
+  private final String type;
+  private final Map<String, Integer> dataSources;
+  private final int[] table;
+  private final int[] entryDataSources;
+  private final String[] synonyms;
+  private final int[] entryTargets;
+  private final String[] targets;
+  private final long loadTimeMillis;
+
+
+  private SynonymIndex(String type, Builder builder, long loadTimeMillis) {
+    this.type = type;
+    this.dataSources = Map.copyOf(builder.dataSources);
+    this.table = builder.table.clone();
+    this.entryDataSources = Arrays.copyOf(builder.entryDataSources, builder.size);
+    this.synonyms = Arrays.copyOf(builder.synonyms, builder.size);
+    this.entryTargets = Arrays.copyOf(builder.entryTargets, builder.size);
+    this.targets = builder.targets.toArray(String[]::new);
+    this.loadTimeMillis = loadTimeMillis;
+  }
+
+
+  /**
+   * @param type The entity type of the synonyms, see {@link BiGGDBContract.Constants}.
+   */
+  public static Builder builder(String type) {
+    return new Builder(type);
+  }
+
+
+  /**
+   * @param dataSource The BiGG ID of the data source, e.g. {@code chebi}.
+   * @param synonym    The ID of the entity in the data source.
+   * @return The BiGG ID the synonym refers to, or an empty {@link Optional} if it refers to none or to several.
+   */
+  public Optional<String> get(String dataSource, String synonym) {
+    Integer dataSourceCode = dataSources.get(dataSource);
+    if (dataSourceCode == null || synonym == null) {
+      return Optional.empty();
+    }
+    int entry = find(table, entryDataSources, synonyms, dataSourceCode, synonym);
+    if (entry < 0 || entryTargets[entry] == AMBIGUOUS) {
+      return Optional.empty();
+    }
+    return Optional.of(targets[entryTargets[entry]]);
+  }
+
+
+  public String getType() {
+    return type;
+  }
+
+
+  /**
+   * @return The number of distinct pairs of data source and synonym, including the ambiguous ones.
+   */
+  public int size() {
+    return synonyms.length;
+  }
+
+
+  /**
+   * @return The approximate number of bytes taken by the arrays and strings, counting one byte per character and four
+   *         bytes per reference, but not the object headers.
+   */
+  public long getMemoryBytes() {
+    long bytes = 4L * (table.length + 3L * synonyms.length + targets.length);
+    for (String synonym : synonyms) {
+      bytes += synonym.length();
+    }
+    for (String target : targets) {
+      bytes += target.length();
+    }
+    return bytes;
+  }
+
+
+  public long getLoadTimeMillis() {
+    return loadTimeMillis;
+  }
+
+
+  @Override
+  public String toString() {
+    return "SynonymIndex{" +
+      "type='" + type + '\'' +
+      ", size=" + size() +
+      ", dataSources=" + dataSources.size() +
+      ", targets=" + targets.length +
+      ", memoryBytes=" + getMemoryBytes() +
+      ", loadTimeMillis=" + loadTimeMillis +
+      '}';
+  }
+
+
+  /**
+   * @return The entry of the pair of data source and synonym, or -1 if there is none.
+   */
+  private static int find(int[] table, int[] entryDataSources, String[] synonyms, int dataSourceCode, String synonym) {
+    int mask = table.length - 1;
+    for (int slot = hash(dataSourceCode, synonym) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+      int entry = table[slot] - 1;
+      if (entryDataSources[entry] == dataSourceCode && synonyms[entry].equals(synonym)) {
+        return entry;
+      }
+    }
+    return -1;
+  }
+
+
+  private static int hash(int dataSourceCode, String synonym) {
+    int hash = 31 * dataSourceCode + synonym.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+
+  /**
+   * Collects the rows of data source, synonym and BiGG ID, e.g. while they are being read from the database.
+   */
+  public static final class Builder {
+
+    private final String type;
+    private final Map<String, Integer> dataSources = new HashMap<>();
+    private final Map<String, Integer> targetCodes = new HashMap<>();
+    private final List<String> targets = new ArrayList<>();
+    private int[] table = new int[1024];
+    private int[] entryDataSources = new int[512];
+    private String[] synonyms = new String[512];
+    private int[] entryTargets = new int[512];
+    private int size;
+
+
+    private Builder(String type) {
+      this.type = type;
+    }
+
+
+    /**
+     * Adds a row, ignoring it if any of its values is {@code null} or the BiGG ID is empty, just like the database
+     * query does.
+     */
+    public Builder add(String dataSource, String synonym, String biggId) {
+      if (dataSource == null || synonym == null || biggId == null || biggId.isEmpty()) {
+        return this;
+      }
+      int dataSourceCode = dataSources.computeIfAbsent(dataSource, key -> dataSources.size());
+      int target = targetCodes.computeIfAbsent(biggId, key -> {
+        targets.add(key);
+        return targets.size() - 1;
+      });
+      int entry = find(table, entryDataSources, synonyms, dataSourceCode, synonym);
+      if (entry >= 0) {
+        int known = entryTargets[entry];
+        // distinct strings may still denote the same BiGG ID, e.g. with and without prefix
+        if (known != AMBIGUOUS && known != target && !new BiGGId(targets.get(known)).equals(new BiGGId(biggId))) {
+          entryTargets[entry] = AMBIGUOUS;
+        }
+        return this;
+      }
+      if (size == synonyms.length) {
+        entryDataSources = Arrays.copyOf(entryDataSources, 2 * size);
+        synonyms = Arrays.copyOf(synonyms, 2 * size);
+        entryTargets = Arrays.copyOf(entryTargets, 2 * size);
+      }
+      entryDataSources[size] = dataSourceCode;
+      synonyms[size] = synonym;
+      entryTargets[size] = target;
+      size++;
+      if (2 * size > table.length) {
+        table = new int[2 * table.length];
+        for (int i = 0; i < size; i++) {
+          insert(i);
+        }
+      } else {
+        insert(size - 1);
+      }
+      return this;
+    }
+
+
+    /**
+     * @param loadTimeMillis The time it took to read the rows from the database.
+     */
+    public SynonymIndex build(long loadTimeMillis) {
+      return new SynonymIndex(type, this, loadTimeMillis);
+    }
+
+
+    private void insert(int entry) {
+      int mask = table.length - 1;
+      int slot = hash(entryDataSources[entry], synonyms[entry]) & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = entry + 1;
+    }
+  }
+}
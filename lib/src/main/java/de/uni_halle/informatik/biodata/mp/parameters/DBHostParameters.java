@@ -0,0 +1,77 @@
+package de.uni_halle.informatik.biodata.mp.parameters;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
+
+import java.util.Objects;
+
+/**
+ * One of several database servers holding the same data, e.g. a primary and its read replicas, see
+ * {@link DBParameters#hosts()}.
+ */
+public class DBHostParameters {
+
+    @JsonProperty("host")
+    private String host;
+    @JsonProperty("port")
+    private Integer port;
+    @JsonProperty("pool-size")
+    private int poolSize = PostgresConnectionPool.MAXIMUM_POOL_SIZE;
+    @JsonProperty("connection-timeout")
+    private long connectionTimeout = PostgresConnectionPool.CONNECTION_TIMEOUT_MILLIS;
+
+    public DBHostParameters() {
+    }
+
+    public DBHostParameters(String host, Integer port, int poolSize, long connectionTimeout) {
+        this.host = host;
+        this.port = port;
+        this.poolSize = poolSize;
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public Integer port() {
+        return port;
+    }
+
+    /**
+     * @return The maximum number of connections to this host.
+     */
+    public int poolSize() {
+        return poolSize;
+    }
+
+    /**
+     * @return The maximum number of milliseconds to wait for a connection to this host.
+     */
+    public long connectionTimeout() {
+        return connectionTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "DBHostParameters{" +
+                "host='" + host + '\'' +
+                ", port=" + port +
+                ", poolSize=" + poolSize +
+                ", connectionTimeout=" + connectionTimeout +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DBHostParameters that = (DBHostParameters) o;
+        return Objects.equals(host, that.host) && Objects.equals(port, that.port) && poolSize == that.poolSize && connectionTimeout == that.connectionTimeout;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(host, port, poolSize, connectionTimeout);
+    }
+}
@@ -1,12 +1,34 @@
 package de.uni_halle.informatik.biodata.mp.parameters;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 
 public class DBParameters {
 
+    /**
+     * Where the lookups of the annotators are answered from.
+     */
+    public enum Backend {
+        /**
+         * The PostgreSQL database given by host, port, user, password and database name.
+         */
+        JDBC,
+        /**
+         * The whole data set held in the heap: the snapshot file read into memory for BiGG, all mappings loaded
+         * from the database up front for AnnotateDB.
+         */
+        MEMORY,
+        /**
+         * The memory-mapped snapshot file, which is only available for BiGG.
+         */
+        SNAPSHOT
+    }
+
     @JsonProperty("db-name")
     private String dbName;
     @JsonProperty("host")
@@ -17,6 +39,26 @@ public class DBParameters {
     private Integer port;
     @JsonProperty("user")
     private String user;
+    @JsonProperty("backend")
+    private Backend backend = Backend.JDBC;
+    @JsonProperty("snapshot-file")
+    private String snapshotFile;
+    @JsonProperty("cache-size")
+    private int cacheSize = 100_000;
+    @JsonProperty("cache-directory")
+    private String cacheDirectory;
+    @JsonProperty("synonym-index")
+    private boolean synonymIndex = false;
+    @JsonProperty("hosts")
+    private List<DBHostParameters> hosts = new ArrayList<>();
+    @JsonProperty("connection-timeout")
+    private long connectionTimeout = PostgresConnectionPool.CONNECTION_TIMEOUT_MILLIS;
+    @JsonProperty("query-timeout")
+    private long queryTimeout = 0;
+    @JsonProperty("hedge-percentile")
+    private double hedgePercentile = 0;
+    @JsonProperty("degrade-on-timeout")
+    private boolean degradeOnTimeout = false;
 
     public DBParameters() {
     }
@@ -49,6 +91,88 @@ public class DBParameters {
         return user;
     }
 
+    public Backend backend() {
+        return backend;
+    }
+
+    public String snapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * @return The maximum number of query results kept in memory across models, or 0 to disable caching.
+     */
+    public int cacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @return The directory in which query results are kept across invocations, or {@code null} to keep them for one
+     *         invocation only. Only used if {@link #cacheSize()} is positive.
+     */
+    public String cacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * @return Whether the synonyms of the BiGG database are loaded into memory up front, so that looking up the BiGG
+     *         ID of a cross-reference does not need a query. Only used by the JDBC backend.
+     */
+    public boolean synonymIndex() {
+        return synonymIndex;
+    }
+
+    /**
+     * @return The servers the queries are distributed over, which all need to hold the same data, e.g. a primary and
+     *         its read replicas. If empty, only {@link #host()} and {@link #port()} are used.
+     */
+    public List<DBHostParameters> hosts() {
+        return hosts;
+    }
+
+    /**
+     * @return The configured {@link #hosts()}, or the single {@link #host()} and {@link #port()} with the default pool
+     *         size and the {@link #connectionTimeout()} if there are none.
+     */
+    public List<DBHostParameters> effectiveHosts() {
+        if (hosts != null && !hosts.isEmpty()) {
+            return hosts;
+        }
+        return List.of(new DBHostParameters(host, port, PostgresConnectionPool.MAXIMUM_POOL_SIZE, connectionTimeout));
+    }
+
+    /**
+     * @return The maximum number of milliseconds to wait for a connection to {@link #host()}. Each of the
+     *         {@link #hosts()} has a timeout of its own.
+     */
+    public long connectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * @return The maximum number of milliseconds a query may run before it is cancelled, rounded up to whole seconds,
+     *         or 0 to let queries run indefinitely.
+     */
+    public long queryTimeout() {
+        return queryTimeout;
+    }
+
+    /**
+     * @return The percentile of the execution times of a query after which it is sent to a second host as well, the
+     *         first result being used, or 0 to never do so. Only used with more than one of the {@link #hosts()}.
+     */
+    public double hedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * @return Whether an element whose lookups exceed their deadline is left unannotated and recorded in the
+     *         {@link de.uni_halle.informatik.biodata.mp.db.DatabaseReport}, instead of aborting the model.
+     */
+    public boolean degradeOnTimeout() {
+        return degradeOnTimeout;
+    }
+
     @Override
     public String toString() {
         return "DBParameters{" +
@@ -57,6 +181,16 @@ public class DBParameters {
                 ", passwd='" + passwd + '\'' +
                 ", port=" + port +
                 ", user='" + user + '\'' +
+                ", backend=" + backend +
+                ", snapshotFile='" + snapshotFile + '\'' +
+                ", cacheSize=" + cacheSize +
+                ", cacheDirectory='" + cacheDirectory + '\'' +
+                ", synonymIndex=" + synonymIndex +
+                ", hosts=" + hosts +
+                ", connectionTimeout=" + connectionTimeout +
+                ", queryTimeout=" + queryTimeout +
+                ", hedgePercentile=" + hedgePercentile +
+                ", degradeOnTimeout=" + degradeOnTimeout +
                 '}';
     }
 
@@ -66,11 +200,11 @@ public class DBParameters {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DBParameters that = (DBParameters) o;
-        return Objects.equals(dbName, that.dbName) && Objects.equals(host, that.host) && Objects.equals(passwd, that.passwd) && Objects.equals(port, that.port) && Objects.equals(user, that.user);
+        return Objects.equals(dbName, that.dbName) && Objects.equals(host, that.host) && Objects.equals(passwd, that.passwd) && Objects.equals(port, that.port) && Objects.equals(user, that.user) && backend == that.backend && Objects.equals(snapshotFile, that.snapshotFile) && cacheSize == that.cacheSize && Objects.equals(cacheDirectory, that.cacheDirectory) && synonymIndex == that.synonymIndex && Objects.equals(hosts, that.hosts) && connectionTimeout == that.connectionTimeout && queryTimeout == that.queryTimeout && Double.compare(hedgePercentile, that.hedgePercentile) == 0 && degradeOnTimeout == that.degradeOnTimeout;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(dbName, host, passwd, port, user);
+        return Objects.hash(dbName, host, passwd, port, user, backend, snapshotFile, cacheSize, cacheDirectory, synonymIndex, hosts, connectionTimeout, queryTimeout, hedgePercentile, degradeOnTimeout);
     }
 }
@@ -3,6 +3,6 @@ package de.uni_halle.informatik.biodata.mp.parameters;
 public class ParametersException extends Throwable {
 
     public ParametersException(String msg, Parameters parameters) {
-
+        super(msg);
     }
 }
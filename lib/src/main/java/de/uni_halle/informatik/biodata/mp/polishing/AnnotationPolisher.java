@@ -10,6 +10,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static java.text.MessageFormat.format;
@@ -40,12 +41,19 @@ public class AnnotationPolisher extends AbstractPolisher implements IPolishAnnot
     public void polish(Annotation annotation) {
         logger.trace(format("Polish Annotation: {0}", annotation.toString()));
 
+        // resolve the resources of all CV Terms at once
+        Set<String> allResources = new HashSet<>();
+        for (var term : annotation.getListOfCVTerms()) {
+            allResources.addAll(term.getResources());
+        }
+        Map<String, RegistryURI> resolved = registry.resolveBackwards(allResources);
+
         for (var term : annotation.getListOfCVTerms()) {
             Set<String> resources = new HashSet<>();
             for (String resource : term.getResources()) {
-                var registryUri = registry.resolveBackwards(resource).map(RegistryURI::getURI);
-                if (registryUri.isPresent()) {
-                    resources.add(registryUri.get());
+                var registryUri = resolved.get(resource);
+                if (registryUri != null) {
+                    resources.add(registryUri.getURI());
                 } else {
                     resources.add(resource);
                 }
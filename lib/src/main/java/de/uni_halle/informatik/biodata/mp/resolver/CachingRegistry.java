@@ -0,0 +1,131 @@
+package de.uni_halle.informatik.biodata.mp.resolver;
+
+import de.uni_halle.informatik.biodata.mp.db.BoundedCache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link Registry} remembering the results of {@link #resolveBackwards(String)} and
+ * {@link #resolveBackwards(Collection)} in a {@link BoundedCache}, and delegating everything else to the wrapped
+ * registry.
+ * <p>
+ * Resolving a URL backwards matches it against the URL patterns of the registry, while the same URLs of a few
+ * databases recur in the annotations of every model. Both resolved URLs and URLs which could not be resolved are
+ * cached. The cached URIs are shared between the callers, which is safe as long as the {@link RegistryURI}s of the
+ * wrapped registry are immutable.
+ * <p>
+ * Instances are thread-safe if the wrapped registry is, and are meant to be shared by all models of a run.
+ */
+public class CachingRegistry implements Registry {
+
+    /**
+     * Enough for the distinct URLs of a directory of models, whose cached results take a few megabytes.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 50_000;
+
+    private final Registry source;
+    private final BoundedCache<String, Optional<RegistryURI>> cache;
+
+    public CachingRegistry(Registry source) {
+        this(source, DEFAULT_MAXIMUM_SIZE);
+    }
+
+
+    /**
+     * @param source      The registry resolving the URLs not found in the cache.
+     * @param maximumSize The maximum number of URLs whose resolution is cached.
+     */
+    public CachingRegistry(Registry source, int maximumSize) {
+        this.source = source;
+        this.cache = new BoundedCache<>(maximumSize);
+    }
+
+
+    /**
+     * @return The cache, e.g. to report its hit, miss and eviction counts.
+     */
+    public BoundedCache<?, ?> getCache() {
+        return cache;
+    }
+
+
+    @Override
+    public Optional<RegistryURI> resolveBackwards(String url) {
+        Optional<RegistryURI> uri = cache.get(url);
+        if (uri == null) {
+            uri = source.resolveBackwards(url);
+            cache.put(url, uri);
+        }
+        return uri;
+    }
+
+
+    /**
+     * Resolves only the URLs missing from the cache with the wrapped registry, all at once.
+     */
+    @Override
+    public Map<String, RegistryURI> resolveBackwards(Collection<String> urls) {
+        Map<String, RegistryURI> resolved = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String url : urls) {
+            Optional<RegistryURI> uri = cache.get(url);
+            if (uri == null) {
+                missing.add(url);
+            } else {
+                uri.ifPresent(value -> resolved.put(url, value));
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, RegistryURI> loaded = source.resolveBackwards(missing);
+            for (String url : missing) {
+                RegistryURI uri = loaded.get(url);
+                cache.put(url, Optional.ofNullable(uri));
+                if (uri != null) {
+                    resolved.put(url, uri);
+                }
+            }
+        }
+        return resolved;
+    }
+
+
+    @Override
+    public String getNamespaceForPrefix(String prefix) {
+        return source.getNamespaceForPrefix(prefix);
+    }
+
+
+    @Override
+    public String getPrefixByNamespaceName(String namespaceName) {
+        return source.getPrefixByNamespaceName(namespaceName);
+    }
+
+
+    @Override
+    public String getPatternByNamespaceName(String namespaceName) {
+        return source.getPatternByNamespaceName(namespaceName);
+    }
+
+
+    @Override
+    public boolean validRegistryUrlPrefix(RegistryURI uri) {
+        return source.validRegistryUrlPrefix(uri);
+    }
+
+
+    @Override
+    public boolean isValid(String url) {
+        return source.isValid(url);
+    }
+
+
+    @Override
+    public boolean identifiesBiGG(String prefix) {
+        return source.identifiesBiGG(prefix);
+    }
+}
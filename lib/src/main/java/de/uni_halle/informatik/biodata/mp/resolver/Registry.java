@@ -1,5 +1,8 @@
 package de.uni_halle.informatik.biodata.mp.resolver;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public interface Registry {
@@ -12,6 +15,20 @@ public interface Registry {
 
     Optional<RegistryURI> resolveBackwards(String url);
 
+    /**
+     * Resolves many URLs at once, e.g. all annotations of a model.
+     *
+     * @return The URI of each URL {@link #resolveBackwards(String)} resolves, URLs which cannot be resolved are missing
+     *         from the map.
+     */
+    default Map<String, RegistryURI> resolveBackwards(Collection<String> urls) {
+        Map<String, RegistryURI> resolved = new HashMap<>();
+        for (String url : urls) {
+            resolveBackwards(url).ifPresent(uri -> resolved.put(url, uri));
+        }
+        return resolved;
+    }
+
     boolean validRegistryUrlPrefix(RegistryURI uri);
 
     boolean isValid(String url);
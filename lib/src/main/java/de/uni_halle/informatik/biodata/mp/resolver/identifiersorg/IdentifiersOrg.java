@@ -2,17 +2,15 @@ package de.uni_halle.informatik.biodata.mp.resolver.identifiersorg;
 
 import static java.text.MessageFormat.format;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import de.uni_halle.informatik.biodata.mp.resolver.RegistryURI;
 import de.uni_halle.informatik.biodata.mp.resolver.Registry;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Namespace;
-import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.RawIdentifiersOrgRegistry;
 import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Resource;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,48 +20,57 @@ import org.slf4j.LoggerFactory;
  * <p>
  * This class provides static methods and utilities to handle, validate,
  * and correct resource URLs based on the MIRIAM standards. It ensures that identifiers and URLs conform to recognized formats and corrects common errors in identifiers from various
- * biological databases. The class also initializes necessary resources and configurations at the start through a static block.
+ * biological databases. The registry itself is loaded on first use.
  */
 public class IdentifiersOrg implements Registry {
 
     private static final Logger logger = LoggerFactory.getLogger(IdentifiersOrg.class);
 
-    private static final Map<String, String> NAMESPACE_NAME_BY_PREFIX;
-    private static final Map<String, String> PATTERN_BY_NAMESPACE_NAME;
-    private static final Map<String, String> PREFIX_BY_NAMESPACE_NAME;
-    private static final Collection<Namespace> namespaces;
-
-    static {
-        RawIdentifiersOrgRegistry rawIdentifiersOrgRegistry;
-        try {
-            rawIdentifiersOrgRegistry = new IdentifiersOrgRegistryParser()
-                    .parse(IdentifiersOrgRegistryParser.class.getResourceAsStream("IdentifiersOrg-Registry.json"));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        namespaces = rawIdentifiersOrgRegistry.getPayload().get("namespaces");
+    /**
+     * The compiled ID patterns of the namespaces with {@link Namespace#isNamespaceEmbeddedInLui()}, by pattern.
+     */
+    private static final Map<String, Pattern> ID_PATTERNS = new ConcurrentHashMap<>();
+    private static final Pattern IDENTIFIERS_ORG_URL = Pattern.compile(IdentifiersOrgURI.IDENTIFIERS_ORG_ID_PATTERN);
+    private static final int PARALLEL_RESOLUTION_THRESHOLD = 10_000;
 
-        Map<String, String> namespaceNameByPrefix = new HashMap<>();
-        Map<String, String> patternByNamespaceName = new HashMap<>();
-        Map<String, String> prefixByNamespaceName = new HashMap<>();
+    /**
+     * The contents of the registry, which are loaded on first use, see {@link IdentifiersOrgRegistryImage}.
+     */
+    private static final class Contents {
+
+        private static final Map<String, String> NAMESPACE_NAME_BY_PREFIX;
+        private static final Map<String, String> PATTERN_BY_NAMESPACE_NAME;
+        private static final Map<String, String> PREFIX_BY_NAMESPACE_NAME;
+        /**
+         * The URL patterns of all resources, by which URLs are resolved backwards.
+         */
+        private static final ResourceUrlIndex RESOURCE_URL_INDEX;
+
+        static {
+            List<Namespace> namespaces = IdentifiersOrgRegistryImage.load();
+
+            Map<String, String> namespaceNameByPrefix = new HashMap<>();
+            Map<String, String> patternByNamespaceName = new HashMap<>();
+            Map<String, String> prefixByNamespaceName = new HashMap<>();
+
+            for (Namespace ns : namespaces) {
+                String namespaceName = ns.getName();
+                // already fixed, see fixKnownBrokenPatterns
+                String pattern = ns.getPattern();
+                String prefix = ns.getPrefix();
+                namespaceNameByPrefix.put(prefix, namespaceName);
+                patternByNamespaceName.put(namespaceName, pattern);
+                prefixByNamespaceName.put(namespaceName, prefix);
+            }
 
-        for (Namespace ns : namespaces) {
-            String namespaceName = ns.getName();
-            String pattern = ns.getPattern();
-            pattern = fixKnownBrokenPatterns(pattern);
-            String prefix = ns.getPrefix();
-            namespaceNameByPrefix.put(prefix, namespaceName);
-            patternByNamespaceName.put(namespaceName, pattern);
-            prefixByNamespaceName.put(namespaceName, prefix);
+            NAMESPACE_NAME_BY_PREFIX = Collections.unmodifiableMap(namespaceNameByPrefix);
+            PATTERN_BY_NAMESPACE_NAME = Collections.unmodifiableMap(patternByNamespaceName);
+            PREFIX_BY_NAMESPACE_NAME = Collections.unmodifiableMap(prefixByNamespaceName);
+            RESOURCE_URL_INDEX = new ResourceUrlIndex(namespaces);
         }
-
-        NAMESPACE_NAME_BY_PREFIX = Collections.unmodifiableMap(namespaceNameByPrefix);
-        PATTERN_BY_NAMESPACE_NAME = Collections.unmodifiableMap(patternByNamespaceName);
-        PREFIX_BY_NAMESPACE_NAME = Collections.unmodifiableMap(prefixByNamespaceName);
     }
 
-    private static String   fixKnownBrokenPatterns(String pattern) {
+    static String fixKnownBrokenPatterns(String pattern) {
         if(pattern.contains("{{$id}}")) {
             return pattern.replaceAll("\\{\\{\\$id}}", "{\\$id}");
         }
@@ -75,51 +82,85 @@ public class IdentifiersOrg implements Registry {
 
     @Override
     public String getNamespaceForPrefix(String prefix) {
-        return NAMESPACE_NAME_BY_PREFIX.getOrDefault(prefix, "");
+        return Contents.NAMESPACE_NAME_BY_PREFIX.getOrDefault(prefix, "");
     }
 
     @Override
     public String getPrefixByNamespaceName(String namespaceName) {
-        return PREFIX_BY_NAMESPACE_NAME.getOrDefault(namespaceName, "");
+        return Contents.PREFIX_BY_NAMESPACE_NAME.getOrDefault(namespaceName, "");
     }
 
 
     @Override
     public String getPatternByNamespaceName(String namespaceName) {
-        return PATTERN_BY_NAMESPACE_NAME.getOrDefault(namespaceName, "");
+        return Contents.PATTERN_BY_NAMESPACE_NAME.getOrDefault(namespaceName, "");
     }
 
     @Override
     public Optional<RegistryURI> resolveBackwards(String url) {
-        url = url.trim();
+        String trimmed = url.trim();
 
-        if (isValid(url)) {
-            return Optional.of(new IdentifiersOrgURI(url));
+        if (isValid(trimmed)) {
+            return Optional.of(new IdentifiersOrgURI(trimmed));
         }
 
-        Optional<Pair<Namespace, Resource>> matchingNamespaceResource = backwardsResolveResourceUrl(url);
-        if (matchingNamespaceResource.isPresent()) {
-            var namespace = matchingNamespaceResource.get().getLeft();
-            var resource = matchingNamespaceResource.get().getRight();
+        return backwardsResolveResourceUrl(trimmed).flatMap(resource -> extractId(trimmed, resource));
+    }
 
-            // compare a Namespace with "isNamespaceEmbeddedInLui" true vs. one with false
-            // for why this following block is necessary
-            String id;
-            Matcher matcher;
-            if (namespace.isNamespaceEmbeddedInLui()) {
-                // extract ID using the namespace ID-Pattern
-                var pattern = IdentifiersOrgURIUtils.addJavaRegexCaptureGroup(namespace.getPattern());
-                matcher = Pattern.compile(pattern).matcher(url);
+    /**
+     * Resolves the URLs as {@link #resolveBackwards(String)} does, but each distinct URL only once and with the
+     * resources of the registry looked up for all URLs at once, see {@link ResourceUrlIndex#matching(Collection, boolean)}.
+     * More than {@value #PARALLEL_RESOLUTION_THRESHOLD} URLs are matched on all cores.
+     */
+    @Override
+    public Map<String, RegistryURI> resolveBackwards(Collection<String> urls) {
+        Map<String, RegistryURI> resolved = new HashMap<>();
+        // the URLs by their trimmed form without protocol, by which the resources are looked up
+        Map<String, List<String>> byResourceUrl = new HashMap<>();
+        for (String url : new HashSet<>(urls)) {
+            String trimmed = url.trim();
+            if (isValid(trimmed)) {
+                resolved.put(url, new IdentifiersOrgURI(trimmed));
             } else {
-                // extract ID using the resource ID-Pattern
-                matcher = Pattern.compile(getResourceUrlPattern(resource)).matcher(url);
-
+                byResourceUrl.computeIfAbsent(IdentifiersOrgURIUtils.removeHttpProtocolFromUrl(trimmed),
+                        key -> new ArrayList<>()).add(url);
+            }
+        }
+        var matches = Contents.RESOURCE_URL_INDEX.matching(byResourceUrl.keySet(),
+                byResourceUrl.size() > PARALLEL_RESOLUTION_THRESHOLD);
+        for (var match : matches.entrySet()) {
+            if (match.getValue().size() > 1) {
+                logger.info(format("Could not resolve identifiers.org collection for URL {0} uniquely", match.getKey()));
             }
-            if (matcher.find()) {
-                id = matcher.group();
-                return Optional.of(new IdentifiersOrgURI(namespace.getPrefix(), id));
+            for (String url : byResourceUrl.get(match.getKey())) {
+                extractId(url.trim(), match.getValue().get(0)).ifPresent(uri -> resolved.put(url, uri));
             }
         }
+        return resolved;
+    }
+
+    /**
+     * @param url      The trimmed URL.
+     * @param resource The resource whose URL pattern matches the URL.
+     */
+    private static Optional<RegistryURI> extractId(String url, ResourceUrlIndex.Entry resource) {
+        var namespace = resource.namespace();
+
+        // compare a Namespace with "isNamespaceEmbeddedInLui" true vs. one with false
+        // for why this following block is necessary
+        Matcher matcher;
+        if (namespace.isNamespaceEmbeddedInLui()) {
+            // extract ID using the namespace ID-Pattern
+            matcher = ID_PATTERNS.computeIfAbsent(namespace.getPattern(),
+                    pattern -> Pattern.compile(IdentifiersOrgURIUtils.addJavaRegexCaptureGroup(pattern)))
+                    .matcher(url);
+        } else {
+            // extract ID using the resource ID-Pattern
+            matcher = resource.urlPattern().matcher(url);
+        }
+        if (matcher.find()) {
+            return Optional.of(new IdentifiersOrgURI(namespace.getPrefix(), matcher.group()));
+        }
         return Optional.empty();
     }
 
@@ -149,10 +190,7 @@ public class IdentifiersOrg implements Registry {
 
     @Override
     public boolean isValid(String url) {
-        // Compile a pattern to match identifiers.org URLs
-        Pattern identifiersURL = Pattern.compile(IdentifiersOrgURI.IDENTIFIERS_ORG_ID_PATTERN);
-        Matcher urlMatcher = identifiersURL.matcher(url);
-        return urlMatcher.matches();
+        return IDENTIFIERS_ORG_URL.matcher(url).matches();
     }
 
     @Override
@@ -193,19 +231,13 @@ public class IdentifiersOrg implements Registry {
     }
 
 
-    private static Optional<Pair<Namespace, Resource>> backwardsResolveResourceUrl(String url) {
+    /**
+     * @return The first resource of the registry whose URL pattern matches the URL, looked up in the
+     *         {@link ResourceUrlIndex} instead of checking the patterns of all resources.
+     */
+    private static Optional<ResourceUrlIndex.Entry> backwardsResolveResourceUrl(String url) {
         url = IdentifiersOrgURIUtils.removeHttpProtocolFromUrl(url);
-        List<Pair<Namespace, Resource>> matchingResources = new ArrayList<>();
-        // Iterate over all namespaces to find matchingResources
-        for (Namespace namespace : namespaces) {
-            // Iterate over all resources within the namespace to find matchingResources
-            for (Resource resource : namespace.getResources()) {
-                var regExPattern = getResourceUrlPattern(resource);
-                if (url.matches(regExPattern)) {
-                    matchingResources.add(Pair.of(namespace, resource));
-                }
-            }
-        }
+        List<ResourceUrlIndex.Entry> matchingResources = Contents.RESOURCE_URL_INDEX.matching(url);
         // Log a message if more than one match is found, indicating non-uniqueness
         if (matchingResources.size() > 1) {
             logger.info(format("Could not resolve identifiers.org collection for URL {0} uniquely", url));
@@ -216,7 +248,8 @@ public class IdentifiersOrg implements Registry {
     }
 
 
-    private static String getResourceUrlPattern(Resource resource) {
+    static String getResourceUrlPattern(Resource resource) {
+	// a no-op for the registry image, whose patterns are fixed already
 	var resourceString = fixKnownBrokenPatterns(resource.getUrlPattern());
 	resourceString = resourceString.replaceAll("\\{\\$id}", "\\(<id>\\)");
 	return IdentifiersOrgURIUtils.removeHttpProtocolFromUrl(resourceString);
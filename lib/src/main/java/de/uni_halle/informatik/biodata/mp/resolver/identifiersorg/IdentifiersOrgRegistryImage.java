@@ -0,0 +1,224 @@
+package de.uni_halle.informatik.biodata.mp.resolver.identifiersorg;
+
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Namespace;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Compact binary form of the identifiers.org registry, holding only the parts {@link IdentifiersOrg} uses: prefix,
+ * name, ID pattern and {@link Namespace#isNamespaceEmbeddedInLui()} of each namespace, and the URL patterns of its
+ * resources. The patterns are stored after {@link IdentifiersOrg#fixKnownBrokenPatterns(String)}.
+ * <p>
+ * The image is written from {@value #REGISTRY} by the {@code compileIdentifiersOrgRegistry} task of the build, see
+ * {@link #main(String[])}, and read instead of the JSON file, which takes far longer to parse and whose full object
+ * graph is mostly never used. If the image is missing from the class path, e.g. when running from sources, the JSON
+ * file is parsed instead.
+ * <p>
+ * Layout, all numbers big-endian, strings as int length and UTF-8 bytes:
+ * <pre>
+ * header:     int magic, int format version, int namespace count
+ * namespaces: string prefix, string name, string pattern, byte embedded in LUI, int resource count,
+ *             resource count * string URL pattern
+ * </pre>
+ */
+final class IdentifiersOrgRegistryImage {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentifiersOrgRegistryImage.class);
+
+    static final int MAGIC = 0x4d50494f;
+    static final int FORMAT_VERSION = 1;
+    static final String IMAGE = "IdentifiersOrg-Registry.bin";
+    static final String REGISTRY = "IdentifiersOrg-Registry.json";
+
+    private IdentifiersOrgRegistryImage() {
+    }
+
+
+    /**
+     * Writes the image of the registry.
+     *
+     * @param args The registry as downloaded from identifiers.org, and the image file to write.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Expected the registry file and the image file.");
+        }
+        List<Namespace> namespaces;
+        try (InputStream registry = Files.newInputStream(Path.of(args[0]))) {
+            namespaces = compact(new IdentifiersOrgRegistryParser().parse(registry).getPayload().get("namespaces"));
+        }
+        Path image = Path.of(args[1]);
+        if (image.getParent() != null) {
+            Files.createDirectories(image.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(image)) {
+            write(namespaces, out);
+        }
+    }
+
+
+    /**
+     * @return The namespaces of the image on the class path, or of the JSON registry if there is no image or it cannot
+     *         be read, in the order of the registry and in the form of {@link #compact(Collection)}.
+     */
+    static List<Namespace> load() {
+        URL image = IdentifiersOrgRegistryImage.class.getResource(IMAGE);
+        if (image != null) {
+            try {
+                return read(map(image));
+            } catch (IOException e) {
+                logger.warn(format("Could not read the identifiers.org registry image {0}, parsing {1} instead: {2}",
+                        image, REGISTRY, e.getMessage()));
+            }
+        }
+        try (InputStream registry = IdentifiersOrgRegistryParser.class.getResourceAsStream(REGISTRY)) {
+            return compact(new IdentifiersOrgRegistryParser().parse(registry).getPayload().get("namespaces"));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    /**
+     * @return Copies of the namespaces with only the fields kept in the image, and fixed patterns.
+     */
+    static List<Namespace> compact(Collection<Namespace> namespaces) {
+        List<Namespace> compacted = new ArrayList<>(namespaces.size());
+        for (Namespace namespace : namespaces) {
+            List<String> urlPatterns = new ArrayList<>(namespace.getResources().size());
+            for (Resource resource : namespace.getResources()) {
+                urlPatterns.add(IdentifiersOrg.fixKnownBrokenPatterns(resource.getUrlPattern()));
+            }
+            compacted.add(namespace(namespace.getPrefix(), namespace.getName(),
+                    IdentifiersOrg.fixKnownBrokenPatterns(namespace.getPattern()), namespace.isNamespaceEmbeddedInLui(),
+                    urlPatterns));
+        }
+        return compacted;
+    }
+
+
+    /**
+     * @param namespaces Namespaces in the form of {@link #compact(Collection)}.
+     */
+    static void write(Collection<Namespace> namespaces, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(namespaces.size());
+        for (Namespace namespace : namespaces) {
+            writeString(data, namespace.getPrefix());
+            writeString(data, namespace.getName());
+            writeString(data, namespace.getPattern());
+            data.writeBoolean(namespace.isNamespaceEmbeddedInLui());
+            data.writeInt(namespace.getResources().size());
+            for (Resource resource : namespace.getResources()) {
+                writeString(data, resource.getUrlPattern());
+            }
+        }
+        data.flush();
+    }
+
+
+    /**
+     * @throws IOException If the buffer does not hold an image of the supported format version.
+     */
+    static List<Namespace> read(ByteBuffer image) throws IOException {
+        try {
+            if (image.remaining() < 12 || image.getInt() != MAGIC) {
+                throw new IOException("Not an identifiers.org registry image.");
+            }
+            int formatVersion = image.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException(format("Unsupported identifiers.org registry image format version {0}, expected {1}.",
+                        formatVersion, FORMAT_VERSION));
+            }
+            int count = image.getInt();
+            List<Namespace> namespaces = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String prefix = readString(image);
+                String name = readString(image);
+                String pattern = readString(image);
+                boolean embeddedInLui = image.get() != 0;
+                int resources = image.getInt();
+                List<String> urlPatterns = new ArrayList<>(resources);
+                for (int j = 0; j < resources; j++) {
+                    urlPatterns.add(readString(image));
+                }
+                namespaces.add(namespace(prefix, name, pattern, embeddedInLui, urlPatterns));
+            }
+            return namespaces;
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated identifiers.org registry image.", e);
+        }
+    }
+
+
+    /**
+     * Maps the image if it is a file, e.g. in the build directory, or reads it from the jar otherwise.
+     */
+    private static ByteBuffer map(URL image) throws IOException {
+        if ("file".equals(image.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(image.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream in = image.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+
+    private static Namespace namespace(String prefix, String name, String pattern, boolean embeddedInLui,
+                                       List<String> urlPatterns) {
+        Namespace namespace = new Namespace();
+        namespace.setPrefix(prefix);
+        namespace.setName(name);
+        namespace.setPattern(pattern);
+        namespace.setNamespaceEmbeddedInLui(embeddedInLui);
+        List<Resource> resources = new ArrayList<>(urlPatterns.size());
+        for (String urlPattern : urlPatterns) {
+            Resource resource = new Resource();
+            resource.setUrlPattern(urlPattern);
+            resources.add(resource);
+        }
+        namespace.setResources(resources);
+        return namespace;
+    }
+
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+
+    private static String readString(ByteBuffer image) {
+        byte[] bytes = new byte[image.getInt()];
+        image.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,272 @@
+package de.uni_halle.informatik.biodata.mp.resolver.identifiersorg;
+
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Namespace;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the resources of the identifiers.org registry whose URL pattern matches a URL, without evaluating the
+ * patterns of all resources.
+ * <p>
+ * The URL patterns are regular expressions. Each one is stored in a trie under its literal prefix, i.e. the characters
+ * up to the first one which is not matched exactly once and as it is, where a {@code .} is stored as an edge matching
+ * any character. A URL is only checked against the patterns found along its paths through the trie, which are usually
+ * a handful instead of all of them. Each pattern is compiled once, on its first check. The result is the same as
+ * checking the URL against the patterns of all resources.
+ */
+final class ResourceUrlIndex {
+
+    /**
+     * The characters ending the literal prefix of a pattern.
+     */
+    private static final String METACHARACTERS = "\\[](){}^$?*+";
+
+    /**
+     * The characters which make the preceding character optional or repeatable, so that it is not part of the literal
+     * prefix either.
+     */
+    private static final String QUANTIFIERS = "?*+{";
+
+    private final Node root = new Node();
+    private final int size;
+
+
+    /**
+     * @param namespaces The namespaces of the registry, whose order determines the order of the matches.
+     */
+    ResourceUrlIndex(Collection<Namespace> namespaces) {
+        int position = 0;
+        for (Namespace namespace : namespaces) {
+            for (Resource resource : namespace.getResources()) {
+                insert(new Entry(position++, namespace, resource, IdentifiersOrg.getResourceUrlPattern(resource)));
+            }
+        }
+        size = position;
+    }
+
+
+    /**
+     * @param url The URL without its protocol, see {@link IdentifiersOrgURIUtils#removeHttpProtocolFromUrl(String)}.
+     * @return The resources whose URL pattern matches the whole URL, in the order of the registry.
+     */
+    List<Entry> matching(String url) {
+        List<Entry> candidates = new ArrayList<>();
+        collect(root, url, 0, candidates);
+        return matches(url, candidates);
+    }
+
+
+    /**
+     * Looks up many URLs at once. The URLs are grouped by their host, i.e. the part up to the first {@code /}, whose
+     * path through the trie is walked once for the whole group, so that the patterns found along it are only collected
+     * once and checked against all URLs of the group.
+     *
+     * @param urls     The URLs without their protocol.
+     * @param parallel Whether to process the groups on all cores, which only pays off for many URLs.
+     * @return The matches of each URL as by {@link #matching(String)}. URLs without matches are missing from the map.
+     */
+    Map<String, List<Entry>> matching(Collection<String> urls, boolean parallel) {
+        Map<String, Set<String>> byHost = new HashMap<>();
+        for (String url : urls) {
+            byHost.computeIfAbsent(host(url), host -> new HashSet<>()).add(url);
+        }
+        var groups = parallel ? byHost.entrySet().parallelStream() : byHost.entrySet().stream();
+        return groups.flatMap(group -> matching(group.getKey(), group.getValue()).entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+
+    /**
+     * @return The number of resources in the index.
+     */
+    int size() {
+        return size;
+    }
+
+
+    private Map<String, List<Entry>> matching(String host, Collection<String> urls) {
+        List<Entry> shared = new ArrayList<>();
+        List<Node> frontier = new ArrayList<>();
+        walk(root, host, 0, shared, frontier);
+        Map<String, List<Entry>> matches = new HashMap<>();
+        for (String url : urls) {
+            List<Entry> candidates = new ArrayList<>(shared);
+            for (Node node : frontier) {
+                collect(node, url, host.length(), candidates);
+            }
+            List<Entry> urlMatches = matches(url, candidates);
+            if (!urlMatches.isEmpty()) {
+                matches.put(url, urlMatches);
+            }
+        }
+        return matches;
+    }
+
+
+    private static List<Entry> matches(String url, List<Entry> candidates) {
+        candidates.sort(Comparator.comparingInt(Entry::position));
+        List<Entry> matches = new ArrayList<>();
+        for (Entry candidate : candidates) {
+            if (candidate.urlPattern().matcher(url).matches()) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+
+    /**
+     * @return The URL up to and including its first {@code /}, or the whole URL if it has none.
+     */
+    private static String host(String url) {
+        int slash = url.indexOf('/');
+        return slash < 0 ? url : url.substring(0, slash + 1);
+    }
+
+
+    private void insert(Entry entry) {
+        String pattern = entry.regex();
+        Node node = root;
+        // with an alternation the prefix of the first branch is not the prefix of the others
+        if (pattern.indexOf('|') < 0) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (METACHARACTERS.indexOf(c) >= 0
+                    || (i + 1 < pattern.length() && QUANTIFIERS.indexOf(pattern.charAt(i + 1)) >= 0)) {
+                    break;
+                }
+                node = c == '.' ? node.any() : node.child(c);
+            }
+        }
+        node.entries.add(entry);
+    }
+
+
+    /**
+     * Adds the entries of the node and of all nodes below it whose path matches the URL from the given position on.
+     */
+    private static void collect(Node node, String url, int position, List<Entry> candidates) {
+        candidates.addAll(node.entries);
+        if (position == url.length()) {
+            return;
+        }
+        Node child = node.children.get(url.charAt(position));
+        if (child != null) {
+            collect(child, url, position + 1, candidates);
+        }
+        if (node.any != null) {
+            // a . matches a whole code point, which may take two chars
+            collect(node.any, url, position + Character.charCount(url.codePointAt(position)), candidates);
+        }
+    }
+
+
+    /**
+     * Like {@link #collect(Node, String, int, List)} for the host of a group of URLs: adds the entries of the nodes
+     * passed before the end of the host, and the nodes reached at its end to the frontier, from which the remainder of
+     * each URL is collected.
+     */
+    private static void walk(Node node, String host, int position, List<Entry> shared, List<Node> frontier) {
+        if (position == host.length()) {
+            frontier.add(node);
+            return;
+        }
+        shared.addAll(node.entries);
+        Node child = node.children.get(host.charAt(position));
+        if (child != null) {
+            walk(child, host, position + 1, shared, frontier);
+        }
+        if (node.any != null) {
+            walk(node.any, host, position + Character.charCount(host.codePointAt(position)), shared, frontier);
+        }
+    }
+
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private Node any;
+
+
+        private Node child(char c) {
+            return children.computeIfAbsent(c, key -> new Node());
+        }
+
+
+        private Node any() {
+            if (any == null) {
+                any = new Node();
+            }
+            return any;
+        }
+    }
+
+
+    /**
+     * A resource of the registry along with its URL pattern.
+     */
+    static final class Entry {
+
+        private final int position;
+        private final Namespace namespace;
+        private final Resource resource;
+        private final String regex;
+        private volatile Pattern urlPattern;
+
+
+        private Entry(int position, Namespace namespace, Resource resource, String regex) {
+            this.position = position;
+            this.namespace = namespace;
+            this.resource = resource;
+            this.regex = regex;
+        }
+
+
+        int position() {
+            return position;
+        }
+
+
+        Namespace namespace() {
+            return namespace;
+        }
+
+
+        Resource resource() {
+            return resource;
+        }
+
+
+        /**
+         * @return The URL pattern of the resource without the protocol, see
+         *         {@link IdentifiersOrg#getResourceUrlPattern(Resource)}.
+         */
+        String regex() {
+            return regex;
+        }
+
+
+        /**
+         * @return The compiled URL pattern, which is compiled on the first call.
+         */
+        Pattern urlPattern() {
+            Pattern pattern = urlPattern;
+            if (pattern == null) {
+                pattern = Pattern.compile(regex);
+                urlPattern = pattern;
+            }
+            return pattern;
+        }
+    }
+}
@@ -13,7 +13,7 @@ import java.time.Duration;
 public abstract class BiGGDBContainerTest {
 
     @SuppressWarnings("resource")
-    static final GenericContainer<?> biggContainer =
+    protected static final GenericContainer<?> biggContainer =
             new GenericContainer<>(DockerImageName.parse("schmirgel/bigg_db:1.6"))
                     .withExposedPorts(5432)
                     .withReuse(true)
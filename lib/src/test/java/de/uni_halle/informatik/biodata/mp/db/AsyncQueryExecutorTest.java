@@ -0,0 +1,60 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncQueryExecutorTest {
+
+    @Test
+    public void resultsKeepTheirOrder() throws SQLException {
+        var executor = new AsyncQueryExecutor(4);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            futures.add(executor.submit(() -> value * value));
+        }
+        List<Integer> results = AsyncQueryExecutor.joinAll(futures);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * i, results.get(i));
+        }
+    }
+
+    @Test
+    public void concurrencyIsBounded() throws SQLException {
+        var executor = new AsyncQueryExecutor(2);
+        var running = new AtomicInteger();
+        var maximum = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(() -> {
+                maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        AsyncQueryExecutor.joinAll(futures);
+        assertTrue(maximum.get() <= 2);
+    }
+
+    @Test
+    public void sqlExceptionsAreRethrown() {
+        var executor = new AsyncQueryExecutor(1);
+        CompletableFuture<String> future = executor.submit(() -> {
+            throw new SQLException("connection lost");
+        });
+        var e = assertThrows(SQLException.class, () -> AsyncQueryExecutor.join(future));
+        assertEquals("connection lost", e.getMessage());
+    }
+}
@@ -0,0 +1,50 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void hitsAndMisses() {
+        var cache = new BoundedCache<String, Integer>(10);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(1, cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        var cache = new BoundedCache<Integer, Integer>(32);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertTrue(cache.size() <= 32);
+        assertEquals(1000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        // keys 0, 16, 32 end up in the same segment, which holds a single entry
+        var cache = new BoundedCache<Integer, Integer>(16);
+        cache.put(0, 0);
+        cache.put(16, 16);
+        assertNull(cache.get(0));
+        assertEquals(16, cache.get(16));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void clear() {
+        var cache = new BoundedCache<String, Integer>(10);
+        cache.put("a", 1);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+}
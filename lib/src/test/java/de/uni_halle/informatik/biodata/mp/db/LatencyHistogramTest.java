@@ -0,0 +1,39 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsBoundValues() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE / 4}) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= value, Long.toString(value));
+            assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < value, Long.toString(value));
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(500_500, histogram.getMeanNanos(), 0.001);
+        assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 / 16.0);
+        assertEquals(990_000, histogram.getValueAtPercentile(99), 990_000 / 16.0);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void empty() {
+        var summary = new LatencyHistogram().summary();
+        assertEquals(0, summary.count());
+        assertEquals(0, summary.p99Millis());
+        assertEquals(0, summary.maxMillis());
+    }
+}
@@ -0,0 +1,106 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentLookupCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void roundTrip() throws IOException {
+        try (var cache = PersistentLookupCache.open(directory.resolve("test.cache"), "v1")) {
+            assertNull(cache.get("a"));
+            cache.put("a", new String[] {"x", null, "ü"});
+            cache.put("b", new String[0]);
+            assertArrayEquals(new String[] {"x", null, "ü"}, cache.get("a"));
+            assertArrayEquals(new String[0], cache.get("b"));
+            assertNull(cache.get("c"));
+        }
+    }
+
+    @Test
+    public void entriesSurviveReopening() throws IOException {
+        Path file = directory.resolve("test.cache");
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            for (int i = 0; i < 5000; i++) {
+                cache.put("key" + i, new String[] {"value" + i});
+            }
+            cache.put("key0", new String[] {"updated"});
+        }
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            assertEquals(5000, cache.size());
+            assertArrayEquals(new String[] {"updated"}, cache.get("key0"));
+            assertArrayEquals(new String[] {"value4999"}, cache.get("key4999"));
+            cache.put("new", new String[] {"appended"});
+            assertArrayEquals(new String[] {"appended"}, cache.get("new"));
+        }
+    }
+
+    @Test
+    public void otherStampDiscardsEntries() throws IOException {
+        Path file = directory.resolve("test.cache");
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            cache.put("a", new String[] {"x"});
+        }
+        try (var cache = PersistentLookupCache.open(file, "v2")) {
+            assertNull(cache.get("a"));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void truncatedRecordIsDropped() throws IOException {
+        Path file = directory.resolve("test.cache");
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            cache.put("a", new String[] {"x"});
+            cache.put("b", new String[] {"y"});
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            assertArrayEquals(new String[] {"x"}, cache.get("a"));
+            assertNull(cache.get("b"));
+            cache.put("b", new String[] {"z"});
+        }
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            assertArrayEquals(new String[] {"z"}, cache.get("b"));
+        }
+    }
+
+    @Test
+    public void entriesAppendedAfterPartialRecordAreRead() throws IOException {
+        Path file = directory.resolve("test.cache");
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            cache.put("a", new String[] {"x"});
+        }
+        // a record announcing 1000 bytes of which only 100 were written before a crash
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer partial = ByteBuffer.allocate(104).putInt(1000).putInt(3);
+            channel.write(partial.position(0));
+        }
+        String large = "y".repeat(500);
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            assertEquals(1, cache.size());
+            cache.put("b", new String[] {"z"});
+            cache.put("c", new String[] {large});
+            assertArrayEquals(new String[] {"x"}, cache.get("a"));
+            assertArrayEquals(new String[] {"z"}, cache.get("b"));
+            assertArrayEquals(new String[] {large}, cache.get("c"));
+        }
+        try (var cache = PersistentLookupCache.open(file, "v1")) {
+            assertEquals(3, cache.size());
+            assertArrayEquals(new String[] {large}, cache.get("c"));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import de.uni_halle.informatik.biodata.mp.annotation.bigg.BiGGDBContainerTest;
+import de.uni_halle.informatik.biodata.mp.parameters.DBHostParameters;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+public class PostgresConnectionPoolTest extends BiGGDBContainerTest {
+
+    @Test
+    public void slowQueryIsAnsweredByTheHedge() throws SQLException {
+        var pool = replicatedPool();
+        try {
+            warmUp(pool, "slowQuery");
+            var runs = new AtomicInteger();
+            long start = System.nanoTime();
+            String answer = pool.execute("slowQuery", connection -> {
+                String name = runs.incrementAndGet() == 1 ? "primary" : "hedge";
+                query(connection, name.equals("primary") ? "SELECT pg_sleep(10)" : "SELECT 1");
+                return name;
+            });
+            assertEquals("hedge", answer);
+            assertTrue(System.nanoTime() - start < 10_000_000_000L);
+            var summary = summary(pool, "slowQuery");
+            assertEquals(1, summary.hedges());
+            assertEquals(1, summary.hedgeWins());
+        } finally {
+            pool.close();
+        }
+    }
+
+
+    @Test
+    public void queriesWithoutEnoughExecutionsAreNotHedged() throws SQLException {
+        var pool = replicatedPool();
+        try {
+            var runs = new AtomicInteger();
+            pool.execute("coldQuery", connection -> {
+                runs.incrementAndGet();
+                query(connection, "SELECT pg_sleep(1)");
+                return null;
+            });
+            assertEquals(1, runs.get());
+            assertEquals(0, summary(pool, "coldQuery").hedges());
+        } finally {
+            pool.close();
+        }
+    }
+
+
+    @Test
+    public void failureOfBothRequestsIsReported() throws SQLException {
+        var pool = replicatedPool();
+        try {
+            warmUp(pool, "failingQuery");
+            var runs = new AtomicInteger();
+            var e = assertThrows(SQLException.class, () -> pool.execute("failingQuery", connection -> {
+                if (runs.incrementAndGet() == 1) {
+                    query(connection, "SELECT pg_sleep(2)");
+                }
+                query(connection, "SELECT * FROM no_such_table");
+                return null;
+            }));
+            assertEquals(1, e.getSuppressed().length);
+            assertEquals(0, summary(pool, "failingQuery").hedgeWins());
+        } finally {
+            pool.close();
+        }
+    }
+
+
+    /**
+     * Two hosts which are both the test container, so that every query can be hedged.
+     */
+    private static PostgresConnectionPool replicatedPool() {
+        var host = new DBHostParameters(biggContainer.getHost(), biggContainer.getFirstMappedPort(), 4, 30_000);
+        return new PostgresConnectionPool(List.of(host, host), "postgres", "postgres", "bigg", true, 0, 99);
+    }
+
+
+    private static void warmUp(PostgresConnectionPool pool, String queryName) throws SQLException {
+        for (int i = 0; i < PostgresConnectionPool.HEDGE_MINIMUM_EXECUTIONS; i++) {
+            pool.execute(queryName, connection -> {
+                query(connection, "SELECT 1");
+                return null;
+            });
+        }
+    }
+
+
+    private static void query(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+        }
+    }
+
+
+    private static QueryStatistics.Summary summary(PostgresConnectionPool pool, String queryName) {
+        return pool.getStatistics().summaries().stream()
+                .filter(summary -> summary.query().equals(queryName))
+                .findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,41 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryTimeoutExceptionTest {
+
+    @Test
+    public void timeoutsOfDriverAndPoolAreRecognized() {
+        assertTrue(QueryTimeoutException.isTimeout(new SQLTimeoutException("statement timeout")));
+        assertTrue(QueryTimeoutException.isTimeout(new SQLTransientConnectionException("connection is not available")));
+        assertTrue(QueryTimeoutException.isTimeout(
+                new SQLException("canceling statement due to statement timeout", "57014")));
+        assertTrue(QueryTimeoutException.isTimeout(
+                new QueryTimeoutException("getReactionName", new SQLTimeoutException("statement timeout"))));
+    }
+
+
+    @Test
+    public void otherErrorsAreNoTimeouts() {
+        assertFalse(QueryTimeoutException.isTimeout(new SQLException("connection refused", "08001")));
+        assertFalse(QueryTimeoutException.isTimeout(new SQLSyntaxErrorException("syntax error", "42601")));
+        assertFalse(QueryTimeoutException.isTimeout(new SQLException("unknown")));
+    }
+
+
+    @Test
+    public void keepsQueryAndState() {
+        var e = new QueryTimeoutException("getReactionName",
+                new SQLException("canceling statement due to statement timeout", "57014"));
+        assertEquals("getReactionName", e.getQuery());
+        assertEquals("57014", e.getSQLState());
+        assertTrue(e.getMessage().contains("getReactionName"));
+    }
+}
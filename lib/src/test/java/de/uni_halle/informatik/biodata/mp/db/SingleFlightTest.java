@@ -0,0 +1,70 @@
+package de.uni_halle.informatik.biodata.mp.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    public void concurrentCallsShareOneExecution() throws Exception {
+        var flight = new SingleFlight<String>();
+        var executions = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flight.run("atp", () -> {
+                started.countDown();
+                release.await();
+                return executions.incrementAndGet();
+            })));
+            started.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> flight.run("atp", executions::incrementAndGet)));
+            }
+            while (flight.getCoalescedCount() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, flight.getExecutionCount());
+        assertEquals(7, flight.getCoalescedCount());
+    }
+
+    @Test
+    public void finishedLookupsAreRunAgain() throws SQLException {
+        var flight = new SingleFlight<String>();
+        var executions = new AtomicInteger();
+        assertEquals(1, flight.run("atp", executions::incrementAndGet));
+        assertEquals(2, flight.run("atp", executions::incrementAndGet));
+        assertEquals(0, flight.getCoalescedCount());
+    }
+
+    @Test
+    public void failuresAreRethrown() {
+        var flight = new SingleFlight<String>();
+        var e = assertThrows(SQLException.class, () -> flight.run("atp", () -> {
+            throw new SQLException("connection lost");
+        }));
+        assertEquals("connection lost", e.getMessage());
+        assertEquals(1, flight.getExecutionCount());
+    }
+}
@@ -0,0 +1,37 @@
+package de.uni_halle.informatik.biodata.mp.db.adb;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Constants.BIGG_METABOLITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingAnnotateDBTest {
+
+    private final InMemoryAnnotateDB source = new InMemoryAnnotateDB(Map.of(
+            BIGG_METABOLITE, Map.of("atp", Set.of("https://identifiers.org/kegg.compound:C00002",
+                    "https://identifiers.org/CHEBI:15422"))));
+
+    private final CachingAnnotateDB adb = new CachingAnnotateDB(source, 100, null);
+
+    @Test
+    public void batchAndSingleLookupsShareEntries() throws SQLException {
+        var ids = List.of("M_atp", "M_adp");
+        assertEquals(source.getAnnotations(BIGG_METABOLITE, ids), adb.getAnnotations(BIGG_METABOLITE, ids));
+        assertEquals(source.getAnnotations(BIGG_METABOLITE, "M_atp"), adb.getAnnotations(BIGG_METABOLITE, "M_atp"));
+        assertEquals(Set.of(), adb.getAnnotations(BIGG_METABOLITE, "M_adp"));
+        assertEquals(2, adb.getCache().getMissCount());
+        assertEquals(2, adb.getCache().getHitCount());
+    }
+
+    @Test
+    public void resultsAreMutableCopies() throws SQLException {
+        adb.getAnnotations(BIGG_METABOLITE, List.of("M_atp")).get("M_atp").clear();
+        adb.getAnnotations(BIGG_METABOLITE, "M_atp").clear();
+        assertEquals(2, adb.getAnnotations(BIGG_METABOLITE, "M_atp").size());
+    }
+}
@@ -0,0 +1,47 @@
+package de.uni_halle.informatik.biodata.mp.db.adb;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Constants.BIGG_METABOLITE;
+import static de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBContract.Constants.BIGG_REACTION;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryAnnotateDBTest {
+
+    private final InMemoryAnnotateDB adb = new InMemoryAnnotateDB(Map.of(
+            BIGG_METABOLITE, Map.of("atp", Set.of("https://identifiers.org/kegg.compound:C00002",
+                    "https://identifiers.org/CHEBI:15422")),
+            BIGG_REACTION, Map.of("PFK", Set.of("https://identifiers.org/rhea:16109"))));
+
+    @Test
+    public void prefixesAreStripped() {
+        assertEquals(Set.of("https://identifiers.org/CHEBI:15422", "https://identifiers.org/kegg.compound:C00002"),
+                adb.getAnnotations(BIGG_METABOLITE, "M_atp"));
+        assertEquals(Set.of("https://identifiers.org/rhea:16109"), adb.getAnnotations(BIGG_REACTION, "R_PFK"));
+        assertEquals(Set.of(), adb.getAnnotations(BIGG_REACTION, "M_atp"));
+    }
+
+    @Test
+    public void resultsAreSortedAndMutable() {
+        var annotations = adb.getAnnotations(BIGG_METABOLITE, "atp");
+        assertEquals("https://identifiers.org/CHEBI:15422", annotations.iterator().next());
+        annotations.clear();
+        assertEquals(2, adb.getAnnotations(BIGG_METABOLITE, "atp").size());
+    }
+
+    @Test
+    public void unknownTypes() {
+        assertTrue(adb.getAnnotations("bigg.gene", "b0001").isEmpty());
+    }
+
+    @Test
+    public void batchLookups() {
+        var annotations = adb.getAnnotations(BIGG_METABOLITE, List.of("M_atp", "atp", "M_adp"));
+        assertEquals(Set.of("M_atp", "atp"), annotations.keySet());
+        assertEquals(adb.getAnnotations(BIGG_METABOLITE, "atp"), annotations.get("M_atp"));
+    }
+}
@@ -1,13 +1,21 @@
 package de.uni_halle.informatik.biodata.mp.db.bigg;
 
 import de.uni_halle.informatik.biodata.mp.annotation.bigg.BiGGDBContainerTest;
+import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
 import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.TYPE_SPECIES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Testcontainers
@@ -78,4 +86,171 @@ public class BiGGDBTest extends BiGGDBContainerTest {
                 dataSources);
     }
 
+
+    /**
+     * The batch lookups have to yield exactly what the single lookups yield for every key,
+     * including the keys whose single lookup is empty due to ambiguity or absence.
+     */
+    @Test
+    public void batchLookupsMatchSingleLookups() throws SQLException {
+        var components = List.of("atp", "g6p", "h2o", "nonexistent");
+        var compartmentalized = List.of(
+                new CompartmentalizedComponent("atp", "c"),
+                new CompartmentalizedComponent("h2o", "e"),
+                new CompartmentalizedComponent("h2o", "c"),
+                new CompartmentalizedComponent("nonexistent", "c"));
+        var models = List.of("iJO1366", "e_coli_core", "nonexistent");
+
+        var names = bigg.getComponentName(components);
+        var types = bigg.getComponentType(components);
+        var formulas = bigg.getChemicalFormula(components, "iJO1366");
+        var charges = bigg.getCharge(components, "iJO1366");
+        for (var component : components) {
+            var biggId = new BiGGId("M", component, null, null);
+            assertEquals(bigg.getComponentName(biggId), Optional.ofNullable(names.get(component)));
+            assertEquals(bigg.getComponentType(biggId), Optional.ofNullable(types.get(component)));
+            assertEquals(bigg.getChemicalFormula(component, "iJO1366"),
+                    Optional.ofNullable(formulas.get(component)));
+            assertEquals(bigg.getCharge(component, "iJO1366"), Optional.ofNullable(charges.get(component)));
+        }
+
+        var formulasByCompartment = bigg.getChemicalFormulaByCompartment(compartmentalized);
+        var chargesByCompartment = bigg.getChargeByCompartment(compartmentalized);
+        for (var component : compartmentalized) {
+            assertEquals(bigg.getChemicalFormulaByCompartment(component.componentId(), component.compartmentId()),
+                    Optional.ofNullable(formulasByCompartment.get(component)));
+            assertEquals(bigg.getChargeByCompartment(component.componentId(), component.compartmentId()),
+                    Optional.ofNullable(chargesByCompartment.get(component)));
+        }
+
+        var chemistries = bigg.getChemistry(components, "iJO1366");
+        for (var component : components) {
+            var chemistry = bigg.getChemistry(component, "iJO1366");
+            assertEquals(bigg.getChemicalFormula(component, "iJO1366"), chemistry.formula());
+            assertEquals(bigg.getCharge(component, "iJO1366"), chemistry.charge());
+            assertEquals(chemistry.isEmpty() ? null : chemistry, chemistries.get(component));
+        }
+
+        var chemistriesByCompartment = bigg.getChemistryByCompartment(compartmentalized);
+        for (var component : compartmentalized) {
+            var chemistry = bigg.getChemistryByCompartment(component.componentId(), component.compartmentId());
+            assertEquals(bigg.getChemicalFormulaByCompartment(component.componentId(), component.compartmentId()),
+                    chemistry.formula());
+            assertEquals(bigg.getChargeByCompartment(component.componentId(), component.compartmentId()),
+                    chemistry.charge());
+            assertEquals(chemistry.isEmpty() ? null : chemistry, chemistriesByCompartment.get(component));
+        }
+
+        var organisms = bigg.getOrganism(models);
+        var taxa = bigg.getTaxonId(models);
+        var publications = bigg.getPublications(models);
+        for (var model : models) {
+            assertEquals(bigg.getOrganism(model), Optional.ofNullable(organisms.get(model)));
+            assertEquals(bigg.getTaxonId(model), Optional.ofNullable(taxa.get(model)));
+            assertEquals(bigg.getPublications(model), publications.getOrDefault(model, List.of()));
+        }
+
+        var genes = List.of("b3916", "b1723", "G_b3916", "nonexistent");
+        var geneReferences = bigg.getGeneReferences(genes);
+        for (var gene : genes) {
+            var references = bigg.getGeneReferences(gene);
+            assertEquals(bigg.getGeneIds(gene), references.ids());
+            assertEquals(bigg.getGeneName(gene), references.name());
+            assertEquals(references.isEmpty() ? null : references, geneReferences.get(gene));
+        }
+
+        var uris = List.of(new IdentifiersOrgURI("kegg.compound", "C00002"),
+                new IdentifiersOrgURI("chebi", "CHEBI:15422"),
+                new IdentifiersOrgURI("kegg.compound", "C99999"));
+        var fromSynonyms = bigg.getBiggIdFromSynonym(uris, TYPE_SPECIES);
+        for (var uri : uris) {
+            assertEquals(bigg.getBiggIdFromSynonym(uri.getPrefix(), uri.getId(), TYPE_SPECIES),
+                    Optional.ofNullable(fromSynonyms.get(uri)));
+        }
+    }
+
+
+    @Test
+    public void reactionBatchLookupsMatchSingleLookups() throws SQLException {
+        assertReactionBatchesMatchSingleLookups();
+        var connectionPool = new PostgresConnectionPool(biggContainer.getHost(), biggContainer.getFirstMappedPort(),
+                "postgres", "postgres", "bigg", false);
+        var optimizer = new BiGGSchemaOptimizer(connectionPool);
+        try {
+            optimizer.install();
+            assertReactionBatchesMatchSingleLookups();
+        } finally {
+            optimizer.uninstall();
+            connectionPool.close();
+        }
+    }
+
+
+    private static void assertReactionBatchesMatchSingleLookups() throws SQLException {
+        var reactions = List.of("PFK", "PGI", "ATPM", "EX_glc__D_e", "nonexistent");
+        var names = bigg.getReactionName(reactions);
+        var pseudoreactions = bigg.isPseudoreaction(reactions);
+        var subsystems = bigg.getSubsystemsForReaction(reactions);
+        for (var reaction : reactions) {
+            assertEquals(bigg.getReactionName(reaction), Optional.ofNullable(names.get(reaction)));
+            assertEquals(bigg.isPseudoreaction(reaction), pseudoreactions.get(reaction));
+            assertEquals(bigg.getSubsystemsForReaction(reaction), subsystems.getOrDefault(reaction, List.of()));
+        }
+
+        for (var includeAnyURI : List.of(false, true)) {
+            var resources = bigg.getResources(reactions, includeAnyURI, true);
+            for (var reaction : reactions) {
+                assertEquals(bigg.getResources(new BiGGId(reaction), includeAnyURI, true),
+                        resources.getOrDefault(reaction, Set.of()));
+            }
+        }
+
+        for (var model : List.of("iJO1366", "e_coli_core", "nonexistent")) {
+            var rules = bigg.getGeneReactionRule(reactions, model);
+            var modelSubsystems = bigg.getSubsystems(model, reactions);
+            for (var reaction : reactions) {
+                assertEquals(bigg.getGeneReactionRule(reaction, model), rules.getOrDefault(reaction, List.of()));
+                assertEquals(bigg.getSubsystems(model, reaction), modelSubsystems.getOrDefault(reaction, List.of()));
+            }
+        }
+    }
+
+
+    @Test
+    public void foreignReactionBatchMatchesSingleLookups() throws SQLException {
+        assertForeignReactionBatchMatchesSingleLookups();
+        var connectionPool = new PostgresConnectionPool(biggContainer.getHost(), biggContainer.getFirstMappedPort(),
+                "postgres", "postgres", "bigg", false);
+        var optimizer = new BiGGSchemaOptimizer(connectionPool);
+        try {
+            optimizer.install();
+            assertForeignReactionBatchMatchesSingleLookups();
+        } finally {
+            optimizer.uninstall();
+            connectionPool.close();
+        }
+    }
+
+
+    private static void assertForeignReactionBatchMatchesSingleLookups() throws SQLException {
+        var uris = List.of(new IdentifiersOrgURI("kegg.reaction", "R00756"),
+                new IdentifiersOrgURI("metanetx.reaction", "MNXR102507"),
+                new IdentifiersOrgURI("kegg.reaction", "R99999"));
+        var batch = bigg.getBiggIdsForReactionForeignId(uris);
+        assertTrue(bigg.getBiggIdsForReactionForeignId(uris.get(2)).isEmpty());
+        assertFalse(batch.containsKey(uris.get(2)));
+        for (var uri : uris) {
+            assertEquals(new HashSet<>(bigg.getBiggIdsForReactionForeignId(uri)),
+                    new HashSet<>(batch.getOrDefault(uri, Set.of())));
+        }
+    }
+
+
+    @Test
+    public void batchLookupsWithoutKeys() throws SQLException {
+        assertTrue(bigg.getComponentName(List.of()).isEmpty());
+        assertTrue(bigg.getGeneIds(List.of()).isEmpty());
+        assertTrue(bigg.getChargeByCompartment(List.of()).isEmpty());
+    }
+
 }
@@ -0,0 +1,40 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BiGGIdCatalogTest {
+
+    @Test
+    public void membership() {
+        var catalog = BiGGIdCatalog.of("component", Arrays.asList("h2o", "atp", null, "atp", "éther", "Atp", ""), 0);
+        assertEquals(5, catalog.size());
+        for (String id : List.of("h2o", "atp", "éther", "Atp", "")) {
+            assertTrue(catalog.contains(id), id);
+        }
+        for (String id : List.of("h", "h2o2", "ATP", "ether", "adp")) {
+            assertFalse(catalog.contains(id), id);
+        }
+        assertFalse(catalog.contains(null));
+    }
+
+    @Test
+    public void empty() {
+        var catalog = BiGGIdCatalog.of("model", List.of(), 0);
+        assertEquals(0, catalog.size());
+        assertFalse(catalog.contains("iJO1366"));
+        assertEquals(4, catalog.getMemoryBytes());
+    }
+
+    @Test
+    public void stats() {
+        var catalog = BiGGIdCatalog.of("reaction", List.of("PFK", "PGI"), 42);
+        assertEquals("reaction", catalog.getTable());
+        assertEquals(42, catalog.getLoadTimeMillis());
+        assertEquals(6 + 4 * 3, catalog.getMemoryBytes());
+    }
+}
@@ -4,13 +4,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -211,4 +220,119 @@ public class BiGGIdTest {
   }
 
 
+  /**
+   * {@link BiGGId#makeBiGGConform(String)} on all BiGG IDs and all IDs of the test models, compared to the
+   * implementation by regular expressions it replaces.
+   */
+  @Test
+  public final void makeBiGGConformSameAsRegularExpressions() throws IOException {
+    Set<String> ids = new LinkedHashSet<>();
+    biggIds.values().forEach(ids::addAll);
+    ids.addAll(idsOfTestModels());
+    for (String id : ids) {
+      assertEquals(makeBiGGConformWithRegularExpressions(id), BiGGId.makeBiGGConform(id), id);
+    }
+  }
+
+
+  @Test
+  public final void makeBiGGConformSameAsRegularExpressionsOnEdgeCases() {
+    List<String> ids = List.of("", "_", "__", "1", "1_", "a-b/c.d", "glc__D[e]", "glc__D(e)", "glc__D(e)_(c)",
+      "a(b)c(d)e", "a[b]c[d]e", "a[b][c]", "a(b", "a)b(c", "a]b[c", "(x)", "[x]", "_LPAREN_x_RPAREN_",
+      "a(b\nc)d(e)", "a[b\nc]d[e]", "a[b]c\u2028[d]", "a(b$1)c", "a[b\\]c", "a(b$)c", "h2o_copy", "h2o_copy12",
+      "h2o_copy_copy3", "_copy", "h2o_copyx", "a\nb_copy1", "h2o_c_", "h2o_c__", "\u00e4pfel", "\u0661abc",
+      "a\ud83d\ude00b", "EX_glc(e)", "R_EX_glc__D_e", "M_h_c", "G_b0001.1", "12dgr_HP");
+    for (String id : ids) {
+      assertEquals(outcome(() -> makeBiGGConformWithRegularExpressions(id)),
+        outcome(() -> BiGGId.makeBiGGConform(id)), id);
+    }
+  }
+
+
+  /**
+   * @return The result, or the type of the exception thrown.
+   */
+  private static String outcome(Supplier<String> conform) {
+    try {
+      return conform.get();
+    } catch (RuntimeException e) {
+      return e.getClass().getName();
+    }
+  }
+
+
+  /**
+   * The IDs in the SBML and JSON models among the test resources.
+   */
+  private static List<String> idsOfTestModels() throws IOException {
+    List<String> ids = new ArrayList<>();
+    Pattern idAttribute = Pattern.compile("\\sid=\"([^\"]*)\"");
+    for (String model : List.of("/de/uni_halle/informatik/biodata/mp/e_coli_core.xml",
+      "/de/uni_halle/informatik/biodata/mp/io/model.xml",
+      "/de/uni_halle/informatik/biodata/mp/models/MODEL1507180049.xml",
+      "/de/uni_halle/informatik/biodata/mp/models/MODEL1507180060.xml",
+      "/de/uni_halle/informatik/biodata/mp/models/MODEL2310300002.xml")) {
+      try (InputStream in = BiGGIdTest.class.getResourceAsStream(model)) {
+        Matcher matcher = idAttribute.matcher(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        while (matcher.find()) {
+          ids.add(matcher.group(1));
+        }
+      }
+    }
+    ObjectMapper mapper = new ObjectMapper();
+    for (String model : List.of("/de/uni_halle/informatik/biodata/mp/io/e_coli_core.json",
+      "/de/uni_halle/informatik/biodata/mp/io/parsers/json/iJB785.json")) {
+      try (InputStream in = BiGGIdTest.class.getResourceAsStream(model)) {
+        for (JsonNode id : mapper.readTree(in).findValues("id")) {
+          ids.add(id.asText());
+        }
+      }
+    }
+    return ids;
+  }
+
+
+  /**
+   * The former implementation of {@link BiGGId#makeBiGGConform(String)}.
+   */
+  private static String makeBiGGConformWithRegularExpressions(String id) {
+    if (Character.isDigit(id.charAt(0))) {
+      id = "_" + id;
+    }
+    id = id.replaceAll("[-/]", "__")
+            .replaceAll("\\.", "__SBML_DOT__")
+            .replaceAll("\\(", "_LPAREN_")
+            .replaceAll("\\)", "_RPAREN_")
+            .replaceAll("\\[", "_LBRACKET_")
+            .replaceAll("]", "_RBRACKET_");
+    Pattern parenCompartment = Pattern.compile("_LPAREN_(?<paren>.*?)_RPAREN_");
+    Matcher parenMatcher = parenCompartment.matcher(id);
+    if (parenMatcher.find()) {
+      id = id.replaceAll(parenCompartment.toString(), "_" + parenMatcher.group("paren"));
+    }
+    Pattern bracketCompartment = Pattern.compile("_LBRACKET_(?<bracket>.*)_RBRACKET_");
+    Matcher bracketMatcher = bracketCompartment.matcher(id);
+    if (bracketMatcher.find()) {
+      id = id.replaceAll(bracketCompartment.toString(), "_" + bracketMatcher.group("bracket"));
+    }
+    if (id.matches(".*_copy\\d*")) {
+      id = id.substring(0, id.lastIndexOf('_'));
+    }
+    Pattern alphaNum = Pattern.compile("[a-zA-Z0-9_]");
+    StringBuilder builder = new StringBuilder(id.length());
+    for (char ch : id.toCharArray()) {
+      if (alphaNum.matcher(String.valueOf(ch)).matches()) {
+        builder.append(ch);
+      } else {
+        builder.append("_");
+      }
+    }
+    id = builder.toString();
+    if (id.endsWith("_")) {
+      id = id.substring(0, id.length() - 1);
+    }
+    return id;
+  }
+
+
 }
@@ -0,0 +1,103 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.annotation.bigg.BiGGDBContainerTest;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers
+public class BiGGModelSnapshotTest extends BiGGDBContainerTest {
+
+    private static final List<BiGGId> METABOLITES = List.of(
+            BiGGId.createMetaboliteId("M_atp_c"),
+            BiGGId.createMetaboliteId("M_g6p_c"),
+            BiGGId.createMetaboliteId("M_h2o_e"),
+            BiGGId.createMetaboliteId("M_not_a_metabolite_c"));
+
+    private static final List<BiGGId> REACTIONS = List.of(
+            BiGGId.createReactionId("R_PFK"),
+            BiGGId.createReactionId("R_ATPM"),
+            BiGGId.createReactionId("R_BIOMASS_Ec_iJO1366_core_53p95M"),
+            BiGGId.createReactionId("R_NOT_A_REACTION"));
+
+    private static final List<BiGGId> GENES = List.of(
+            BiGGId.createGeneId("G_b3916"),
+            BiGGId.createGeneId("G_b1723"),
+            BiGGId.createGeneId("G_not_a_gene"));
+
+
+    @Test
+    public void metabolitesOfBiGGModel() throws SQLException {
+        assertMetabolitesMatch("iJO1366");
+    }
+
+
+    @Test
+    public void metabolitesOfForeignModel() throws SQLException {
+        assertMetabolitesMatch("some_model");
+    }
+
+
+    @Test
+    public void reactionsOfBiGGModel() throws SQLException {
+        assertReactionsMatch("iJO1366");
+    }
+
+
+    @Test
+    public void reactionsOfForeignModel() throws SQLException {
+        assertReactionsMatch("some_model");
+    }
+
+
+    @Test
+    public void geneProducts() throws SQLException {
+        var snapshot = new BiGGModelSnapshot(bigg, "iJO1366", false);
+        snapshot.prefetchGeneProducts(GENES, GENES.stream().map(BiGGId::toBiGGId).toList());
+        for (var gene : GENES) {
+            assertEquals(bigg.getGeneIds(gene.getAbbreviation()), snapshot.getGeneIds(gene.getAbbreviation()));
+            assertEquals(bigg.getGeneName(gene.toBiGGId()), snapshot.getGeneName(gene.toBiGGId()));
+        }
+    }
+
+
+    private void assertMetabolitesMatch(String modelId) throws SQLException {
+        var snapshot = new BiGGModelSnapshot(bigg, modelId, false);
+        snapshot.prefetchMetabolites(METABOLITES);
+        for (var metabolite : METABOLITES) {
+            var abbreviation = metabolite.getAbbreviation();
+            var compartment = metabolite.getCompartmentCode();
+            assertEquals(bigg.getComponentName(metabolite), snapshot.getComponentName(metabolite));
+            assertEquals(bigg.getResources(metabolite, false, false), snapshot.getResources(metabolite, false, false));
+            assertEquals(bigg.getChemicalFormula(abbreviation, modelId), snapshot.getChemicalFormula(abbreviation, modelId));
+            assertEquals(bigg.getChemicalFormulaByCompartment(abbreviation, compartment),
+                    snapshot.getChemicalFormulaByCompartment(abbreviation, compartment));
+            assertEquals(bigg.getCharge(abbreviation, modelId), snapshot.getCharge(abbreviation, modelId));
+            assertEquals(bigg.getChargeByCompartment(abbreviation, compartment),
+                    snapshot.getChargeByCompartment(abbreviation, compartment));
+        }
+    }
+
+
+    private void assertReactionsMatch(String modelId) throws SQLException {
+        var snapshot = new BiGGModelSnapshot(bigg, modelId, false);
+        snapshot.prefetchReactions(REACTIONS);
+        for (var reaction : REACTIONS) {
+            var abbreviation = reaction.getAbbreviation();
+            assertEquals(bigg.getReactionName(abbreviation), snapshot.getReactionName(abbreviation));
+            assertEquals(bigg.isPseudoreaction(abbreviation), snapshot.isPseudoreaction(abbreviation));
+            assertEquals(bigg.getResources(reaction, false, true), snapshot.getResources(reaction, false, true));
+            assertEquals(bigg.getGeneReactionRule(abbreviation, modelId), snapshot.getGeneReactionRule(abbreviation, modelId));
+            assertEquals(Set.copyOf(bigg.getSubsystems(modelId, abbreviation)),
+                    Set.copyOf(snapshot.getSubsystems(modelId, abbreviation)));
+            assertEquals(Set.copyOf(bigg.getSubsystemsForReaction(abbreviation)),
+                    Set.copyOf(snapshot.getSubsystemsForReaction(abbreviation)));
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.annotation.bigg.BiGGDBContainerTest;
+import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+public class BiGGSchemaOptimizerTest extends BiGGDBContainerTest {
+
+    @Test
+    public void viewsAnswerLikeTables() throws SQLException {
+        var connectionPool = new PostgresConnectionPool(biggContainer.getHost(), biggContainer.getFirstMappedPort(),
+                "postgres", "postgres", "bigg", false);
+        var optimizer = new BiGGSchemaOptimizer(connectionPool);
+        try {
+            optimizer.uninstall();
+            assertTrue(BiGGDB.getMaterializedViews().isEmpty());
+            var expected = lookups();
+
+            optimizer.install();
+            assertEquals(3, BiGGDB.getMaterializedViews().size());
+            assertEquals(expected, lookups());
+        } finally {
+            optimizer.uninstall();
+            connectionPool.close();
+        }
+    }
+
+
+    @Test
+    public void viewsOfAnotherVersionAreIgnored() throws SQLException {
+        var connectionPool = new PostgresConnectionPool(biggContainer.getHost(), biggContainer.getFirstMappedPort(),
+                "postgres", "postgres", "bigg", false);
+        var optimizer = new BiGGSchemaOptimizer(connectionPool);
+        try {
+            optimizer.install();
+            try (Connection connection = connectionPool.getConnection("outdateView");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("COMMENT ON MATERIALIZED VIEW " + BiGGDBContract.Constants.Table.MP_RESOURCE
+                        + " IS '2000-01-01 00:00:00'");
+            }
+            BiGGDB.refreshMaterializedViews();
+            assertEquals(2, BiGGDB.getMaterializedViews().size());
+            assertFalse(BiGGDB.getMaterializedViews().contains(BiGGDBContract.Constants.Table.MP_RESOURCE));
+
+            optimizer.install();
+            assertEquals(3, BiGGDB.getMaterializedViews().size());
+        } finally {
+            optimizer.uninstall();
+            connectionPool.close();
+        }
+    }
+
+
+    private static List<Object> lookups() throws SQLException {
+        List<Object> results = new ArrayList<>();
+        results.add(bigg.getGeneReactionRule("PFK", "iJO1366"));
+        results.add(bigg.getGeneReactionRule(List.of("PFK", "PGI", "EX_glc__D_e"), "iJO1366"));
+        results.add(bigg.getResources(new BiGGId("atp"), false, false));
+        results.add(bigg.getResources(new BiGGId("atp"), true, false));
+        results.add(bigg.getResources(new BiGGId("PFK"), false, true));
+        results.add(bigg.getResources(List.of("atp", "h2o", "glc__D"), false, false));
+        results.add(bigg.getResources(List.of("PFK", "PGI"), true, true));
+        var uris = List.of(new IdentifiersOrgURI("kegg.reaction", "R00756"),
+                new IdentifiersOrgURI("metanetx.reaction", "MNXR102507"));
+        for (var uri : uris) {
+            results.add(bigg.getBiggIdsForReactionForeignId(uri));
+        }
+        results.add(bigg.getBiggIdsForReactionForeignId(uris));
+        return results;
+    }
+}
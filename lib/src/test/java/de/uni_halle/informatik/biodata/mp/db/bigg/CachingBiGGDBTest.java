@@ -0,0 +1,140 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import de.uni_halle.informatik.biodata.mp.db.PersistentLookupCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSnapshotExporter.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingBiGGDBTest {
+
+    @TempDir
+    Path tempDir;
+
+    private OfflineBiGGDB source;
+    private CachingBiGGDB bigg;
+
+    @BeforeEach
+    public void writeSnapshot() throws IOException {
+        Path file = tempDir.resolve("bigg.snapshot");
+        try (var writer = new BiGGSnapshotFile.Writer(file, "2024-01-31")) {
+            var names = writer.section(COMPONENT_NAME, 1, 1, true);
+            names.add(new String[] {"atp", "ATP"});
+            names.add(new String[] {"h2o", "H2O"});
+            names.add(new String[] {"h2o", "Water"});
+            names.finish();
+            var formulas = writer.section(FORMULA_BY_COMPARTMENT, 2, 1, true);
+            formulas.add(new String[] {"atp", "c", "C10H12N5O13P3"});
+            formulas.finish();
+            var pseudoreactions = writer.section(REACTION_PSEUDO, 1, 1, true);
+            pseudoreactions.add(new String[] {"ATPM", "t"});
+            pseudoreactions.add(new String[] {"PGI", "f"});
+            pseudoreactions.finish();
+            var rules = writer.section(REACTION_RULES, 2, 1, false);
+            rules.add(new String[] {"PGI", "iJO1366", "b4025"});
+            rules.finish();
+        }
+        source = new OfflineBiGGDB(file);
+        bigg = new CachingBiGGDB(source, 100);
+    }
+
+
+    @AfterEach
+    public void close() throws IOException {
+        source.close();
+    }
+
+
+    @Test
+    public void singleLookups() throws SQLException {
+        var atp = new BiGGId("M", "atp", null, null);
+        var h2o = new BiGGId("M", "h2o", null, null);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(source.getComponentName(atp), bigg.getComponentName(atp));
+            assertEquals(Optional.empty(), bigg.getComponentName(h2o));
+        }
+        assertEquals(2, bigg.getCache().getMissCount());
+        assertEquals(4, bigg.getCache().getHitCount());
+    }
+
+
+    @Test
+    public void batchLookupsShareEntries() throws SQLException {
+        assertEquals(Optional.of("C10H12N5O13P3"), bigg.getChemicalFormulaByCompartment("atp", "c"));
+        var components = List.of(new CompartmentalizedComponent("atp", "c"), new CompartmentalizedComponent("atp", "e"));
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Map.of(new CompartmentalizedComponent("atp", "c"), "C10H12N5O13P3"),
+                    bigg.getChemicalFormulaByCompartment(components));
+        }
+        assertEquals(Optional.empty(), bigg.getChemicalFormulaByCompartment("atp", "e"));
+        assertEquals(2, bigg.getCache().getMissCount());
+        assertEquals(4, bigg.getCache().getHitCount());
+    }
+
+
+    @Test
+    public void batchLookupsMatchSource() throws SQLException {
+        var abbreviations = List.of("atp", "h2o", "adp");
+        assertEquals(source.getComponentName(abbreviations), bigg.getComponentName(abbreviations));
+        assertEquals(source.getComponentName(abbreviations), bigg.getComponentName(abbreviations));
+    }
+
+
+    @Test
+    public void resultsArePersisted() throws IOException, SQLException {
+        var atp = new BiGGId("M", "atp", null, null);
+        var h2o = new BiGGId("M", "h2o", null, null);
+        Path file = tempDir.resolve("bigg.cache");
+        try (var store = PersistentLookupCache.open(file, "2024-01-31")) {
+            var persistent = new CachingBiGGDB(source, 100, store);
+            assertEquals(Optional.of("ATP"), persistent.getComponentName(atp));
+            assertEquals(Optional.empty(), persistent.getComponentName(h2o));
+            assertEquals(2, store.size());
+        }
+        try (var store = PersistentLookupCache.open(file, "2024-01-31")) {
+            var persistent = new CachingBiGGDB(source, 100, store);
+            assertEquals(Optional.of("ATP"), persistent.getComponentName(atp));
+            assertEquals(Map.of("atp", "ATP"), persistent.getComponentName(List.of("atp", "h2o")));
+            assertEquals(2, store.size());
+        }
+    }
+
+
+    @Test
+    public void allFamiliesArePersisted() throws IOException, SQLException {
+        Path file = tempDir.resolve("bigg.cache");
+        try (var store = PersistentLookupCache.open(file, "2024-01-31")) {
+            var persistent = new CachingBiGGDB(source, 100, store);
+            assertTrue(persistent.isPseudoreaction("ATPM"));
+            assertEquals(Map.of("ATPM", true, "PGI", false), persistent.isPseudoreaction(List.of("ATPM", "PGI")));
+            assertEquals(List.of("b4025"), persistent.getGeneReactionRule("PGI", "iJO1366"));
+            assertEquals(List.of(), persistent.getGeneReactionRule("ATPM", "iJO1366"));
+            assertEquals(4, store.size());
+        }
+        try (var store = PersistentLookupCache.open(file, "2024-01-31");
+             var offline = new OfflineBiGGDB(tempDir.resolve("bigg.snapshot")) {
+                 @Override
+                 public boolean isPseudoreaction(String reactionId) {
+                     throw new AssertionError("not read from the cache: " + reactionId);
+                 }
+             }) {
+            var persistent = new CachingBiGGDB(offline, 100, store);
+            assertTrue(persistent.isPseudoreaction("ATPM"));
+            assertFalse(persistent.isPseudoreaction("PGI"));
+            assertEquals(List.of("b4025"), persistent.getGeneReactionRule("PGI", "iJO1366"));
+            assertEquals(Map.of("PGI", List.of("b4025")),
+                    persistent.getGeneReactionRule(List.of("PGI", "ATPM"), "iJO1366"));
+            assertEquals(4, store.size());
+        }
+    }
+}
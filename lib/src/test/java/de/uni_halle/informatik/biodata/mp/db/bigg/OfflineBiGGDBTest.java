@@ -0,0 +1,167 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.TYPE_SPECIES;
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGSnapshotExporter.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OfflineBiGGDBTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private OfflineBiGGDB bigg;
+
+    @BeforeEach
+    public void writeSnapshot() throws IOException {
+        file = tempDir.resolve("bigg.snapshot");
+        try (var writer = new BiGGSnapshotFile.Writer(file, "2024-01-31")) {
+            section(writer, IDS + "component", 1, 0, true, new String[][] {{"atp"}, {"h2o"}, {"éther"}});
+            section(writer, IDS + "model", 1, 0, true, new String[][] {{"iJO1366"}});
+            section(writer, COMPONENT_NAME, 1, 1, true, new String[][] {
+                    {"atp", "ATP"},
+                    {"h2o", "H2O"},
+                    {"h2o", "Water"}});
+            section(writer, FORMULA_BY_MODEL, 2, 1, true, new String[][] {
+                    {"atp", "iJO1366", "C10H12N5O13P3"},
+                    {"atp", "iJO1366", "C10H12N5O13P3"},
+                    {"h2o", "iJO1366", "H2O"}});
+            section(writer, CHARGE_BY_COMPARTMENT, 2, 1, true, new String[][] {
+                    {"atp", "c", "-4"},
+                    {"atp", "e", "-4"},
+                    {"atp", "e", "-3"}});
+            section(writer, REACTION_RULES, 2, 1, false, new String[][] {
+                    {"PFK", "iJO1366", "b3916 || b1723"},
+                    {"PFK", "iJO1366", "b3916 || b1723"}});
+            section(writer, SYNONYM_PREFIX + TYPE_SPECIES, 2, 1, true, new String[][] {
+                    {"chebi", "CHEBI:15422", "atp"},
+                    {"kegg.compound", "C00001", "h2o"},
+                    {"kegg.compound", "C00001", "oh1"},
+                    {"kegg.compound", "C00002", "atp"}});
+            section(writer, FOREIGN_REACTIONS, 2, 3, true, new String[][] {
+                    {"rhea", "10000", "PFK", "c", "cytosol"},
+                    {"rhea", "10001", "EX_glc__D_e", null, null}});
+        }
+        bigg = new OfflineBiGGDB(file);
+    }
+
+
+    @AfterEach
+    public void close() throws IOException {
+        bigg.close();
+    }
+
+
+    @Test
+    public void version() {
+        assertEquals(Optional.of(java.sql.Date.valueOf("2024-01-31")), bigg.getBiGGVersion());
+    }
+
+
+    @Test
+    public void ids() throws SQLException {
+        assertTrue(bigg.isMetabolite("M_atp"));
+        assertTrue(bigg.isMetabolite("éther"));
+        assertFalse(bigg.isMetabolite("adp"));
+        assertTrue(bigg.isModel("iJO1366"));
+        assertFalse(bigg.isModel(null));
+        assertEquals(Set.of("atp", "h2o", "éther"), bigg.getAllBiggIds("component"));
+        assertThrows(SQLException.class, () -> bigg.getAllBiggIds("genome"));
+    }
+
+
+    @Test
+    public void ambiguousValuesAreEmpty() {
+        assertEquals(Optional.of("ATP"), bigg.getComponentName(new BiGGId("M", "atp", null, null)));
+        assertEquals(Optional.empty(), bigg.getComponentName(new BiGGId("M", "h2o", null, null)));
+        assertEquals(Optional.of("C10H12N5O13P3"), bigg.getChemicalFormula("atp", "iJO1366"));
+        assertEquals(Optional.empty(), bigg.getChemicalFormula("atp", "e_coli_core"));
+        assertEquals(Optional.of(-4), bigg.getChargeByCompartment("atp", "c"));
+        assertEquals(Optional.empty(), bigg.getChargeByCompartment("atp", "e"));
+        assertEquals(Map.of(new CompartmentalizedComponent("atp", "c"), -4), bigg.getChargeByCompartment(
+                List.of(new CompartmentalizedComponent("atp", "c"), new CompartmentalizedComponent("atp", "e"))));
+        assertEquals(Optional.of(-4), bigg.getChemistryByCompartment("atp", "c").charge());
+        assertTrue(bigg.getChemistryByCompartment("atp", "e").isChargeAmbiguous());
+        assertEquals(Optional.of("C10H12N5O13P3"), bigg.getChemistry("atp", "iJO1366").formula());
+        assertTrue(bigg.getChemistry("atp", "e_coli_core").isEmpty());
+    }
+
+
+    @Test
+    public void listsKeepDuplicates() {
+        assertEquals(List.of("b3916 || b1723", "b3916 || b1723"), bigg.getGeneReactionRule("PFK", "iJO1366"));
+        assertEquals(List.of(), bigg.getGeneReactionRule("PFK", "e_coli_core"));
+    }
+
+
+    @Test
+    public void synonyms() {
+        assertEquals(Optional.of(new BiGGId("atp")), bigg.getBiggIdFromSynonym("chebi", "CHEBI:15422", TYPE_SPECIES));
+        assertEquals(Optional.empty(), bigg.getBiggIdFromSynonym("kegg.compound", "C00001", TYPE_SPECIES));
+        assertEquals(Optional.empty(), bigg.getBiggIdFromSynonym("kegg.compound", "C00003", TYPE_SPECIES));
+    }
+
+
+    @Test
+    public void foreignReactions() {
+        var reactions = bigg.getBiggIdsForReactionForeignId(
+                new de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI("rhea", "10001"));
+        assertEquals(1, reactions.size());
+        var reaction = reactions.iterator().next();
+        assertEquals("EX_glc__D_e", reaction.reactionId);
+        assertNull(reaction.compartmentId);
+    }
+
+
+    @Test
+    public void foreignReactionsBatch() {
+        var rhea = new de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI("rhea", "10001");
+        var unknown = new de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrgURI("rhea", "99999");
+        var reactions = bigg.getBiggIdsForReactionForeignId(List.of(rhea, unknown));
+        assertEquals(Set.of(rhea), reactions.keySet());
+        assertEquals(bigg.getBiggIdsForReactionForeignId(rhea), reactions.get(rhea));
+    }
+
+
+    @Test
+    public void heapLoadedFile() throws IOException {
+        try (var loaded = new OfflineBiGGDB(BiGGSnapshotFile.load(file))) {
+            assertEquals(bigg.getBiGGVersion(), loaded.getBiGGVersion());
+            assertEquals(Optional.of("ATP"), loaded.getComponentName(new BiGGId("M", "atp", null, null)));
+            assertEquals(List.of("b3916 || b1723", "b3916 || b1723"), loaded.getGeneReactionRule("PFK", "iJO1366"));
+        }
+    }
+
+
+    @Test
+    public void unsortedRowsAreRejected() throws IOException {
+        try (var writer = new BiGGSnapshotFile.Writer(tempDir.resolve("unsorted.snapshot"), "")) {
+            var section = writer.section(COMPONENT_NAME, 1, 1, true);
+            section.add(new String[] {"h2o", "H2O"});
+            assertThrows(IllegalStateException.class, () -> section.add(new String[] {"atp", "ATP"}));
+        }
+    }
+
+
+    private static void section(BiGGSnapshotFile.Writer writer, String name, int keyFields, int valueFields,
+                                boolean distinct, String[][] rows) throws IOException {
+        var section = writer.section(name, keyFields, valueFields, distinct);
+        for (String[] row : rows) {
+            section.add(row);
+        }
+        section.finish();
+    }
+}
@@ -0,0 +1,61 @@
+package de.uni_halle.informatik.biodata.mp.db.bigg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static de.uni_halle.informatik.biodata.mp.db.bigg.BiGGDBContract.Constants.TYPE_SPECIES;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynonymIndexTest {
+
+    @Test
+    public void lookups() {
+        var index = SynonymIndex.builder(TYPE_SPECIES)
+                .add("chebi", "CHEBI:15422", "atp")
+                .add("kegg.compound", "C00002", "atp")
+                .add("chebi", "CHEBI:15377", "h2o")
+                .add("kegg.compound", "CHEBI:15377", "h2o2")
+                .build(0);
+        assertEquals(4, index.size());
+        assertEquals(Optional.of("atp"), index.get("chebi", "CHEBI:15422"));
+        assertEquals(Optional.of("atp"), index.get("kegg.compound", "C00002"));
+        assertEquals(Optional.of("h2o"), index.get("chebi", "CHEBI:15377"));
+        assertEquals(Optional.of("h2o2"), index.get("kegg.compound", "CHEBI:15377"));
+        assertEquals(Optional.empty(), index.get("chebi", "C00002"));
+        assertEquals(Optional.empty(), index.get("metacyc", "CHEBI:15422"));
+        assertEquals(Optional.empty(), index.get("chebi", null));
+    }
+
+    @Test
+    public void ambiguousSynonyms() {
+        var index = SynonymIndex.builder(TYPE_SPECIES)
+                .add("kegg.compound", "C00001", "h2o")
+                .add("kegg.compound", "C00001", "oh1")
+                .add("kegg.compound", "C00001", "h2o")
+                .add("chebi", "CHEBI:15422", "atp")
+                .add("chebi", "CHEBI:15422", "atp")
+                .add("chebi", "CHEBI:30616", "")
+                .add("chebi", "CHEBI:30616", null)
+                .build(0);
+        assertEquals(2, index.size());
+        assertEquals(Optional.empty(), index.get("kegg.compound", "C00001"));
+        assertEquals(Optional.of("atp"), index.get("chebi", "CHEBI:15422"));
+        assertEquals(Optional.empty(), index.get("chebi", "CHEBI:30616"));
+    }
+
+    @Test
+    public void growth() {
+        var builder = SynonymIndex.builder(TYPE_SPECIES);
+        for (int i = 0; i < 10000; i++) {
+            builder.add("source" + (i % 7), "synonym" + i, "target" + (i % 100));
+        }
+        var index = builder.build(12);
+        assertEquals(10000, index.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(Optional.of("target" + (i % 100)), index.get("source" + (i % 7), "synonym" + i));
+        }
+        assertEquals(Optional.empty(), index.get("source0", "synonym1"));
+        assertEquals(12, index.getLoadTimeMillis());
+    }
+}
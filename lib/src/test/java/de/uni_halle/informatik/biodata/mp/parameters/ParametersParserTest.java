@@ -1,6 +1,7 @@
 package de.uni_halle.informatik.biodata.mp.parameters;
 
 import de.uni_halle.informatik.biodata.mp.annotation.AnnotationOptions;
+import de.uni_halle.informatik.biodata.mp.db.PostgresConnectionPool;
 import de.uni_halle.informatik.biodata.mp.db.adb.AnnotateDBOptions;
 import de.uni_halle.informatik.biodata.mp.fixing.FixingOptions;
 import de.uni_halle.informatik.biodata.mp.io.IOOptions;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +60,9 @@ class ParametersParserTest {
         assertNull(parameters.annotation().biggAnnotationParameters().dbParameters().port());
         assertNull(parameters.annotation().biggAnnotationParameters().dbParameters().user());
         assertNull(parameters.annotation().biggAnnotationParameters().dbParameters().passwd());
+        assertEquals(DBParameters.Backend.JDBC, parameters.annotation().biggAnnotationParameters().dbParameters().backend());
+        assertNull(parameters.annotation().biggAnnotationParameters().dbParameters().snapshotFile());
+        assertEquals(DBParameters.Backend.JDBC, parameters.annotation().adbAnnotationParameters().dbParameters().backend());
 
         assertEquals(IOOptions.OUTPUT_TYPE.getDefaultValue(), parameters.outputType());
     }
@@ -69,4 +74,60 @@ class ParametersParserTest {
         assertNotNull(parameters);
         assertEquals(IOOptions.OutputType.COMBINE, parameters.outputType());
     }
-}
\ No newline at end of file
+
+    @Test
+    void backend() throws IOException {
+        var parameters = new ParametersParser().parse(new ByteArrayInputStream(
+                "{\"annotation\": {\"bigg\": {\"db-config\": {\"backend\": \"SNAPSHOT\", \"snapshot-file\": \"bigg.snapshot\"}}}}"
+                        .getBytes()));
+        var dbParameters = parameters.annotation().biggAnnotationParameters().dbParameters();
+        assertEquals(DBParameters.Backend.SNAPSHOT, dbParameters.backend());
+        assertEquals("bigg.snapshot", dbParameters.snapshotFile());
+    }
+
+    @Test
+    void hosts() throws IOException {
+        var parameters = new ParametersParser().parse(new ByteArrayInputStream(
+                ("{\"annotation\": {\"bigg\": {\"db-config\": {\"hosts\": ["
+                        + "{\"host\": \"primary\", \"port\": 5432},"
+                        + "{\"host\": \"replica\", \"port\": 5433, \"pool-size\": 4, \"connection-timeout\": 1000}]}}}}")
+                        .getBytes()));
+        var dbParameters = parameters.annotation().biggAnnotationParameters().dbParameters();
+        assertEquals(List.of(
+                new DBHostParameters("primary", 5432, PostgresConnectionPool.MAXIMUM_POOL_SIZE,
+                        PostgresConnectionPool.CONNECTION_TIMEOUT_MILLIS),
+                new DBHostParameters("replica", 5433, 4, 1000)), dbParameters.effectiveHosts());
+    }
+
+    @Test
+    void singleHost() throws IOException {
+        var parameters = new ParametersParser().parse(new ByteArrayInputStream(
+                "{\"annotation\": {\"bigg\": {\"db-config\": {\"host\": \"localhost\", \"port\": 1310}}}}"
+                        .getBytes()));
+        var dbParameters = parameters.annotation().biggAnnotationParameters().dbParameters();
+        assertTrue(dbParameters.hosts().isEmpty());
+        assertEquals(List.of(new DBHostParameters("localhost", 1310, PostgresConnectionPool.MAXIMUM_POOL_SIZE,
+                PostgresConnectionPool.CONNECTION_TIMEOUT_MILLIS)), dbParameters.effectiveHosts());
+    }
+
+    @Test
+    void deadlines() throws IOException {
+        var parameters = new ParametersParser().parse(new ByteArrayInputStream(
+                ("{\"annotation\": {\"bigg\": {\"db-config\": {\"host\": \"localhost\", \"port\": 1310,"
+                        + " \"connection-timeout\": 2000, \"query-timeout\": 5000, \"hedge-percentile\": 95,"
+                        + " \"degrade-on-timeout\": true}}}}")
+                        .getBytes()));
+        var dbParameters = parameters.annotation().biggAnnotationParameters().dbParameters();
+        assertEquals(5000, dbParameters.queryTimeout());
+        assertEquals(95, dbParameters.hedgePercentile());
+        assertTrue(dbParameters.degradeOnTimeout());
+        assertEquals(List.of(new DBHostParameters("localhost", 1310, PostgresConnectionPool.MAXIMUM_POOL_SIZE, 2000)),
+                dbParameters.effectiveHosts());
+
+        var defaults = new ParametersParser().parse(new ByteArrayInputStream("{}".getBytes()))
+                .annotation().biggAnnotationParameters().dbParameters();
+        assertEquals(0, defaults.queryTimeout());
+        assertEquals(0, defaults.hedgePercentile());
+        assertFalse(defaults.degradeOnTimeout());
+    }
+}
@@ -0,0 +1,77 @@
+package de.uni_halle.informatik.biodata.mp.resolver;
+
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.IdentifiersOrg;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingRegistryTest {
+
+    @Test
+    public void resolutionsAreCached() {
+        var calls = new AtomicInteger();
+        var source = new IdentifiersOrg() {
+            @Override
+            public Optional<RegistryURI> resolveBackwards(String url) {
+                calls.incrementAndGet();
+                return super.resolveBackwards(url);
+            }
+        };
+        var registry = new CachingRegistry(source, 100);
+
+        String kegg = "https://identifiers.org/kegg.compound:C00001";
+        String unknown = "http://www.genome.jp/dbget-bin/www_bget?cpd:C00001";
+        Optional<RegistryURI> resolved = source.resolveBackwards(kegg);
+        assertTrue(resolved.isPresent());
+        assertEquals(Optional.empty(), source.resolveBackwards(unknown));
+        calls.set(0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(resolved, registry.resolveBackwards(kegg));
+            assertEquals(Optional.empty(), registry.resolveBackwards(unknown));
+        }
+        assertEquals(2, calls.get());
+        assertEquals(4, registry.getCache().getHitCount());
+        assertEquals(2, registry.getCache().getMissCount());
+        assertEquals(4 / 6.0, registry.getCache().getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void batchResolutionsAreCached() {
+        var source = new IdentifiersOrg();
+        var registry = new CachingRegistry(source, 100);
+        List<String> urls = List.of("https://identifiers.org/kegg.compound:C00001",
+                " http://identifiers.org/chebi/CHEBI:15377",
+                "http://www.genome.jp/dbget-bin/www_bget?cpd:C00001",
+                "https://identifiers.org/kegg.compound:C00001");
+
+        Map<String, RegistryURI> expected = new HashMap<>();
+        for (String url : urls) {
+            source.resolveBackwards(url).ifPresent(uri -> expected.put(url, uri));
+        }
+        assertEquals(2, expected.size());
+        assertEquals(expected, source.resolveBackwards(urls));
+
+        assertEquals(expected, registry.resolveBackwards(urls));
+        assertEquals(expected, registry.resolveBackwards(urls));
+        assertEquals(3, registry.getCache().size());
+        assertEquals(expected.get(urls.get(1)), registry.resolveBackwards(urls.get(1)).orElseThrow());
+    }
+
+    @Test
+    public void otherMethodsAreDelegated() {
+        var source = new IdentifiersOrg();
+        var registry = new CachingRegistry(source);
+        assertEquals(source.getNamespaceForPrefix("kegg.compound"), registry.getNamespaceForPrefix("kegg.compound"));
+        assertEquals(source.getPatternByNamespaceName("ChEBI"), registry.getPatternByNamespaceName("ChEBI"));
+        assertTrue(registry.isValid("https://identifiers.org/kegg.compound:C00001"));
+        assertFalse(registry.isValid("http://www.genome.jp/dbget-bin/www_bget?cpd:C00001"));
+        assertEquals(0, registry.getCache().size());
+    }
+}
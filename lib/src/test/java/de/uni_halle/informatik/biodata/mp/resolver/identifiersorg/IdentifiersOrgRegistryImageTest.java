@@ -0,0 +1,68 @@
+package de.uni_halle.informatik.biodata.mp.resolver.identifiersorg;
+
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Namespace;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdentifiersOrgRegistryImageTest {
+
+    @Test
+    public void imageHoldsTheUsedPartsOfTheRegistry() throws IOException {
+        List<Namespace> namespaces = IdentifiersOrgRegistryImage.compact(new IdentifiersOrgRegistryParser()
+                .parse(IdentifiersOrgRegistryParser.class.getResourceAsStream(IdentifiersOrgRegistryImage.REGISTRY))
+                .getPayload().get("namespaces"));
+        var image = new ByteArrayOutputStream();
+        IdentifiersOrgRegistryImage.write(namespaces, image);
+
+        List<Namespace> read = IdentifiersOrgRegistryImage.read(ByteBuffer.wrap(image.toByteArray()));
+        assertEquals(describe(namespaces), describe(read));
+        // what the build puts on the class path, or the JSON registry
+        assertEquals(describe(namespaces), describe(IdentifiersOrgRegistryImage.load()));
+    }
+
+    @Test
+    public void patternsAreFixed() {
+        var namespace = new Namespace();
+        namespace.setPrefix("d1id");
+        namespace.setName("DataONE");
+        namespace.setPattern("\\S+");
+        var resource = new Resource();
+        resource.setUrlPattern("https://cn.dataone.org/cn/v2/resolve/{{$id}}");
+        namespace.setResources(List.of(resource));
+
+        List<Namespace> compacted = IdentifiersOrgRegistryImage.compact(List.of(namespace));
+        assertEquals("https://cn.dataone.org/cn/v2/resolve/{$id}",
+                compacted.get(0).getResources().get(0).getUrlPattern());
+    }
+
+    @Test
+    public void invalidImagesAreRejected() throws IOException {
+        assertThrows(IOException.class, () -> IdentifiersOrgRegistryImage.read(ByteBuffer.wrap(new byte[16])));
+
+        var image = new ByteArrayOutputStream();
+        IdentifiersOrgRegistryImage.write(IdentifiersOrgRegistryImage.load(), image);
+        byte[] truncated = Arrays.copyOf(image.toByteArray(), image.size() / 2);
+        assertThrows(IOException.class, () -> IdentifiersOrgRegistryImage.read(ByteBuffer.wrap(truncated)));
+    }
+
+    private static String describe(List<Namespace> namespaces) {
+        var description = new StringBuilder();
+        for (Namespace namespace : namespaces) {
+            description.append(namespace.getPrefix()).append('\t').append(namespace.getName()).append('\t')
+                    .append(namespace.getPattern()).append('\t').append(namespace.isNamespaceEmbeddedInLui());
+            for (Resource resource : namespace.getResources()) {
+                description.append('\t').append(resource.getUrlPattern());
+            }
+            description.append('\n');
+        }
+        return description.toString();
+    }
+}
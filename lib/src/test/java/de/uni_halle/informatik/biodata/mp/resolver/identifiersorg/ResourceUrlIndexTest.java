@@ -0,0 +1,135 @@
+package de.uni_halle.informatik.biodata.mp.resolver.identifiersorg;
+
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Namespace;
+import de.uni_halle.informatik.biodata.mp.resolver.identifiersorg.mapping.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceUrlIndexTest {
+
+    @Test
+    public void literalPrefixes() {
+        var namespaces = List.of(
+                namespace("a", "www.example.org/a/{$id}", "www.example.org/a?id={$id}"),
+                namespace("b", "www.exampl.\\.org/b/{$id}", "(www|web).example.org/a/{$id}"),
+                namespace("c", "www.example.orgs?/c/{$id}"));
+        var index = new ResourceUrlIndex(namespaces);
+        assertEquals(5, index.size());
+
+        assertEquals(List.of("a", "b"), prefixes(index.matching("www.example.org/a/<id>")));
+        // the ? of a query is not escaped in some patterns of the registry, so that it makes the preceding character optional
+        assertEquals(List.of("a"), prefixes(index.matching("www.example.org/aid=<id>")));
+        assertEquals(List.of("a"), prefixes(index.matching("www.example.org/id=<id>")));
+        assertEquals(List.of(), index.matching("www.example.org/a?id=<id>"));
+        assertEquals(List.of("b"), prefixes(index.matching("www.exampl\u00e9.org/b/<id>")));
+        assertEquals(List.of("b"), prefixes(index.matching("www.exampl\ud83e\uddec.org/b/<id>")));
+        assertEquals(List.of("c"), prefixes(index.matching("www.example.org/c/<id>")));
+        assertEquals(List.of("c"), prefixes(index.matching("www.example.orgs/c/<id>")));
+        assertEquals(List.of(), index.matching("www.example.org/a/C00001"));
+        assertEquals(List.of(), index.matching("www.example.org"));
+        assertEquals(List.of(), index.matching(""));
+    }
+
+    @Test
+    public void sameMatchesAsAllPatterns() throws IOException {
+        Collection<Namespace> namespaces = registry();
+        var index = new ResourceUrlIndex(namespaces);
+
+        int matched = 0;
+        for (String url : urls(namespaces)) {
+            url = IdentifiersOrgURIUtils.removeHttpProtocolFromUrl(url);
+            List<String> expected = new ArrayList<>();
+            int position = 0;
+            for (Namespace namespace : namespaces) {
+                for (Resource resource : namespace.getResources()) {
+                    if (url.matches(IdentifiersOrg.getResourceUrlPattern(resource))) {
+                        expected.add(position + " " + namespace.getPrefix());
+                    }
+                    position++;
+                }
+            }
+            List<String> actual = new ArrayList<>();
+            for (ResourceUrlIndex.Entry entry : index.matching(url)) {
+                actual.add(entry.position() + " " + entry.namespace().getPrefix());
+            }
+            assertEquals(expected, actual, url);
+            if (!actual.isEmpty()) {
+                matched++;
+            }
+        }
+        assertTrue(matched > 0);
+    }
+
+    @Test
+    public void batchMatchesSameAsSingleMatches() throws IOException {
+        Collection<Namespace> namespaces = registry();
+        var index = new ResourceUrlIndex(namespaces);
+
+        List<String> urls = new ArrayList<>();
+        for (String url : urls(namespaces)) {
+            urls.add(IdentifiersOrgURIUtils.removeHttpProtocolFromUrl(url));
+        }
+        // without a host, and twice
+        urls.add("<id>");
+        urls.add(urls.get(0));
+
+        Map<String, List<ResourceUrlIndex.Entry>> expected = new HashMap<>();
+        for (String url : urls) {
+            List<ResourceUrlIndex.Entry> matches = index.matching(url);
+            if (!matches.isEmpty()) {
+                expected.put(url, matches);
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, index.matching(urls, false));
+        assertEquals(expected, index.matching(urls, true));
+    }
+
+    private static Collection<Namespace> registry() throws IOException {
+        return new IdentifiersOrgRegistryParser()
+                .parse(IdentifiersOrgRegistryParser.class.getResourceAsStream("IdentifiersOrg-Registry.json"))
+                .getPayload().get("namespaces");
+    }
+
+    /**
+     * @return URLs of all resources of the registry, matching their URL pattern or not, and of common databases.
+     */
+    private static List<String> urls(Collection<Namespace> namespaces) {
+        List<String> urls = new ArrayList<>();
+        for (Namespace namespace : namespaces) {
+            for (Resource resource : namespace.getResources()) {
+                urls.add(resource.getUrlPattern().replace("{$id}", "<id>"));
+                urls.add(resource.getUrlPattern().replace("{$id}", "<id>") + "/");
+                urls.add(resource.getUrlPattern().replace("{$id}", String.valueOf(namespace.getSampleId())));
+            }
+        }
+        urls.add("http://www.genome.jp/dbget-bin/www_bget?cpd:C00001");
+        urls.add("https://www.ebi.ac.uk/chebi/searchId.do?chebiId=CHEBI:15377");
+        return urls;
+    }
+
+    private static Namespace namespace(String prefix, String... urlPatterns) {
+        var namespace = new Namespace();
+        namespace.setPrefix(prefix);
+        List<Resource> resources = new ArrayList<>();
+        for (String urlPattern : urlPatterns) {
+            var resource = new Resource();
+            resource.setUrlPattern(urlPattern);
+            resources.add(resource);
+        }
+        namespace.setResources(resources);
+        return namespace;
+    }
+
+    private static List<String> prefixes(List<ResourceUrlIndex.Entry> entries) {
+        return entries.stream().map(entry -> entry.namespace().getPrefix()).toList();
+    }
+}